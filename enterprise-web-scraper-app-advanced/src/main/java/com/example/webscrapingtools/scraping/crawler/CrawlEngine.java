@@ -0,0 +1,388 @@
+package com.example.webscrapingtools.scraping.crawler;
+
+import com.example.webscrapingtools.scraping.service.HtmlParserService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.jsoup.nodes.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Fetches a scraper's target page and follows its pagination links, many pages at a time.
+ * <p>
+ * Requests go through one shared non-blocking {@link HttpClient}, which keeps connections alive and reuses them
+ * across pages and crawls, so no thread waits on network I/O. Each host gets a throttle that caps the requests in
+ * flight and spaces out request starts; the throttle is shared by all crawls, so two scrapers hitting the same site
+ * together still respect its limits. Connection failures, 429 and 5xx responses are retried with exponential
+ * backoff, honouring {@code Retry-After}. ETag and Last-Modified validators are remembered per scope and URL so a
+ * re-run sends conditional requests; a 304 skips the handler but still follows the pagination links seen last time.
+ * Because of that, a crawl's validators are only remembered once the caller has stored what its handler produced, see
+ * {@link CrawlResult#rememberValidators()}.
+ */
+@Component
+@Slf4j
+public class CrawlEngine {
+
+    private static final long MAX_RETRY_DELAY_MS = 30_000;
+
+    private final HtmlParserService htmlParserService;
+    private final ExecutorService httpExecutor;
+    private final HttpClient httpClient;
+    private final ScheduledExecutorService scheduler; // Delayed request starts and retry backoff only
+    private final int maxConcurrencyPerHost;
+    private final long perHostDelayNanos;
+    private final int maxRetries;
+    private final long retryBackoffMs;
+    private final Duration requestTimeout;
+    private final Map<String, HostThrottle> hostThrottles = new ConcurrentHashMap<>();
+    private final Map<String, PageValidators> validators; // "scope\0paginationSelector\0url" -> validators
+
+    public CrawlEngine(HtmlParserService htmlParserService,
+                       @Value("${app.scraping.crawler.max-concurrency-per-host:4}") int maxConcurrencyPerHost,
+                       @Value("${app.scraping.crawler.per-host-delay-ms:250}") long perHostDelayMs,
+                       @Value("${app.scraping.crawler.max-retries:3}") int maxRetries,
+                       @Value("${app.scraping.crawler.retry-backoff-ms:500}") long retryBackoffMs,
+                       @Value("${app.scraping.crawler.request-timeout-ms:10000}") long requestTimeoutMs,
+                       @Value("${app.scraping.crawler.validator-cache-size:10000}") int validatorCacheSize) {
+        if (maxConcurrencyPerHost < 1) {
+            throw new IllegalArgumentException("max-concurrency-per-host must be at least 1");
+        }
+        this.htmlParserService = htmlParserService;
+        this.maxConcurrencyPerHost = maxConcurrencyPerHost;
+        this.perHostDelayNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, perHostDelayMs));
+        this.maxRetries = Math.max(0, maxRetries);
+        this.retryBackoffMs = Math.max(1, retryBackoffMs);
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMs);
+        this.httpExecutor = Executors.newCachedThreadPool(daemonThreads("crawl-http-"));
+        this.httpClient = HttpClient.newBuilder()
+                .executor(httpExecutor) // Otherwise completions fall back to the common pool, a thread per task on small hosts
+                .connectTimeout(requestTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(daemonThreads("crawl-scheduler-"));
+        this.validators = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PageValidators> eldest) {
+                return size() > validatorCacheSize;
+            }
+        });
+        log.info("CrawlEngine initialized: {} concurrent request(s) and {} ms between request starts per host, {} retries",
+                maxConcurrencyPerHost, perHostDelayMs, this.maxRetries);
+    }
+
+    /**
+     * Crawls from {@code startUrl}, following links matched by {@code paginationSelector} until no new links are found
+     * or {@code maxPages} distinct URLs have been visited.
+     *
+     * @param validatorScope Identifies what the handler makes of a page, e.g. a scraper and its selectors. Only
+     *                       validators remembered under the same scope turn requests into conditional ones.
+     * @param startUrl The first page to fetch.
+     * @param paginationSelector CSS selector for "next page" links, or null to fetch the start page only.
+     * @param maxPages Upper bound on distinct URLs visited, including the start page.
+     * @param handler Receives every page that came back with a body.
+     * @return A future completing with the crawl statistics once every page has been handled. It never completes
+     *         exceptionally; individual page failures are counted in the result.
+     */
+    public CompletableFuture<CrawlResult> crawl(String validatorScope, String startUrl, String paginationSelector,
+                                                int maxPages, PageHandler handler) {
+        Crawl crawl = new Crawl(validatorScope, paginationSelector, Math.max(1, maxPages), handler);
+        crawl.enqueue(startUrl);
+        return crawl.done;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        httpExecutor.shutdownNow();
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private HostThrottle throttleFor(URI uri) {
+        return hostThrottles.computeIfAbsent(uri.getScheme() + "://" + uri.getAuthority(), host -> new HostThrottle());
+    }
+
+    private static String stripFragment(String url) {
+        int hash = url.indexOf('#');
+        return hash >= 0 ? url.substring(0, hash) : url;
+    }
+
+    /**
+     * State of one crawl. Pages are counted in {@code pending} from the moment they are enqueued until they are
+     * fully handled, and links are enqueued before their page is released, so the count only reaches zero once.
+     */
+    private final class Crawl {
+        private final String validatorPrefix;
+        private final String paginationSelector;
+        private final int maxPages;
+        private final PageHandler handler;
+        private final long startNanos = System.nanoTime();
+        private final Set<String> seen = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger admitted = new AtomicInteger();
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicInteger fetched = new AtomicInteger();
+        private final AtomicInteger notModified = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final AtomicInteger retries = new AtomicInteger();
+        private final AtomicLong bytes = new AtomicLong();
+        private final AtomicReference<String> firstError = new AtomicReference<>();
+        private final Map<String, PageValidators> handledValidators = new ConcurrentHashMap<>(); // Remembered on request
+        private final CompletableFuture<CrawlResult> done = new CompletableFuture<>();
+
+        Crawl(String validatorScope, String paginationSelector, int maxPages, PageHandler handler) {
+            // The links stored with the validators depend on the pagination selector, so it is part of the key too
+            this.validatorPrefix = validatorScope + '\0' + paginationSelector + '\0';
+            this.paginationSelector = paginationSelector;
+            this.maxPages = maxPages;
+            this.handler = handler;
+        }
+
+        void enqueue(String url) {
+            String normalized = stripFragment(url);
+            if (admitted.get() >= maxPages || !seen.add(normalized) || admitted.incrementAndGet() > maxPages) {
+                return;
+            }
+            pending.incrementAndGet();
+            fetch(normalized, 0);
+        }
+
+        private void fetch(String url, int attempt) {
+            URI uri;
+            try {
+                uri = URI.create(url);
+                if (uri.getHost() == null) {
+                    throw new IllegalArgumentException("URL has no host");
+                }
+            } catch (IllegalArgumentException e) {
+                fail(url, "Invalid URL: " + e.getMessage());
+                return;
+            }
+            HostThrottle throttle = throttleFor(uri);
+            throttle.submit(() -> send(uri, url, attempt, throttle));
+        }
+
+        private void send(URI uri, String url, int attempt, HostThrottle throttle) {
+            HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                    .timeout(requestTimeout)
+                    .header("User-Agent", HtmlParserService.USER_AGENT)
+                    .header("Accept-Language", "en-US,en;q=0.9")
+                    .GET();
+            PageValidators known = validators.get(validatorPrefix + url);
+            if (known != null) {
+                if (known.etag() != null) {
+                    request.header("If-None-Match", known.etag());
+                }
+                if (known.lastModified() != null) {
+                    request.header("If-Modified-Since", known.lastModified());
+                }
+            }
+            try {
+                httpClient.sendAsync(request.build(), HttpResponse.BodyHandlers.ofString())
+                        .whenComplete((response, error) -> {
+                            throttle.release();
+                            try {
+                                handle(url, attempt, known, response, error);
+                            } catch (RuntimeException e) {
+                                fail(url, "Unexpected error: " + e);
+                            }
+                        });
+            } catch (RuntimeException e) {
+                throttle.release();
+                fail(url, "Could not send request: " + e.getMessage());
+            }
+        }
+
+        private void handle(String url, int attempt, PageValidators known,
+                            HttpResponse<String> response, Throwable error) {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                if (cause instanceof IOException) {
+                    retryOrFail(url, attempt, 0, cause.getClass().getSimpleName() + ": " + cause.getMessage());
+                } else {
+                    fail(url, cause.toString());
+                }
+                return;
+            }
+
+            int status = response.statusCode();
+            if (status == 304 && known != null) {
+                notModified.incrementAndGet();
+                known.links().forEach(this::enqueue);
+                finish();
+            } else if (status >= 200 && status < 300) {
+                handleBody(url, response);
+            } else if (status == 429 || status >= 500) {
+                long retryAfterMs = response.headers().firstValue("Retry-After")
+                        .map(CrawlEngine::parseRetryAfterMs).orElse(0L);
+                retryOrFail(url, attempt, retryAfterMs, "HTTP " + status);
+            } else {
+                fail(url, "HTTP " + status);
+            }
+        }
+
+        private void handleBody(String url, HttpResponse<String> response) {
+            String body = response.body();
+            bytes.addAndGet(body.length());
+            Document document = htmlParserService.parseHtml(body, response.uri().toString());
+            List<String> links = htmlParserService.findPaginationLinks(document, paginationSelector);
+
+            String key = validatorPrefix + url;
+            validators.remove(key); // Until this page's output is stored, the next run must not skip it with a 304
+            String etag = response.headers().firstValue("ETag").orElse(null);
+            String lastModified = response.headers().firstValue("Last-Modified").orElse(null);
+
+            links.forEach(this::enqueue);
+            try {
+                handler.onPage(url, document);
+                if (etag != null || lastModified != null) {
+                    handledValidators.put(key, new PageValidators(etag, lastModified, links));
+                }
+                fetched.incrementAndGet();
+                finish();
+            } catch (IOException | RuntimeException e) {
+                fail(url, "Page handler failed: " + e.getMessage());
+            }
+        }
+
+        private void retryOrFail(String url, int attempt, long retryAfterMs, String reason) {
+            if (attempt >= maxRetries) {
+                fail(url, reason + " after " + (attempt + 1) + " attempt(s)");
+                return;
+            }
+            retries.incrementAndGet();
+            long backoffMs = Math.min(MAX_RETRY_DELAY_MS, retryBackoffMs << Math.min(attempt, 20));
+            long delayMs = Math.min(MAX_RETRY_DELAY_MS, Math.max(retryAfterMs, backoffMs))
+                    + ThreadLocalRandom.current().nextLong(retryBackoffMs / 2 + 1); // Jitter so retries do not arrive in bursts
+            log.debug("Retrying {} in {} ms ({}), attempt {}", url, delayMs, reason, attempt + 2);
+            scheduler.schedule(() -> fetch(url, attempt + 1), delayMs, TimeUnit.MILLISECONDS);
+        }
+
+        private void fail(String url, String reason) {
+            failed.incrementAndGet();
+            firstError.compareAndSet(null, url + ": " + reason);
+            log.warn("Failed to crawl {}: {}", url, reason);
+            finish();
+        }
+
+        private void finish() {
+            if (pending.decrementAndGet() == 0) {
+                done.complete(CrawlResult.builder()
+                        .pagesFetched(fetched.get())
+                        .pagesNotModified(notModified.get())
+                        .pagesFailed(failed.get())
+                        .retries(retries.get())
+                        .bytesReceived(bytes.get())
+                        .elapsed(Duration.ofNanos(System.nanoTime() - startNanos))
+                        .firstError(firstError.get())
+                        .validatorUpdate(() -> validators.putAll(handledValidators))
+                        .build());
+            }
+        }
+    }
+
+    private static long parseRetryAfterMs(String value) {
+        try {
+            return TimeUnit.SECONDS.toMillis(Long.parseLong(value.trim()));
+        } catch (NumberFormatException e) {
+            return 0; // HTTP-date form; fall back to our own backoff
+        }
+    }
+
+    /**
+     * Per-host admission control: at most {@code maxConcurrencyPerHost} requests in flight and at least
+     * {@code perHostDelayNanos} between two request starts. Waiting requests are queued rather than parked on a
+     * thread; they are started by {@link #release()} or by a timer when the delay runs out. Requests are always
+     * started outside the lock.
+     */
+    private final class HostThrottle {
+        private final Deque<Runnable> waiting = new ArrayDeque<>();
+        private int inFlight;
+        private long nextStartNanos = System.nanoTime();
+        private boolean wakeUpScheduled;
+
+        void submit(Runnable request) {
+            List<Runnable> ready;
+            synchronized (this) {
+                waiting.add(request);
+                ready = takeReady();
+            }
+            ready.forEach(Runnable::run);
+        }
+
+        void release() {
+            List<Runnable> ready;
+            synchronized (this) {
+                inFlight--;
+                ready = takeReady();
+            }
+            ready.forEach(Runnable::run);
+        }
+
+        private void wakeUp() {
+            List<Runnable> ready;
+            synchronized (this) {
+                wakeUpScheduled = false;
+                ready = takeReady();
+            }
+            ready.forEach(Runnable::run);
+        }
+
+        private List<Runnable> takeReady() {
+            List<Runnable> ready = new ArrayList<>(1);
+            while (inFlight < maxConcurrencyPerHost && !waiting.isEmpty()) {
+                long now = System.nanoTime();
+                if (now - nextStartNanos < 0) {
+                    if (!wakeUpScheduled) {
+                        wakeUpScheduled = true;
+                        scheduler.schedule(this::wakeUp, nextStartNanos - now, TimeUnit.NANOSECONDS);
+                    }
+                    break;
+                }
+                inFlight++;
+                nextStartNanos = now + perHostDelayNanos;
+                ready.add(waiting.poll());
+            }
+            return ready;
+        }
+    }
+
+    /**
+     * What a previous fetch of a URL returned: its validators and the pagination links found on it.
+     */
+    private record PageValidators(String etag, String lastModified, List<String> links) {
+    }
+}
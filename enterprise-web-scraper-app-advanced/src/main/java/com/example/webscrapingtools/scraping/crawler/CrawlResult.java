@@ -0,0 +1,52 @@
+package com.example.webscrapingtools.scraping.crawler;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.Duration;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CrawlResult {
+    private int pagesFetched;     // 200 responses handed to the PageHandler
+    private int pagesNotModified; // 304 responses to conditional requests
+    private int pagesFailed;      // Gave up after retries, non-retryable status or PageHandler error
+    private int retries;
+    private long bytesReceived;
+    private Duration elapsed;
+    private String firstError;    // First failure, for the task's error message
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Runnable validatorUpdate;
+
+    /**
+     * Remembers the validators of the pages this crawl handed to its handler, so the next crawl with the same scope
+     * sends conditional requests for them. A 304 skips the handler, so only call this once the handler's output for
+     * those pages is stored.
+     */
+    public void rememberValidators() {
+        if (validatorUpdate != null) {
+            validatorUpdate.run();
+        }
+    }
+
+    public int getPagesVisited() {
+        return pagesFetched + pagesNotModified + pagesFailed;
+    }
+
+    public double getPagesPerSecond() {
+        double seconds = elapsed.toNanos() / 1e9;
+        return seconds > 0 ? getPagesVisited() / seconds : 0;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.webscrapingtools.scraping.crawler;
+
+import org.jsoup.nodes.Document;
+
+import java.io.IOException;
+
+/**
+ * Callback invoked by the {@link CrawlEngine} for every page that was downloaded and parsed.
+ * Runs on the HTTP client's completion threads, so implementations must be thread-safe and should not block.
+ */
+@FunctionalInterface
+public interface PageHandler {
+    void onPage(String url, Document document) throws IOException;
+}
@@ -24,6 +24,11 @@ public class ScraperCreateRequest {
     @NotBlank(message = "CSS Selector for items cannot be empty")
     private String itemCssSelector;
 
+    private String paginationSelector; // e.g., "a.next"; omit to scrape the target page only
+
+    @Min(value = 1, message = "Max pages must be at least 1")
+    private Integer maxPages; // Defaults to 1
+
     @NotNull(message = "Field definitions cannot be null")
     private Map<String, String> fieldDefinitions; // { "fieldName": "cssSelector", ... }
 
@@ -18,6 +18,8 @@ public class ScraperDefinitionDTO {
     private String name;
     private String targetUrl;
     private String itemCssSelector;
+    private String paginationSelector;
+    private Integer maxPages;
     private Map<String, String> fieldDefinitions;
     private Integer scheduleIntervalMinutes;
     private boolean active;
@@ -31,6 +33,8 @@ public class ScraperDefinitionDTO {
                 .name(entity.getName())
                 .targetUrl(entity.getTargetUrl())
                 .itemCssSelector(entity.getItemCssSelector())
+                .paginationSelector(entity.getPaginationSelector())
+                .maxPages(entity.getMaxPages())
                 .fieldDefinitions(fieldDefs)
                 .scheduleIntervalMinutes(entity.getScheduleIntervalMinutes())
                 .active(entity.isActive())
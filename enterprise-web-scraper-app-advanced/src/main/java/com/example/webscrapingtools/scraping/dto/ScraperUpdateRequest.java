@@ -17,6 +17,9 @@ public class ScraperUpdateRequest {
     private String name;
     private String targetUrl;
     private String itemCssSelector;
+    private String paginationSelector;
+    @Min(value = 1, message = "Max pages must be at least 1")
+    private Integer maxPages;
     private Map<String, String> fieldDefinitions;
     @Min(value = 0, message = "Schedule interval must be positive or 0 for manual only")
     private Integer scheduleIntervalMinutes;
@@ -21,6 +21,9 @@ public class ScrapingTaskDTO {
     private LocalDateTime startTime;
     private LocalDateTime endTime;
     private String errorMessage;
+    private Integer pagesFetched;
+    private Integer pagesNotModified;
+    private Integer pagesFailed;
     private String executedByUsername;
     private LocalDateTime createdAt;
 
@@ -33,6 +36,9 @@ public class ScrapingTaskDTO {
                 .startTime(entity.getStartTime())
                 .endTime(entity.getEndTime())
                 .errorMessage(entity.getErrorMessage())
+                .pagesFetched(entity.getPagesFetched())
+                .pagesNotModified(entity.getPagesNotModified())
+                .pagesFailed(entity.getPagesFailed())
                 .executedByUsername(entity.getExecutedBy() != null ? entity.getExecutedBy().getUsername() : "Scheduler")
                 .createdAt(entity.getCreatedAt())
                 .build();
@@ -19,8 +19,9 @@ import java.util.Map;
 @Table(name = "scraped_data_item")
 public class ScrapedDataItem {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "scraped_data_item_seq")
+    @SequenceGenerator(name = "scraped_data_item_seq", sequenceName = "scraped_data_item_id_seq", allocationSize = 500) // Must match the sequence's INCREMENT BY
+    private Long id; // Sequence, not IDENTITY, so Hibernate can batch inserts
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "scraping_task_id", nullable = false)
@@ -34,6 +35,9 @@ public class ScrapedDataItem {
     @Column(columnDefinition = "jsonb")
     private Map<String, String> data; // Stores key-value pairs of scraped data
 
+    @Column(length = 64)
+    private String contentHash; // SHA-256 of data, to skip items already stored for the scraper
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime scrapedAt;
 
@@ -38,6 +38,14 @@ public class ScraperDefinition {
     @Column(columnDefinition = "TEXT")
     private String fieldDefinitionsJson; // JSON string for { "fieldName": "cssSelector", ... }
 
+    @Column(columnDefinition = "TEXT")
+    private String paginationSelector; // e.g., "a.next"; null to scrape the target page only
+
+    @Builder.Default
+    @Min(value = 1, message = "Max pages must be at least 1")
+    @Column(nullable = false)
+    private Integer maxPages = 1;
+
     @Min(value = 0, message = "Schedule interval must be positive or 0 for manual only")
     private Integer scheduleIntervalMinutes; // 0 for manual, >0 for scheduled
 
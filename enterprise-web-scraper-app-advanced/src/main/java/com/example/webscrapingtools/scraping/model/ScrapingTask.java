@@ -31,6 +31,9 @@ public class ScrapingTask {
     private LocalDateTime startTime;
     private LocalDateTime endTime;
     private String errorMessage; // Stores error message if status is FAILED
+    private Integer pagesFetched;
+    private Integer pagesNotModified; // Unchanged since the previous run (HTTP 304), not re-parsed
+    private Integer pagesFailed;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "executed_by_user_id") // Can be null if scheduled
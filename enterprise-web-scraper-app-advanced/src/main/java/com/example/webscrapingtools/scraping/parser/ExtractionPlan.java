@@ -0,0 +1,127 @@
+package com.example.webscrapingtools.scraping.parser;
+
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.jsoup.select.Evaluator;
+import org.jsoup.select.QueryParser;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A scraper's selectors, compiled once. Parsing CSS selector strings is a large part of the cost of extracting an
+ * item, so the item selector and every field selector are parsed into Jsoup {@link Evaluator}s up front, and the
+ * {@code selector[attribute]} syntax of field definitions is split once instead of per item.
+ * <p>
+ * Instances are immutable and safe to share between threads.
+ */
+public final class ExtractionPlan {
+
+    private final String itemCssSelector;
+    private final String fieldDefinitionsJson;
+    private final Evaluator itemEvaluator;
+    private final List<Field> fields;
+    private final byte[] fingerprint;
+
+    private ExtractionPlan(String itemCssSelector, String fieldDefinitionsJson, Evaluator itemEvaluator, List<Field> fields) {
+        this.itemCssSelector = itemCssSelector;
+        this.fieldDefinitionsJson = fieldDefinitionsJson;
+        this.itemEvaluator = itemEvaluator;
+        this.fields = fields;
+        this.fingerprint = selectorBytes(itemCssSelector, fieldDefinitionsJson);
+    }
+
+    /**
+     * SHA-256 over a scraper's selectors. It changes whenever a plan compiled from them would extract other items.
+     */
+    public static String fingerprint(String itemCssSelector, String fieldDefinitionsJson) {
+        return HexFormat.of().formatHex(sha256().digest(selectorBytes(itemCssSelector, fieldDefinitionsJson)));
+    }
+
+    /**
+     * Compiles the selectors of a scraper.
+     *
+     * @param itemCssSelector The CSS selector to find individual items.
+     * @param fieldDefinitions Field name to CSS selector within an item; {@code css[attr]} extracts the attribute
+     *                         {@code attr} of the first element matching {@code css}, anything else its text.
+     * @param fieldDefinitionsJson The JSON the field definitions were read from, to tell when the plan is stale.
+     * @throws org.jsoup.select.Selector.SelectorParseException if a selector is not valid CSS.
+     */
+    public static ExtractionPlan compile(String itemCssSelector, Map<String, String> fieldDefinitions, String fieldDefinitionsJson) {
+        List<Field> fields = new ArrayList<>(fieldDefinitions.size());
+        for (Map.Entry<String, String> entry : fieldDefinitions.entrySet()) {
+            String selector = entry.getValue();
+            String cssPart = selector;
+            String attribute = null;
+            // Same split as field definitions always had: "a.link[href]" -> "a.link" + "href"
+            if (selector.contains("[") && selector.contains("]")) {
+                cssPart = selector.substring(0, selector.indexOf("["));
+                attribute = selector.substring(selector.indexOf("[") + 1, selector.indexOf("]"));
+            }
+            fields.add(new Field(entry.getKey(), QueryParser.parse(cssPart), attribute));
+        }
+        return new ExtractionPlan(itemCssSelector, fieldDefinitionsJson, QueryParser.parse(itemCssSelector), List.copyOf(fields));
+    }
+
+    /**
+     * Whether this plan was compiled from these selectors.
+     */
+    public boolean isCompiledFrom(String itemCssSelector, String fieldDefinitionsJson) {
+        return this.itemCssSelector.equals(itemCssSelector) && this.fieldDefinitionsJson.equals(fieldDefinitionsJson);
+    }
+
+    public Elements selectItems(Element root) {
+        return root.select(itemEvaluator);
+    }
+
+    /**
+     * Extracts one item's fields. Fields whose selector matches nothing are left out.
+     *
+     * @return fieldName -> value; empty if no field matched.
+     */
+    public Map<String, String> extract(Element item) {
+        Map<String, String> itemData = new HashMap<>();
+        for (Field field : fields) {
+            Element element = item.selectFirst(field.selector());
+            if (element != null) {
+                itemData.put(field.name(), field.attribute() != null ? element.attr(field.attribute()) : element.text());
+            }
+        }
+        return itemData;
+    }
+
+    /**
+     * SHA-256 over the HTML of the matched items and this plan's selectors. Equal hashes mean a page would yield
+     * the same items as before, so it does not need to be extracted again.
+     */
+    public String hashItems(Elements items) {
+        MessageDigest digest = sha256();
+        digest.update(fingerprint);
+        for (Element item : items) {
+            digest.update((byte) 0);
+            digest.update(item.outerHtml().getBytes(StandardCharsets.UTF_8));
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static byte[] selectorBytes(String itemCssSelector, String fieldDefinitionsJson) {
+        return (itemCssSelector + '\0' + fieldDefinitionsJson).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e); // Every JRE is required to provide it
+        }
+    }
+
+    private record Field(String name, Evaluator selector, String attribute) {
+    }
+}
@@ -4,14 +4,21 @@ import com.example.webscrapingtools.scraping.model.ScrapedDataItem;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ScrapedDataItemRepository extends JpaRepository<ScrapedDataItem, Long> {
     Page<ScrapedDataItem> findByScrapingTaskId(Long scrapingTaskId, Pageable pageable);
     Page<ScrapedDataItem> findByScraperDefinitionId(Long scraperDefinitionId, Pageable pageable);
+
+    @Query("SELECT i.contentHash FROM ScrapedDataItem i WHERE i.scraperDefinition.id = :scraperDefinitionId AND i.contentHash IN :contentHashes")
+    List<String> findExistingContentHashes(@Param("scraperDefinitionId") Long scraperDefinitionId,
+                                           @Param("contentHashes") Collection<String> contentHashes);
     // You might add more complex queries here, e.g., filtering by data content using JSONB operators
     // @Query(value = "SELECT * FROM scraped_data_item WHERE data->>'price' = :price", nativeQuery = true)
     // List<ScrapedDataItem> findByDataPrice(@Param("price") String price);
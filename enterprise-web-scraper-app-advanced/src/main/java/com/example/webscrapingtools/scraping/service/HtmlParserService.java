@@ -1,5 +1,7 @@
 package com.example.webscrapingtools.scraping.service;
 
+import com.example.webscrapingtools.scraping.model.ScraperDefinition;
+import com.example.webscrapingtools.scraping.parser.ExtractionPlan;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -13,16 +15,22 @@ import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class HtmlParserService {
 
+    public static final String USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/91.0.4472.124 Safari/537.36";
+
     private final ObjectMapper objectMapper; // For JSON conversion
+    private final Map<Long, ExtractionPlan> extractionPlans = new ConcurrentHashMap<>(); // By scraper definition ID
 
     /**
      * Fetches HTML content from a given URL.
@@ -34,12 +42,42 @@ public class HtmlParserService {
         log.info("Fetching HTML from URL: {}", url);
         return Jsoup.connect(url)
                 .timeout(10 * 1000) // 10 seconds timeout
-                .userAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/91.0.4472.124 Safari/537.36")
+                .userAgent(USER_AGENT)
                 .header("Accept-Language", "en-US,en;q=0.9")
                 .ignoreHttpErrors(true) // Don't throw exception on 4xx/5xx codes
                 .get();
     }
 
+    /**
+     * Parses HTML that was fetched elsewhere, e.g. by the crawl engine.
+     * @param html The page body.
+     * @param baseUri The URL the page was fetched from, used to resolve relative links.
+     * @return The Document object from Jsoup.
+     */
+    public Document parseHtml(String html, String baseUri) {
+        return Jsoup.parse(html, baseUri);
+    }
+
+    /**
+     * Finds the pagination links of a page, e.g. "next page" anchors.
+     * @param document The Jsoup Document object; its base URI is used to resolve relative links.
+     * @param paginationSelector CSS selector for the link elements (e.g. "a.next" or "ul.pager a[href]").
+     * @return Distinct absolute URLs in document order; empty if the selector is null or blank.
+     */
+    public List<String> findPaginationLinks(Document document, String paginationSelector) {
+        if (paginationSelector == null || paginationSelector.isBlank()) {
+            return List.of();
+        }
+        Set<String> links = new LinkedHashSet<>();
+        for (Element link : document.select(paginationSelector)) {
+            String href = link.absUrl("href");
+            if (href.startsWith("http://") || href.startsWith("https://")) {
+                links.add(href);
+            }
+        }
+        return List.copyOf(links);
+    }
+
     /**
      * Parses a list of data items from an HTML document based on CSS selectors.
      *
@@ -56,36 +94,77 @@ public class HtmlParserService {
             String fieldDefinitionsJson
     ) throws JsonProcessingException {
         List<Map<String, String>> scrapedDataList = new ArrayList<>();
-        Map<String, String> fieldDefinitions = objectMapper.readValue(fieldDefinitionsJson, new TypeReference<>() {});
+        parseData(document, itemCssSelector, fieldDefinitionsJson, scrapedDataList::add);
+        return scrapedDataList;
+    }
 
-        Elements itemElements = document.select(itemCssSelector);
-        log.info("Found {} items using selector: {}", itemElements.size(), itemCssSelector);
+    /**
+     * Parses data items like {@link #parseData(Document, String, String)}, but hands each item to {@code sink} as
+     * soon as it is extracted instead of collecting them, so large pages can be persisted while they are parsed.
+     *
+     * @param sink Receives each non-empty item, in document order.
+     * @return The number of items passed to the sink.
+     * @throws JsonProcessingException if there's an issue parsing fieldDefinitionsJson.
+     */
+    public int parseData(
+            Document document,
+            String itemCssSelector,
+            String fieldDefinitionsJson,
+            Consumer<Map<String, String>> sink
+    ) throws JsonProcessingException {
+        ExtractionPlan plan = compile(itemCssSelector, fieldDefinitionsJson);
+        return parseData(plan.selectItems(document), plan, sink);
+    }
 
+    /**
+     * Extracts the fields of already selected items with a compiled plan.
+     *
+     * @param itemElements Items selected with {@link ExtractionPlan#selectItems}.
+     * @param sink Receives each non-empty item, in document order.
+     * @return The number of items passed to the sink.
+     */
+    public int parseData(Elements itemElements, ExtractionPlan plan, Consumer<Map<String, String>> sink) {
+        log.info("Found {} items", itemElements.size());
+        int emitted = 0;
         for (Element itemElement : itemElements) {
-            Map<String, String> itemData = new HashMap<>();
-            for (Map.Entry<String, String> entry : fieldDefinitions.entrySet()) {
-                String fieldName = entry.getKey();
-                String selector = entry.getValue();
-
-                // Handle attribute extraction (e.g., img[src], a[href])
-                if (selector.contains("[") && selector.contains("]")) {
-                    String cssPart = selector.substring(0, selector.indexOf("["));
-                    String attrPart = selector.substring(selector.indexOf("[") + 1, selector.indexOf("]"));
-                    Element element = itemElement.selectFirst(cssPart);
-                    if (element != null) {
-                        itemData.put(fieldName, element.attr(attrPart));
-                    }
-                } else {
-                    Element element = itemElement.selectFirst(selector);
-                    if (element != null) {
-                        itemData.put(fieldName, element.text());
-                    }
-                }
-            }
+            Map<String, String> itemData = plan.extract(itemElement);
             if (!itemData.isEmpty()) {
-                scrapedDataList.add(itemData);
+                sink.accept(itemData);
+                emitted++;
             }
         }
-        return scrapedDataList;
+        return emitted;
+    }
+
+    /**
+     * Returns the compiled selectors of a scraper, compiling them on first use. A cached plan is reused as long as
+     * it was compiled from the definition's current selectors.
+     * @throws JsonProcessingException if there's an issue parsing the definition's fieldDefinitionsJson.
+     */
+    public ExtractionPlan getExtractionPlan(ScraperDefinition scraperDefinition) throws JsonProcessingException {
+        String itemCssSelector = scraperDefinition.getItemCssSelector();
+        String fieldDefinitionsJson = scraperDefinition.getFieldDefinitionsJson();
+        if (scraperDefinition.getId() == null) {
+            return compile(itemCssSelector, fieldDefinitionsJson);
+        }
+        ExtractionPlan plan = extractionPlans.get(scraperDefinition.getId());
+        if (plan == null || !plan.isCompiledFrom(itemCssSelector, fieldDefinitionsJson)) {
+            plan = compile(itemCssSelector, fieldDefinitionsJson);
+            extractionPlans.put(scraperDefinition.getId(), plan);
+            log.debug("Compiled extraction plan for scraper {}", scraperDefinition.getId());
+        }
+        return plan;
+    }
+
+    /**
+     * Drops the cached plan of a scraper, e.g. after its definition was updated or deleted.
+     */
+    public void evictExtractionPlan(Long scraperDefinitionId) {
+        extractionPlans.remove(scraperDefinitionId);
+    }
+
+    private ExtractionPlan compile(String itemCssSelector, String fieldDefinitionsJson) throws JsonProcessingException {
+        Map<String, String> fieldDefinitions = objectMapper.readValue(fieldDefinitionsJson, new TypeReference<>() {});
+        return ExtractionPlan.compile(itemCssSelector, fieldDefinitions, fieldDefinitionsJson);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,227 @@
+package com.example.webscrapingtools.scraping.service;
+
+import com.example.webscrapingtools.scraping.model.ScrapedDataItem;
+import com.example.webscrapingtools.scraping.model.ScraperDefinition;
+import com.example.webscrapingtools.scraping.model.ScrapingTask;
+import com.example.webscrapingtools.scraping.repository.ScrapedDataItemRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Persists scraped items as they are parsed, in fixed-size batches, skipping what is already stored.
+ * <p>
+ * Items are buffered until a batch is full and then written in one transaction. With sequence-generated IDs and
+ * {@code hibernate.jdbc.batch_size} set to the same size, a batch goes to the database as a single JDBC batch
+ * (rewritten to multi-row inserts by the PostgreSQL driver) instead of one round trip per item. At most one batch
+ * per producing thread is held in memory, however many items a page yields.
+ * <p>
+ * Every item carries a SHA-256 of its data. Before a batch is inserted, one query finds the hashes the scraper
+ * already has, and those items are dropped, so a re-run only stores new or changed items. Items have no identity
+ * beyond their content, so a changed item is stored as a new row. A whole page can be skipped even earlier, before
+ * extraction, when the hash of its items matches the last successful run.
+ */
+@Service
+@Slf4j
+public class ScrapedDataItemWriter {
+
+    private final ScrapedDataItemRepository scrapedDataItemRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Map<String, String> pageHashes; // "scraperId url" -> item hash of the page when last stored
+
+    public ScrapedDataItemWriter(ScrapedDataItemRepository scrapedDataItemRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${app.scraping.persistence.batch-size:500}") int batchSize,
+                                 @Value("${app.scraping.persistence.page-hash-cache-size:10000}") int pageHashCacheSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batch-size must be at least 1");
+        }
+        this.scrapedDataItemRepository = scrapedDataItemRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.pageHashes = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > pageHashCacheSize;
+            }
+        });
+    }
+
+    /**
+     * Opens a sink for the items of one scraping task. Close it once the task is done to write the last,
+     * partial batch.
+     */
+    public Batch open(ScrapingTask task, ScraperDefinition scraperDefinition) {
+        return new Batch(task, scraperDefinition);
+    }
+
+    /**
+     * SHA-256 over an item's data, independent of field order.
+     */
+    static String hashItem(Map<String, String> data) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e); // Every JRE is required to provide it
+        }
+        for (Map.Entry<String, String> entry : new TreeMap<>(data).entrySet()) {
+            digest.update(entry.getKey().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(entry.getValue().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Accepts items from any number of threads. The thread that fills a batch writes it, so producers are
+     * slowed down to the speed of the database rather than piling up items in memory.
+     */
+    public final class Batch implements Consumer<Map<String, String>>, AutoCloseable {
+        private final ScrapingTask task;
+        private final ScraperDefinition scraperDefinition;
+        private final Map<String, String> pendingPageHashes = new HashMap<>(); // Guarded by this
+        private final Object writeLock = new Object();
+        private List<ScrapedDataItem> buffer = new ArrayList<>(batchSize);
+        private int pagesUnchanged;     // Guarded by this
+        private long itemsWritten;      // Guarded by writeLock
+        private long itemsUnchanged;    // Guarded by writeLock
+        private long writeNanos;        // Guarded by writeLock
+
+        private Batch(ScrapingTask task, ScraperDefinition scraperDefinition) {
+            this.task = task;
+            this.scraperDefinition = scraperDefinition;
+        }
+
+        /**
+         * Checks a page's item hash against the last successful run. If it differs, the hash is remembered once
+         * this batch is closed successfully, i.e. once the page's items are stored.
+         *
+         * @return true if the page yields the same items as last time and need not be extracted.
+         */
+        public synchronized boolean isUnchangedPage(String url, String pageHash) {
+            String key = scraperDefinition.getId() + " " + url;
+            if (pageHash.equals(pageHashes.get(key))) {
+                pagesUnchanged++;
+                return true;
+            }
+            pendingPageHashes.put(key, pageHash);
+            return false;
+        }
+
+        @Override
+        public void accept(Map<String, String> data) {
+            ScrapedDataItem item = ScrapedDataItem.builder()
+                    .scrapingTask(task)
+                    .scraperDefinition(scraperDefinition)
+                    .data(data)
+                    .contentHash(hashItem(data))
+                    .build();
+            List<ScrapedDataItem> full = null;
+            synchronized (this) {
+                buffer.add(item);
+                if (buffer.size() >= batchSize) {
+                    full = buffer;
+                    buffer = new ArrayList<>(batchSize);
+                }
+            }
+            if (full != null) {
+                write(full);
+            }
+        }
+
+        /**
+         * Writes the items still buffered and records the hashes of the pages seen.
+         */
+        @Override
+        public void close() {
+            List<ScrapedDataItem> rest;
+            synchronized (this) {
+                rest = buffer;
+                buffer = new ArrayList<>(0);
+            }
+            if (!rest.isEmpty()) {
+                write(rest);
+            }
+            synchronized (this) {
+                pageHashes.putAll(pendingPageHashes);
+                pendingPageHashes.clear();
+            }
+        }
+
+        private void write(List<ScrapedDataItem> items) {
+            Map<String, ScrapedDataItem> byHash = new LinkedHashMap<>();
+            for (ScrapedDataItem item : items) {
+                byHash.putIfAbsent(item.getContentHash(), item); // Identical items on a page are stored once
+            }
+            synchronized (writeLock) {
+                long start = System.nanoTime();
+                int inserted = transactionTemplate.execute(status -> {
+                    Set<String> existing = scraperDefinition.getId() == null ? Set.of() : new HashSet<>(
+                            scrapedDataItemRepository.findExistingContentHashes(scraperDefinition.getId(), byHash.keySet()));
+                    List<ScrapedDataItem> changed = new ArrayList<>(byHash.size());
+                    for (ScrapedDataItem item : byHash.values()) {
+                        if (!existing.contains(item.getContentHash())) {
+                            changed.add(item);
+                        }
+                    }
+                    if (!changed.isEmpty()) {
+                        scrapedDataItemRepository.saveAll(changed);
+                    }
+                    return changed.size();
+                });
+                writeNanos += System.nanoTime() - start;
+                itemsWritten += inserted;
+                itemsUnchanged += items.size() - inserted;
+                log.debug("Wrote {} of {} scraped items for task {}", inserted, items.size(), task.getId());
+            }
+        }
+
+        public long getItemsWritten() {
+            synchronized (writeLock) {
+                return itemsWritten;
+            }
+        }
+
+        /**
+         * Items extracted but not written because the scraper already had them.
+         */
+        public long getItemsUnchanged() {
+            synchronized (writeLock) {
+                return itemsUnchanged;
+            }
+        }
+
+        public synchronized int getPagesUnchanged() {
+            return pagesUnchanged;
+        }
+
+        /**
+         * Items handled per second of time spent in the database.
+         */
+        public double getItemsPerSecond() {
+            synchronized (writeLock) {
+                return writeNanos > 0 ? (itemsWritten + itemsUnchanged) / (writeNanos / 1e9) : 0;
+            }
+        }
+    }
+}
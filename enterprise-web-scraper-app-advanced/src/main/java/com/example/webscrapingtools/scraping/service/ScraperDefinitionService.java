@@ -34,6 +34,7 @@ public class ScraperDefinitionService {
     private final ScraperDefinitionRepository scraperDefinitionRepository;
     private final ObjectMapper objectMapper;
     private final ScraperUtils scraperUtils;
+    private final HtmlParserService htmlParserService;
 
     private static final String CACHE_NAME = "scraperDefinitions";
 
@@ -52,6 +53,8 @@ public class ScraperDefinitionService {
                 .name(request.getName())
                 .targetUrl(request.getTargetUrl())
                 .itemCssSelector(request.getItemCssSelector())
+                .paginationSelector(request.getPaginationSelector())
+                .maxPages(request.getMaxPages() != null ? request.getMaxPages() : 1)
                 .fieldDefinitionsJson(fieldDefinitionsJson)
                 .scheduleIntervalMinutes(request.getScheduleIntervalMinutes())
                 .active(true)
@@ -105,6 +108,9 @@ public class ScraperDefinitionService {
             existingScraper.setTargetUrl(url);
         });
         Optional.ofNullable(request.getItemCssSelector()).ifPresent(existingScraper::setItemCssSelector);
+        Optional.ofNullable(request.getPaginationSelector())
+                .ifPresent(selector -> existingScraper.setPaginationSelector(selector.isBlank() ? null : selector));
+        Optional.ofNullable(request.getMaxPages()).ifPresent(existingScraper::setMaxPages);
         Optional.ofNullable(request.getScheduleIntervalMinutes()).ifPresent(existingScraper::setScheduleIntervalMinutes);
         Optional.ofNullable(request.getActive()).ifPresent(existingScraper::setActive);
 
@@ -113,6 +119,7 @@ public class ScraperDefinitionService {
         }
 
         ScraperDefinition updatedScraper = scraperDefinitionRepository.save(existingScraper);
+        htmlParserService.evictExtractionPlan(id); // Recompiled from the new selectors on the next run
         log.info("Updated scraper definition: {}", updatedScraper.getName());
         return convertToDto(updatedScraper);
     }
@@ -124,6 +131,7 @@ public class ScraperDefinitionService {
             throw new ResourceNotFoundException("Scraper Definition not found with id: " + id);
         }
         scraperDefinitionRepository.deleteById(id);
+        htmlParserService.evictExtractionPlan(id);
         log.info("Deleted scraper definition with id: {}", id);
     }
 
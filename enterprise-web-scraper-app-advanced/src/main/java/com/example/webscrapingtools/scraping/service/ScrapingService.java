@@ -1,25 +1,26 @@
 package com.example.webscrapingtools.scraping.service;
 
 import com.example.webscrapingtools.auth.model.User;
-import com.example.webscrapingtools.scraping.model.ScrapedDataItem;
+import com.example.webscrapingtools.scraping.crawler.CrawlEngine;
+import com.example.webscrapingtools.scraping.crawler.CrawlResult;
 import com.example.webscrapingtools.scraping.model.ScraperDefinition;
 import com.example.webscrapingtools.scraping.model.ScrapingStatus;
 import com.example.webscrapingtools.scraping.model.ScrapingTask;
-import com.example.webscrapingtools.scraping.repository.ScrapedDataItemRepository;
+import com.example.webscrapingtools.scraping.parser.ExtractionPlan;
 import com.example.webscrapingtools.scraping.repository.ScrapingTaskRepository;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jsoup.nodes.Document;
+import org.jsoup.select.Elements;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
@@ -31,16 +32,17 @@ public class ScrapingService {
     private final ScraperDefinitionService scraperDefinitionService;
     private final HtmlParserService htmlParserService;
     private final ScrapingTaskRepository scrapingTaskRepository;
-    private final ScrapedDataItemRepository scrapedDataItemRepository;
+    private final ScrapedDataItemWriter scrapedDataItemWriter;
+    private final CrawlEngine crawlEngine;
 
-    private ExecutorService scraperExecutor;
+    private ExecutorService scraperExecutor; // Task bookkeeping only; pages are fetched by the CrawlEngine
 
     @PostConstruct
     public void init() {
-        // Initialize an executor service for parallel scraping tasks
-        // Adjust the pool size based on expected load and resource availability
-        scraperExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2);
-        log.info("ScrapingService initialized with a fixed thread pool of size {}", Runtime.getRuntime().availableProcessors() * 2);
+        // Starts crawls and persists their results. Network I/O happens asynchronously in the CrawlEngine,
+        // so these threads only wait on the database.
+        scraperExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        log.info("ScrapingService initialized with a fixed thread pool of size {}", Runtime.getRuntime().availableProcessors());
     }
 
     /**
@@ -73,7 +75,9 @@ public class ScrapingService {
     }
 
     /**
-     * Executes the actual HTML fetching and parsing logic. This method runs in a separate thread.
+     * Marks the task as running and starts crawling the scraper's pages. This method runs in a separate thread and
+     * returns as soon as the crawl is started; pages are fetched by the {@link CrawlEngine} without holding a thread,
+     * and the results are persisted back on the scraper executor once every page has been handled.
      * @param taskId The ID of the ScrapingTask.
      * @param scraperDefinition The definition of the scraper.
      */
@@ -86,33 +90,69 @@ public class ScrapingService {
         scrapingTaskRepository.save(task);
         log.info("Scraping task {} for scraper '{}' (ID: {}) is now RUNNING.", taskId, scraperDefinition.getName(), scraperDefinition.getId());
 
-        try {
-            Document document = htmlParserService.fetchHtmlDocument(scraperDefinition.getTargetUrl());
-            List<Map<String, String>> scrapedData = htmlParserService.parseData(
-                    document,
-                    scraperDefinition.getItemCssSelector(),
-                    scraperDefinition.getFieldDefinitionsJson()
-            );
-
-            // Store scraped data items
-            for (Map<String, String> dataItem : scrapedData) {
-                ScrapedDataItem item = ScrapedDataItem.builder()
-                        .scrapingTask(task)
-                        .scraperDefinition(scraperDefinition)
-                        .data(dataItem)
-                        .build();
-                scrapedDataItemRepository.save(item);
-            }
+        // Items are written in batches while pages are still being parsed, never collected per task
+        ScrapedDataItemWriter.Batch items = scrapedDataItemWriter.open(task, scraperDefinition);
+        int maxPages = scraperDefinition.getMaxPages() != null ? scraperDefinition.getMaxPages() : 1;
+        // A 304 skips extraction, so validators only apply to re-runs of this scraper with the same selectors
+        String validatorScope = scraperDefinition.getId() + " " + ExtractionPlan.fingerprint(
+                scraperDefinition.getItemCssSelector(), scraperDefinition.getFieldDefinitionsJson());
+        crawlEngine.crawl(validatorScope, scraperDefinition.getTargetUrl(), scraperDefinition.getPaginationSelector(), maxPages,
+                        (url, document) -> scrapePage(url, document, scraperDefinition, items))
+                .whenCompleteAsync((result, error) -> completeScrapingTask(task, scraperDefinition, items, result, error),
+                        scraperExecutor);
+    }
 
-            task.setStatus(ScrapingStatus.COMPLETED);
-            log.info("Scraping task {} for scraper '{}' (ID: {}) COMPLETED. Scraped {} items.",
-                    taskId, scraperDefinition.getName(), scraperDefinition.getId(), scrapedData.size());
+    /**
+     * Extracts a page's items into the task's batch, unless the page's items are unchanged since the last run.
+     */
+    private void scrapePage(String url, Document document, ScraperDefinition scraperDefinition,
+                            ScrapedDataItemWriter.Batch items) throws JsonProcessingException {
+        ExtractionPlan plan = htmlParserService.getExtractionPlan(scraperDefinition);
+        Elements itemElements = plan.selectItems(document);
+        if (!items.isUnchangedPage(url, plan.hashItems(itemElements))) {
+            htmlParserService.parseData(itemElements, plan, items);
+        }
+    }
 
-        } catch (IOException | JsonProcessingException e) {
+    /**
+     * Writes the last scraped items, stores the crawl statistics, and closes the task.
+     * The task only fails if no page could be fetched; partial failures are noted in the error message.
+     */
+    private void completeScrapingTask(ScrapingTask task, ScraperDefinition scraperDefinition,
+                                      ScrapedDataItemWriter.Batch items, CrawlResult result, Throwable error) {
+        try {
+            items.close();
+            if (error != null) {
+                throw new IllegalStateException("Crawl aborted: " + error.getMessage(), error);
+            }
+            result.rememberValidators(); // Only now are the fetched pages' items stored
+            task.setPagesFetched(result.getPagesFetched());
+            task.setPagesNotModified(result.getPagesNotModified());
+            task.setPagesFailed(result.getPagesFailed());
+
+            if (result.getPagesFetched() + result.getPagesNotModified() == 0) {
+                task.setStatus(ScrapingStatus.FAILED);
+                task.setErrorMessage("Error during scraping: " + result.getFirstError());
+                log.error("Scraping task {} for scraper '{}' (ID: {}) FAILED: {}",
+                        task.getId(), scraperDefinition.getName(), scraperDefinition.getId(), result.getFirstError());
+            } else {
+                task.setStatus(ScrapingStatus.COMPLETED);
+                if (result.getPagesFailed() > 0) {
+                    task.setErrorMessage(result.getPagesFailed() + " page(s) failed, first: " + result.getFirstError());
+                }
+                log.info("Scraping task {} for scraper '{}' (ID: {}) COMPLETED. Stored {} new or changed items "
+                                + "({} already stored) from {} page(s) ({} not modified, {} with unchanged items, "
+                                + "{} failed, {} retries) in {} ms, writing {} items/s.",
+                        task.getId(), scraperDefinition.getName(), scraperDefinition.getId(), items.getItemsWritten(),
+                        items.getItemsUnchanged(), result.getPagesFetched(), result.getPagesNotModified(),
+                        items.getPagesUnchanged(), result.getPagesFailed(), result.getRetries(),
+                        result.getElapsed().toMillis(), Math.round(items.getItemsPerSecond()));
+            }
+        } catch (RuntimeException e) {
             task.setStatus(ScrapingStatus.FAILED);
             task.setErrorMessage("Error during scraping: " + e.getMessage());
             log.error("Scraping task {} for scraper '{}' (ID: {}) FAILED: {}",
-                    taskId, scraperDefinition.getName(), scraperDefinition.getId(), e.getMessage(), e);
+                    task.getId(), scraperDefinition.getName(), scraperDefinition.getId(), e.getMessage(), e);
         } finally {
             task.setEndTime(LocalDateTime.now());
             scrapingTaskRepository.save(task);
@@ -78,6 +78,8 @@ public class WebPagesController {
         formDto.setName(scraper.getName());
         formDto.setTargetUrl(scraper.getTargetUrl());
         formDto.setItemCssSelector(scraper.getItemCssSelector());
+        formDto.setPaginationSelector(scraper.getPaginationSelector());
+        formDto.setMaxPages(scraper.getMaxPages());
         formDto.setScheduleIntervalMinutes(scraper.getScheduleIntervalMinutes());
         formDto.setActive(scraper.isActive());
         try {
@@ -110,6 +112,8 @@ public class WebPagesController {
                     .name(formDto.getName())
                     .targetUrl(formDto.getTargetUrl())
                     .itemCssSelector(formDto.getItemCssSelector())
+                    .paginationSelector(formDto.getPaginationSelector())
+                    .maxPages(formDto.getMaxPages())
                     .fieldDefinitions(fieldDefinitions)
                     .scheduleIntervalMinutes(formDto.getScheduleIntervalMinutes())
                     .build();
@@ -147,6 +151,8 @@ public class WebPagesController {
                     .name(formDto.getName())
                     .targetUrl(formDto.getTargetUrl())
                     .itemCssSelector(formDto.getItemCssSelector())
+                    .paginationSelector(formDto.getPaginationSelector())
+                    .maxPages(formDto.getMaxPages())
                     .fieldDefinitions(fieldDefinitions)
                     .scheduleIntervalMinutes(formDto.getScheduleIntervalMinutes())
                     .active(formDto.isActive())
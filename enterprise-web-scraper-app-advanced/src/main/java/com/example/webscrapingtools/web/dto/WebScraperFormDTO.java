@@ -19,6 +19,11 @@ public class WebScraperFormDTO {
     @NotBlank(message = "CSS Selector for items cannot be empty")
     private String itemCssSelector;
 
+    private String paginationSelector;
+
+    @Min(value = 1, message = "Max pages must be at least 1")
+    private Integer maxPages = 1;
+
     @NotBlank(message = "Field definitions cannot be empty (JSON format)")
     private String fieldDefinitionsJson; // JSON string for map input
 
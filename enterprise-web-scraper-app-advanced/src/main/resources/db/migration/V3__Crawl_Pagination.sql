@@ -0,0 +1,8 @@
+-- Multi-page crawling: follow pagination links up to max_pages per run
+ALTER TABLE scraper_definition ADD COLUMN IF NOT EXISTS pagination_selector TEXT;
+ALTER TABLE scraper_definition ADD COLUMN IF NOT EXISTS max_pages INTEGER DEFAULT 1 NOT NULL;
+
+-- Per-run crawl statistics
+ALTER TABLE scraping_task ADD COLUMN IF NOT EXISTS pages_fetched INTEGER;
+ALTER TABLE scraping_task ADD COLUMN IF NOT EXISTS pages_not_modified INTEGER;
+ALTER TABLE scraping_task ADD COLUMN IF NOT EXISTS pages_failed INTEGER;
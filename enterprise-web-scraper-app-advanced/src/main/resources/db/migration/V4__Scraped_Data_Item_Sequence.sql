@@ -0,0 +1,3 @@
+-- Hibernate allocates scraped_data_item IDs from this sequence in blocks of 500 (allocationSize in ScrapedDataItem),
+-- which lets it batch the inserts. IDENTITY would need one round trip per row to read back the generated key.
+ALTER SEQUENCE scraped_data_item_id_seq INCREMENT BY 500;
@@ -0,0 +1,4 @@
+-- SHA-256 of each item's data, so re-runs only store items that are new or changed.
+-- Rows scraped before this migration have no hash and are never matched.
+ALTER TABLE scraped_data_item ADD COLUMN IF NOT EXISTS content_hash VARCHAR(64);
+CREATE INDEX IF NOT EXISTS idx_scraped_data_scraper_content_hash ON scraped_data_item(scraper_definition_id, content_hash);
@@ -0,0 +1,249 @@
+package com.example.webscrapingtools.scraping.crawler;
+
+import com.example.webscrapingtools.scraping.service.HtmlParserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the crawl engine against an embedded HTTP server. Every page links to the next ten pages, so a crawl
+ * from page 1 discovers the whole site through pagination.
+ */
+class CrawlEngineTest {
+
+    private static final Logger log = LoggerFactory.getLogger(CrawlEngineTest.class);
+
+    private static final String SCOPE = "scraper-1";
+    private static final String FIELDS = "{\"name\": \".name\"}";
+
+    private final HtmlParserService htmlParserService = new HtmlParserService(new ObjectMapper());
+    private final Map<Integer, AtomicInteger> hits = new ConcurrentHashMap<>();
+    private final Set<Integer> connections = ConcurrentHashMap.newKeySet(); // Client ports seen by the server
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final AtomicLong lastArrival = new AtomicLong();
+    private final AtomicLong minGapNanos = new AtomicLong(Long.MAX_VALUE);
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private volatile int pageCount;
+    private volatile long latencyMs;
+    private volatile String etagSuffix = "v1";
+    private volatile int failuresPerPage; // 503s each page returns before succeeding
+    private volatile int brokenPage = -1; // Always answers 500
+
+    private CrawlEngine engine;
+
+    @BeforeAll
+    static void disableNagle() {
+        // The JDK server writes headers and body separately; without TCP_NODELAY every response waits on a delayed ACK
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        serverExecutor = Executors.newFixedThreadPool(32);
+        server.setExecutor(serverExecutor);
+        server.createContext("/page/", this::servePage);
+        server.start();
+    }
+
+    @AfterEach
+    void stop() {
+        if (engine != null) {
+            engine.shutdown();
+        }
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void crawlsThousandsOfPagesOverReusedConnections() throws Exception {
+        pageCount = 3000;
+        engine = newEngine(16, 0, 2);
+        AtomicInteger items = new AtomicInteger();
+
+        CrawlResult result = engine.crawl(SCOPE, url(1), "ul.pager a", 5000, (url, document) ->
+                items.addAndGet(htmlParserService.parseData(document, ".item", FIELDS).size())
+        ).get(120, TimeUnit.SECONDS);
+
+        log.info("Crawled {} pages ({} KB) in {} ms: {} pages/s over {} connection(s)",
+                result.getPagesFetched(), result.getBytesReceived() / 1024, result.getElapsed().toMillis(),
+                String.format("%.0f", result.getPagesPerSecond()), connections.size());
+        assertEquals(3000, result.getPagesFetched());
+        assertEquals(0, result.getPagesFailed());
+        assertEquals(3000 * 5, items.get());
+        hits.values().forEach(count -> assertEquals(1, count.get(), "Every page is fetched exactly once"));
+        assertTrue(maxInFlight.get() <= 16, "In flight: " + maxInFlight.get());
+        assertTrue(connections.size() <= 32, "Connections should be reused, opened " + connections.size());
+    }
+
+    @Test
+    void stopsAtMaxPages() throws Exception {
+        pageCount = 500;
+        engine = newEngine(4, 0, 2);
+
+        CrawlResult result = engine.crawl(SCOPE, url(1), "ul.pager a", 50, (url, document) -> { }).get(30, TimeUnit.SECONDS);
+
+        assertEquals(50, result.getPagesFetched());
+        assertEquals(50, hits.size());
+    }
+
+    @Test
+    void limitsConcurrencyAndSpacesRequestsPerHost() throws Exception {
+        pageCount = 30;
+        latencyMs = 30;
+        engine = newEngine(2, 20, 2);
+
+        CrawlResult result = engine.crawl(SCOPE, url(1), "ul.pager a", 100, (url, document) -> { }).get(30, TimeUnit.SECONDS);
+
+        assertEquals(30, result.getPagesFetched());
+        assertEquals(2, maxInFlight.get());
+        assertTrue(result.getElapsed().toMillis() >= 29 * 20, "Elapsed " + result.getElapsed().toMillis() + " ms");
+        assertTrue(minGapNanos.get() >= TimeUnit.MILLISECONDS.toNanos(10),
+                "Requests arrived " + TimeUnit.NANOSECONDS.toMillis(minGapNanos.get()) + " ms apart");
+    }
+
+    @Test
+    void retriesServerErrorsAndGivesUpOnPersistentFailures() throws Exception {
+        pageCount = 20;
+        failuresPerPage = 2;
+        brokenPage = 7;
+        engine = newEngine(4, 0, 3);
+
+        CrawlResult result = engine.crawl(SCOPE, url(1), "ul.pager a", 100, (url, document) -> { }).get(30, TimeUnit.SECONDS);
+
+        assertEquals(19, result.getPagesFetched());
+        assertEquals(1, result.getPagesFailed());
+        assertTrue(result.getRetries() >= 19 * 2 + 3, "Retries: " + result.getRetries()); // Plus any stale connections
+        assertTrue(hits.get(7).get() <= 4, "One attempt plus at most three retries");
+        assertTrue(result.getFirstError().contains("/page/7"), result.getFirstError());
+    }
+
+    @Test
+    void recrawlUsesConditionalRequestsAndStillFollowsPagination() throws Exception {
+        pageCount = 200;
+        engine = newEngine(8, 0, 2);
+        AtomicInteger handled = new AtomicInteger();
+        PageHandler handler = (url, document) -> handled.incrementAndGet();
+
+        CrawlResult first = engine.crawl(SCOPE, url(1), "ul.pager a", 1000, handler).get(30, TimeUnit.SECONDS);
+        first.rememberValidators();
+        CrawlResult second = engine.crawl(SCOPE, url(1), "ul.pager a", 1000, handler).get(30, TimeUnit.SECONDS);
+
+        assertEquals(200, first.getPagesFetched());
+        assertEquals(0, second.getPagesFetched());
+        assertEquals(200, second.getPagesNotModified());
+        assertEquals(200, handled.get(), "Unchanged pages are not handed to the handler again");
+
+        etagSuffix = "v2";
+        CrawlResult third = engine.crawl(SCOPE, url(1), "ul.pager a", 1000, handler).get(30, TimeUnit.SECONDS);
+
+        assertEquals(200, third.getPagesFetched());
+        assertEquals(400, handled.get());
+    }
+
+    @Test
+    void validatorsAreOnlyUsedWithinTheirScopeOnceRemembered() throws Exception {
+        pageCount = 50;
+        engine = newEngine(8, 0, 2);
+        PageHandler handler = (url, document) -> { };
+
+        engine.crawl(SCOPE, url(1), "ul.pager a", 1000, handler).get(30, TimeUnit.SECONDS); // Output never stored
+        CrawlResult unremembered = engine.crawl(SCOPE, url(1), "ul.pager a", 1000, handler).get(30, TimeUnit.SECONDS);
+        unremembered.rememberValidators();
+        CrawlResult otherScope = engine.crawl("scraper-2", url(1), "ul.pager a", 1000, handler).get(30, TimeUnit.SECONDS);
+        CrawlResult sameScope = engine.crawl(SCOPE, url(1), "ul.pager a", 1000, handler).get(30, TimeUnit.SECONDS);
+
+        assertEquals(50, unremembered.getPagesFetched(), "Validators of a crawl whose output was not stored are not used");
+        assertEquals(50, otherScope.getPagesFetched(), "Another scraper or changed selectors fetch every page in full");
+        assertEquals(50, sameScope.getPagesNotModified());
+    }
+
+    // Tests keep a couple of retries even when they do not exercise them: the JDK server may close an idle
+    // keep-alive connection just as the client reuses it, which a real crawl retries as well
+    private CrawlEngine newEngine(int maxConcurrencyPerHost, long perHostDelayMs, int maxRetries) {
+        return new CrawlEngine(htmlParserService, maxConcurrencyPerHost, perHostDelayMs, maxRetries, 10, 10_000, 10_000);
+    }
+
+    private String url(int page) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/page/" + page;
+    }
+
+    private void servePage(HttpExchange exchange) throws IOException {
+        int current = inFlight.incrementAndGet();
+        maxInFlight.accumulateAndGet(current, Math::max);
+        long now = System.nanoTime();
+        long previous = lastArrival.getAndSet(now);
+        if (previous != 0) {
+            minGapNanos.accumulateAndGet(now - previous, Math::min);
+        }
+        connections.add(exchange.getRemoteAddress().getPort());
+        try (exchange) {
+            int page = Integer.parseInt(exchange.getRequestURI().getPath().substring("/page/".length()));
+            int attempt = hits.computeIfAbsent(page, p -> new AtomicInteger()).incrementAndGet();
+            if (latencyMs > 0) {
+                Thread.sleep(latencyMs);
+            }
+            if (page == brokenPage) {
+                exchange.sendResponseHeaders(500, -1);
+                return;
+            }
+            if (attempt <= failuresPerPage) {
+                exchange.getResponseHeaders().add("Retry-After", "0");
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+            String etag = "\"" + page + "-" + etagSuffix + "\"";
+            exchange.getResponseHeaders().add("ETag", etag);
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+            byte[] body = render(page).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "text/html; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private String render(int page) {
+        StringBuilder html = new StringBuilder("<html><body>");
+        for (int i = 1; i <= 5; i++) {
+            html.append("<div class='item'><span class='name'>Item ").append(page).append('-').append(i).append("</span></div>");
+        }
+        html.append("<ul class='pager'>");
+        for (int next = page + 1; next <= Math.min(page + 10, pageCount); next++) {
+            html.append("<li><a href='/page/").append(next).append("#top'>").append(next).append("</a></li>");
+        }
+        return html.append("</ul></body></html>").toString();
+    }
+}
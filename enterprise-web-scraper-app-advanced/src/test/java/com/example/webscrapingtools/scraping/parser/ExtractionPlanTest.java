@@ -0,0 +1,140 @@
+package com.example.webscrapingtools.scraping.parser;
+
+import com.example.webscrapingtools.Benchmark;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExtractionPlanTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ExtractionPlanTest.class);
+
+    private static final Map<String, String> FIELDS = new LinkedHashMap<>();
+    private static final String FIELDS_JSON = "{\"title\": \"h3 a[title]\", \"price\": \"p.price\", \"image\": \".image img[src]\"}";
+
+    static {
+        FIELDS.put("title", "h3 a[title]");
+        FIELDS.put("price", "p.price");
+        FIELDS.put("image", ".image img[src]");
+    }
+
+    @Test
+    void extractsTextAndAttributesLikeFieldDefinitions() {
+        Document document = Jsoup.parse("<article class='product'><h3><a title='Book A' href='/a'>Book A...</a></h3>"
+                + "<p class='price'> £10.00 </p><div class='image'><img src='/a.jpg'></div></article>"
+                + "<article class='product'><h3><a title='Book B'>Book B</a></h3></article>"
+                + "<article class='product'><span>No fields</span></article>");
+        ExtractionPlan plan = ExtractionPlan.compile("article.product", FIELDS, FIELDS_JSON);
+
+        List<Map<String, String>> items = new ArrayList<>();
+        for (Element item : plan.selectItems(document)) {
+            items.add(plan.extract(item));
+        }
+
+        assertEquals(3, items.size());
+        assertEquals(Map.of("title", "Book A", "price", "£10.00", "image", "/a.jpg"), items.get(0));
+        assertEquals(Map.of("title", "Book B"), items.get(1), "Fields that match nothing are left out");
+        assertTrue(items.get(2).isEmpty());
+    }
+
+    @Test
+    void knowsWhichSelectorsItWasCompiledFrom() {
+        ExtractionPlan plan = ExtractionPlan.compile("article.product", FIELDS, FIELDS_JSON);
+
+        assertTrue(plan.isCompiledFrom("article.product", FIELDS_JSON));
+        assertFalse(plan.isCompiledFrom("article.item", FIELDS_JSON));
+        assertFalse(plan.isCompiledFrom("article.product", "{\"title\": \"h3\"}"));
+    }
+
+    @Test
+    void itemHashChangesWithTheItemsAndTheSelectors() {
+        ExtractionPlan plan = ExtractionPlan.compile("article.product", FIELDS, FIELDS_JSON);
+        Document page = Jsoup.parse("<div id='ad'>Ad 1</div><article class='product'><p class='price'>1</p></article>");
+        Document sameItemsOtherAd = Jsoup.parse("<div id='ad'>Ad 2</div><article class='product'><p class='price'>1</p></article>");
+        Document otherPrice = Jsoup.parse("<article class='product'><p class='price'>2</p></article>");
+
+        String hash = plan.hashItems(plan.selectItems(page));
+
+        assertEquals(hash, plan.hashItems(plan.selectItems(sameItemsOtherAd)), "Only the matched items count");
+        assertNotEquals(hash, plan.hashItems(plan.selectItems(otherPrice)));
+        ExtractionPlan otherFields = ExtractionPlan.compile("article.product", Map.of("price", "p.price"), "{\"price\": \"p.price\"}");
+        assertNotEquals(hash, otherFields.hashItems(otherFields.selectItems(page)));
+    }
+
+    /**
+     * Compares extraction per item against selector strings parsed for every item, as scrapers used to work.
+     */
+    @Test
+    @Benchmark
+    void benchmarkParseTimePerItem() {
+        int itemCount = 50_000;
+        StringBuilder html = new StringBuilder("<html><body>");
+        for (int i = 0; i < itemCount; i++) {
+            html.append("<article class='product'><div class='image'><img src='/img/").append(i).append(".jpg'></div>")
+                    .append("<h3><a title='Book ").append(i).append("' href='/book/").append(i).append("'>Book</a></h3>")
+                    .append("<p class='price'>£").append(i % 50).append(".99</p></article>");
+        }
+        Document document = Jsoup.parse(html.append("</body></html>").toString());
+        ExtractionPlan plan = ExtractionPlan.compile("article.product", FIELDS, FIELDS_JSON);
+
+        List<Map<String, String>> expected = null;
+        List<Map<String, String>> actual = null;
+        long uncompiledNanos = Long.MAX_VALUE;
+        long compiledNanos = Long.MAX_VALUE;
+        for (int round = 0; round < 3; round++) { // Best of three, the first rounds warm up the JIT
+            long start = System.nanoTime();
+            expected = extractUncompiled(document, "article.product", FIELDS);
+            uncompiledNanos = Math.min(uncompiledNanos, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            actual = new ArrayList<>(itemCount);
+            for (Element item : plan.selectItems(document)) {
+                actual.add(plan.extract(item));
+            }
+            compiledNanos = Math.min(compiledNanos, System.nanoTime() - start);
+        }
+
+        log.info("Parse time per item, {} items with {} fields: {} us with selector strings, {} us compiled",
+                itemCount, FIELDS.size(), String.format("%.2f", uncompiledNanos / 1e3 / itemCount),
+                String.format("%.2f", compiledNanos / 1e3 / itemCount));
+        assertEquals(expected, actual);
+    }
+
+    private static List<Map<String, String>> extractUncompiled(Document document, String itemCssSelector, Map<String, String> fields) {
+        List<Map<String, String>> items = new ArrayList<>();
+        Elements itemElements = document.select(itemCssSelector);
+        for (Element itemElement : itemElements) {
+            Map<String, String> itemData = new HashMap<>();
+            for (Map.Entry<String, String> entry : fields.entrySet()) {
+                String selector = entry.getValue();
+                if (selector.contains("[") && selector.contains("]")) {
+                    String cssPart = selector.substring(0, selector.indexOf("["));
+                    String attrPart = selector.substring(selector.indexOf("[") + 1, selector.indexOf("]"));
+                    Element element = itemElement.selectFirst(cssPart);
+                    if (element != null) {
+                        itemData.put(entry.getKey(), element.attr(attrPart));
+                    }
+                } else {
+                    Element element = itemElement.selectFirst(selector);
+                    if (element != null) {
+                        itemData.put(entry.getKey(), element.text());
+                    }
+                }
+            }
+            items.add(itemData);
+        }
+        return items;
+    }
+}
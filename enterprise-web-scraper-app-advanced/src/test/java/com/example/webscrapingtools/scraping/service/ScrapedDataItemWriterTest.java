@@ -0,0 +1,172 @@
+package com.example.webscrapingtools.scraping.service;
+
+import com.example.webscrapingtools.scraping.model.ScrapedDataItem;
+import com.example.webscrapingtools.scraping.model.ScraperDefinition;
+import com.example.webscrapingtools.scraping.model.ScrapingTask;
+import com.example.webscrapingtools.scraping.repository.ScrapedDataItemRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ScrapedDataItemWriterTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ScrapedDataItemWriterTest.class);
+
+    @Mock
+    private ScrapedDataItemRepository scrapedDataItemRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+    private final ScrapingTask task = ScrapingTask.builder().id(1L).build();
+    private final ScraperDefinition scraperDefinition = ScraperDefinition.builder().id(2L).build();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        lenient().when(scrapedDataItemRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<ScrapedDataItem> items = invocation.getArgument(0);
+            batchSizes.add(items.size());
+            return items;
+        });
+    }
+
+    @Test
+    void writesFullBatchesAndTheRemainderOnClose() {
+        ScrapedDataItemWriter writer = new ScrapedDataItemWriter(scrapedDataItemRepository, transactionManager, 100, 1000);
+
+        ScrapedDataItemWriter.Batch batch = writer.open(task, scraperDefinition);
+        for (int i = 0; i < 250; i++) {
+            batch.accept(Map.of("n", String.valueOf(i)));
+        }
+        assertEquals(List.of(100, 100), batchSizes, "Full batches are written while items arrive");
+
+        batch.close();
+
+        assertEquals(List.of(100, 100, 50), batchSizes);
+        assertEquals(250, batch.getItemsWritten());
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    void closeWithoutItemsWritesNothing() {
+        ScrapedDataItemWriter writer = new ScrapedDataItemWriter(scrapedDataItemRepository, transactionManager, 100, 1000);
+
+        writer.open(task, scraperDefinition).close();
+
+        verify(scrapedDataItemRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void acceptsItemsFromConcurrentPages() throws Exception {
+        ScrapedDataItemWriter writer = new ScrapedDataItemWriter(scrapedDataItemRepository, transactionManager, 500, 1000);
+        ScrapedDataItemWriter.Batch batch = writer.open(task, scraperDefinition);
+        ExecutorService pages = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int page = 0; page < 8; page++) {
+                String pageNumber = String.valueOf(page);
+                futures.add(pages.submit(() -> {
+                    for (int i = 0; i < 12_500; i++) {
+                        batch.accept(Map.of("page", pageNumber, "n", String.valueOf(i)));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pages.shutdown();
+        }
+        batch.close();
+
+        assertEquals(100_000, batch.getItemsWritten());
+        assertEquals(100_000, batchSizes.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(batchSizes.stream().allMatch(size -> size <= 500), "Batches never exceed the batch size");
+    }
+
+    @Test
+    void skipsItemsTheScraperAlreadyHas() {
+        ScrapedDataItemWriter writer = new ScrapedDataItemWriter(scrapedDataItemRepository, transactionManager, 100, 1000);
+        String known = ScrapedDataItemWriter.hashItem(Map.of("n", "1", "title", "Known"));
+        when(scrapedDataItemRepository.findExistingContentHashes(eq(2L), anyCollection())).thenReturn(List.of(known));
+
+        ScrapedDataItemWriter.Batch batch = writer.open(task, scraperDefinition);
+        batch.accept(Map.of("title", "Known", "n", "1")); // Same data, different field order
+        batch.accept(Map.of("title", "New"));
+        batch.accept(Map.of("title", "New")); // Duplicate on the same page
+        batch.close();
+
+        assertEquals(List.of(1), batchSizes);
+        assertEquals(1, batch.getItemsWritten());
+        assertEquals(2, batch.getItemsUnchanged());
+    }
+
+    @Test
+    void remembersPageHashesOnlyAfterASuccessfulClose() {
+        ScrapedDataItemWriter writer = new ScrapedDataItemWriter(scrapedDataItemRepository, transactionManager, 100, 1000);
+
+        ScrapedDataItemWriter.Batch first = writer.open(task, scraperDefinition);
+        assertFalse(first.isUnchangedPage("http://localhost/1", "hash-1"));
+        ScrapedDataItemWriter.Batch concurrent = writer.open(task, scraperDefinition);
+        assertFalse(concurrent.isUnchangedPage("http://localhost/1", "hash-1"), "Not stored until the first batch closes");
+        first.close();
+
+        ScrapedDataItemWriter.Batch second = writer.open(task, scraperDefinition);
+        assertTrue(second.isUnchangedPage("http://localhost/1", "hash-1"));
+        assertFalse(second.isUnchangedPage("http://localhost/1", "hash-2"));
+        assertFalse(writer.open(task, ScraperDefinition.builder().id(3L).build()).isUnchangedPage("http://localhost/1", "hash-1"),
+                "Page hashes are per scraper");
+        assertEquals(1, second.getPagesUnchanged());
+    }
+
+    @Test
+    void streamsA100kItemPageFromTheParser() throws Exception {
+        HtmlParserService htmlParserService = new HtmlParserService(new ObjectMapper());
+        ScrapedDataItemWriter writer = new ScrapedDataItemWriter(scrapedDataItemRepository, transactionManager, 500, 1000);
+        StringBuilder html = new StringBuilder("<html><body>");
+        for (int i = 0; i < 100_000; i++) {
+            html.append("<div class='item'><h3>Item ").append(i).append("</h3><span class='price'>$")
+                    .append(i % 100).append(".99</span><a href='/item/").append(i).append("'>View</a></div>");
+        }
+        Document document = Jsoup.parse(html.append("</body></html>").toString(), "http://localhost/");
+
+        ScrapedDataItemWriter.Batch batch = writer.open(task, scraperDefinition);
+        long start = System.nanoTime();
+        int emitted = htmlParserService.parseData(document, "div.item",
+                "{\"title\": \"h3\", \"price\": \".price\", \"link\": \"a[href]\"}", batch);
+        batch.close();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        log.info("Extracted and batched {} items in {} ms: {} items/s",
+                emitted, String.format("%.0f", seconds * 1000), String.format("%.0f", emitted / seconds));
+        assertEquals(100_000, emitted);
+        assertEquals(100_000, batch.getItemsWritten());
+        assertEquals(200, batchSizes.size());
+    }
+}
@@ -3,21 +3,29 @@ package com.mlutil.dataprocessing.controller;
 
 import com.mlutil.dataprocessing.dto.DataProcessingRequest;
 import com.mlutil.dataprocessing.dto.DataProcessingResponse;
+import com.mlutil.dataprocessing.service.DataPipelineService;
 import com.mlutil.dataprocessing.service.DataProcessingService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+
 @RestController
 @RequestMapping("/api/data-processing")
 @Tag(name = "Data Processing", description = "API for common ML data preprocessing utilities")
@@ -25,23 +33,50 @@ import org.springframework.web.bind.annotation.RestController;
 public class DataProcessingController {
 
     private final DataProcessingService dataProcessingService;
+    private final DataPipelineService dataPipelineService;
 
-    public DataProcessingController(DataProcessingService dataProcessingService) {
+    public DataProcessingController(DataProcessingService dataProcessingService, DataPipelineService dataPipelineService) {
         this.dataProcessingService = dataProcessingService;
+        this.dataPipelineService = dataPipelineService;
     }
 
     @Operation(summary = "Apply a specified data processing transformation to input data")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Data processed successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid request or unsupported processing type"),
+            @ApiResponse(responseCode = "404", description = "Fitted scaler not found"),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
             @ApiResponse(responseCode = "403", description = "Forbidden")
     })
     @PostMapping("/process")
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')") // Even regular users might need this for preparing data for prediction
-    public ResponseEntity<DataProcessingResponse> processData(@Valid @RequestBody DataProcessingRequest request) {
-        DataProcessingResponse response = dataProcessingService.processData(request);
+    public ResponseEntity<DataProcessingResponse> processData(@Valid @RequestBody DataProcessingRequest request,
+                                                              @AuthenticationPrincipal(expression = "username") String username) {
+        DataProcessingResponse response = dataProcessingService.processData(request, username);
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
+
+    @Operation(summary = "Stream NDJSON or CSV records through an ordered pipeline of transformations",
+            description = "The body is read and the result written one record at a time, in the request's format, so inputs of any size can be processed.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Records processed; the body streams the results"),
+            @ApiResponse(responseCode = "400", description = "Invalid steps, or a malformed record before any output was sent"),
+            @ApiResponse(responseCode = "404", description = "Fitted scaler not found"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    @PostMapping(value = "/pipeline", consumes = {"application/x-ndjson", "text/csv"})
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public void runPipeline(@Parameter(description = "JSON array of steps, e.g. [{\"type\":\"ONE_HOT_ENCODER\",\"params\":{\"feature\":\"color\",\"categories\":\"red,blue\"}}]")
+                            @RequestParam String steps,
+                            @AuthenticationPrincipal(expression = "username") String username,
+                            HttpServletRequest request,
+                            HttpServletResponse response) throws IOException {
+        DataPipelineService.Format format = DataPipelineService.Format.fromContentType(request.getContentType());
+        // Compile before reading the body so configuration errors are reported as a plain 400
+        DataPipelineService.Pipeline pipeline = dataPipelineService.compile(dataPipelineService.parseSteps(steps), username);
+        response.setContentType(format.contentType());
+        dataPipelineService.run(pipeline, format, request.getInputStream(), response.getOutputStream());
+    }
 }
 ```
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.mlutil.dataprocessing.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+public class PipelineStep {
+    @NotBlank(message = "Step type cannot be empty")
+    private String type; // e.g., "MIN_MAX_SCALER", "ONE_HOT_ENCODER", "TEXT_VECTORIZER", "DROP_FIELDS", "FILL_MISSING"
+
+    private Map<String, String> params; // Parameters for the step
+}
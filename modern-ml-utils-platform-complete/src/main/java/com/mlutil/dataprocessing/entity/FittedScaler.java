@@ -0,0 +1,48 @@
+package com.mlutil.dataprocessing.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A scaler fitted on one dataset and saved under a name unique per owner, so later requests (e.g. prediction inputs) are scaled
+ * with the statistics of the training data rather than their own.
+ */
+@Entity
+@Table(name = "fitted_scalers", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"owner", "name"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FittedScaler {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(nullable = false)
+    private String scalerType; // e.g., "MIN_MAX_SCALER"
+
+    @Column(nullable = false)
+    private Double rangeMin; // Output range the features are scaled to
+
+    @Column(nullable = false)
+    private Double rangeMax;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String featureStats; // JSON object of feature name -> {"min", "max", "count"}
+
+    @Column(nullable = false)
+    private String owner; // User who fitted the scaler; only they can apply it
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+}
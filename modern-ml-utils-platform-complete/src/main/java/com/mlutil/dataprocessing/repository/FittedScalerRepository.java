@@ -0,0 +1,11 @@
+package com.mlutil.dataprocessing.repository;
+
+import com.mlutil.dataprocessing.entity.FittedScaler;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface FittedScalerRepository extends JpaRepository<FittedScaler, Long> {
+    Optional<FittedScaler> findByOwnerAndName(String owner, String name);
+    boolean existsByOwnerAndName(String owner, String name);
+}
@@ -0,0 +1,121 @@
+package com.mlutil.dataprocessing.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * The numeric features of a JSON array of rows, read once into primitive columns. A row is either a number (the
+ * {@value #VALUE_COLUMN} column) or an object whose numeric fields are columns named after the fields. A row lacking
+ * a feature, or holding a non-numeric value for it, has {@code NaN} in that column. The rows themselves are kept so
+ * transforms can write their results back in the input's shape.
+ */
+final class ColumnarDataset {
+
+    static final String VALUE_COLUMN = "value";
+
+    // Rows per leaf task when computing statistics; smaller slices cost more in task overhead than they save
+    private static final int STATS_SLICE = 1 << 16;
+
+    private final JsonNode rows;
+    private final Map<String, double[]> columns;
+
+    private ColumnarDataset(JsonNode rows, Map<String, double[]> columns) {
+        this.rows = rows;
+        this.columns = columns;
+    }
+
+    static ColumnarDataset of(JsonNode rows) {
+        int size = rows.size();
+        Map<String, double[]> columns = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            JsonNode row = rows.get(i);
+            if (row.isNumber()) {
+                column(columns, VALUE_COLUMN, size)[i] = row.asDouble();
+            } else if (row.isObject()) {
+                Iterator<Map.Entry<String, JsonNode>> fields = row.fields();
+                while (fields.hasNext()) {
+                    Map.Entry<String, JsonNode> field = fields.next();
+                    if (field.getValue().isNumber()) {
+                        column(columns, field.getKey(), size)[i] = field.getValue().asDouble();
+                    }
+                }
+            }
+        }
+        return new ColumnarDataset(rows, columns);
+    }
+
+    JsonNode rows() {
+        return rows;
+    }
+
+    int size() {
+        return rows.size();
+    }
+
+    Map<String, double[]> columns() {
+        return columns;
+    }
+
+    /**
+     * Per-column statistics in one pass over each column. Columns are computed in parallel on the common
+     * fork-join pool, and long columns are split into slices that are computed in parallel too.
+     */
+    Map<String, FeatureStats> stats() {
+        Map<String, ForkJoinTask<FeatureStats>> tasks = new LinkedHashMap<>();
+        columns.forEach((name, values) -> tasks.put(name, ForkJoinPool.commonPool().submit(new StatsTask(values, 0, values.length))));
+        Map<String, FeatureStats> stats = new LinkedHashMap<>();
+        tasks.forEach((name, task) -> stats.put(name, task.join()));
+        return stats;
+    }
+
+    private static double[] column(Map<String, double[]> columns, String name, int size) {
+        return columns.computeIfAbsent(name, key -> {
+            double[] values = new double[size];
+            Arrays.fill(values, Double.NaN);
+            return values;
+        });
+    }
+
+    private static final class StatsTask extends RecursiveTask<FeatureStats> {
+
+        private final double[] values;
+        private final int from;
+        private final int to;
+
+        StatsTask(double[] values, int from, int to) {
+            this.values = values;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected FeatureStats compute() {
+            if (to - from > STATS_SLICE) {
+                int middle = (from + to) >>> 1;
+                StatsTask left = new StatsTask(values, from, middle);
+                left.fork();
+                FeatureStats right = new StatsTask(values, middle, to).compute();
+                return left.join().merge(right);
+            }
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            long count = 0;
+            for (int i = from; i < to; i++) {
+                double value = values[i];
+                if (!Double.isNaN(value)) {
+                    min = Math.min(min, value);
+                    max = Math.max(max, value);
+                    count++;
+                }
+            }
+            return count == 0 ? FeatureStats.EMPTY : new FeatureStats(min, max, count);
+        }
+    }
+}
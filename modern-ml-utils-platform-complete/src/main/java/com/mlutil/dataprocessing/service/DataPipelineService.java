@@ -0,0 +1,394 @@
+package com.mlutil.dataprocessing.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.mlutil.core.exception.ValidationException;
+import com.mlutil.dataprocessing.dto.PipelineStep;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Runs an ordered list of transforms over a stream of records (NDJSON or CSV with a header row). Records are read
+ * one at a time with Jackson's streaming parser, passed through every step and written out before the next one is
+ * read, so memory depends on the steps' state (fitted statistics, category lists) and not on the input size.
+ * <p>
+ * Steps therefore cannot look at the whole input: MIN_MAX_SCALER needs a fitted {@code scaler} and
+ * ONE_HOT_ENCODER its {@code categories} up front.
+ */
+@Service
+public class DataPipelineService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataPipelineService.class);
+    private static final TypeReference<List<PipelineStep>> STEPS = new TypeReference<>() {
+    };
+
+    public enum Format {
+        NDJSON("application/x-ndjson"),
+        CSV("text/csv");
+
+        private final String contentType;
+
+        Format(String contentType) {
+            this.contentType = contentType;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public static Format fromContentType(String contentType) {
+            for (Format format : values()) {
+                if (contentType != null && contentType.toLowerCase().startsWith(format.contentType)) {
+                    return format;
+                }
+            }
+            throw new ValidationException("Pipeline input must be application/x-ndjson or text/csv.");
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+    private final CsvMapper csvMapper = new CsvMapper();
+    private final DataProcessingService dataProcessingService;
+
+    public DataPipelineService(ObjectMapper objectMapper, DataProcessingService dataProcessingService) {
+        this.objectMapper = objectMapper;
+        this.dataProcessingService = dataProcessingService;
+    }
+
+    public List<PipelineStep> parseSteps(String json) {
+        List<PipelineStep> steps;
+        try {
+            steps = objectMapper.readValue(json, STEPS);
+        } catch (JsonProcessingException e) {
+            throw new ValidationException("Pipeline steps must be a JSON array of {\"type\", \"params\"} objects.");
+        }
+        if (steps == null || steps.isEmpty()) {
+            throw new ValidationException("A pipeline needs at least one step.");
+        }
+        return steps;
+    }
+
+    /**
+     * A compiled pipeline: the record transform, and the columns it turns a set of input columns into.
+     */
+    public static final class Pipeline implements UnaryOperator<ObjectNode> {
+
+        private final List<Step> steps;
+        private final Set<String> numericInputs = new HashSet<>();
+
+        private Pipeline(List<Step> steps) {
+            this.steps = steps;
+            steps.forEach(step -> numericInputs.addAll(step.numericInputs()));
+        }
+
+        @Override
+        public ObjectNode apply(ObjectNode record) {
+            for (Step step : steps) {
+                record = step.transform().apply(record);
+            }
+            return record;
+        }
+
+        /**
+         * The output columns, in order, of records read with the {@code input} columns.
+         */
+        public List<String> columns(List<String> input) {
+            List<String> columns = new ArrayList<>(input);
+            for (Step step : steps) {
+                step.columns().accept(columns);
+            }
+            return columns;
+        }
+    }
+
+    // What a step does to one record and to the column list of the output, and which fields it reads as numbers
+    private record Step(UnaryOperator<ObjectNode> transform, Consumer<List<String>> columns, Set<String> numericInputs) {
+
+        Step(UnaryOperator<ObjectNode> transform, Consumer<List<String>> columns) {
+            this(transform, columns, Set.of());
+        }
+    }
+
+    /**
+     * Builds the steps into one record transform, resolving fitted scalers among those of {@code username}. Fails
+     * before any data is read if a step is unknown or misconfigured.
+     */
+    public Pipeline compile(List<PipelineStep> steps, String username) {
+        List<Step> compiled = new ArrayList<>(steps.size());
+        for (PipelineStep step : steps) {
+            if (step.getType() == null) {
+                throw new ValidationException("Step type cannot be empty");
+            }
+            Map<String, String> params = step.getParams() != null ? step.getParams() : Map.of();
+            compiled.add(switch (step.getType().toUpperCase()) {
+                case "MIN_MAX_SCALER" -> minMaxScaler(params, username);
+                case "ONE_HOT_ENCODER" -> oneHotEncoder(params);
+                case "TEXT_VECTORIZER" -> textVectorizer(params);
+                case "DROP_FIELDS" -> dropFields(params);
+                case "FILL_MISSING" -> fillMissing(params);
+                default -> throw new ValidationException("Unsupported pipeline step: " + step.getType());
+            });
+        }
+        return new Pipeline(compiled);
+    }
+
+    /**
+     * Streams every record of {@code in} through the pipeline into {@code out}, in the same format. CSV output
+     * has the input header's columns as the steps transform them; a record with a field outside those columns
+     * fails the run. Neither stream is closed.
+     *
+     * @return the number of records processed
+     */
+    public long run(Pipeline pipeline, Format format, InputStream in, OutputStream out) throws IOException {
+        ObjectReader reader = format == Format.CSV
+                ? csvMapper.readerFor(ObjectNode.class).with(CsvSchema.emptySchema().withHeader())
+                : objectMapper.readerFor(ObjectNode.class);
+        long count = 0;
+        SequenceWriter writer = null;
+        try (MappingIterator<ObjectNode> records = reader.without(JsonParser.Feature.AUTO_CLOSE_SOURCE).readValues(in)) {
+            while (true) {
+                ObjectNode record;
+                try {
+                    if (!records.hasNextValue()) {
+                        break;
+                    }
+                    record = records.nextValue();
+                } catch (JsonProcessingException e) {
+                    throw new ValidationException("Malformed record " + (count + 1) + ": " + e.getOriginalMessage());
+                }
+                if (format == Format.CSV) {
+                    typeCsvValues(record, pipeline.numericInputs);
+                }
+                ObjectNode result = pipeline.apply(record);
+                if (writer == null) {
+                    writer = openWriter(format, pipeline, records.getParser(), out);
+                }
+                try {
+                    writer.write(result);
+                } catch (JsonProcessingException e) {
+                    throw new ValidationException("Record " + (count + 1) + " does not fit the output columns: " + e.getOriginalMessage());
+                }
+                count++;
+            }
+        } finally {
+            if (writer != null) {
+                writer.close();
+            }
+        }
+        if (format == Format.NDJSON && count > 0) {
+            out.write('\n');
+        }
+        out.flush();
+        logger.info("Pipeline processed {} {} records", count, format);
+        return count;
+    }
+
+    // The CSV header is known once the first record has been read
+    private SequenceWriter openWriter(Format format, Pipeline pipeline, JsonParser parser, OutputStream out) throws IOException {
+        if (format == Format.CSV) {
+            List<String> header = new ArrayList<>();
+            ((CsvParser) parser).getSchema().forEach(column -> header.add(column.getName()));
+            CsvSchema.Builder columns = CsvSchema.builder();
+            pipeline.columns(header).forEach(columns::addColumn);
+            return csvMapper.writer(columns.build().withHeader())
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .writeValues(out);
+        }
+        return objectMapper.writer()
+                .withRootValueSeparator("\n")
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .writeValues(out);
+    }
+
+    /**
+     * CSV has no types: empty cells become nulls, which the steps treat as missing values, and the cells of fields
+     * a step reads as numbers become numbers. Every other cell keeps its text, so IDs and zip codes such as
+     * "01234" pass through unchanged.
+     */
+    private static void typeCsvValues(ObjectNode record, Set<String> numericInputs) {
+        Iterator<Map.Entry<String, JsonNode>> fields = record.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            String text = field.getValue().asText();
+            if (text.isEmpty()) {
+                field.setValue(record.nullNode());
+            } else if (numericInputs.contains(field.getKey()) && looksNumeric(text)) {
+                try {
+                    field.setValue(record.numberNode(Double.parseDouble(text)));
+                } catch (NumberFormatException e) {
+                    // Text after all, e.g. "1-2"
+                }
+            }
+        }
+    }
+
+    private static boolean looksNumeric(String text) {
+        char first = text.charAt(0);
+        return (first >= '0' && first <= '9') || first == '-' || first == '+' || first == '.';
+    }
+
+    private Step minMaxScaler(Map<String, String> params, String username) {
+        String scalerName = params.get("scaler");
+        if (scalerName == null) {
+            throw new ValidationException("In a pipeline, MIN_MAX_SCALER needs a fitted 'scaler': a stream's min and max are only known at its end.");
+        }
+        DataProcessingService.FittedMinMax scaler = dataProcessingService.loadMinMaxScaler(scalerName, username);
+        return new Step(record -> {
+            scaler.stats().forEach((feature, stats) -> {
+                JsonNode value = record.get(feature);
+                if (value != null && value.isNumber() && stats.count() > 0) {
+                    record.put(feature, DataProcessingService.scale(value.asDouble(), stats, scaler.min(), scaler.max()));
+                }
+            });
+            return record;
+        }, columns -> {
+        }, scaler.stats().keySet());
+    }
+
+    private Step oneHotEncoder(Map<String, String> params) {
+        String feature = required(params, "feature", "ONE_HOT_ENCODER");
+        String[] categories = list(required(params, "categories", "ONE_HOT_ENCODER"));
+        Map<String, Integer> codes = new HashMap<>();
+        String[] columns = new String[categories.length];
+        for (int c = 0; c < categories.length; c++) {
+            codes.put(categories[c], c);
+            columns[c] = feature + "_" + categories[c];
+        }
+        // A record without the feature, or with an unlisted category, gets all zeros
+        return new Step(record -> replaceField(record, feature, (value, target) -> {
+            int code = value != null && value.isTextual() ? codes.getOrDefault(value.asText(), -1) : -1;
+            for (int c = 0; c < columns.length; c++) {
+                target.put(columns[c], c == code ? 1 : 0);
+            }
+        }), header -> replaceColumn(header, feature, columns));
+    }
+
+    private Step textVectorizer(Map<String, String> params) {
+        String feature = required(params, "feature", "TEXT_VECTORIZER");
+        String[] columns = {feature + "_length", feature + "_embedding_1", feature + "_embedding_2"};
+        return new Step(record -> replaceField(record, feature, (value, target) -> {
+            String text = value != null && !value.isNull() ? value.asText() : "";
+            target.put(columns[0], text.length());
+            target.put(columns[1], DataProcessingService.mockEmbedding(text, 1));
+            target.put(columns[2], DataProcessingService.mockEmbedding(text, 2));
+        }), header -> replaceColumn(header, feature, columns));
+    }
+
+    private Step dropFields(Map<String, String> params) {
+        List<String> fields = Arrays.asList(list(required(params, "fields", "DROP_FIELDS")));
+        return new Step(record -> {
+            record.remove(fields);
+            return record;
+        }, columns -> columns.removeAll(fields));
+    }
+
+    private Step fillMissing(Map<String, String> params) {
+        String[] fields = list(required(params, "fields", "FILL_MISSING"));
+        String fill = required(params, "value", "FILL_MISSING");
+        JsonNode value;
+        try {
+            value = objectMapper.getNodeFactory().numberNode(Double.parseDouble(fill));
+        } catch (NumberFormatException e) {
+            value = objectMapper.getNodeFactory().textNode(fill);
+        }
+        JsonNode fillValue = value;
+        return new Step(record -> {
+            for (String field : fields) {
+                JsonNode current = record.get(field);
+                if (current == null || current.isNull()) {
+                    record.set(field, fillValue);
+                }
+            }
+            return record;
+        }, columns -> addColumns(columns, fields));
+    }
+
+    /**
+     * Replaces {@code feature} with the fields {@code writer} puts, at the same position; appends them if the record
+     * lacks the feature.
+     */
+    private static ObjectNode replaceField(ObjectNode record, String feature, FieldWriter writer) {
+        JsonNode value = record.get(feature);
+        if (value == null) {
+            writer.write(null, record);
+            return record;
+        }
+        ObjectNode output = record.objectNode();
+        Iterator<Map.Entry<String, JsonNode>> fields = record.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if (field.getKey().equals(feature)) {
+                writer.write(field.getValue(), output);
+            } else {
+                output.set(field.getKey(), field.getValue());
+            }
+        }
+        return output;
+    }
+
+    // The column counterpart of replaceField
+    private static void replaceColumn(List<String> columns, String feature, String[] replacements) {
+        int position = columns.indexOf(feature);
+        if (position < 0) {
+            addColumns(columns, replacements);
+            return;
+        }
+        columns.remove(position);
+        for (String replacement : replacements) {
+            if (!columns.contains(replacement)) {
+                columns.add(position++, replacement);
+            }
+        }
+    }
+
+    private static void addColumns(List<String> columns, String[] added) {
+        for (String column : added) {
+            if (!columns.contains(column)) {
+                columns.add(column);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface FieldWriter {
+        void write(JsonNode value, ObjectNode target);
+    }
+
+    private static String required(Map<String, String> params, String name, String step) {
+        String value = params.get(name);
+        if (value == null || value.isBlank()) {
+            throw new ValidationException(step + " needs the '" + name + "' parameter in a pipeline.");
+        }
+        return value;
+    }
+
+    private static String[] list(String value) {
+        return Arrays.stream(value.split(",")).map(String::trim).filter(item -> !item.isEmpty()).toArray(String[]::new);
+    }
+}
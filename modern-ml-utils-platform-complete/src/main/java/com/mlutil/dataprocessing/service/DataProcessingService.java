@@ -1,42 +1,66 @@
 ```java
 package com.mlutil.dataprocessing.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.mlutil.core.exception.ResourceNotFoundException;
 import com.mlutil.core.exception.ValidationException;
 import com.mlutil.dataprocessing.dto.DataProcessingRequest;
 import com.mlutil.dataprocessing.dto.DataProcessingResponse;
+import com.mlutil.dataprocessing.entity.FittedScaler;
+import com.mlutil.dataprocessing.repository.FittedScalerRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
+/**
+ * Applies preprocessing transforms column-wise: the input rows are read once into per-feature columns
+ * ({@link ColumnarDataset}), statistics and transforms run over those columns, and the results are written back in
+ * the input's shape. Every transform is linear in the number of rows (times categories, for one-hot encoding).
+ */
 @Service
 public class DataProcessingService {
 
     private static final Logger logger = LoggerFactory.getLogger(DataProcessingService.class);
+    private static final String MIN_MAX_SCALER = "MIN_MAX_SCALER";
+    private static final TypeReference<Map<String, FeatureStats>> FEATURE_STATS = new TypeReference<>() {
+    };
+
     private final ObjectMapper objectMapper;
+    private final FittedScalerRepository fittedScalerRepository;
 
-    public DataProcessingService(ObjectMapper objectMapper) {
+    public DataProcessingService(ObjectMapper objectMapper, FittedScalerRepository fittedScalerRepository) {
         this.objectMapper = objectMapper;
+        this.fittedScalerRepository = fittedScalerRepository;
     }
 
-    public DataProcessingResponse processData(DataProcessingRequest request) {
+    public DataProcessingResponse processData(DataProcessingRequest request, String username) {
         String processingType = request.getProcessingType().toUpperCase();
         JsonNode inputData = request.getInputData();
-        Map<String, String> params = request.getParams();
+        Map<String, String> params = request.getParams() != null ? request.getParams() : Map.of();
 
         JsonNode processedData;
         String message;
 
         switch (processingType) {
-            case "MIN_MAX_SCALER":
-                processedData = applyMinMaxScaler(inputData, params);
-                message = "Min-Max scaling applied.";
+            case MIN_MAX_SCALER:
+                processedData = applyMinMaxScaler(inputData, params, username);
+                if (params.containsKey("scaler")) {
+                    message = "Min-Max scaling applied with fitted scaler '" + params.get("scaler") + "'.";
+                } else if (params.containsKey("save_as")) {
+                    message = "Min-Max scaling applied; fitted scaler '" + params.get("save_as") + "' saved.";
+                } else {
+                    message = "Min-Max scaling applied.";
+                }
                 break;
             case "ONE_HOT_ENCODER":
                 processedData = applyOneHotEncoder(inputData, params);
@@ -53,30 +77,92 @@ public class DataProcessingService {
         return new DataProcessingResponse(processingType, processedData, message);
     }
 
-    private JsonNode applyMinMaxScaler(JsonNode inputData, Map<String, String> params) {
+    /**
+     * Scales each numeric feature to [min, max] using that feature's own minimum and maximum. With the
+     * {@code scaler} param, the statistics and range of a scaler the user fitted before are used instead of the
+     * input's (features the scaler was not fitted on are left as is); with {@code save_as}, the statistics computed
+     * here are saved as a fitted scaler of the user under that name.
+     */
+    private JsonNode applyMinMaxScaler(JsonNode inputData, Map<String, String> params, String username) {
         if (!inputData.isArray()) {
             throw new ValidationException("Min-Max Scaler expects an array of numbers or objects with numeric fields.");
         }
 
-        double min = params != null && params.containsKey("min") ? Double.parseDouble(params.get("min")) : 0.0;
-        double max = params != null && params.containsKey("max") ? Double.parseDouble(params.get("max")) : 1.0;
+        ColumnarDataset dataset = ColumnarDataset.of(inputData);
+        double min;
+        double max;
+        Map<String, FeatureStats> stats;
+        String scalerName = params.get("scaler");
+        if (scalerName != null) {
+            FittedMinMax scaler = loadMinMaxScaler(scalerName, username);
+            min = scaler.min();
+            max = scaler.max();
+            stats = scaler.stats();
+        } else {
+            min = doubleParam(params, "min", 0.0);
+            max = doubleParam(params, "max", 1.0);
+            stats = dataset.stats();
+            String saveAs = params.get("save_as");
+            if (saveAs != null) {
+                saveScaler(saveAs, min, max, stats, username);
+            }
+        }
+
+        Map<String, double[]> scaled = new HashMap<>();
+        dataset.columns().forEach((feature, values) -> {
+            FeatureStats featureStats = stats.get(feature);
+            if (featureStats != null && featureStats.count() > 0) {
+                scaled.put(feature, scale(values, featureStats, min, max));
+            }
+        });
+        return writeNumericColumns(dataset, scaled);
+    }
+
+    private static double[] scale(double[] values, FeatureStats stats, double min, double max) {
+        double[] scaled = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            scaled[i] = scale(values[i], stats, min, max);
+        }
+        return scaled;
+    }
+
+    static double scale(double value, FeatureStats stats, double min, double max) {
+        double spread = stats.max() - stats.min();
+        return spread == 0 ? min : min + (value - stats.min()) * (max - min) / spread; // A constant feature maps to min
+    }
+
+    /**
+     * A saved min-max scaler: the output range and the statistics of the features it was fitted on.
+     */
+    record FittedMinMax(double min, double max, Map<String, FeatureStats> stats) {
+    }
+
+    FittedMinMax loadMinMaxScaler(String name, String owner) {
+        FittedScaler scaler = fittedScalerRepository.findByOwnerAndName(owner, name)
+                .orElseThrow(() -> new ResourceNotFoundException("Fitted Scaler", "name", name));
+        if (!MIN_MAX_SCALER.equals(scaler.getScalerType())) {
+            throw new ValidationException("Fitted scaler '" + name + "' is a " + scaler.getScalerType() + ", not a " + MIN_MAX_SCALER + ".");
+        }
+        return new FittedMinMax(scaler.getRangeMin(), scaler.getRangeMax(), readFeatureStats(scaler));
+    }
 
+    // Rebuilds the rows with the given columns in place of the original numeric values
+    private JsonNode writeNumericColumns(ColumnarDataset dataset, Map<String, double[]> columns) {
+        JsonNode rows = dataset.rows();
+        double[] valueColumn = columns.get(ColumnarDataset.VALUE_COLUMN);
         ArrayNode outputArray = objectMapper.createArrayNode();
-        for (JsonNode item : inputData) {
-            if (item.isNumber()) {
-                double value = item.asDouble();
-                double scaledValue = min + (value - getMinFromData(inputData)) * (max - min) / (getMaxFromData(inputData) - getMinFromData(inputData));
-                outputArray.add(scaledValue);
+        for (int i = 0; i < dataset.size(); i++) {
+            JsonNode item = rows.get(i);
+            if (item.isNumber() && valueColumn != null) {
+                outputArray.add(valueColumn[i]);
             } else if (item.isObject()) {
                 ObjectNode outputObject = objectMapper.createObjectNode();
                 Iterator<Map.Entry<String, JsonNode>> fields = item.fields();
                 while (fields.hasNext()) {
                     Map.Entry<String, JsonNode> field = fields.next();
-                    if (field.getValue().isNumber()) {
-                        double value = field.getValue().asDouble();
-                        // This scaling is simplistic, ideally, min/max for each feature would be known
-                        double scaledValue = min + (value - getMinFromData(inputData)) * (max - min) / (getMaxFromData(inputData) - getMinFromData(inputData));
-                        outputObject.put(field.getKey(), scaledValue);
+                    double[] column = field.getValue().isNumber() ? columns.get(field.getKey()) : null;
+                    if (column != null) {
+                        outputObject.put(field.getKey(), column[i]);
                     } else {
                         outputObject.set(field.getKey(), field.getValue());
                     }
@@ -89,110 +175,142 @@ public class DataProcessingService {
         return outputArray;
     }
 
-    private double getMinFromData(JsonNode data) {
-        // Placeholder for calculating min from the entire dataset or from pre-defined stats
-        // In a real scenario, min/max would come from a trained scaler.
-        if (data.isArray()) {
-            double currentMin = Double.MAX_VALUE;
-            for (JsonNode item : data) {
-                if (item.isNumber()) {
-                    currentMin = Math.min(currentMin, item.asDouble());
-                } else if (item.isObject()) {
-                    Iterator<JsonNode> values = item.elements();
-                    while (values.hasNext()) {
-                        JsonNode val = values.next();
-                        if (val.isNumber()) {
-                            currentMin = Math.min(currentMin, val.asDouble());
-                        }
-                    }
-                }
-            }
-            return currentMin == Double.MAX_VALUE ? 0.0 : currentMin; // Default if no numbers
+    private void saveScaler(String name, double min, double max, Map<String, FeatureStats> stats, String username) {
+        if (fittedScalerRepository.existsByOwnerAndName(username, name)) {
+            throw new ValidationException("A fitted scaler named '" + name + "' already exists.");
         }
-        return 0.0;
+        FittedScaler scaler = new FittedScaler();
+        scaler.setName(name);
+        scaler.setScalerType(MIN_MAX_SCALER);
+        scaler.setRangeMin(min);
+        scaler.setRangeMax(max);
+        try {
+            scaler.setFeatureStats(objectMapper.writeValueAsString(stats));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize feature statistics", e);
+        }
+        scaler.setOwner(username);
+        fittedScalerRepository.save(scaler);
+        logger.info("Fitted scaler '{}' saved with {} features", name, stats.size());
     }
 
-    private double getMaxFromData(JsonNode data) {
-        // Placeholder for calculating max from the entire dataset or from pre-defined stats
-        if (data.isArray()) {
-            double currentMax = Double.MIN_VALUE;
-            for (JsonNode item : data) {
-                if (item.isNumber()) {
-                    currentMax = Math.max(currentMax, item.asDouble());
-                } else if (item.isObject()) {
-                    Iterator<JsonNode> values = item.elements();
-                    while (values.hasNext()) {
-                        JsonNode val = values.next();
-                        if (val.isNumber()) {
-                            currentMax = Math.max(currentMax, val.asDouble());
-                        }
-                    }
-                }
-            }
-            return currentMax == Double.MIN_VALUE ? 1.0 : currentMax; // Default if no numbers
+    private Map<String, FeatureStats> readFeatureStats(FittedScaler scaler) {
+        try {
+            return objectMapper.readValue(scaler.getFeatureStats(), FEATURE_STATS);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupt feature statistics in fitted scaler " + scaler.getName(), e);
         }
-        return 1.0;
     }
 
+    private static double doubleParam(Map<String, String> params, String name, double defaultValue) {
+        String value = params.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Parameter '" + name + "' must be a number.");
+        }
+    }
 
     private JsonNode applyOneHotEncoder(JsonNode inputData, Map<String, String> params) {
         if (!inputData.isArray()) {
             throw new ValidationException("One-Hot Encoder expects an array of values or objects with categorical fields.");
         }
 
-        String featureToEncode = params != null ? params.get("feature") : null;
+        String featureToEncode = params.get("feature");
         if (featureToEncode == null && inputData.get(0) != null && inputData.get(0).isObject()) {
             throw new ValidationException("For object inputs, 'feature' parameter is required for One-Hot Encoder.");
         }
 
-        ArrayNode outputArray = objectMapper.createArrayNode();
-        for (JsonNode item : inputData) {
-            ObjectNode encodedObject = objectMapper.createObjectNode();
+        // Pass 1: the category column as codes, and the categories in order of first appearance
+        int size = inputData.size();
+        int[] codes = new int[size];
+        Map<String, Integer> categories = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            JsonNode item = inputData.get(i);
+            JsonNode value = item.isObject() ? item.get(featureToEncode) : item;
+            codes[i] = value != null && value.isTextual()
+                    ? categories.computeIfAbsent(value.asText(), category -> categories.size())
+                    : -1;
+        }
+        String[] categoryNames = categories.keySet().toArray(String[]::new);
+        String[] prefixedNames = new String[categoryNames.length];
+        for (int c = 0; c < categoryNames.length; c++) {
+            prefixedNames[c] = featureToEncode + "_" + categoryNames[c];
+        }
 
+        // Pass 2: one 0/1 column per category
+        ArrayNode outputArray = objectMapper.createArrayNode();
+        for (int i = 0; i < size; i++) {
+            JsonNode item = inputData.get(i);
             if (item.isTextual()) { // Direct string input
-                String category = item.asText();
-                encodedObject.put(category, 1);
-                // Other categories would be 0, but for simplicity, we only show the one that's 1
+                outputArray.add(encode(objectMapper.createObjectNode(), categoryNames, codes[i]));
             } else if (item.isObject()) { // Object with specific feature
+                ObjectNode encodedObject = objectMapper.createObjectNode();
                 Iterator<Map.Entry<String, JsonNode>> fields = item.fields();
                 while (fields.hasNext()) {
                     Map.Entry<String, JsonNode> field = fields.next();
                     if (field.getKey().equals(featureToEncode) && field.getValue().isTextual()) {
-                        String category = field.getValue().asText();
-                        encodedObject.put(featureToEncode + "_" + category, 1);
+                        encode(encodedObject, prefixedNames, codes[i]);
                     } else {
                         encodedObject.set(field.getKey(), field.getValue());
                     }
                 }
+                outputArray.add(encodedObject);
             } else {
                 // Pass through non-string/non-object types for simplicity
                 outputArray.add(item);
-                continue;
             }
-            outputArray.add(encodedObject);
         }
         return outputArray;
     }
 
+    private static ObjectNode encode(ObjectNode target, String[] names, int code) {
+        for (int c = 0; c < names.length; c++) {
+            target.put(names[c], c == code ? 1 : 0);
+        }
+        return target;
+    }
+
     private JsonNode applyTextVectorizer(JsonNode inputData, Map<String, String> params) {
-        if (!inputData.isArray() || !inputData.get(0).isTextual()) {
+        if (!inputData.isArray() || (!inputData.isEmpty() && !inputData.get(0).isTextual())) {
             throw new ValidationException("Text Vectorizer expects an array of strings.");
         }
 
-        // Simulate tokenization and vectorization
+        // Simulate tokenization and vectorization, one column per output feature.
+        // A real vectorizer would convert text to a dense or sparse vector; this mock derives the
+        // embedding from the text's hash so that equal texts get equal vectors.
+        int size = inputData.size();
+        String[] texts = new String[size];
+        double[] embedding1 = new double[size];
+        double[] embedding2 = new double[size];
+        for (int i = 0; i < size; i++) {
+            texts[i] = inputData.get(i).asText();
+            embedding1[i] = mockEmbedding(texts[i], 1);
+            embedding2[i] = mockEmbedding(texts[i], 2);
+        }
+
         ArrayNode outputArray = objectMapper.createArrayNode();
-        for (JsonNode item : inputData) {
-            String text = item.asText();
-            // A real vectorizer would convert text to a dense or sparse vector
-            // For simplicity, we'll return a mock hash or length
+        for (int i = 0; i < size; i++) {
             ObjectNode vectorResult = objectMapper.createObjectNode();
-            vectorResult.put("original_text", text);
-            vectorResult.put("vector_length", text.length()); // Mock vector representation
-            vectorResult.put("mock_embedding_1", Math.random());
-            vectorResult.put("mock_embedding_2", Math.random());
+            vectorResult.put("original_text", texts[i]);
+            vectorResult.put("vector_length", texts[i].length()); // Mock vector representation
+            vectorResult.put("mock_embedding_1", embedding1[i]);
+            vectorResult.put("mock_embedding_2", embedding2[i]);
             outputArray.add(vectorResult);
         }
         return outputArray;
     }
+
+    // Component 1 or 2 of a text's mock embedding, in [0, 1)
+    static double mockEmbedding(String text, int component) {
+        int hash = text.hashCode();
+        if (component == 2) {
+            hash = Integer.reverse(hash) * 0x9E3779B9;
+        }
+        return (hash >>> 1) / (double) (1L << 31);
+    }
 }
 ```
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.mlutil.dataprocessing.service;
+
+/**
+ * Statistics of one numeric feature (column), ignoring rows where it is missing.
+ */
+public record FeatureStats(double min, double max, long count) {
+
+    static final FeatureStats EMPTY = new FeatureStats(Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, 0);
+
+    FeatureStats merge(FeatureStats other) {
+        return new FeatureStats(Math.min(min, other.min), Math.max(max, other.max), count + other.count);
+    }
+}
@@ -8,6 +8,7 @@ import java.time.LocalDateTime;
 public class ModelVersionDto {
     private Long id;
     private Long modelId;
+    private String modelName; // Cached with the version, so predictions need no model lookup
     private Integer versionNumber;
     private String modelPath; // Simplified
     private String fileName;
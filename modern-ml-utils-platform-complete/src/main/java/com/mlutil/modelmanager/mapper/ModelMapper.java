@@ -27,6 +27,7 @@ public interface ModelMapper {
     Model toModelEntity(ModelRegisterRequest request, String owner);
 
     @Mapping(source = "model.id", target = "modelId")
+    @Mapping(source = "model.name", target = "modelName")
     ModelVersionDto toModelVersionDto(ModelVersion modelVersion);
     List<ModelVersionDto> toModelVersionDtoList(List<ModelVersion> modelVersions);
 }
@@ -2,6 +2,7 @@
 package com.mlutil.modelmanager.repository;
 
 import com.mlutil.modelmanager.entity.ModelVersion;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -10,9 +11,14 @@ import java.util.List;
 import java.util.Optional;
 
 public interface ModelVersionRepository extends JpaRepository<ModelVersion, Long> {
+    // The model is fetched with the versions: their DTOs carry its name and are mapped outside a transaction
+    @EntityGraph(attributePaths = "model")
     List<ModelVersion> findByModelIdOrderByVersionNumberDesc(Long modelId);
+
+    @EntityGraph(attributePaths = "model")
     Optional<ModelVersion> findByModelIdAndVersionNumber(Long modelId, Integer versionNumber);
 
+    @EntityGraph(attributePaths = "model")
     @Query("SELECT mv FROM ModelVersion mv WHERE mv.model.id = :modelId AND mv.isActive = true")
     Optional<ModelVersion> findActiveVersionByModelId(@Param("modelId") Long modelId);
 
@@ -1,6 +1,8 @@
 ```java
 package com.mlutil.predictionservice.controller;
 
+import com.mlutil.predictionservice.dto.BatchPredictionRequest;
+import com.mlutil.predictionservice.dto.BatchPredictionResponse;
 import com.mlutil.predictionservice.dto.PredictionRequest;
 import com.mlutil.predictionservice.dto.PredictionResponse;
 import com.mlutil.predictionservice.entity.PredictionLog;
@@ -38,7 +40,8 @@ public class PredictionController {
             @ApiResponse(responseCode = "200", description = "Prediction successful"),
             @ApiResponse(responseCode = "400", description = "Invalid request payload"),
             @ApiResponse(responseCode = "404", description = "Model not found or no active version"),
-            @ApiResponse(responseCode = "429", description = "Too many requests (rate limit exceeded)")
+            @ApiResponse(responseCode = "429", description = "Too many requests (rate limit exceeded)"),
+            @ApiResponse(responseCode = "503", description = "Prediction queue is full")
     })
     @PostMapping("/{modelId}")
     public ResponseEntity<PredictionResponse> predict(@Parameter(description = "ID of the model to use for prediction") @PathVariable Long modelId,
@@ -50,6 +53,23 @@ public class PredictionController {
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
+    @Operation(summary = "Make predictions for several inputs using the active version of a specified model")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Predictions successful, in the order of the inputs"),
+            @ApiResponse(responseCode = "400", description = "Invalid request payload or more than 1000 inputs"),
+            @ApiResponse(responseCode = "404", description = "Model not found or no active version"),
+            @ApiResponse(responseCode = "429", description = "Too many requests (rate limit exceeded)"),
+            @ApiResponse(responseCode = "503", description = "Prediction queue is full")
+    })
+    @PostMapping("/{modelId}/batch")
+    public ResponseEntity<BatchPredictionResponse> predictBatch(@Parameter(description = "ID of the model to use for prediction") @PathVariable Long modelId,
+                                                                @Valid @RequestBody BatchPredictionRequest request,
+                                                                @AuthenticationPrincipal(expression = "username") String username,
+                                                                HttpServletRequest httpServletRequest) {
+        BatchPredictionResponse response = predictionService.makeBatchPrediction(modelId, request, username, httpServletRequest);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
     @Operation(summary = "Get a specific prediction log entry by ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved prediction log"),
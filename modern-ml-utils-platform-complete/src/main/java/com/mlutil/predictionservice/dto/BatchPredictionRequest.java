@@ -0,0 +1,15 @@
+package com.mlutil.predictionservice.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchPredictionRequest {
+    @NotEmpty(message = "Inputs for batch prediction cannot be empty")
+    @Size(max = 1000, message = "A batch prediction accepts at most 1000 inputs")
+    private List<JsonNode> inputs; // One flexible JSON input per prediction
+}
@@ -0,0 +1,18 @@
+package com.mlutil.predictionservice.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchPredictionResponse {
+    private String modelName;
+    private Integer modelVersion;
+    private List<JsonNode> predictions; // In the order of the request's inputs
+    private Long latencyMs;
+}
@@ -0,0 +1,18 @@
+package com.mlutil.predictionservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.mlutil.modelmanager.dto.ModelVersionDto;
+
+import java.util.List;
+
+/**
+ * Runs one model version over a batch of inputs in a single call, so a backend can vectorize the work and pay its
+ * per-call overhead (model invocation, RPC round trip) once per batch instead of once per request.
+ */
+public interface BatchInference {
+
+    /**
+     * @return one prediction per input, in input order
+     */
+    List<JsonNode> predict(ModelVersionDto version, String modelName, List<JsonNode> inputs);
+}
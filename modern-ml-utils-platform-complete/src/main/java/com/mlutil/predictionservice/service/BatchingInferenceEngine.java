@@ -0,0 +1,205 @@
+package com.mlutil.predictionservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.mlutil.core.exception.ServiceOverloadedException;
+import com.mlutil.modelmanager.dto.ModelVersionDto;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Micro-batching front end for {@link BatchInference}. Concurrent requests for the same model version are queued
+ * together and dispatched as one batch once {@code max-batch-size} inputs are waiting or {@code max-wait-micros}
+ * have passed since the first of them arrived, whichever comes first. Each request gets a future that completes
+ * with its own prediction (or with the batch's failure).
+ * <p>
+ * The window trades latency for throughput: a request waits at most {@code max-wait-micros} before its batch
+ * starts, and in exchange the backend's per-call overhead is shared by the whole batch. A batch size of 1 disables
+ * batching. At most {@code max-queued} inputs may be waiting or running; beyond that requests are rejected with
+ * {@link ServiceOverloadedException} instead of queueing without bound.
+ */
+@Component
+public class BatchingInferenceEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchingInferenceEngine.class);
+
+    private final BatchInference batchInference;
+    private final int maxBatchSize;
+    private final long maxWaitMicros;
+    private final int maxQueued;
+    private final ScheduledExecutorService windowTimer;
+    private final ExecutorService workers;
+    private final ConcurrentHashMap<Long, VersionQueue> queues = new ConcurrentHashMap<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final DistributionSummary batchSizes;
+
+    public BatchingInferenceEngine(BatchInference batchInference,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${app.prediction.batching.max-batch-size:32}") int maxBatchSize,
+                                   @Value("${app.prediction.batching.max-wait-micros:2000}") long maxWaitMicros,
+                                   @Value("${app.prediction.batching.max-queued:10000}") int maxQueued,
+                                   @Value("${app.prediction.batching.workers:0}") int workers) {
+        this.batchInference = batchInference;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.maxWaitMicros = maxWaitMicros;
+        this.maxQueued = maxQueued;
+        this.windowTimer = Executors.newSingleThreadScheduledExecutor(daemon("inference-batch-window"));
+        this.workers = Executors.newFixedThreadPool(workers > 0 ? workers : Runtime.getRuntime().availableProcessors(),
+                daemon("inference-batch-worker"));
+        this.batchSizes = DistributionSummary.builder("predictions.batch.size")
+                .description("Inputs per inference batch")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<JsonNode> submit(ModelVersionDto version, String modelName, JsonNode input) {
+        return submitAll(version, modelName, List.of(input)).get(0);
+    }
+
+    /**
+     * Queues the inputs together, so a client batch is split into at most ceil(n / max-batch-size) backend calls
+     * (it may share them with concurrent requests).
+     *
+     * @throws ServiceOverloadedException if the inputs do not fit in the queue
+     */
+    public List<CompletableFuture<JsonNode>> submitAll(ModelVersionDto version, String modelName, List<JsonNode> inputs) {
+        if (queued.addAndGet(inputs.size()) > maxQueued) {
+            queued.addAndGet(-inputs.size());
+            throw new ServiceOverloadedException("Prediction queue is full, please retry later.");
+        }
+        List<CompletableFuture<JsonNode>> futures = new ArrayList<>(inputs.size());
+        List<Pending> pending = new ArrayList<>(inputs.size());
+        for (JsonNode input : inputs) {
+            CompletableFuture<JsonNode> future = new CompletableFuture<>();
+            futures.add(future);
+            pending.add(new Pending(version, modelName, input, future));
+        }
+        queues.computeIfAbsent(version.getId(), id -> new VersionQueue()).enqueue(pending);
+        return futures;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        windowTimer.shutdownNow();
+        // Run what is still queued rather than leaving callers waiting
+        queues.values().forEach(VersionQueue::flush);
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(5, TimeUnit.SECONDS)) {
+                logger.warn("Inference batches still running at shutdown");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Pending(ModelVersionDto version, String modelName, JsonNode input, CompletableFuture<JsonNode> future) {
+    }
+
+    /**
+     * Inputs waiting for one model version. Full batches are dispatched by the submitting thread, partial ones by
+     * the window timer.
+     */
+    private final class VersionQueue {
+
+        private List<Pending> pending = new ArrayList<>();
+        private ScheduledFuture<?> window;
+
+        void enqueue(List<Pending> items) {
+            List<List<Pending>> full = new ArrayList<>();
+            synchronized (this) {
+                for (Pending item : items) {
+                    pending.add(item);
+                    if (pending.size() >= maxBatchSize) {
+                        full.add(take());
+                    }
+                }
+                if (!pending.isEmpty() && window == null) {
+                    window = windowTimer.schedule(this::flush, maxWaitMicros, TimeUnit.MICROSECONDS);
+                }
+            }
+            full.forEach(BatchingInferenceEngine.this::dispatch);
+        }
+
+        void flush() {
+            List<Pending> batch;
+            synchronized (this) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = take();
+            }
+            dispatch(batch);
+        }
+
+        // Caller holds the lock
+        private List<Pending> take() {
+            List<Pending> batch = pending;
+            pending = new ArrayList<>(maxBatchSize);
+            if (window != null) {
+                window.cancel(false);
+                window = null;
+            }
+            return batch;
+        }
+    }
+
+    private void dispatch(List<Pending> batch) {
+        try {
+            workers.execute(() -> run(batch));
+        } catch (RuntimeException e) { // Rejected during shutdown
+            fail(batch, e);
+        }
+    }
+
+    private void run(List<Pending> batch) {
+        batchSizes.record(batch.size());
+        try {
+            // All entries share a version; the first carries the model name current when the batch started
+            Pending first = batch.get(0);
+            List<JsonNode> inputs = new ArrayList<>(batch.size());
+            batch.forEach(item -> inputs.add(item.input()));
+            List<JsonNode> predictions = batchInference.predict(first.version(), first.modelName(), inputs);
+            if (predictions.size() != batch.size()) {
+                throw new IllegalStateException("Inference returned " + predictions.size() + " predictions for " + batch.size() + " inputs");
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).future().complete(predictions.get(i));
+            }
+        } catch (RuntimeException e) {
+            logger.error("Inference failed for a batch of {} inputs", batch.size(), e);
+            fail(batch, e);
+        } finally {
+            queued.addAndGet(-batch.size());
+        }
+    }
+
+    private static void fail(List<Pending> batch, Throwable cause) {
+        batch.forEach(item -> item.future().completeExceptionally(cause));
+    }
+
+    private static ThreadFactory daemon(String name) {
+        AtomicInteger threads = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
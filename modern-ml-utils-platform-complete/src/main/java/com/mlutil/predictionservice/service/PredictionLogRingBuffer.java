@@ -0,0 +1,83 @@
+package com.mlutil.predictionservice.service;
+
+import com.mlutil.predictionservice.entity.PredictionLog;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free queue of prediction logs for many producers (request threads) and one consumer (the log
+ * writer). Each slot carries a sequence number telling producers whether it is free and the consumer whether it is
+ * filled, so neither side takes a lock and a full buffer is detected without blocking.
+ */
+final class PredictionLogRingBuffer {
+
+    private final AtomicReferenceArray<PredictionLog> slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong(); // Next position to claim for writing
+    private final AtomicLong tail = new AtomicLong(); // Next position to read; advanced by the consumer only
+
+    PredictionLogRingBuffer(int capacity) {
+        int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1; // Next power of two
+        this.slots = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * @return false if the buffer is full
+     */
+    boolean offer(PredictionLog log) {
+        long position = head.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long available = sequences.get(index) - position;
+            if (available == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    slots.set(index, log);
+                    sequences.set(index, position + 1); // Publish to the consumer
+                    return true;
+                }
+                position = head.get();
+            } else if (available < 0) {
+                return false; // The slot still holds an entry from one lap ago
+            } else {
+                position = head.get(); // Another producer claimed it
+            }
+        }
+    }
+
+    /**
+     * Moves up to {@code max} entries into {@code sink}. Must only be called by one thread at a time.
+     */
+    int drainTo(List<PredictionLog> sink, int max) {
+        long position = tail.get();
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) (position & mask);
+            if (sequences.get(index) != position + 1) {
+                break; // Empty, or claimed but not yet published
+            }
+            sink.add(slots.getAndSet(index, null));
+            sequences.set(index, position + mask + 1); // Free the slot for the next lap
+            position++;
+            drained++;
+        }
+        tail.set(position);
+        return drained;
+    }
+
+    int size() {
+        return (int) Math.max(0, head.get() - tail.get());
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,131 @@
+package com.mlutil.predictionservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mlutil.predictionservice.entity.PredictionLog;
+
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Local spill store for prediction logs the database could not take. Entries are appended as gzip-compressed
+ * NDJSON to rolling segment files, one gzip member per batch, so a segment is readable at any time and a crash
+ * loses at most the batch being written. Segments are replayed into the database oldest first and deleted once
+ * replayed.
+ */
+final class PredictionLogSegmentStore {
+
+    private static final String PREFIX = "predictions-";
+    private static final String SUFFIX = ".ndjson.gz";
+
+    private final Path directory;
+    private final long maxSegmentBytes;
+    private final int maxSegments;
+    private final ObjectMapper objectMapper;
+    private Path current;
+    private long sequence;
+
+    PredictionLogSegmentStore(Path directory, long maxSegmentBytes, int maxSegments, ObjectMapper objectMapper) {
+        this.directory = directory;
+        this.maxSegmentBytes = maxSegmentBytes;
+        this.maxSegments = maxSegments;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @return false if {@code max-segments} are already full; the entries are not written
+     */
+    synchronized boolean append(List<PredictionLog> logs) throws IOException {
+        if (current == null || Files.size(current) >= maxSegmentBytes) {
+            Files.createDirectories(directory);
+            if (segments().size() >= maxSegments) {
+                return false;
+            }
+            current = directory.resolve(String.format("%s%d-%06d%s", PREFIX, System.currentTimeMillis(), sequence++, SUFFIX));
+        }
+        try (OutputStream file = Files.newOutputStream(current, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+             Writer out = new OutputStreamWriter(new GZIPOutputStream(file), StandardCharsets.UTF_8)) {
+            for (PredictionLog log : logs) {
+                out.write(objectMapper.writeValueAsString(log));
+                out.write('\n');
+            }
+        }
+        return true;
+    }
+
+    synchronized List<PredictionLog> readForModel(Long modelId) throws IOException {
+        List<PredictionLog> logs = new ArrayList<>();
+        for (Path segment : segments()) {
+            read(segment, log -> {
+                if (modelId.equals(log.getModelId())) {
+                    logs.add(log);
+                }
+            });
+        }
+        return logs;
+    }
+
+    /**
+     * Passes each segment's entries to {@code sink}, oldest segment first, and deletes the segment once the sink
+     * returns. Stops at the first segment the sink throws for, leaving it and the newer ones in place.
+     *
+     * @return the number of entries replayed
+     */
+    synchronized int replay(Consumer<List<PredictionLog>> sink) throws IOException {
+        current = null; // Start a new segment for anything spilled from now on
+        int replayed = 0;
+        for (Path segment : segments()) {
+            List<PredictionLog> logs = new ArrayList<>();
+            read(segment, logs::add);
+            sink.accept(logs);
+            Files.delete(segment);
+            replayed += logs.size();
+        }
+        return replayed;
+    }
+
+    synchronized int segmentCount() throws IOException {
+        return segments().size();
+    }
+
+    private List<Path> segments() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                String name = path.getFileName().toString();
+                return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+            }).sorted().toList(); // Names sort by creation time
+        }
+    }
+
+    private void read(Path segment, Consumer<PredictionLog> sink) throws IOException {
+        // GZIPInputStream reads concatenated members as one stream
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(segment)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (!line.isBlank()) {
+                    sink.accept(objectMapper.readValue(line, PredictionLog.class));
+                }
+            }
+        } catch (EOFException e) {
+            // A batch cut short by a crash; everything before it is intact
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.mlutil.predictionservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mlutil.predictionservice.entity.PredictionLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes prediction logs off the request thread. {@link #append} puts a log into a bounded lock-free ring buffer
+ * and returns; a background thread drains the buffer every {@code flush-interval-ms}, or as soon as a full batch is
+ * waiting, and inserts each batch with one batched JDBC statement.
+ * <p>
+ * When the database is unreachable, batches spill to compressed segment files under {@code segment-dir} and are
+ * replayed once it is back. Nothing blocks a request: when the buffer is full, or the segments are too, logs are
+ * dropped and counted in {@code predictions.log.dropped}. Logs therefore reach the table a moment after the
+ * response, and a crash loses what was still buffered.
+ */
+@Component
+public class PredictionLogWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(PredictionLogWriter.class);
+
+    static final String INSERT_SQL = "INSERT INTO prediction_logs (model_id, model_version_number, request_payload, "
+            + "response_payload, user_id, client_ip, predicted_at, latency_ms) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PredictionLogRingBuffer buffer;
+    private final PredictionLogSegmentStore segments;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long replayIntervalNanos;
+    private final Counter writtenToDatabase;
+    private final Counter writtenToSegments;
+    private final Counter droppedBufferFull;
+    private final Counter droppedSegmentsFull;
+    private final Counter droppedRejected;
+    private final Thread drainer;
+    private volatile boolean running = true;
+    private long lastReplay = System.nanoTime();
+    private boolean spilled = true; // Segments may be left over from a previous run
+
+    public PredictionLogWriter(JdbcTemplate jdbcTemplate,
+                               TransactionTemplate transactionTemplate,
+                               ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.prediction.log.buffer-capacity:65536}") int bufferCapacity,
+                               @Value("${app.prediction.log.batch-size:500}") int batchSize,
+                               @Value("${app.prediction.log.flush-interval-ms:200}") long flushIntervalMs,
+                               @Value("${app.prediction.log.segment-dir:${java.io.tmpdir}/ml-prediction-logs}") String segmentDir,
+                               @Value("${app.prediction.log.segment-max-bytes:16777216}") long segmentMaxBytes,
+                               @Value("${app.prediction.log.max-segments:64}") int maxSegments,
+                               @Value("${app.prediction.log.replay-interval-ms:30000}") long replayIntervalMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.buffer = new PredictionLogRingBuffer(bufferCapacity);
+        this.segments = new PredictionLogSegmentStore(Path.of(segmentDir), segmentMaxBytes, maxSegments, objectMapper);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.replayIntervalNanos = TimeUnit.MILLISECONDS.toNanos(replayIntervalMs);
+
+        this.writtenToDatabase = written(meterRegistry, "database");
+        this.writtenToSegments = written(meterRegistry, "segment");
+        this.droppedBufferFull = dropped(meterRegistry, "buffer_full");
+        this.droppedSegmentsFull = dropped(meterRegistry, "segments_full");
+        this.droppedRejected = dropped(meterRegistry, "rejected");
+        Gauge.builder("predictions.log.buffered", buffer, PredictionLogRingBuffer::size)
+                .description("Prediction logs waiting to be written")
+                .register(meterRegistry);
+
+        this.drainer = new Thread(this::drain, "prediction-log-writer");
+        this.drainer.setDaemon(true);
+        this.drainer.start();
+    }
+
+    /**
+     * Queues a log for writing without blocking.
+     *
+     * @return false if the buffer is full and the log was dropped
+     */
+    public boolean append(PredictionLog log) {
+        if (!buffer.offer(log)) {
+            droppedBufferFull.increment();
+            return false;
+        }
+        if (buffer.size() == batchSize) {
+            LockSupport.unpark(drainer); // Write a full batch now rather than at the next tick
+        }
+        return true;
+    }
+
+    /**
+     * Logs of a model that are only in the spill segments, i.e. not yet in the database.
+     */
+    public List<PredictionLog> getSpilledLogsForModel(Long modelId) {
+        try {
+            return segments.readForModel(modelId);
+        } catch (IOException e) {
+            logger.error("Could not read spilled prediction logs", e);
+            return List.of();
+        }
+    }
+
+    /**
+     * Writes everything buffered so far. Called by the background thread; safe to call from others.
+     *
+     * @return the number of logs taken from the buffer
+     */
+    public synchronized int flush() {
+        int flushed = 0;
+        List<PredictionLog> batch = new ArrayList<>(batchSize);
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            flushed += batch.size();
+            write(batch);
+            batch = new ArrayList<>(batchSize);
+        }
+        if (spilled && System.nanoTime() - lastReplay >= replayIntervalNanos) {
+            replaySegments();
+        }
+        return flushed;
+    }
+
+    /**
+     * Inserts spilled logs back into the database, one transaction per segment.
+     */
+    public synchronized void replaySegments() {
+        lastReplay = System.nanoTime();
+        spilled = false;
+        try {
+            int replayed = segments.replay(logs -> {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        for (int from = 0; from < logs.size(); from += batchSize) {
+                            insert(logs.subList(from, Math.min(logs.size(), from + batchSize)));
+                        }
+                    });
+                    writtenToDatabase.increment(logs.size());
+                } catch (DataIntegrityViolationException e) {
+                    insertEach(logs); // Rolled back as a whole; keep the rows that are still valid
+                }
+            });
+            if (replayed > 0) {
+                logger.info("Replayed {} spilled prediction logs into the database", replayed);
+            }
+        } catch (DataAccessException | IOException e) {
+            spilled = true;
+            logger.warn("Could not replay spilled prediction logs yet: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(drainer);
+        try {
+            drainer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    private void drain() {
+        while (running) {
+            if (buffer.size() < batchSize) {
+                LockSupport.parkNanos(flushIntervalNanos);
+            }
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                logger.error("Prediction log writer failed", e);
+            }
+        }
+    }
+
+    private void write(List<PredictionLog> batch) {
+        try {
+            insert(batch);
+            writtenToDatabase.increment(batch.size());
+        } catch (DataIntegrityViolationException e) {
+            insertEach(batch);
+        } catch (DataAccessException e) {
+            logger.warn("Database unavailable for prediction logs, spilling {} to disk: {}", batch.size(), e.getMessage());
+            spill(batch);
+        }
+    }
+
+    // One bad row (e.g. its model was deleted meanwhile) fails a whole batch; insert the others
+    private void insertEach(List<PredictionLog> logs) {
+        for (int i = 0; i < logs.size(); i++) {
+            PredictionLog log = logs.get(i);
+            try {
+                insert(List.of(log));
+                writtenToDatabase.increment();
+            } catch (DataIntegrityViolationException rejected) {
+                droppedRejected.increment();
+                logger.warn("Dropped prediction log for model {}: {}", log.getModelId(), rejected.getMessage());
+            } catch (DataAccessException e) {
+                spill(logs.subList(i, logs.size()));
+                return;
+            }
+        }
+    }
+
+    private void spill(List<PredictionLog> batch) {
+        try {
+            if (segments.append(batch)) {
+                writtenToSegments.increment(batch.size());
+                spilled = true;
+            } else {
+                droppedSegmentsFull.increment(batch.size());
+            }
+        } catch (IOException e) {
+            logger.error("Could not spill prediction logs to disk", e);
+            droppedSegmentsFull.increment(batch.size());
+        }
+    }
+
+    private void insert(List<PredictionLog> logs) {
+        List<Object[]> rows = new ArrayList<>(logs.size());
+        for (PredictionLog log : logs) {
+            rows.add(new Object[]{log.getModelId(), log.getModelVersionNumber(), log.getRequestPayload(),
+                    log.getResponsePayload(), log.getUserId(), log.getClientIp(),
+                    log.getPredictedAt() != null ? Timestamp.valueOf(log.getPredictedAt()) : null, log.getLatencyMs()});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+
+    private static Counter written(MeterRegistry meterRegistry, String store) {
+        return Counter.builder("predictions.log.written")
+                .description("Prediction logs written")
+                .tag("store", store)
+                .register(meterRegistry);
+    }
+
+    private static Counter dropped(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("predictions.log.dropped")
+                .description("Prediction logs dropped instead of blocking requests")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -2,11 +2,12 @@
 package com.mlutil.predictionservice.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.mlutil.core.exception.ResourceNotFoundException;
+import com.mlutil.core.exception.ServiceOverloadedException;
 import com.mlutil.modelmanager.dto.ModelVersionDto;
 import com.mlutil.modelmanager.service.ModelService;
+import com.mlutil.predictionservice.dto.BatchPredictionRequest;
+import com.mlutil.predictionservice.dto.BatchPredictionResponse;
 import com.mlutil.predictionservice.dto.PredictionRequest;
 import com.mlutil.predictionservice.dto.PredictionResponse;
 import com.mlutil.predictionservice.entity.PredictionLog;
@@ -14,11 +15,17 @@ import com.mlutil.predictionservice.repository.PredictionLogRepository;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.UUID;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Service
 public class PredictionService {
@@ -26,72 +33,89 @@ public class PredictionService {
     private static final Logger logger = LoggerFactory.getLogger(PredictionService.class);
     private final ModelService modelService;
     private final PredictionLogRepository predictionLogRepository;
-    private final ObjectMapper objectMapper;
+    private final PredictionLogWriter predictionLogWriter;
+    private final BatchingInferenceEngine batchingInferenceEngine;
+    private final long requestTimeoutMs;
 
-    public PredictionService(ModelService modelService, PredictionLogRepository predictionLogRepository, ObjectMapper objectMapper) {
+    public PredictionService(ModelService modelService, PredictionLogRepository predictionLogRepository,
+                             PredictionLogWriter predictionLogWriter, BatchingInferenceEngine batchingInferenceEngine,
+                             @Value("${app.prediction.batching.request-timeout-ms:5000}") long requestTimeoutMs) {
         this.modelService = modelService;
         this.predictionLogRepository = predictionLogRepository;
-        this.objectMapper = objectMapper;
+        this.predictionLogWriter = predictionLogWriter;
+        this.batchingInferenceEngine = batchingInferenceEngine;
+        this.requestTimeoutMs = requestTimeoutMs;
     }
 
-    @Transactional
     public PredictionResponse makePrediction(Long modelId, PredictionRequest request, String userId, HttpServletRequest httpRequest) {
         long startTime = System.currentTimeMillis();
 
         // 1. Get the active model version
         ModelVersionDto activeVersion = modelService.getActiveModelVersion(modelId);
+        String modelName = activeVersion.getModelName();
         logger.debug("Making prediction for model {} (version {})", activeVersion.getModelId(), activeVersion.getVersionNumber());
 
-        // 2. Simulate ML inference (replace with actual ML model loading/API call)
-        JsonNode simulatedPrediction = simulateMlInference(activeVersion, request.getInputData());
+        // 2. Queue the input; it is inferred together with concurrent requests for the same version
+        JsonNode prediction = await(batchingInferenceEngine.submit(activeVersion, modelName, request.getInputData()),
+                System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(requestTimeoutMs));
 
         long endTime = System.currentTimeMillis();
         long latency = endTime - startTime;
 
-        // 3. Log the prediction
-        logPrediction(activeVersion, request.getInputData(), simulatedPrediction, userId, httpRequest, latency);
+        // 3. Log the prediction; written in the background
+        predictionLogWriter.append(toLog(activeVersion, request.getInputData(), prediction, userId, httpRequest, latency));
+        logger.debug("Prediction made for model {} (version {}). Latency: {}ms", activeVersion.getModelId(), activeVersion.getVersionNumber(), latency);
 
-        return new PredictionResponse(
-                modelService.getModelById(activeVersion.getModelId()).getName(),
-                activeVersion.getVersionNumber(),
-                simulatedPrediction,
-                latency
-        );
+        return new PredictionResponse(modelName, activeVersion.getVersionNumber(), prediction, latency);
     }
 
     /**
-     * Placeholder for actual ML model inference.
-     * In a real system, this would:
-     * - Load the model from `activeVersion.getModelPath()` (e.g., S3, local file system)
-     * - Deserialize/load the model based on `activeVersion.getFileType()`
-     * - Preprocess `inputData` if necessary (could use DataProcessingService)
-     * - Invoke the model's predict method
-     * - Format the output as JSON
-     *
-     * For this example, it returns a mock prediction.
+     * Predicts every input against the same active version. The inputs are queued together, so they share
+     * inference batches instead of paying one backend call each.
      */
-    private JsonNode simulateMlInference(ModelVersionDto activeVersion, JsonNode inputData) {
-        // Example: Add a simple mock prediction based on input or model type
-        ObjectNode predictionResult = objectMapper.createObjectNode();
-        predictionResult.put("prediction_id", UUID.randomUUID().toString());
-        predictionResult.put("model_used", activeVersion.getModel().getName());
-        predictionResult.put("model_version", activeVersion.getVersionNumber());
-        predictionResult.put("status", "SUCCESS");
-
-        // Simple mock logic: if input has 'features', return a mock score
-        if (inputData.has("features") && inputData.get("features").isObject()) {
-            // Simulate a probability score
-            predictionResult.put("score", Math.random());
-            predictionResult.put("class", Math.random() > 0.5 ? "Positive" : "Negative");
-        } else {
-            predictionResult.put("message", "Mock prediction for input: " + inputData.toString());
+    public BatchPredictionResponse makeBatchPrediction(Long modelId, BatchPredictionRequest request, String userId, HttpServletRequest httpRequest) {
+        long startTime = System.currentTimeMillis();
+
+        ModelVersionDto activeVersion = modelService.getActiveModelVersion(modelId);
+        String modelName = activeVersion.getModelName();
+        List<JsonNode> inputs = request.getInputs();
+        logger.debug("Making {} predictions for model {} (version {})", inputs.size(), activeVersion.getModelId(), activeVersion.getVersionNumber());
+
+        List<CompletableFuture<JsonNode>> futures = batchingInferenceEngine.submitAll(activeVersion, modelName, inputs);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(requestTimeoutMs); // For the whole batch
+        List<JsonNode> predictions = new ArrayList<>(futures.size());
+        for (CompletableFuture<JsonNode> future : futures) {
+            predictions.add(await(future, deadline));
+        }
+
+        long latency = System.currentTimeMillis() - startTime;
+
+        for (int i = 0; i < inputs.size(); i++) {
+            predictionLogWriter.append(toLog(activeVersion, inputs.get(i), predictions.get(i), userId, httpRequest, latency));
         }
+        logger.debug("{} predictions made for model {} (version {}). Latency: {}ms", inputs.size(), activeVersion.getModelId(), activeVersion.getVersionNumber(), latency);
 
-        return predictionResult;
+        return new BatchPredictionResponse(modelName, activeVersion.getVersionNumber(), predictions, latency);
     }
 
-    private void logPrediction(ModelVersionDto activeVersion, JsonNode requestPayload, JsonNode responsePayload,
-                               String userId, HttpServletRequest httpRequest, Long latency) {
+    private JsonNode await(CompletableFuture<JsonNode> future, long deadlineNanos) {
+        try {
+            return future.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new ServiceOverloadedException("Prediction timed out, please retry later.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a prediction", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Prediction failed", e.getCause());
+        }
+    }
+
+    private PredictionLog toLog(ModelVersionDto activeVersion, JsonNode requestPayload, JsonNode responsePayload,
+                                String userId, HttpServletRequest httpRequest, Long latency) {
         PredictionLog log = new PredictionLog();
         log.setModelId(activeVersion.getModelId());
         log.setModelVersionNumber(activeVersion.getVersionNumber());
@@ -101,8 +125,7 @@ public class PredictionService {
         log.setClientIp(httpRequest.getRemoteAddr());
         log.setPredictedAt(LocalDateTime.now());
         log.setLatencyMs(latency);
-        predictionLogRepository.save(log);
-        logger.info("Prediction logged for model {} (version {}). Latency: {}ms", activeVersion.getModelId(), activeVersion.getVersionNumber(), latency);
+        return log;
     }
 
     public PredictionLog getPredictionLogById(Long id) {
@@ -110,8 +133,19 @@ public class PredictionService {
                 .orElseThrow(() -> new ResourceNotFoundException("Prediction Log", "id", id));
     }
 
+    /**
+     * Logs from the database plus those spilled to disk while it was unavailable, newest first. Logs still in the
+     * writer's buffer (at most a flush interval old) are not included.
+     */
     public List<PredictionLog> getPredictionLogsForModel(Long modelId) {
-        return predictionLogRepository.findByModelIdOrderByPredictedAtDesc(modelId);
+        // Read the spill first: a log replayed in between then shows up twice rather than not at all
+        List<PredictionLog> spilled = predictionLogWriter.getSpilledLogsForModel(modelId);
+        List<PredictionLog> logs = new ArrayList<>(predictionLogRepository.findByModelIdOrderByPredictedAtDesc(modelId));
+        if (!spilled.isEmpty()) {
+            logs.addAll(spilled);
+            logs.sort(Comparator.comparing(PredictionLog::getPredictedAt, Comparator.nullsLast(Comparator.reverseOrder())));
+        }
+        return logs;
     }
 }
 ```
\ No newline at end of file
@@ -0,0 +1,56 @@
+package com.mlutil.predictionservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.mlutil.modelmanager.dto.ModelVersionDto;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Placeholder for actual ML model inference.
+ * In a real system, this would:
+ * - Load the model from `version.getModelPath()` (e.g., S3, local file system), once per version
+ * - Deserialize/load the model based on `version.getFileType()`
+ * - Preprocess the inputs if necessary (could use DataProcessingService)
+ * - Stack the inputs into one tensor and invoke the model's predict method once for the whole batch
+ * - Format each output row as JSON
+ *
+ * For this example, it returns a mock prediction per input.
+ */
+@Component
+public class SimulatedBatchInference implements BatchInference {
+
+    private final ObjectMapper objectMapper;
+
+    public SimulatedBatchInference(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public List<JsonNode> predict(ModelVersionDto version, String modelName, List<JsonNode> inputs) {
+        List<JsonNode> predictions = new ArrayList<>(inputs.size());
+        for (JsonNode inputData : inputs) {
+            ObjectNode predictionResult = objectMapper.createObjectNode();
+            predictionResult.put("prediction_id", UUID.randomUUID().toString());
+            predictionResult.put("model_used", modelName);
+            predictionResult.put("model_version", version.getVersionNumber());
+            predictionResult.put("status", "SUCCESS");
+
+            // Simple mock logic: if input has 'features', return a mock score
+            if (inputData.has("features") && inputData.get("features").isObject()) {
+                // Simulate a probability score
+                predictionResult.put("score", ThreadLocalRandom.current().nextDouble());
+                predictionResult.put("class", ThreadLocalRandom.current().nextDouble() > 0.5 ? "Positive" : "Negative");
+            } else {
+                predictionResult.put("message", "Mock prediction for input: " + inputData.toString());
+            }
+            predictions.add(predictionResult);
+        }
+        return predictions;
+    }
+}
@@ -0,0 +1,2 @@
+-- Prediction logs are read per model, newest first
+CREATE INDEX idx_prediction_logs_model_id_predicted_at ON prediction_logs (model_id, predicted_at DESC);
@@ -0,0 +1,11 @@
+-- Create Fitted_Scalers table
+CREATE TABLE fitted_scalers (
+    id BIGSERIAL PRIMARY KEY,
+    name VARCHAR(100) NOT NULL UNIQUE,
+    scaler_type VARCHAR(50) NOT NULL,
+    range_min DOUBLE PRECISION NOT NULL,
+    range_max DOUBLE PRECISION NOT NULL,
+    feature_stats TEXT NOT NULL, -- JSON object of feature name -> statistics
+    owner VARCHAR(50),
+    created_at TIMESTAMP WITHOUT TIME ZONE DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,4 @@
+-- Fitted scaler names are scoped to their owner, so one user cannot read or replace another user's scaler
+ALTER TABLE fitted_scalers DROP CONSTRAINT fitted_scalers_name_key;
+ALTER TABLE fitted_scalers ALTER COLUMN owner SET NOT NULL;
+ALTER TABLE fitted_scalers ADD CONSTRAINT uq_fitted_scalers_owner_name UNIQUE (owner, name);
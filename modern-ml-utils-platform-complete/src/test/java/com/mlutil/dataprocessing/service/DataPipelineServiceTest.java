@@ -0,0 +1,265 @@
+package com.mlutil.dataprocessing.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.mlutil.Benchmark;
+import com.mlutil.core.exception.ValidationException;
+import com.mlutil.dataprocessing.entity.FittedScaler;
+import com.mlutil.dataprocessing.repository.FittedScalerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("DataPipelineService Unit Tests")
+class DataPipelineServiceTest {
+
+    private static final Logger log = LoggerFactory.getLogger(DataPipelineServiceTest.class);
+
+    private static final String STEPS = "["
+            + "{\"type\": \"FILL_MISSING\", \"params\": {\"fields\": \"age\", \"value\": \"40\"}},"
+            + "{\"type\": \"MIN_MAX_SCALER\", \"params\": {\"scaler\": \"ages\"}},"
+            + "{\"type\": \"ONE_HOT_ENCODER\", \"params\": {\"feature\": \"color\", \"categories\": \"red,blue\"}},"
+            + "{\"type\": \"TEXT_VECTORIZER\", \"params\": {\"feature\": \"comment\"}},"
+            + "{\"type\": \"DROP_FIELDS\", \"params\": {\"fields\": \"comment_embedding_2\"}}"
+            + "]";
+
+    private DataPipelineService dataPipelineService;
+
+    @BeforeEach
+    void setUp() {
+        dataPipelineService = service();
+    }
+
+    @Test
+    @DisplayName("Should run NDJSON records through every step in order")
+    void run_Ndjson_AppliesStepsInOrder() throws Exception {
+        String input = "{\"age\": 20, \"color\": \"red\", \"comment\": \"ok\"}\n"
+                + "{\"color\": \"green\", \"comment\": \"fine\"}\n";
+
+        String output = run(STEPS, DataPipelineService.Format.NDJSON, input);
+
+        String[] lines = output.split("\n");
+        assertThat(lines).hasSize(2);
+        ObjectNode first = (ObjectNode) new ObjectMapper().readTree(lines[0]);
+        assertThat(first.get("age").asDouble()).isEqualTo(0.0);
+        assertThat(first.get("color_red").asInt()).isEqualTo(1);
+        assertThat(first.get("comment_length").asInt()).isEqualTo(2);
+        assertThat(first.has("comment_embedding_1")).isTrue();
+        assertThat(first.has("comment_embedding_2")).isFalse();
+        assertThat(lines[1]).contains("\"age\":0.5", "\"color_red\":0", "\"color_blue\":0");
+    }
+
+    @Test
+    @DisplayName("Should read and write CSV with a header row, typing numeric cells")
+    void run_Csv_TypesNumbersAndKeepsHeader() throws Exception {
+        String input = "age,color,comment\n20,blue,hi\n60,red,\n";
+
+        String output = run(STEPS, DataPipelineService.Format.CSV, input);
+
+        assertThat(output.split("\n")).containsExactly(
+                "age,color_red,color_blue,comment_length,comment_embedding_1",
+                "0.0,0,1,2," + DataProcessingService.mockEmbedding("hi", 1),
+                "1.0,1,0,0," + DataProcessingService.mockEmbedding("", 1));
+    }
+
+    @Test
+    @DisplayName("Should take CSV columns from the header, keeping empty cells as missing values")
+    void run_CsvWithEmptyCells_KeepsEveryHeaderColumn() throws Exception {
+        String input = "age,color,comment,note\n,blue,hi,\n60,red,,late\n";
+
+        String output = run(STEPS, DataPipelineService.Format.CSV, input);
+
+        assertThat(output.split("\n")).containsExactly(
+                "age,color_red,color_blue,comment_length,comment_embedding_1,note",
+                "0.5,0,1,2," + DataProcessingService.mockEmbedding("hi", 1) + ",",
+                "1.0,1,0,0," + DataProcessingService.mockEmbedding("", 1) + ",late");
+    }
+
+    @Test
+    @DisplayName("Should pass CSV columns no step reads as numbers through as written")
+    void run_CsvPassThroughColumns_KeepTheirText() throws Exception {
+        String input = "id,zip,age,comment\n42,01234,20,7\n";
+
+        String output = run(STEPS, DataPipelineService.Format.CSV, input);
+
+        assertThat(output.split("\n")).containsExactly(
+                "id,zip,age,comment_length,comment_embedding_1,color_red,color_blue",
+                "42,01234,0.0,1," + DataProcessingService.mockEmbedding("7", 1) + ",0,0");
+    }
+
+    @Test
+    @DisplayName("Should reject steps that need the whole input or are unknown before reading any data")
+    void compile_InvalidSteps_ThrowsValidationException() {
+        assertThrows(ValidationException.class, () -> compile("[{\"type\": \"MIN_MAX_SCALER\"}]"));
+        assertThrows(ValidationException.class, () -> compile("[{\"type\": \"ONE_HOT_ENCODER\", \"params\": {\"feature\": \"color\"}}]"));
+        assertThrows(ValidationException.class, () -> compile("[{\"type\": \"PCA\"}]"));
+        assertThrows(ValidationException.class, () -> compile("[]"));
+        assertThrows(ValidationException.class, () -> compile("not json"));
+    }
+
+    @Test
+    @DisplayName("Should report the position of a malformed record")
+    void run_MalformedRecord_ThrowsValidationException() {
+        ValidationException thrown = assertThrows(ValidationException.class,
+                () -> run(STEPS, DataPipelineService.Format.NDJSON, "{\"age\": 20}\n{\"age\": \n"));
+
+        assertThat(thrown.getMessage()).startsWith("Malformed record 2");
+    }
+
+    /**
+     * Pushes a synthetic NDJSON stream of {@code pipeline.test.bytes} bytes (2 GiB by default) through the full
+     * pipeline in a separate JVM capped at 64 MB of heap. The stream is generated on the fly rather than written to
+     * disk first; the pipeline cannot tell the difference.
+     */
+    @Test
+    @Benchmark
+    @DisplayName("Should stream a multi-GB input through the pipeline with a 64 MB heap")
+    void run_MultiGigabyteInput_FitsInFixedHeap() throws Exception {
+        long bytes = Long.getLong("pipeline.test.bytes", 2L << 30);
+        Process process = new ProcessBuilder(
+                System.getProperty("java.home") + File.separator + "bin" + File.separator + "java",
+                "-Xmx64m", "-XX:+UseSerialGC",
+                "-cp", System.getProperty("java.class.path"),
+                HeapCappedRun.class.getName(), Long.toString(bytes))
+                .redirectErrorStream(true)
+                .start();
+        // Drained on its own thread, so a chatty child cannot block on a full pipe while the timeout runs
+        CompletableFuture<String> drained = CompletableFuture.supplyAsync(() -> {
+            try {
+                return new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        if (!process.waitFor(10, TimeUnit.MINUTES)) {
+            process.destroyForcibly();
+        }
+        String output = drained.get(1, TimeUnit.MINUTES);
+
+        log.info("{}", output.strip());
+        assertThat(process.isAlive()).as("timed out: " + output).isFalse();
+        assertThat(process.exitValue()).as(output).isZero();
+        assertThat(output).contains("Pipeline streamed");
+    }
+
+    static final class HeapCappedRun {
+
+        public static void main(String[] args) throws Exception {
+            long bytes = Long.parseLong(args[0]);
+            DataPipelineService service = service();
+            DataPipelineService.Pipeline pipeline = service.compile(service.parseSteps(STEPS), "testuser");
+            SyntheticNdjson input = new SyntheticNdjson(bytes);
+            CountingOutputStream output = new CountingOutputStream();
+
+            long start = System.nanoTime();
+            long records = service.run(pipeline, DataPipelineService.Format.NDJSON, input, output);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            System.out.printf("Pipeline streamed %d records, %.2f GB in, %.2f GB out, in %.1f s (%.0f MB/s) with -Xmx%d MB%n",
+                    records, input.produced / 1e9, output.count / 1e9, seconds, input.produced / 1e6 / seconds,
+                    Runtime.getRuntime().maxMemory() >> 20);
+            if (input.produced < bytes) {
+                throw new IllegalStateException("Input not fully consumed");
+            }
+        }
+    }
+
+    // Generates NDJSON records until the requested size is reached
+    private static final class SyntheticNdjson extends InputStream {
+
+        private static final String[] COLORS = {"red", "blue", "green"};
+
+        private final long limit;
+        private long produced;
+        private long record;
+        private byte[] line = new byte[0];
+        private int position;
+
+        SyntheticNdjson(long limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (position == line.length) {
+                if (produced >= limit) {
+                    return -1;
+                }
+                record++;
+                line = new StringBuilder(96)
+                        .append("{\"id\":").append(record)
+                        .append(",\"age\":").append(18 + record % 60)
+                        .append(",\"color\":\"").append(COLORS[(int) (record % COLORS.length)])
+                        .append("\",\"comment\":\"synthetic comment number ").append(record).append("\"}\n")
+                        .toString().getBytes(StandardCharsets.UTF_8);
+                position = 0;
+            }
+            int count = Math.min(length, line.length - position);
+            System.arraycopy(line, position, buffer, offset, count);
+            position += count;
+            produced += count;
+            return count;
+        }
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) {
+            count += length;
+        }
+    }
+
+    private String run(String steps, DataPipelineService.Format format, String input) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        dataPipelineService.run(compile(steps), format, new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    private DataPipelineService.Pipeline compile(String steps) {
+        return dataPipelineService.compile(dataPipelineService.parseSteps(steps), "testuser");
+    }
+
+    // Also used in the child JVM, hence no Mockito: a repository holding one scaler fitted on ages 20 to 60
+    private static DataPipelineService service() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        FittedScaler ages = new FittedScaler(1L, "ages", "MIN_MAX_SCALER", 0.0, 1.0,
+                "{\"age\": {\"min\": 20.0, \"max\": 60.0, \"count\": 2}}", "testuser", null);
+        FittedScalerRepository repository = (FittedScalerRepository) Proxy.newProxyInstance(
+                FittedScalerRepository.class.getClassLoader(), new Class<?>[]{FittedScalerRepository.class},
+                (proxy, method, args) -> method.getName().equals("findByOwnerAndName") && "testuser".equals(args[0]) && "ages".equals(args[1])
+                        ? Optional.of(ages) : Optional.empty());
+        return new DataPipelineService(objectMapper, new DataProcessingService(objectMapper, repository));
+    }
+}
@@ -0,0 +1,226 @@
+package com.mlutil.dataprocessing.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.mlutil.Benchmark;
+import com.mlutil.core.exception.ResourceNotFoundException;
+import com.mlutil.core.exception.ValidationException;
+import com.mlutil.dataprocessing.dto.DataProcessingRequest;
+import com.mlutil.dataprocessing.entity.FittedScaler;
+import com.mlutil.dataprocessing.repository.FittedScalerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DataProcessingService Unit Tests")
+class DataProcessingServiceTest {
+
+    private static final Logger log = LoggerFactory.getLogger(DataProcessingServiceTest.class);
+
+    @Mock
+    private FittedScalerRepository fittedScalerRepository;
+
+    private ObjectMapper objectMapper;
+    private DataProcessingService dataProcessingService;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        dataProcessingService = new DataProcessingService(objectMapper, fittedScalerRepository);
+    }
+
+    @Test
+    @DisplayName("Should scale each feature by its own min and max")
+    void minMaxScaler_ScalesEachFeatureIndependently() throws Exception {
+        JsonNode output = process("MIN_MAX_SCALER",
+                "[{\"age\": 20, \"income\": 1000, \"city\": \"Nairobi\"}, {\"age\": 40, \"income\": 3000, \"city\": \"Mombasa\"}, {\"age\": 30, \"income\": 5000}]",
+                Map.of());
+
+        assertThat(output.get(0).get("age").asDouble()).isEqualTo(0.0);
+        assertThat(output.get(1).get("age").asDouble()).isEqualTo(1.0);
+        assertThat(output.get(2).get("age").asDouble()).isEqualTo(0.5);
+        assertThat(output.get(1).get("income").asDouble()).isEqualTo(0.5);
+        assertThat(output.get(2).get("income").asDouble()).isEqualTo(1.0);
+        assertThat(output.get(0).get("city").asText()).isEqualTo("Nairobi");
+    }
+
+    @Test
+    @DisplayName("Should scale plain numbers to the requested range and map a constant feature to its minimum")
+    void minMaxScaler_NumbersAndConstantFeature() throws Exception {
+        JsonNode numbers = process("MIN_MAX_SCALER", "[2, 4, 6]", Map.of("min", "-1", "max", "1"));
+        JsonNode constant = process("MIN_MAX_SCALER", "[5, 5]", Map.of());
+
+        assertThat(numbers).extracting(JsonNode::asDouble).containsExactly(-1.0, 0.0, 1.0);
+        assertThat(constant).extracting(JsonNode::asDouble).containsExactly(0.0, 0.0);
+    }
+
+    @Test
+    @DisplayName("Should save a fitted scaler and reuse its statistics on new data")
+    void minMaxScaler_SaveAndReuseFittedScaler() throws Exception {
+        process("MIN_MAX_SCALER", "[{\"age\": 20}, {\"age\": 60}]", Map.of("save_as", "ages"));
+        ArgumentCaptor<FittedScaler> saved = ArgumentCaptor.forClass(FittedScaler.class);
+        verify(fittedScalerRepository).save(saved.capture());
+        assertThat(saved.getValue().getOwner()).isEqualTo("testuser");
+        when(fittedScalerRepository.findByOwnerAndName("testuser", "ages")).thenReturn(Optional.of(saved.getValue()));
+
+        JsonNode output = process("MIN_MAX_SCALER", "[{\"age\": 30, \"height\": 170}]", Map.of("scaler", "ages"));
+
+        assertThat(output.get(0).get("age").asDouble()).isEqualTo(0.25);
+        assertThat(output.get(0).get("height").asDouble()).isEqualTo(170.0); // Not fitted, left as is
+    }
+
+    @Test
+    @DisplayName("Should reject unknown and duplicate fitted scaler names, and other users' scalers")
+    void minMaxScaler_UnknownOrDuplicateScaler() {
+        FittedScaler othersScaler = new FittedScaler(1L, "ages", "MIN_MAX_SCALER", 0.0, 1.0, "{}", "otheruser", null);
+        when(fittedScalerRepository.findByOwnerAndName("otheruser", "ages")).thenReturn(Optional.of(othersScaler));
+        when(fittedScalerRepository.existsByOwnerAndName("testuser", "taken")).thenReturn(true);
+
+        assertThrows(ResourceNotFoundException.class, () -> process("MIN_MAX_SCALER", "[1, 2]", Map.of("scaler", "missing")));
+        assertThrows(ResourceNotFoundException.class, () -> process("MIN_MAX_SCALER", "[1, 2]", Map.of("scaler", "ages")));
+        assertThrows(ValidationException.class, () -> process("MIN_MAX_SCALER", "[1, 2]", Map.of("save_as", "taken")));
+        verify(fittedScalerRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should one-hot encode a feature into one 0/1 column per category")
+    void oneHotEncoder_EmitsEveryCategory() throws Exception {
+        JsonNode output = process("ONE_HOT_ENCODER",
+                "[{\"id\": 1, \"color\": \"red\"}, {\"id\": 2, \"color\": \"blue\"}, {\"id\": 3, \"color\": \"red\"}]",
+                Map.of("feature", "color"));
+
+        assertThat(output.get(0).toString()).isEqualTo("{\"id\":1,\"color_red\":1,\"color_blue\":0}");
+        assertThat(output.get(1).toString()).isEqualTo("{\"id\":2,\"color_red\":0,\"color_blue\":1}");
+    }
+
+    @Test
+    @DisplayName("Should give equal texts equal mock vectors")
+    void textVectorizer_IsDeterministic() throws Exception {
+        JsonNode output = process("TEXT_VECTORIZER", "[\"hello\", \"world\", \"hello\"]", Map.of());
+
+        assertThat(output.get(0).get("vector_length").asInt()).isEqualTo(5);
+        assertThat(output.get(0).get("mock_embedding_1")).isEqualTo(output.get(2).get("mock_embedding_1"));
+        assertThat(output.get(0).get("mock_embedding_1").asDouble()).isBetween(0.0, 1.0);
+    }
+
+    /**
+     * Timing comparison in place of a JMH benchmark, which this project has no harness for. Rows have three numeric
+     * features and one text field. The previous implementation recomputed the global min and max for every value,
+     * so it is only run at 1k rows.
+     */
+    @Test
+    @Benchmark
+    @DisplayName("Should scale 1k, 100k and 1M rows in linear time")
+    void minMaxScaler_Benchmark() throws Exception {
+        ArrayNode small = rows(1_000);
+        for (int i = 0; i < 5; i++) { // Warm-up
+            dataProcessingService.processData(request("MIN_MAX_SCALER", small, Map.of()), "bench");
+            legacyMinMaxScaler(small);
+        }
+
+        long legacyNanos = time(() -> legacyMinMaxScaler(small));
+        long columnarNanos = time(() -> dataProcessingService.processData(request("MIN_MAX_SCALER", small, Map.of()), "bench"));
+        StringBuilder report = new StringBuilder(String.format("Min-max scaling: 1k rows previous %.2f ms, columnar %.2f ms",
+                legacyNanos / 1e6, columnarNanos / 1e6));
+        for (int size : new int[]{100_000, 1_000_000}) {
+            ArrayNode large = rows(size);
+            long nanos = time(() -> dataProcessingService.processData(request("MIN_MAX_SCALER", large, Map.of()), "bench"));
+            report.append(String.format(", %dk rows columnar %.1f ms", size / 1000, nanos / 1e6));
+        }
+        log.info("{}", report);
+
+        assertThat(columnarNanos).isLessThan(legacyNanos);
+    }
+
+    private JsonNode process(String type, String json, Map<String, String> params) throws Exception {
+        return dataProcessingService.processData(request(type, objectMapper.readTree(json), params), "testuser").getProcessedData();
+    }
+
+    private static DataProcessingRequest request(String type, JsonNode input, Map<String, String> params) {
+        DataProcessingRequest request = new DataProcessingRequest();
+        request.setProcessingType(type);
+        request.setInputData(input);
+        request.setParams(params);
+        return request;
+    }
+
+    private static ArrayNode rows(int size) {
+        ArrayNode rows = JsonNodeFactory.instance.arrayNode(size);
+        for (int i = 0; i < size; i++) {
+            ObjectNode row = rows.addObject();
+            row.put("age", 18 + i % 60);
+            row.put("income", (i * 7919L) % 100_000);
+            row.put("score", (i % 1000) / 1000.0);
+            row.put("segment", i % 2 == 0 ? "a" : "b");
+        }
+        return rows;
+    }
+
+    private static long time(Runnable task) {
+        long start = System.nanoTime();
+        task.run();
+        return System.nanoTime() - start;
+    }
+
+    // What applyMinMaxScaler did before: the global min and max are recomputed for every value
+    private JsonNode legacyMinMaxScaler(JsonNode inputData) {
+        ArrayNode outputArray = objectMapper.createArrayNode();
+        for (JsonNode item : inputData) {
+            ObjectNode outputObject = objectMapper.createObjectNode();
+            Iterator<Map.Entry<String, JsonNode>> fields = item.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                if (field.getValue().isNumber()) {
+                    double value = field.getValue().asDouble();
+                    outputObject.put(field.getKey(), (value - legacyMin(inputData)) / (legacyMax(inputData) - legacyMin(inputData)));
+                } else {
+                    outputObject.set(field.getKey(), field.getValue());
+                }
+            }
+            outputArray.add(outputObject);
+        }
+        return outputArray;
+    }
+
+    private static double legacyMin(JsonNode data) {
+        double min = Double.MAX_VALUE;
+        for (JsonNode item : data) {
+            for (JsonNode value : item) {
+                if (value.isNumber()) {
+                    min = Math.min(min, value.asDouble());
+                }
+            }
+        }
+        return min;
+    }
+
+    private static double legacyMax(JsonNode data) {
+        double max = Double.MIN_VALUE;
+        for (JsonNode item : data) {
+            for (JsonNode value : item) {
+                if (value.isNumber()) {
+                    max = Math.max(max, value.asDouble());
+                }
+            }
+        }
+        return max;
+    }
+}
@@ -0,0 +1,108 @@
+package com.mlutil.predictionservice.service;
+
+import com.fasterxml.jackson.databind.node.IntNode;
+import com.mlutil.Benchmark;
+import com.mlutil.modelmanager.dto.ModelVersionDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load test: 64 concurrent clients against a backend whose calls cost 2 ms plus 20 us per input (the shape of a
+ * model server, where invocation and transfer overhead dominates small batches), served by 4 workers. Logs
+ * throughput and latency percentiles with batching off and with 1 ms and 5 ms windows.
+ */
+@Benchmark
+@DisplayName("BatchingInferenceEngine Load Test")
+class BatchingInferenceEngineLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchingInferenceEngineLoadTest.class);
+
+    private final List<BatchingInferenceEngine> engines = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        engines.forEach(BatchingInferenceEngine::shutdown);
+    }
+
+    @Test
+    @DisplayName("Should serve more predictions per second with batching than without")
+    void loadTest_BatchingWindows_ThroughputAndP99() throws Exception {
+        BatchInference backend = (version, name, inputs) -> {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(2) + inputs.size() * TimeUnit.MICROSECONDS.toNanos(20));
+            return new ArrayList<>(inputs);
+        };
+        run(engine(backend, 32, 1_000), 16, 20); // Warm-up
+
+        LoadResult unbatched = run(engine(backend, 1, 0), 64, 50);
+        LoadResult window1ms = run(engine(backend, 32, 1_000), 64, 50);
+        LoadResult window5ms = run(engine(backend, 32, 5_000), 64, 50);
+
+        log.info("Micro-batching, 64 clients: {} | {} | {}",
+                unbatched.describe("batch size 1"), window1ms.describe("32 / 1 ms"), window5ms.describe("32 / 5 ms"));
+        assertThat(window1ms.throughput()).isGreaterThan(unbatched.throughput());
+        assertThat(window5ms.throughput()).isGreaterThan(unbatched.throughput());
+    }
+
+    private record LoadResult(double throughput, double p50Ms, double p99Ms) {
+
+        String describe(String label) {
+            return String.format("%s: %.0f req/s, p50 %.1f ms, p99 %.1f ms", label, throughput, p50Ms, p99Ms);
+        }
+    }
+
+    private LoadResult run(BatchingInferenceEngine engine, int clients, int requestsPerClient) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        List<Future<long[]>> results = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int c = 0; c < clients; c++) {
+            results.add(executor.submit(() -> {
+                long[] latencies = new long[requestsPerClient];
+                for (int i = 0; i < requestsPerClient; i++) {
+                    long sent = System.nanoTime();
+                    engine.submit(version(), "model", new IntNode(i)).get(10, TimeUnit.SECONDS);
+                    latencies[i] = System.nanoTime() - sent;
+                }
+                return latencies;
+            }));
+        }
+        long[] all = new long[clients * requestsPerClient];
+        for (int c = 0; c < clients; c++) {
+            System.arraycopy(results.get(c).get(), 0, all, c * requestsPerClient, requestsPerClient);
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        executor.shutdown();
+        Arrays.sort(all);
+        return new LoadResult(all.length / (elapsedNanos / 1e9),
+                all[(int) (all.length * 0.50)] / 1e6, all[(int) (all.length * 0.99)] / 1e6);
+    }
+
+    private BatchingInferenceEngine engine(BatchInference backend, int maxBatchSize, long maxWaitMicros) {
+        BatchingInferenceEngine engine = new BatchingInferenceEngine(backend, new SimpleMeterRegistry(),
+                maxBatchSize, maxWaitMicros, 10_000, 4);
+        engines.add(engine);
+        return engine;
+    }
+
+    private static ModelVersionDto version() {
+        ModelVersionDto version = new ModelVersionDto();
+        version.setId(1L);
+        version.setModelId(10L);
+        version.setVersionNumber(1);
+        return version;
+    }
+}
@@ -0,0 +1,155 @@
+package com.mlutil.predictionservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.IntNode;
+import com.mlutil.core.exception.GlobalExceptionHandler;
+import com.mlutil.core.exception.ServiceOverloadedException;
+import com.mlutil.modelmanager.dto.ModelVersionDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("BatchingInferenceEngine Unit Tests")
+class BatchingInferenceEngineTest {
+
+    private final List<BatchingInferenceEngine> engines = new ArrayList<>();
+    private final List<List<JsonNode>> calls = Collections.synchronizedList(new ArrayList<>());
+
+    @AfterEach
+    void tearDown() {
+        engines.forEach(BatchingInferenceEngine::shutdown);
+    }
+
+    @Test
+    @DisplayName("Should dispatch as soon as a batch is full")
+    void submitAll_FullBatch_DispatchesWithoutWaitingForWindow() throws Exception {
+        BatchingInferenceEngine engine = engine(this::echo, 4, TimeUnit.SECONDS.toMicros(30), 100);
+
+        List<CompletableFuture<JsonNode>> futures = engine.submitAll(version(1L), "model", inputs(0, 8));
+
+        for (int i = 0; i < futures.size(); i++) {
+            assertThat(futures.get(i).get(5, TimeUnit.SECONDS).intValue()).isEqualTo(i);
+        }
+        assertThat(calls).hasSize(2).allSatisfy(batch -> assertThat(batch).hasSize(4));
+    }
+
+    @Test
+    @DisplayName("Should dispatch a partial batch when the window closes")
+    void submit_PartialBatch_DispatchesAfterWindow() throws Exception {
+        BatchingInferenceEngine engine = engine(this::echo, 32, 20_000, 100);
+
+        CompletableFuture<JsonNode> first = engine.submit(version(1L), "model", new IntNode(1));
+        CompletableFuture<JsonNode> second = engine.submit(version(1L), "model", new IntNode(2));
+
+        assertThat(first.get(5, TimeUnit.SECONDS).intValue()).isEqualTo(1);
+        assertThat(second.get(5, TimeUnit.SECONDS).intValue()).isEqualTo(2);
+        assertThat(calls).hasSize(1);
+        assertThat(calls.get(0)).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should never mix model versions in one batch")
+    void submit_DifferentVersions_AreBatchedSeparately() throws Exception {
+        List<ModelVersionDto> seen = Collections.synchronizedList(new ArrayList<>());
+        BatchingInferenceEngine engine = engine((version, name, inputs) -> {
+            seen.add(version);
+            return echo(version, name, inputs);
+        }, 32, 20_000, 100);
+
+        CompletableFuture<JsonNode> v1 = engine.submit(version(1L), "model", new IntNode(1));
+        CompletableFuture<JsonNode> v2 = engine.submit(version(2L), "model", new IntNode(2));
+
+        assertThat(v1.get(5, TimeUnit.SECONDS).intValue()).isEqualTo(1);
+        assertThat(v2.get(5, TimeUnit.SECONDS).intValue()).isEqualTo(2);
+        assertThat(calls).hasSize(2);
+        assertThat(seen).extracting(ModelVersionDto::getId).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("Should fail every request of a batch whose inference fails")
+    void submitAll_InferenceFails_CompletesAllExceptionally() {
+        BatchingInferenceEngine engine = engine((version, name, inputs) -> {
+            throw new IllegalStateException("model crashed");
+        }, 2, 20_000, 100);
+
+        List<CompletableFuture<JsonNode>> futures = engine.submitAll(version(1L), "model", inputs(0, 2));
+
+        for (CompletableFuture<JsonNode> future : futures) {
+            ExecutionException thrown = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+            assertThat(thrown.getCause()).hasMessage("model crashed");
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject requests once the queue is full and accept them again after it drains")
+    void submit_QueueFull_ThrowsServiceOverloaded() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        BatchingInferenceEngine engine = engine((version, name, inputs) -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return echo(version, name, inputs);
+        }, 2, 20_000, 4);
+
+        List<CompletableFuture<JsonNode>> accepted = engine.submitAll(version(1L), "model", inputs(0, 4));
+
+        ServiceOverloadedException overloaded = assertThrows(ServiceOverloadedException.class,
+                () -> engine.submit(version(1L), "model", new IntNode(4)));
+        ResponseEntity<?> response = new GlobalExceptionHandler().handleServiceOverloadedException(overloaded,
+                new ServletWebRequest(new MockHttpServletRequest()));
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getFirst("Retry-After")).isEqualTo("1");
+
+        release.countDown();
+        for (CompletableFuture<JsonNode> future : accepted) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+        assertThat(engine.submit(version(1L), "model", new IntNode(5)).get(5, TimeUnit.SECONDS).intValue()).isEqualTo(5);
+    }
+
+    private BatchingInferenceEngine engine(BatchInference backend, int maxBatchSize, long maxWaitMicros, int maxQueued) {
+        BatchingInferenceEngine engine = new BatchingInferenceEngine(backend, new SimpleMeterRegistry(),
+                maxBatchSize, maxWaitMicros, maxQueued, 4);
+        engines.add(engine);
+        return engine;
+    }
+
+    private List<JsonNode> echo(ModelVersionDto version, String modelName, List<JsonNode> inputs) {
+        calls.add(inputs);
+        return new ArrayList<>(inputs);
+    }
+
+    private static List<JsonNode> inputs(int from, int to) {
+        List<JsonNode> inputs = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            inputs.add(new IntNode(i));
+        }
+        return inputs;
+    }
+
+    private static ModelVersionDto version(Long id) {
+        ModelVersionDto version = new ModelVersionDto();
+        version.setId(id);
+        version.setModelId(10L);
+        version.setVersionNumber(1);
+        return version;
+    }
+}
@@ -0,0 +1,210 @@
+package com.mlutil.predictionservice.service;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.mlutil.predictionservice.entity.PredictionLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("PredictionLogWriter Unit Tests")
+class PredictionLogWriterTest {
+
+    @TempDir
+    Path segmentDir;
+
+    private JdbcTemplate jdbcTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private PredictionLogWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+        writer = writer(1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        writer.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should insert buffered logs with one batched statement")
+    void flush_WritesBufferedLogsAsOneBatch() {
+        writer.append(log(1L, "a"));
+        writer.append(log(1L, "b"));
+        writer.append(log(2L, "c"));
+
+        assertThat(writer.flush()).isEqualTo(3);
+
+        List<List<Object[]>> batches = insertedBatches();
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0)).extracting(row -> row[2]).containsExactly("{\"input\":\"a\"}", "{\"input\":\"b\"}", "{\"input\":\"c\"}");
+        assertThat(written("database")).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should spill to compressed segments while the database is down and replay them once it is back")
+    void flush_DatabaseDown_SpillsToSegmentsAndReplaysLater() throws Exception {
+        doThrow(new DataAccessResourceFailureException("connection refused"))
+                .when(jdbcTemplate).batchUpdate(eq(PredictionLogWriter.INSERT_SQL), anyList());
+        writer.append(log(1L, "a"));
+        writer.append(log(2L, "b"));
+        writer.append(log(1L, "c"));
+        writer.flush();
+
+        assertThat(written("segment")).isEqualTo(3);
+        assertThat(segmentFiles()).singleElement().asString().endsWith(".ndjson.gz");
+        assertThat(writer.getSpilledLogsForModel(1L)).extracting(PredictionLog::getRequestPayload)
+                .containsExactly("{\"input\":\"a\"}", "{\"input\":\"c\"}");
+
+        reset(jdbcTemplate);
+        writer.replaySegments();
+
+        assertThat(insertedBatches()).singleElement().satisfies(rows -> assertThat(rows).hasSize(3));
+        assertThat(segmentFiles()).isEmpty();
+        assertThat(writer.getSpilledLogsForModel(1L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should keep the valid rows of a batch that contains a rejected one")
+    void flush_IntegrityViolation_DropsOnlyRejectedRows() {
+        doAnswer(invocation -> {
+            List<Object[]> rows = invocation.getArgument(1);
+            if (rows.stream().anyMatch(row -> row[0].equals(99L))) {
+                throw new DataIntegrityViolationException("model 99 was deleted");
+            }
+            return new int[rows.size()];
+        }).when(jdbcTemplate).batchUpdate(eq(PredictionLogWriter.INSERT_SQL), anyList());
+        writer.append(log(1L, "a"));
+        writer.append(log(99L, "b"));
+        writer.append(log(1L, "c"));
+
+        writer.flush();
+
+        assertThat(written("database")).isEqualTo(2);
+        assertThat(dropped("rejected")).isEqualTo(1);
+        assertThat(segmentFiles()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should drop and count logs instead of blocking when the buffer is full")
+    void append_BufferFull_DropsAndCounts() {
+        writer.shutdown();
+        writer = writer(4);
+
+        for (int i = 0; i < 6; i++) {
+            writer.append(log(1L, "x" + i));
+        }
+
+        assertThat(dropped("buffer_full")).isEqualTo(2);
+        assertThat(writer.flush()).isEqualTo(4);
+        assertThat(writer.append(log(1L, "y"))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should hand every log from concurrent producers to the consumer exactly once")
+    void ringBuffer_ConcurrentProducers_DeliversEachLogOnce() throws Exception {
+        PredictionLogRingBuffer buffer = new PredictionLogRingBuffer(1024);
+        int producers = 8;
+        int perProducer = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            long producer = p;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    PredictionLog log = new PredictionLog();
+                    log.setId(producer * perProducer + i);
+                    while (!buffer.offer(log)) {
+                        Thread.onSpinWait(); // Full; the consumer will catch up
+                    }
+                }
+            }));
+        }
+
+        Set<Long> received = new HashSet<>();
+        List<PredictionLog> batch = new ArrayList<>();
+        AtomicBoolean duplicate = new AtomicBoolean();
+        while (received.size() < producers * perProducer) {
+            batch.clear();
+            buffer.drainTo(batch, 256);
+            batch.forEach(log -> duplicate.compareAndSet(false, !received.add(log.getId())));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertThat(duplicate).isFalse();
+        assertThat(buffer.size()).isZero();
+    }
+
+    private PredictionLogWriter writer(int bufferCapacity) {
+        return new PredictionLogWriter(jdbcTemplate, new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                JsonMapper.builder().findAndAddModules().build(), meterRegistry,
+                bufferCapacity, 500, 3_600_000, segmentDir.toString(), 1024 * 1024, 4, 3_600_000);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<Object[]>> insertedBatches() {
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, atLeastOnce()).batchUpdate(eq(PredictionLogWriter.INSERT_SQL), rows.capture());
+        return rows.getAllValues();
+    }
+
+    private List<Path> segmentFiles() {
+        try (var files = Files.list(segmentDir)) {
+            return files.toList();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private double written(String store) {
+        return meterRegistry.get("predictions.log.written").tag("store", store).counter().count();
+    }
+
+    private double dropped(String reason) {
+        return meterRegistry.get("predictions.log.dropped").tag("reason", reason).counter().count();
+    }
+
+    private static PredictionLog log(Long modelId, String input) {
+        PredictionLog log = new PredictionLog();
+        log.setModelId(modelId);
+        log.setModelVersionNumber(1);
+        log.setRequestPayload("{\"input\":\"" + input + "\"}");
+        log.setResponsePayload("{\"score\":0.5}");
+        log.setUserId("anonymous");
+        log.setClientIp("127.0.0.1");
+        log.setPredictedAt(LocalDateTime.now());
+        log.setLatencyMs(3L);
+        return log;
+    }
+}
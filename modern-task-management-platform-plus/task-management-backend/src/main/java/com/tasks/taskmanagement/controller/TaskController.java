@@ -1,7 +1,9 @@
 ```java
 package com.tasks.taskmanagement.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.tasks.taskmanagement.dto.TaskDTO;
+import com.tasks.taskmanagement.dto.TaskPageDTO;
 import com.tasks.taskmanagement.entity.Task.Status;
 import com.tasks.taskmanagement.entity.User;
 import com.tasks.taskmanagement.service.AuthService;
@@ -10,10 +12,14 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.UUID;
 
@@ -25,6 +31,7 @@ public class TaskController {
 
     private final TaskService taskService;
     private final AuthService authService;
+    private final ObjectMapper objectMapper;
 
     // Create a new task
     @PostMapping
@@ -76,6 +83,53 @@ public class TaskController {
         return ResponseEntity.ok(tasks);
     }
 
+    // Keyset-paginated tasks in due date order: all for ADMIN without assigneeId, else the assignee's (current user by default)
+    @GetMapping("/page")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<TaskPageDTO> getTaskPage(
+            @RequestParam(required = false) UUID assigneeId,
+            @RequestParam(required = false) UUID projectId,
+            @RequestParam(required = false) Status status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        User currentUser = authService.getCurrentAuthenticatedUser();
+        if (assigneeId != null && !assigneeId.equals(currentUser.getId()) && currentUser.getRole() != User.Role.ADMIN) {
+            log.warn("Unauthorized attempt to page tasks for assignee ID: {}", assigneeId);
+            return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+        }
+        // No assigneeId means all tasks for ADMIN and the current user's tasks for everyone else
+        UUID effectiveAssigneeId = assigneeId != null || currentUser.getRole() == User.Role.ADMIN ? assigneeId : currentUser.getId();
+        log.info("Fetching task page for assignee ID: {}, Project: {}, Status: {}", effectiveAssigneeId, projectId, status);
+        return ResponseEntity.ok(taskService.getTaskPage(effectiveAssigneeId, projectId, status, cursor, size));
+    }
+
+    // Streams the same tasks as /page as newline-delimited JSON, one task per line, without buffering them
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+            @RequestParam(required = false) UUID assigneeId,
+            @RequestParam(required = false) UUID projectId,
+            @RequestParam(required = false) Status status) {
+        User currentUser = authService.getCurrentAuthenticatedUser();
+        // Checked before streaming starts; once the body is committed the status can no longer change
+        if (assigneeId != null && !assigneeId.equals(currentUser.getId()) && currentUser.getRole() != User.Role.ADMIN) {
+            log.warn("Unauthorized attempt to export tasks for assignee ID: {}", assigneeId);
+            return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+        }
+        // No assigneeId means all tasks for ADMIN and the current user's tasks for everyone else
+        UUID effectiveAssigneeId = assigneeId != null || currentUser.getRole() == User.Role.ADMIN ? assigneeId : currentUser.getId();
+        log.info("Exporting tasks for assignee ID: {}, Project: {}, Status: {}", effectiveAssigneeId, projectId, status);
+        StreamingResponseBody body = outputStream -> taskService.exportTasks(effectiveAssigneeId, projectId, status, task -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(task));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     // Update task
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or @taskRepository.isTaskOwnedOrAssignedByUser(#id, @authService.getCurrentAuthenticatedUser().getId())")
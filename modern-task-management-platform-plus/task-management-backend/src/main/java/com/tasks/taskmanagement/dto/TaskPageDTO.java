@@ -0,0 +1,21 @@
+```java
+package com.tasks.taskmanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskPageDTO {
+    private List<TaskDTO> items;
+    private String nextCursor; // Opaque; pass back as ?cursor= for the next page. Absent on the last page.
+}
+```
\ No newline at end of file
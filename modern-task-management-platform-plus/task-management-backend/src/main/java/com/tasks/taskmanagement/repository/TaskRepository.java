@@ -4,7 +4,9 @@ package com.tasks.taskmanagement.repository;
 import com.tasks.taskmanagement.entity.Task;
 import com.tasks.taskmanagement.entity.Task.Priority;
 import com.tasks.taskmanagement.entity.Task.Status;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -15,7 +17,8 @@ import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, UUID> {
+public interface TaskRepository extends JpaRepository<Task, UUID>, JpaSpecificationExecutor<Task> {
+
     List<Task> findByAssigneeId(UUID assigneeId);
     List<Task> findByProjectId(UUID projectId);
     List<Task> findByStatus(Status status);
@@ -23,7 +26,8 @@ public interface TaskRepository extends JpaRepository<Task, UUID> {
     List<Task> findByDueDateBefore(LocalDateTime date);
 
     // Custom query to find tasks by assignee and optionally by project or status
-    @Query("SELECT t FROM Task t WHERE t.assignee.id = :assigneeId " +
+    @Query("SELECT DISTINCT t FROM Task t LEFT JOIN FETCH t.assignee LEFT JOIN FETCH t.project p LEFT JOIN FETCH p.owner " +
+           "LEFT JOIN FETCH t.tags WHERE t.assignee.id = :assigneeId " +
            "AND (:projectId IS NULL OR t.project.id = :projectId) " +
            "AND (:status IS NULL OR t.status = :status) " +
            "ORDER BY t.dueDate ASC")
@@ -40,5 +44,19 @@ public interface TaskRepository extends JpaRepository<Task, UUID> {
 
     @Query("SELECT t FROM Task t JOIN t.tags tag WHERE tag.id = :tagId")
     List<Task> findByTagId(@Param("tagId") UUID tagId);
+
+    @Query("SELECT DISTINCT t FROM Task t LEFT JOIN FETCH t.assignee LEFT JOIN FETCH t.project p LEFT JOIN FETCH p.owner " +
+           "LEFT JOIN FETCH t.tags")
+    List<Task> findAllWithAssociations();
+
+    // Keyset pages are built from TaskSpecifications: only the filters that are set become predicates, and a
+    // cursor seeks past the last task instead of skipping rows like OFFSET does
+    default List<Task> findPage(Specification<Task> specification, int limit) {
+        return findBy(specification, query -> query.limit(limit).all());
+    }
+
+    // Initializes the tags of already loaded tasks in one query
+    @Query("SELECT DISTINCT t FROM Task t LEFT JOIN FETCH t.tags WHERE t IN :tasks")
+    List<Task> fetchTags(@Param("tasks") List<Task> tasks);
 }
 ```
\ No newline at end of file
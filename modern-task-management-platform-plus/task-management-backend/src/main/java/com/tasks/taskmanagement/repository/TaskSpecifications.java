@@ -0,0 +1,85 @@
+```java
+package com.tasks.taskmanagement.repository;
+
+import com.tasks.taskmanagement.entity.Project;
+import com.tasks.taskmanagement.entity.Task;
+import com.tasks.taskmanagement.entity.Task.Status;
+import jakarta.persistence.criteria.Fetch;
+import jakarta.persistence.criteria.JoinType;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Building blocks of the keyset task listing. A filter that is not set adds no predicate at all, so each
+ * combination of filters is its own query and the planner can seek on idx_tasks_assignee_due_date_id or
+ * idx_tasks_due_date_id; a shared "(:x IS NULL OR col = :x)" query would be planned once for every combination.
+ */
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    /**
+     * The tasks matching the set filters, with what TaskDTO mapping reads fetched in the same query; tags are a
+     * collection and are loaded by {@link TaskRepository#fetchTags}.
+     */
+    public static Specification<Task> listing(UUID assigneeId, UUID projectId, Status status) {
+        return Specification.where(withAssociations())
+                .and(assignedTo(assigneeId))
+                .and(inProject(projectId))
+                .and(hasStatus(status));
+    }
+
+    // Dated tasks come first, in (dueDate, id) order
+    public static Specification<Task> dated() {
+        return (root, query, cb) -> {
+            query.orderBy(cb.asc(root.get("dueDate")), cb.asc(root.get("id")));
+            return cb.isNotNull(root.get("dueDate"));
+        };
+    }
+
+    public static Specification<Task> datedAfter(LocalDateTime dueDate, UUID id) {
+        // The redundant lower bound on dueDate gives the planner a range to seek to
+        return dated().and((root, query, cb) -> cb.and(
+                cb.greaterThanOrEqualTo(root.get("dueDate"), dueDate),
+                cb.or(cb.greaterThan(root.get("dueDate"), dueDate), cb.greaterThan(root.get("id"), id))));
+    }
+
+    // Undated tasks come last, in id order
+    public static Specification<Task> undated() {
+        return (root, query, cb) -> {
+            query.orderBy(cb.asc(root.get("id")));
+            return cb.isNull(root.get("dueDate"));
+        };
+    }
+
+    public static Specification<Task> undatedAfter(UUID id) {
+        return undated().and((root, query, cb) -> cb.greaterThan(root.get("id"), id));
+    }
+
+    private static Specification<Task> withAssociations() {
+        return (root, query, cb) -> {
+            if (query.getResultType() != Long.class) { // Count queries cannot fetch
+                root.fetch("assignee", JoinType.LEFT);
+                Fetch<Task, Project> project = root.fetch("project", JoinType.LEFT);
+                project.fetch("owner", JoinType.LEFT);
+            }
+            return null;
+        };
+    }
+
+    private static Specification<Task> assignedTo(UUID assigneeId) {
+        return assigneeId == null ? null : (root, query, cb) -> cb.equal(root.get("assignee").get("id"), assigneeId);
+    }
+
+    private static Specification<Task> inProject(UUID projectId) {
+        return projectId == null ? null : (root, query, cb) -> cb.equal(root.get("project").get("id"), projectId);
+    }
+
+    private static Specification<Task> hasStatus(Status status) {
+        return status == null ? null : (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+}
+```
\ No newline at end of file
@@ -28,6 +28,7 @@ public class ProjectService {
     private final UserService userService;
     private final AuthService authService;
     private final MapperUtil mapperUtil;
+    private final TaskCache taskCache;
 
     @Transactional
     @CacheEvict(value = "projects", allEntries = true) // Evict all projects cache on create
@@ -86,6 +87,7 @@ public class ProjectService {
         // owner_id cannot be changed via this method, use specific admin endpoint if needed
 
         Project updatedProject = projectRepository.save(existingProject);
+        taskCache.evictProject(id); // Cached tasks embed the project
         log.info("Project with ID {} updated successfully.", id);
         return mapperUtil.map(updatedProject, ProjectDTO.class);
     }
@@ -104,6 +106,7 @@ public class ProjectService {
         }
 
         projectRepository.deleteById(id);
+        taskCache.evictProject(id); // Its tasks are deleted with it
         log.info("Project with ID {} deleted successfully.", id);
     }
 
@@ -0,0 +1,187 @@
+```java
+package com.tasks.taskmanagement.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tasks.taskmanagement.dto.TaskDTO;
+import com.tasks.taskmanagement.entity.Task;
+import com.tasks.taskmanagement.entity.Task.Status;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Task read cache with one Caffeine cache per key family: single tasks by ID, per-assignee lists by
+ * (assignee, project filter, status filter), and the admin list of all tasks.
+ * <p>
+ * A task write evicts only what it can change: the task's own entry and the per-assignee lists that contain it
+ * before or after the write, i.e. its assignee's lists filtered by nothing, by its project, by its status or by
+ * both. The list of all tasks is evicted on every write. Evictions run after commit; a load racing with an
+ * eviction of the same key is dropped by Caffeine, so the pre-commit state cannot be re-cached.
+ * <p>
+ * Entries hold data only. Single tasks carry the assignee and project owner IDs so callers can authorize every
+ * read, cached or not. Per family, Actuator exposes {@code cache.gets} (hit/miss) and {@code cache.evictions}
+ * (size/expiry) under {@code cache=tasks.<family>}, plus {@code tasks.cache.invalidations} for write-driven evictions.
+ */
+@Component
+public class TaskCache {
+
+    private final Cache<UUID, CachedTask> tasks;
+    private final Cache<UserTasksKey, List<TaskDTO>> userTasks;
+    private final Cache<String, List<TaskDTO>> allTasks;
+    private final Counter taskInvalidations;
+    private final Counter userTasksInvalidations;
+    private final Counter allTasksInvalidations;
+
+    public TaskCache(MeterRegistry meterRegistry,
+                     @Value("${app.task-cache.maximum-size:10000}") long maximumSize,
+                     @Value("${app.task-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.tasks = build(maximumSize, ttlSeconds);
+        this.userTasks = build(maximumSize, ttlSeconds);
+        this.allTasks = build(1, ttlSeconds);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, tasks, "tasks.byId");
+        CaffeineCacheMetrics.monitor(meterRegistry, userTasks, "tasks.byUser");
+        CaffeineCacheMetrics.monitor(meterRegistry, allTasks, "tasks.all");
+        this.taskInvalidations = invalidationCounter(meterRegistry, "byId");
+        this.userTasksInvalidations = invalidationCounter(meterRegistry, "byUser");
+        this.allTasksInvalidations = invalidationCounter(meterRegistry, "all");
+    }
+
+    /**
+     * A task as cached for single reads: its DTO plus what authorization needs.
+     */
+    public record CachedTask(TaskDTO task, UUID assigneeId, UUID projectOwnerId) {
+    }
+
+    public record UserTasksKey(UUID assigneeId, UUID projectId, Status status) {
+    }
+
+    /**
+     * The fields of a task that decide which cached lists contain it.
+     */
+    public record TaskKeys(UUID id, UUID assigneeId, UUID projectId, Status status) {
+
+        public static TaskKeys of(Task task) {
+            return new TaskKeys(task.getId(),
+                    task.getAssignee() != null ? task.getAssignee().getId() : null,
+                    task.getProject() != null ? task.getProject().getId() : null,
+                    task.getStatus());
+        }
+    }
+
+    public CachedTask getTask(UUID id, Function<UUID, CachedTask> loader) {
+        return tasks.get(id, loader);
+    }
+
+    public List<TaskDTO> getTasksForUser(UserTasksKey key, Supplier<List<TaskDTO>> loader) {
+        return userTasks.get(key, k -> loader.get());
+    }
+
+    public List<TaskDTO> getAllTasks(Supplier<List<TaskDTO>> loader) {
+        return allTasks.get("all", k -> loader.get());
+    }
+
+    /**
+     * A task was created, updated or deleted. Pass its keys before the write ({@code null} on create) and after
+     * it ({@code null} on delete).
+     */
+    public void evictTask(TaskKeys before, TaskKeys after) {
+        List<UserTasksKey> lists = new ArrayList<>();
+        for (TaskKeys keys : Arrays.asList(before, after)) {
+            if (keys != null && keys.assigneeId() != null) {
+                lists.add(new UserTasksKey(keys.assigneeId(), null, null));
+                lists.add(new UserTasksKey(keys.assigneeId(), null, keys.status()));
+                if (keys.projectId() != null) {
+                    lists.add(new UserTasksKey(keys.assigneeId(), keys.projectId(), null));
+                    lists.add(new UserTasksKey(keys.assigneeId(), keys.projectId(), keys.status()));
+                }
+            }
+        }
+        afterCommit(() -> {
+            // A created task has no entry yet
+            if (before != null && tasks.asMap().remove(before.id()) != null) {
+                taskInvalidations.increment();
+            }
+            for (UserTasksKey list : lists) {
+                if (userTasks.asMap().remove(list) != null) {
+                    userTasksInvalidations.increment();
+                }
+            }
+            invalidateAllTasks();
+        });
+    }
+
+    /**
+     * A project was renamed or deleted (which deletes its tasks): evict every entry holding one of its tasks.
+     * Scans the caches, which is fine for these rare writes.
+     */
+    public void evictProject(UUID projectId) {
+        afterCommit(() -> {
+            tasks.asMap().values().removeIf(cached -> {
+                boolean inProject = projectId.equals(cached.task().getProjectId());
+                if (inProject) {
+                    taskInvalidations.increment();
+                }
+                return inProject;
+            });
+            userTasks.asMap().entrySet().removeIf(entry -> {
+                boolean inProject = projectId.equals(entry.getKey().projectId())
+                        || entry.getValue().stream().anyMatch(task -> projectId.equals(task.getProjectId()));
+                if (inProject) {
+                    userTasksInvalidations.increment();
+                }
+                return inProject;
+            });
+            invalidateAllTasks();
+        });
+    }
+
+    private void invalidateAllTasks() {
+        if (allTasks.asMap().remove("all") != null) {
+            allTasksInvalidations.increment();
+        }
+    }
+
+    // Evict after commit so a concurrent read cannot re-cache the pre-commit state
+    private static void afterCommit(Runnable eviction) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        } else {
+            eviction.run();
+        }
+    }
+
+    private static <K, V> Cache<K, V> build(long maximumSize, long ttlSeconds) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    private static Counter invalidationCounter(MeterRegistry meterRegistry, String family) {
+        return Counter.builder("tasks.cache.invalidations")
+                .description("Task cache entries evicted because of writes")
+                .tag("cache", "tasks." + family)
+                .register(meterRegistry);
+    }
+}
+```
\ No newline at end of file
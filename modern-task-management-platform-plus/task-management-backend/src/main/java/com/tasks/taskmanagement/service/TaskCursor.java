@@ -0,0 +1,39 @@
+```java
+package com.tasks.taskmanagement.service;
+
+import com.tasks.taskmanagement.entity.Task;
+import com.tasks.taskmanagement.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in the (dueDate, id) task order, handed to clients as an opaque URL-safe string. A null dueDate
+ * means the position is among the undated tasks, which sort last.
+ */
+record TaskCursor(LocalDateTime dueDate, UUID id) {
+
+    static TaskCursor after(Task task) {
+        return new TaskCursor(task.getDueDate(), task.getId());
+    }
+
+    String encode() {
+        String position = (dueDate != null ? dueDate.toString() : "") + "," + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static TaskCursor decode(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = position.indexOf(',');
+            LocalDateTime dueDate = separator > 0 ? LocalDateTime.parse(position.substring(0, separator)) : null;
+            return new TaskCursor(dueDate, UUID.fromString(position.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new BadRequestException("Invalid cursor: " + cursor);
+        }
+    }
+}
+```
\ No newline at end of file
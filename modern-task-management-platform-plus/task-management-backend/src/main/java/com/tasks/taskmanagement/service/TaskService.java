@@ -2,6 +2,7 @@
 package com.tasks.taskmanagement.service;
 
 import com.tasks.taskmanagement.dto.TaskDTO;
+import com.tasks.taskmanagement.dto.TaskPageDTO;
 import com.tasks.taskmanagement.entity.Project;
 import com.tasks.taskmanagement.entity.Tag;
 import com.tasks.taskmanagement.entity.Task;
@@ -11,20 +12,23 @@ import com.tasks.taskmanagement.entity.User;
 import com.tasks.taskmanagement.exception.ResourceNotFoundException;
 import com.tasks.taskmanagement.exception.UnauthorizedException;
 import com.tasks.taskmanagement.repository.TaskRepository;
+import com.tasks.taskmanagement.repository.TaskSpecifications;
 import com.tasks.taskmanagement.util.MapperUtil;
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -32,15 +36,19 @@ import java.util.stream.Collectors;
 @Slf4j
 public class TaskService {
 
+    public static final int MAX_PAGE_SIZE = 200;
+    static final int EXPORT_CHUNK_SIZE = 500;
+
     private final TaskRepository taskRepository;
     private final UserService userService;
     private final ProjectService projectService;
     private final TagService tagService;
     private final AuthService authService;
     private final MapperUtil mapperUtil;
+    private final TaskCache taskCache;
+    private final EntityManager entityManager;
 
     @Transactional
-    @CacheEvict(value = "tasks", allEntries = true) // Evict all tasks cache on create
     public TaskDTO createTask(TaskDTO taskDTO) {
         log.info("Creating new task: {}", taskDTO.getTitle());
         User currentUser = authService.getCurrentAuthenticatedUser();
@@ -75,38 +83,43 @@ public class TaskService {
         }
 
         Task savedTask = taskRepository.save(task);
+        taskCache.evictTask(null, TaskCache.TaskKeys.of(savedTask));
         log.info("Task '{}' created successfully by user '{}'.", savedTask.getTitle(), currentUser.getUsername());
         return mapperUtil.map(savedTask, TaskDTO.class);
     }
 
-    @Cacheable(value = "tasks", key = "#id")
     public TaskDTO getTaskById(UUID id) {
         log.info("Fetching task with ID: {}", id);
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found with ID: " + id));
+        TaskCache.CachedTask task = taskCache.getTask(id, this::loadTask);
 
-        // Authorization check: user must be assignee, project owner, or admin
+        // Authorization check: user must be assignee, project owner, or admin. Runs on every read, cached or not.
         User currentUser = authService.getCurrentAuthenticatedUser();
-        boolean isAssignee = task.getAssignee() != null && task.getAssignee().getId().equals(currentUser.getId());
-        boolean isProjectOwner = task.getProject() != null && task.getProject().getOwner().getId().equals(currentUser.getId());
+        boolean isAssignee = currentUser.getId().equals(task.assigneeId());
+        boolean isProjectOwner = currentUser.getId().equals(task.projectOwnerId());
 
         if (!isAssignee && !isProjectOwner && currentUser.getRole() != User.Role.ADMIN) {
             throw new UnauthorizedException("You are not authorized to view this task.");
         }
 
-        return mapperUtil.map(task, TaskDTO.class);
+        return task.task();
+    }
+
+    private TaskCache.CachedTask loadTask(UUID id) {
+        Task task = taskRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found with ID: " + id));
+        return new TaskCache.CachedTask(mapperUtil.map(task, TaskDTO.class),
+                task.getAssignee() != null ? task.getAssignee().getId() : null,
+                task.getProject() != null ? task.getProject().getOwner().getId() : null);
     }
 
-    @Cacheable(value = "tasks", key = "'all'")
     public List<TaskDTO> getAllTasks() {
         log.info("Fetching all tasks (admin only).");
         // Typically, this endpoint would be restricted to ADMIN or heavily filtered for users
-        return taskRepository.findAll().stream()
+        return taskCache.getAllTasks(() -> taskRepository.findAllWithAssociations().stream()
                 .map(task -> mapperUtil.map(task, TaskDTO.class))
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
-    @Cacheable(value = "tasks", key = "'byUser:' + #userId + ':' + #projectId + ':' + #status")
     public List<TaskDTO> getTasksForUser(UUID userId, UUID projectId, Status status) {
         log.info("Fetching tasks for user ID: {} with project ID: {} and status: {}", userId, projectId, status);
         // Authorization: User can only see their own assigned tasks or tasks in projects they own
@@ -115,14 +128,88 @@ public class TaskService {
             throw new UnauthorizedException("You are not authorized to view tasks for another user.");
         }
 
-        List<Task> tasks = taskRepository.findTasksByAssigneeAndFilters(userId, projectId, status);
-        return tasks.stream()
-                .map(task -> mapperUtil.map(task, TaskDTO.class))
-                .collect(Collectors.toList());
+        return taskCache.getTasksForUser(new TaskCache.UserTasksKey(userId, projectId, status), () ->
+                taskRepository.findTasksByAssigneeAndFilters(userId, projectId, status).stream()
+                        .map(task -> mapperUtil.map(task, TaskDTO.class))
+                        .collect(Collectors.toList()));
+    }
+
+    /**
+     * One page of tasks in (dueDate, id) order, undated tasks last. A null assigneeId lists all tasks (admin only).
+     * Pages are read by seeking past the cursor, so every page costs the same however deep it is.
+     */
+    @Transactional
+    public TaskPageDTO getTaskPage(UUID assigneeId, UUID projectId, Status status, String cursor, int size) {
+        log.info("Fetching task page for assignee ID: {} with project ID: {}, status: {}, size: {}", assigneeId, projectId, status, size);
+        checkCanListTasks(assigneeId);
+
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<Task> page = fetchPage(assigneeId, projectId, status, cursor != null ? TaskCursor.decode(cursor) : null, limit);
+        String nextCursor = page.size() == limit ? TaskCursor.after(page.get(page.size() - 1)).encode() : null;
+        return TaskPageDTO.builder()
+                .items(page.stream().map(task -> mapperUtil.map(task, TaskDTO.class)).collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Hands every matching task to the sink in page order, reading {@value #EXPORT_CHUNK_SIZE} tasks at a time and
+     * detaching each chunk once written, so memory stays flat however many tasks there are. Runs in one read
+     * transaction, which holds a connection until the sink has consumed the last task.
+     */
+    @Transactional
+    public void exportTasks(UUID assigneeId, UUID projectId, Status status, Consumer<TaskDTO> sink) {
+        log.info("Exporting tasks for assignee ID: {} with project ID: {} and status: {}", assigneeId, projectId, status);
+        checkCanListTasks(assigneeId);
+
+        TaskCursor cursor = null;
+        List<Task> chunk;
+        do {
+            chunk = fetchPage(assigneeId, projectId, status, cursor, EXPORT_CHUNK_SIZE);
+            chunk.forEach(task -> sink.accept(mapperUtil.map(task, TaskDTO.class)));
+            if (!chunk.isEmpty()) {
+                cursor = TaskCursor.after(chunk.get(chunk.size() - 1));
+            }
+            entityManager.clear();
+        } while (chunk.size() == EXPORT_CHUNK_SIZE);
+    }
+
+    private void checkCanListTasks(UUID assigneeId) {
+        User currentUser = authService.getCurrentAuthenticatedUser();
+        if (currentUser.getRole() == User.Role.ADMIN) {
+            return;
+        }
+        if (assigneeId == null) {
+            throw new UnauthorizedException("Only admins can list all tasks.");
+        }
+        if (!currentUser.getId().equals(assigneeId)) {
+            throw new UnauthorizedException("You are not authorized to view tasks for another user.");
+        }
+    }
+
+    // Dated tasks after the cursor, then undated ones; assignee, project and owner are joined, tags take one more query
+    private List<Task> fetchPage(UUID assigneeId, UUID projectId, Status status, TaskCursor after, int limit) {
+        Specification<Task> listing = TaskSpecifications.listing(assigneeId, projectId, status);
+        List<Task> tasks = new ArrayList<>(limit);
+        if (after == null || after.dueDate() != null) {
+            Specification<Task> dated = after == null
+                    ? TaskSpecifications.dated()
+                    : TaskSpecifications.datedAfter(after.dueDate(), after.id());
+            tasks.addAll(taskRepository.findPage(listing.and(dated), limit));
+        }
+        if (tasks.size() < limit) {
+            Specification<Task> undated = after != null && after.dueDate() == null
+                    ? TaskSpecifications.undatedAfter(after.id())
+                    : TaskSpecifications.undated();
+            tasks.addAll(taskRepository.findPage(listing.and(undated), limit - tasks.size()));
+        }
+        if (!tasks.isEmpty()) {
+            taskRepository.fetchTags(tasks);
+        }
+        return tasks;
     }
 
     @Transactional
-    @CacheEvict(value = "tasks", allEntries = true) // Evict all tasks cache on update
     public TaskDTO updateTask(UUID id, TaskDTO taskDTO) {
         log.info("Updating task with ID: {}", id);
         Task existingTask = taskRepository.findById(id)
@@ -136,6 +223,7 @@ public class TaskService {
         if (!isAssignee && !isProjectOwner && currentUser.getRole() != User.Role.ADMIN) {
             throw new UnauthorizedException("You are not authorized to update this task.");
         }
+        TaskCache.TaskKeys before = TaskCache.TaskKeys.of(existingTask);
 
         existingTask.setTitle(taskDTO.getTitle());
         existingTask.setDescription(taskDTO.getDescription());
@@ -176,12 +264,12 @@ public class TaskService {
 
 
         Task updatedTask = taskRepository.save(existingTask);
+        taskCache.evictTask(before, TaskCache.TaskKeys.of(updatedTask));
         log.info("Task with ID {} updated successfully.", id);
         return mapperUtil.map(updatedTask, TaskDTO.class);
     }
 
     @Transactional
-    @CacheEvict(value = "tasks", allEntries = true) // Evict all tasks cache on delete
     public void deleteTask(UUID id) {
         log.info("Deleting task with ID: {}", id);
         Task existingTask = taskRepository.findById(id)
@@ -197,6 +285,7 @@ public class TaskService {
         }
 
         taskRepository.deleteById(id);
+        taskCache.evictTask(TaskCache.TaskKeys.of(existingTask), null);
         log.info("Task with ID {} deleted successfully.", id);
     }
 }
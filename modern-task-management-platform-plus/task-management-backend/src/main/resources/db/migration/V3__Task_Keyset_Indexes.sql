@@ -0,0 +1,9 @@
+```sql
+-- Keyset pagination of tasks seeks on (due_date, id); the assignee variant serves the per-user listing
+CREATE INDEX idx_tasks_due_date_id ON tasks(due_date, id);
+CREATE INDEX idx_tasks_assignee_due_date_id ON tasks(assignee_id, due_date, id);
+
+-- Both are covered by the indexes above
+DROP INDEX IF EXISTS idx_tasks_due_date;
+DROP INDEX IF EXISTS idx_tasks_assignee_id;
+```
\ No newline at end of file
@@ -0,0 +1,21 @@
+```java
+package com.tasks.taskmanagement;
+
+import org.junit.jupiter.api.Tag;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a benchmark: a timing or load comparison that is too slow, or too dependent on the machine, for the default
+ * build. Surefire skips the {@code benchmark} tag unless the profile of the same name is active, so run these with
+ * {@code mvn test -Pbenchmark}.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Tag("benchmark")
+public @interface Benchmark {
+}
+```
\ No newline at end of file
@@ -0,0 +1,155 @@
+```java
+package com.tasks.taskmanagement.service;
+
+import com.tasks.taskmanagement.dto.TaskDTO;
+import com.tasks.taskmanagement.entity.Task.Status;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private TaskCache taskCache;
+    private AtomicInteger loads;
+    private UUID alice;
+    private UUID bob;
+    private UUID project;
+    private UUID otherProject;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        taskCache = new TaskCache(meterRegistry, 1000, 60);
+        loads = new AtomicInteger();
+        alice = UUID.randomUUID();
+        bob = UUID.randomUUID();
+        project = UUID.randomUUID();
+        otherProject = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should evict only the lists a status change can affect")
+    void evictTask_StatusChange_EvictsOnlyAffectedLists() {
+        UUID taskId = UUID.randomUUID();
+        List<TaskCache.UserTasksKey> affected = List.of(
+                key(alice, null, null), key(alice, project, null),
+                key(alice, null, Status.PENDING), key(alice, null, Status.COMPLETED),
+                key(alice, project, Status.PENDING), key(alice, project, Status.COMPLETED));
+        List<TaskCache.UserTasksKey> unaffected = List.of(
+                key(alice, otherProject, null), key(alice, null, Status.IN_PROGRESS), key(bob, null, null));
+        affected.forEach(this::load);
+        unaffected.forEach(this::load);
+        loads.set(0);
+
+        taskCache.evictTask(new TaskCache.TaskKeys(taskId, alice, project, Status.PENDING),
+                new TaskCache.TaskKeys(taskId, alice, project, Status.COMPLETED));
+
+        unaffected.forEach(this::load);
+        assertThat(loads).hasValue(0);
+        affected.forEach(this::load);
+        assertThat(loads).hasValue(affected.size());
+    }
+
+    @Test
+    @DisplayName("Should evict the lists of both the old and the new assignee on reassignment")
+    void evictTask_Reassignment_EvictsBothAssignees() {
+        UUID taskId = UUID.randomUUID();
+        load(key(alice, null, null));
+        load(key(bob, null, null));
+        taskCache.getAllTasks(this::loadList);
+        loads.set(0);
+
+        taskCache.evictTask(new TaskCache.TaskKeys(taskId, alice, null, Status.PENDING),
+                new TaskCache.TaskKeys(taskId, bob, null, Status.PENDING));
+
+        load(key(alice, null, null));
+        load(key(bob, null, null));
+        taskCache.getAllTasks(this::loadList);
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("Should evict cached tasks and lists of a deleted project")
+    void evictProject_EvictsTasksAndListsContainingThem() {
+        UUID inProject = UUID.randomUUID();
+        UUID elsewhere = UUID.randomUUID();
+        taskCache.getTask(inProject, id -> cachedTask(id, project));
+        taskCache.getTask(elsewhere, id -> cachedTask(id, otherProject));
+        taskCache.getTasksForUser(key(alice, null, null), () -> List.of(task(inProject, project)));
+        taskCache.getTasksForUser(key(bob, null, null), () -> List.of(task(elsewhere, otherProject)));
+
+        taskCache.evictProject(project);
+
+        assertThat(taskCache.getTask(inProject, id -> null)).isNull();
+        assertThat(taskCache.getTask(elsewhere, id -> null)).isNotNull();
+        assertThat(taskCache.getTasksForUser(key(alice, null, null), List::of)).isEmpty();
+        assertThat(taskCache.getTasksForUser(key(bob, null, null), List::of)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should defer evictions until the transaction commits")
+    void evictTask_InTransaction_EvictsAfterCommit() {
+        UUID taskId = UUID.randomUUID();
+        taskCache.getTask(taskId, id -> cachedTask(id, project));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            taskCache.evictTask(new TaskCache.TaskKeys(taskId, alice, project, Status.PENDING), null);
+            assertThat(taskCache.getTask(taskId, id -> null)).isNotNull();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(taskCache.getTask(taskId, id -> null)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should expose hits, misses and invalidations per key family")
+    void metrics_ArePublishedPerKeyFamily() {
+        UUID taskId = UUID.randomUUID();
+        taskCache.getTask(taskId, id -> cachedTask(id, project));
+        taskCache.getTask(taskId, id -> cachedTask(id, project));
+        load(key(alice, null, null));
+
+        taskCache.evictTask(new TaskCache.TaskKeys(taskId, alice, project, Status.PENDING), null);
+
+        assertThat(meterRegistry.get("cache.gets").tags("cache", "tasks.byId", "result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tags("cache", "tasks.byId", "result", "miss").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tags("cache", "tasks.byUser", "result", "miss").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("tasks.cache.invalidations").tag("cache", "tasks.byId").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("tasks.cache.invalidations").tag("cache", "tasks.byUser").counter().count()).isEqualTo(1);
+    }
+
+    private void load(TaskCache.UserTasksKey key) {
+        taskCache.getTasksForUser(key, this::loadList);
+    }
+
+    private List<TaskDTO> loadList() {
+        loads.incrementAndGet();
+        return List.of();
+    }
+
+    private static TaskCache.UserTasksKey key(UUID assigneeId, UUID projectId, Status status) {
+        return new TaskCache.UserTasksKey(assigneeId, projectId, status);
+    }
+
+    private TaskCache.CachedTask cachedTask(UUID id, UUID projectId) {
+        return new TaskCache.CachedTask(task(id, projectId), alice, alice);
+    }
+
+    private static TaskDTO task(UUID id, UUID projectId) {
+        return TaskDTO.builder().id(id).title("Task").status(Status.PENDING).projectId(projectId).build();
+    }
+}
+```
\ No newline at end of file
@@ -0,0 +1,325 @@
+```java
+package com.tasks.taskmanagement.service;
+
+import com.tasks.taskmanagement.Benchmark;
+import com.tasks.taskmanagement.config.AppConfig;
+import com.tasks.taskmanagement.dto.TaskDTO;
+import com.tasks.taskmanagement.dto.TaskPageDTO;
+import com.tasks.taskmanagement.entity.Task;
+import com.tasks.taskmanagement.entity.Task.Status;
+import com.tasks.taskmanagement.entity.User;
+import com.tasks.taskmanagement.exception.BadRequestException;
+import com.tasks.taskmanagement.exception.UnauthorizedException;
+import com.tasks.taskmanagement.repository.TaskRepository;
+import com.tasks.taskmanagement.repository.TaskSpecifications;
+import com.tasks.taskmanagement.util.MapperUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the paging queries against an embedded H2 database standing in for PostgreSQL.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.tasks.taskmanagement.service.TaskPagingTest$RecordingStatementInspector"
+})
+class TaskPagingTest {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskPagingTest.class);
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private AuthService authService;
+    private TaskService taskService;
+    private User admin;
+    private UUID alice;
+    private UUID bob;
+    private UUID project;
+    private UUID tag;
+
+    @BeforeEach
+    void setUp() {
+        // What V3__Task_Keyset_Indexes.sql creates; the schema here comes from the entities
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_tasks_due_date_id ON tasks(due_date, id)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_tasks_assignee_due_date_id ON tasks(assignee_id, due_date, id)");
+        alice = insertUser("alice");
+        bob = insertUser("bob");
+        project = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO projects (id, name, owner_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?)",
+                project, "Project", alice, now(), now());
+        tag = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO tags (id, name, created_at, updated_at) VALUES (?, ?, ?, ?)", tag, "Tag", now(), now());
+
+        admin = new User();
+        admin.setId(UUID.randomUUID());
+        admin.setRole(User.Role.ADMIN);
+        authService = mock(AuthService.class);
+        when(authService.getCurrentAuthenticatedUser()).thenReturn(admin);
+        taskService = new TaskService(taskRepository, null, null, null, authService,
+                new MapperUtil(new AppConfig().modelMapper()), new TaskCache(new SimpleMeterRegistry(), 1000, 60), entityManager);
+    }
+
+    @Test
+    @DisplayName("Should walk every task once in due date order, undated tasks last")
+    void getTaskPage_FollowingCursors_ReturnsEveryTaskOnceInOrder() {
+        // Shared due dates make the id tie-breaker matter; every fifth task is undated
+        insertTasks(500, i -> i % 5 == 0 ? null : START.plusDays(i % 7), i -> i % 2 == 0 ? alice : bob);
+
+        List<TaskDTO> walked = new ArrayList<>();
+        String cursor = null;
+        do {
+            TaskPageDTO page = taskService.getTaskPage(null, null, null, cursor, 7);
+            walked.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(walked).hasSize(500);
+        assertThat(walked.stream().map(TaskDTO::getId).distinct()).hasSize(500);
+        List<LocalDateTime> dueDates = walked.stream().map(TaskDTO::getDueDate).toList();
+        assertThat(dueDates.subList(0, 400)).isSorted().doesNotContainNull();
+        assertThat(dueDates.subList(400, 500)).containsOnlyNulls();
+    }
+
+    @Test
+    @DisplayName("Should apply assignee and status filters across pages")
+    void getTaskPage_WithFilters_ReturnsOnlyMatchingTasks() {
+        insertTasks(200, i -> i % 3 == 0 ? null : START.plusHours(i), i -> i % 2 == 0 ? alice : bob);
+
+        Set<UUID> walked = new HashSet<>();
+        String cursor = null;
+        do {
+            TaskPageDTO page = taskService.getTaskPage(alice, project, Status.PENDING, cursor, 30);
+            page.getItems().forEach(task -> {
+                assertThat(task.getAssignee().getId()).isEqualTo(alice);
+                assertThat(task.getStatus()).isEqualTo(Status.PENDING);
+            });
+            page.getItems().forEach(task -> walked.add(task.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(walked).hasSize(100);
+    }
+
+    @Test
+    @DisplayName("Should load a page with its assignee, project and tags in a fixed number of queries")
+    void getTaskPage_MapsAssociationsWithoutPerTaskQueries() {
+        insertTasks(100, i -> i % 4 == 0 ? null : START.plusDays(i), i -> alice);
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        TaskPageDTO page = taskService.getTaskPage(null, null, null, null, 100);
+
+        assertThat(page.getItems()).hasSize(100).allSatisfy(task -> {
+            assertThat(task.getAssignee().getUsername()).isEqualTo("alice");
+            assertThat(task.getProject().getOwner().getUsername()).isEqualTo("alice");
+            assertThat(task.getTags()).extracting("name").containsExactly("Tag");
+        });
+        // Dated page, undated remainder, tags
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should only add predicates for the filters that are set, so the page seeks on assignee_id")
+    void getTaskPage_AssigneeOnly_SeeksOnAssigneeIndex() {
+        insertTasks(50, i -> START.plusHours(i), i -> i % 2 == 0 ? alice : bob);
+        RecordingStatementInspector.STATEMENTS.clear();
+
+        assertThat(taskService.getTaskPage(alice, null, null, null, 10).getItems()).hasSize(10);
+
+        String datedPage = RecordingStatementInspector.STATEMENTS.get(0);
+        assertThat(datedPage.substring(datedPage.indexOf(" where ")))
+                .doesNotContainIgnoringCase("is null")
+                .doesNotContain("project_id")
+                .doesNotContain("status");
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + datedPage, String.class, alice, 10);
+        assertThat(plan).doesNotContain("TASKS.tableScan").contains("ASSIGNEE_ID = ?1 */");
+    }
+
+    @Test
+    @DisplayName("Should reject a cursor it did not issue")
+    void getTaskPage_InvalidCursor_ThrowsBadRequest() {
+        assertThrows(BadRequestException.class, () -> taskService.getTaskPage(null, null, null, "not-a-cursor", 10));
+    }
+
+    @Test
+    @DisplayName("Should not list all tasks or another user's tasks for a non-admin")
+    void getTaskPage_NonAdmin_OnlyListsOwnTasks() {
+        User user = new User();
+        user.setId(alice);
+        user.setRole(User.Role.USER);
+        when(authService.getCurrentAuthenticatedUser()).thenReturn(user);
+
+        assertThrows(UnauthorizedException.class, () -> taskService.getTaskPage(null, null, null, null, 10));
+        assertThrows(UnauthorizedException.class, () -> taskService.getTaskPage(bob, null, null, null, 10));
+        assertThat(taskService.getTaskPage(alice, null, null, null, 10).getItems()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should export every task while holding at most one chunk in the persistence context")
+    void exportTasks_KeepsPersistenceContextBounded() {
+        int total = 5 * TaskService.EXPORT_CHUNK_SIZE + 123;
+        insertTasks(total, i -> i % 10 == 0 ? null : START.plusMinutes(i), i -> i % 2 == 0 ? alice : bob);
+        Session session = entityManager.unwrap(Session.class);
+        AtomicInteger exported = new AtomicInteger();
+        AtomicInteger maxManaged = new AtomicInteger();
+
+        taskService.exportTasks(null, null, null, task -> {
+            exported.incrementAndGet();
+            maxManaged.accumulateAndGet(session.getStatistics().getEntityCount(), Math::max);
+        });
+
+        assertThat(exported).hasValue(total);
+        // One chunk of tasks plus the two users, the project and the tag
+        assertThat(maxManaged.get()).isLessThanOrEqualTo(TaskService.EXPORT_CHUNK_SIZE + 4);
+    }
+
+    /**
+     * Compares walking all dated tasks by keyset pages with the same walk by OFFSET pages, timing the page queries
+     * only (mapping costs the same either way); both fetch the same associations in the same order. OFFSET re-reads
+     * and discards every row before the page, so a full walk reads O(n²) rows and the deepest page is the slowest;
+     * a keyset page seeks to the cursor and costs the same at any depth. Measured on H2 in memory; PostgreSQL
+     * behaves alike.
+     */
+    @Test
+    @Benchmark
+    @DisplayName("Should walk all tasks, and reach the deepest page, faster by keyset than by offset paging")
+    void findPage_FullWalk_IsFasterThanOffsetPaging() {
+        int total = 20_000;
+        int pageSize = 100;
+        insertTasks(total, i -> START.plusMinutes(i % 5_000), i -> i % 2 == 0 ? alice : bob);
+        walkByKeyset(pageSize, new long[1]); // Warm-up
+        walkByOffset(pageSize, new long[1]);
+
+        // The last query of a walk starts past every row: OFFSET reads and skips all of them, keyset seeks past the end
+        long[] keysetLastPage = new long[1];
+        long keysetStart = System.nanoTime();
+        int keysetRows = walkByKeyset(pageSize, keysetLastPage);
+        long keysetNanos = System.nanoTime() - keysetStart;
+
+        long[] offsetLastPage = new long[1];
+        long offsetStart = System.nanoTime();
+        int offsetRows = walkByOffset(pageSize, offsetLastPage);
+        long offsetNanos = System.nanoTime() - offsetStart;
+
+        log.info("Walking {} tasks in pages of {}: keyset {} ms (last page {} us), offset {} ms (last page {} us)",
+                total, pageSize, keysetNanos / 1_000_000, keysetLastPage[0] / 1_000,
+                offsetNanos / 1_000_000, offsetLastPage[0] / 1_000);
+        assertThat(keysetRows).isEqualTo(total);
+        assertThat(offsetRows).isEqualTo(total);
+        assertThat(keysetNanos).isLessThan(offsetNanos);
+        assertThat(keysetLastPage[0]).isLessThan(offsetLastPage[0]);
+    }
+
+    private int walkByKeyset(int pageSize, long[] lastPageNanos) {
+        int rows = 0;
+        Task last = null;
+        List<Task> page;
+        do {
+            long start = System.nanoTime();
+            page = taskRepository.findPage(TaskSpecifications.listing(null, null, null)
+                    .and(last == null ? TaskSpecifications.dated() : TaskSpecifications.datedAfter(last.getDueDate(), last.getId())), pageSize);
+            lastPageNanos[0] = System.nanoTime() - start;
+            rows += page.size();
+            last = page.isEmpty() ? null : page.get(page.size() - 1);
+            entityManager.clear();
+        } while (page.size() == pageSize);
+        return rows;
+    }
+
+    private int walkByOffset(int pageSize, long[] lastPageNanos) {
+        int rows = 0;
+        int offset = 0;
+        List<Task> page;
+        do {
+            long start = System.nanoTime();
+            page = entityManager.createQuery("SELECT t FROM Task t LEFT JOIN FETCH t.assignee LEFT JOIN FETCH t.project p "
+                            + "LEFT JOIN FETCH p.owner WHERE t.dueDate IS NOT NULL ORDER BY t.dueDate, t.id", Task.class)
+                    .setFirstResult(offset)
+                    .setMaxResults(pageSize)
+                    .getResultList();
+            lastPageNanos[0] = System.nanoTime() - start;
+            rows += page.size();
+            offset += pageSize;
+            entityManager.clear();
+        } while (page.size() == pageSize);
+        return rows;
+    }
+
+    private void insertTasks(int count, IntFunction<LocalDateTime> dueDate,
+                             IntFunction<UUID> assignee) {
+        Timestamp now = now();
+        List<Object[]> tasks = new ArrayList<>(count);
+        List<Object[]> taskTags = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            UUID id = UUID.randomUUID();
+            LocalDateTime due = dueDate.apply(i);
+            tasks.add(new Object[]{id, "Task " + i, "PENDING", "MEDIUM", due != null ? Timestamp.valueOf(due) : null,
+                    assignee.apply(i), project, now, now});
+            taskTags.add(new Object[]{id, tag});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO tasks (id, title, status, priority, due_date, assignee_id, project_id, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", tasks);
+        jdbcTemplate.batchUpdate("INSERT INTO task_tags (task_id, tag_id) VALUES (?, ?)", taskTags);
+    }
+
+    private UUID insertUser(String username) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, username, email, password, role, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                id, username, username + "@example.com", "password", "USER", now(), now());
+        return id;
+    }
+
+    private static Timestamp now() {
+        return Timestamp.valueOf(LocalDateTime.now());
+    }
+
+    // Captures the SQL Hibernate sends, so a test can ask the database how it plans a page query
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
+```
\ No newline at end of file
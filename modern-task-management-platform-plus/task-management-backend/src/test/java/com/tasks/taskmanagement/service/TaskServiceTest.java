@@ -10,12 +10,14 @@ import com.tasks.taskmanagement.exception.ResourceNotFoundException;
 import com.tasks.taskmanagement.exception.UnauthorizedException;
 import com.tasks.taskmanagement.repository.TaskRepository;
 import com.tasks.taskmanagement.util.MapperUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
@@ -44,6 +46,8 @@ class TaskServiceTest {
     private AuthService authService;
     @Mock
     private MapperUtil mapperUtil;
+    @Spy
+    private TaskCache taskCache = new TaskCache(new SimpleMeterRegistry(), 1000, 60);
 
     @InjectMocks
     private TaskService taskService;
@@ -172,6 +176,19 @@ class TaskServiceTest {
         assertThrows(UnauthorizedException.class, () -> taskService.getTaskById(taskForOther.getId()));
     }
 
+    @Test
+    @DisplayName("Should check authorization on every read of a cached task")
+    void getTaskById_Cached_StillChecksAuthorization() {
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(testTask));
+        taskService.getTaskById(taskId);
+
+        User otherUser = User.builder().id(UUID.randomUUID()).username("other").role(User.Role.USER).build();
+        when(authService.getCurrentAuthenticatedUser()).thenReturn(otherUser);
+
+        assertThrows(UnauthorizedException.class, () -> taskService.getTaskById(taskId));
+        verify(taskRepository, times(1)).findById(taskId);
+    }
+
     @Test
     @DisplayName("Should update an existing task successfully")
     void updateTask_Success() {
@@ -27,7 +27,6 @@ public class CacheConfig {
 
         return RedisCacheManager.builder(redisConnectionFactory)
                 .cacheDefaults(redisCacheConfiguration)
-                .withCacheConfiguration("products", redisCacheConfiguration.entryTtl(Duration.ofMinutes(5))) // Specific TTL for products
                 .withCacheConfiguration("categories", redisCacheConfiguration.entryTtl(Duration.ofMinutes(15))) // Specific TTL for categories
                 .build();
     }
@@ -0,0 +1,54 @@
+package com.ecommerce.config;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * The migrations bring databases created before an entity change up to date. Flyway runs before Hibernate
+ * (ddl-auto), so on a new, empty database they would run against tables that do not exist yet. Such a database is
+ * baselined at the latest migration instead: Hibernate then creates its schema complete, including what the
+ * migrations add (indexes through {@code @Index}, sequence increments through the id generators).
+ */
+@Configuration
+public class FlywayConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(FlywayConfig.class);
+
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy() {
+        return flyway -> {
+            MigrationInfo[] pending = flyway.info().pending();
+            if (flyway.info().applied().length == 0 && pending.length > 0 && !hasProductsTable(flyway)) {
+                String latest = pending[pending.length - 1].getVersion().getVersion();
+                log.info("Empty database, baselining it at migration {}; Hibernate creates the schema", latest);
+                Flyway.configure()
+                        .configuration(flyway.getConfiguration())
+                        .baselineVersion(latest)
+                        .baselineDescription("Schema created by Hibernate")
+                        .load()
+                        .baseline();
+            }
+            flyway.migrate();
+        };
+    }
+
+    private static boolean hasProductsTable(Flyway flyway) {
+        DataSource dataSource = flyway.getConfiguration().getDataSource();
+        try (Connection connection = dataSource.getConnection();
+             ResultSet tables = connection.getMetaData().getTables(null, null, "products", new String[]{"TABLE"})) {
+            return tables.next();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot inspect the database schema before migrating", e);
+        }
+    }
+}
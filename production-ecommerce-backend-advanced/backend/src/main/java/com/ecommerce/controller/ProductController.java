@@ -1,6 +1,7 @@
 package com.ecommerce.controller;
 
 import com.ecommerce.dto.ProductDTO;
+import com.ecommerce.dto.ProductSearchResultDTO;
 import com.ecommerce.service.ProductService;
 import com.ecommerce.util.AppConstants;
 import io.swagger.v3.oas.annotations.Operation;
@@ -23,8 +24,6 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
-
 @Tag(name = "Product Management", description = "APIs for managing products")
 @RestController
 @RequestMapping("/api/products")
@@ -81,10 +80,15 @@ public class ProductController {
         return new ResponseEntity<>("Product deleted successfully", HttpStatus.NO_CONTENT);
     }
 
-    @Operation(summary = "Search products by name")
+    @Operation(summary = "Search products by name, description and category, with category facets")
     @GetMapping("/search")
-    public ResponseEntity<List<ProductDTO>> searchProducts(@RequestParam("query") String query) {
-        List<ProductDTO> products = productService.searchProducts(query);
-        return ResponseEntity.ok(products);
+    public ResponseEntity<ProductSearchResultDTO> searchProducts(
+            @RequestParam("query") String query,
+            @RequestParam(value = "categoryId", required = false) Long categoryId,
+            @RequestParam(value = "pageNo", defaultValue = AppConstants.DEFAULT_PAGE_NUMBER, required = false) int pageNo,
+            @RequestParam(value = "pageSize", defaultValue = AppConstants.DEFAULT_PAGE_SIZE, required = false) int pageSize
+    ) {
+        ProductSearchResultDTO result = productService.searchProducts(query, categoryId, pageNo, pageSize);
+        return ResponseEntity.ok(result);
     }
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.ecommerce.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductSearchResultDTO {
+    private Page<ProductDTO> products;
+    // Category name -> number of matching products, across all categories regardless of the category filter
+    private Map<String, Long> categoryFacets;
+}
@@ -16,7 +16,7 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = @Index(name = "idx_products_updated_at", columnList = "updated_at, id"))
 public class Product {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -31,7 +31,8 @@ public class Product {
     @Column(nullable = false, precision = 10, scale = 2)
     private BigDecimal price;
 
-    @Column(name = "stock_quantity", nullable = false)
+    // Written only by the relative UPDATEs in ProductRepository, so saving a stale entity cannot restore sold units
+    @Column(name = "stock_quantity", nullable = false, updatable = false)
     private Integer stockQuantity;
 
     @Column(name = "image_url")
@@ -0,0 +1,30 @@
+package com.ecommerce.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Records a product deletion, so that nodes syncing their search index from {@code updated_at} also learn
+ * about rows that no longer exist. Purged once every node has had time to sync past it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "product_tombstones", indexes = @Index(name = "idx_product_tombstones_deleted_at", columnList = "deleted_at"))
+public class ProductTombstone {
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @CreationTimestamp
+    @Column(name = "deleted_at", nullable = false, updatable = false)
+    private LocalDateTime deletedAt;
+}
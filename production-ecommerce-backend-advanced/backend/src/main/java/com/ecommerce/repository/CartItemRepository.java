@@ -2,10 +2,18 @@ package com.ecommerce.repository;
 
 import com.ecommerce.entity.CartItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
 public interface CartItemRepository extends JpaRepository<CartItem, Long> {
     Optional<CartItem> findByCartIdAndProductId(Long cartId, Long productId);
     void deleteByCartIdAndProductId(Long cartId, Long productId);
+
+    // Single bulk delete instead of loading and removing items one by one
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM CartItem ci WHERE ci.cart.id IN (SELECT c.id FROM Cart c WHERE c.user.id = :userId)")
+    int deleteAllByUserId(@Param("userId") Long userId);
 }
\ No newline at end of file
@@ -4,9 +4,12 @@ import com.ecommerce.entity.Product;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface ProductRepository extends JpaRepository<Product, Long> {
@@ -16,5 +19,38 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     @Query("SELECT p FROM Product p JOIN FETCH p.category c WHERE p.id = :productId")
     Product findByIdWithCategory(@Param("productId") Long productId);
 
-    List<Product> findByNameContainingIgnoreCase(String name);
+    // Rehydrates the cache misses of a cached listing page in one query
+    @Query("SELECT p FROM Product p JOIN FETCH p.category c WHERE p.id IN :ids")
+    List<Product> findAllByIdWithCategory(@Param("ids") Collection<Long> ids);
+
+    // Search index (re)building: keyset batches by ID, and incremental syncs by update time
+    @Query("SELECT p FROM Product p JOIN FETCH p.category c WHERE p.id > :afterId ORDER BY p.id")
+    List<Product> findBatchWithCategory(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT p FROM Product p JOIN FETCH p.category c WHERE p.updatedAt > :since OR (p.updatedAt = :since AND p.id > :afterId) " +
+            "ORDER BY p.updatedAt, p.id")
+    List<Product> findUpdatedSinceWithCategory(@Param("since") LocalDateTime since, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT MAX(p.updatedAt) FROM Product p")
+    LocalDateTime findLatestUpdatedAt();
+
+    @Query("SELECT p.id FROM Product p WHERE p.category.id = :categoryId")
+    List<Long> findIdsByCategoryId(@Param("categoryId") Long categoryId);
+
+    @Query("SELECT p FROM Product p JOIN FETCH p.category c WHERE c.id = :categoryId")
+    List<Product> findAllByCategoryIdWithCategory(@Param("categoryId") Long categoryId);
+
+    // Conditional decrement: matches no row when stock is insufficient, so concurrent checkouts cannot oversell
+    @Modifying
+    @Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity - :quantity WHERE p.id = :productId AND p.stockQuantity >= :quantity")
+    int decrementStock(@Param("productId") Long productId, @Param("quantity") Integer quantity);
+
+    // Admin stock changes are relative too, so they never overwrite decrements flushed in the meantime
+    @Modifying
+    @Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity + :delta WHERE p.id = :productId AND p.stockQuantity + :delta >= 0")
+    int adjustStock(@Param("productId") Long productId, @Param("delta") Integer delta);
+
+    // Row lock: waits for an uncommitted stock change instead of reading past it
+    @Query(value = "SELECT stock_quantity FROM products WHERE id = :productId FOR UPDATE", nativeQuery = true)
+    Integer lockStockQuantity(@Param("productId") Long productId);
 }
\ No newline at end of file
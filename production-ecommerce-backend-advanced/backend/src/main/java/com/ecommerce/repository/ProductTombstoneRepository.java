@@ -0,0 +1,28 @@
+package com.ecommerce.repository;
+
+import com.ecommerce.entity.ProductTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ProductTombstoneRepository extends JpaRepository<ProductTombstone, Long> {
+
+    // Keyset pages in deletion order, so a sync can resume after the last tombstone it applied
+    @Query("SELECT t FROM ProductTombstone t WHERE t.deletedAt > :since OR (t.deletedAt = :since AND t.productId > :afterId) " +
+            "ORDER BY t.deletedAt, t.productId")
+    List<ProductTombstone> findDeletedSince(@Param("since") LocalDateTime since, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT MAX(t.deletedAt) FROM ProductTombstone t")
+    LocalDateTime findLatestDeletedAt();
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ProductTombstone t WHERE t.deletedAt < :before")
+    int deleteDeletedBefore(@Param("before") LocalDateTime before);
+}
@@ -1,7 +1,6 @@
 package com.ecommerce.service;
 
 import com.ecommerce.dto.CartDTO;
-import com.ecommerce.dto.CartItemDTO;
 import com.ecommerce.entity.Cart;
 import com.ecommerce.entity.CartItem;
 import com.ecommerce.entity.Product;
@@ -17,11 +16,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-import java.util.HashSet;
 import java.util.Optional;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -33,17 +28,25 @@ public class CartService {
     private final CartItemRepository cartItemRepository;
     private final UserRepository userRepository;
     private final ProductRepository productRepository;
+    private final InventoryReservationService inventoryReservationService;
+    private final CartViewCache cartViewCache;
 
     @Transactional
     public CartDTO getCartByUserId(Long userId) {
+        CartDTO cached = cartViewCache.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+        long version = cartViewCache.version(); // Before the read, so a concurrent invalidation is not lost
         Cart cart = cartRepository.findByUserIdWithItems(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Cart", "userId", userId));
-        return mapToDTO(cart);
+        return cartViewCache.put(cart, version);
     }
 
     @Transactional
     public CartDTO addProductToCart(Long userId, Long productId, Integer quantity) {
-        User user = userRepository.findById(userId)
+        Long cartId = cartRepository.findIdByUserId(userId).orElse(null);
+        User user = cartId != null ? null : userRepository.findById(userId) // A cart implies its user exists
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new ResourceNotFoundException("Product", "id", productId));
@@ -51,138 +54,98 @@ public class CartService {
         if (quantity <= 0) {
             throw new IllegalArgumentException("Quantity must be positive.");
         }
-        if (product.getStockQuantity() < quantity) {
-            throw new IllegalArgumentException("Not enough stock for product: " + product.getName());
-        }
-
-        Cart cart = user.getCart();
-        if (cart == null) {
-            cart = Cart.builder().user(user).build();
-            user.setCart(cart); // Ensure bidirectional link
-            cart = cartRepository.save(cart);
-        }
+        inventoryReservationService.reserve(userId, product, quantity); // Throws if the units are not available
 
-        Optional<CartItem> existingCartItem = cart.getCartItems().stream()
-                .filter(item -> item.getProduct().getId().equals(productId))
-                .findFirst();
+        Optional<CartItem> existingCartItem = cartId == null
+                ? Optional.empty()
+                : cartItemRepository.findByCartIdAndProductId(cartId, productId);
 
         CartItem cartItem;
         if (existingCartItem.isPresent()) {
             cartItem = existingCartItem.get();
             cartItem.setQuantity(cartItem.getQuantity() + quantity);
             cartItemRepository.save(cartItem);
-            log.info("Updated quantity for product {} in cart {}. New quantity: {}", productId, cart.getId(), cartItem.getQuantity());
+            log.info("Updated quantity for product {} in cart {}. New quantity: {}", productId, cartId, cartItem.getQuantity());
         } else {
+            Cart cart;
+            if (cartId == null) {
+                cart = Cart.builder().user(user).build();
+                user.setCart(cart); // Ensure bidirectional link
+                cart = cartRepository.save(cart);
+            } else {
+                cart = cartRepository.getReferenceById(cartId); // Unloaded proxy; the item only needs the foreign key
+            }
             cartItem = CartItem.builder()
                     .cart(cart)
                     .product(product)
                     .quantity(quantity)
                     .build();
-            cart.addCartItem(cartItem); // Add to cart's item list for cascade/consistency
+            if (cartId == null) {
+                cart.addCartItem(cartItem); // The new cart's item set is already initialized and would not be re-read
+            }
             cartItemRepository.save(cartItem);
             log.info("Added product {} to cart {} with quantity {}", productId, cart.getId(), quantity);
         }
 
-        return mapToDTO(cartRepository.findByUserIdWithItems(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("Cart", "userId", userId)));
+        cartViewCache.applyLine(userId, cartItem, product);
+        return getCartByUserId(userId);
     }
 
     @Transactional
     public CartDTO updateCartItemQuantity(Long userId, Long productId, Integer quantity) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
+        Long cartId = findCartId(userId);
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new ResourceNotFoundException("Product", "id", productId));
 
         if (quantity < 0) {
             throw new IllegalArgumentException("Quantity cannot be negative.");
         }
-        if (product.getStockQuantity() < quantity) {
-            throw new IllegalArgumentException("Not enough stock for product: " + product.getName());
-        }
-
-        Cart cart = user.getCart();
-        if (cart == null) {
-            throw new ResourceNotFoundException("Cart", "userId", userId);
-        }
 
-        CartItem cartItem = cart.getCartItems().stream()
-                .filter(item -> item.getProduct().getId().equals(productId))
-                .findFirst()
+        CartItem cartItem = cartItemRepository.findByCartIdAndProductId(cartId, productId)
                 .orElseThrow(() -> new ResourceNotFoundException("CartItem", "productId", productId));
+        inventoryReservationService.setReservedQuantity(userId, product, quantity);
 
         if (quantity == 0) {
-            cart.removeCartItem(cartItem); // Remove from cart's item list
             cartItemRepository.delete(cartItem);
-            log.info("Removed product {} from cart {} as quantity is 0", productId, cart.getId());
+            cartViewCache.removeLine(userId, productId);
+            log.info("Removed product {} from cart {} as quantity is 0", productId, cartId);
         } else {
             cartItem.setQuantity(quantity);
             cartItemRepository.save(cartItem);
-            log.info("Updated product {} quantity in cart {} to {}", productId, cart.getId(), quantity);
+            cartViewCache.applyLine(userId, cartItem, product);
+            log.info("Updated product {} quantity in cart {} to {}", productId, cartId, quantity);
         }
 
-        return mapToDTO(cartRepository.findByUserIdWithItems(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("Cart", "userId", userId)));
+        return getCartByUserId(userId);
     }
 
     @Transactional
     public void removeProductFromCart(Long userId, Long productId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
-        Cart cart = user.getCart();
-        if (cart == null) {
-            throw new ResourceNotFoundException("Cart", "userId", userId);
-        }
-
-        CartItem cartItem = cart.getCartItems().stream()
-                .filter(item -> item.getProduct().getId().equals(productId))
-                .findFirst()
+        Long cartId = findCartId(userId);
+        CartItem cartItem = cartItemRepository.findByCartIdAndProductId(cartId, productId)
                 .orElseThrow(() -> new ResourceNotFoundException("CartItem", "productId", productId));
 
-        cart.removeCartItem(cartItem);
         cartItemRepository.delete(cartItem);
-        log.info("Removed product {} from cart {}", productId, cart.getId());
+        inventoryReservationService.release(userId, productId);
+        cartViewCache.removeLine(userId, productId);
+        log.info("Removed product {} from cart {}", productId, cartId);
     }
 
     @Transactional
     public void clearCart(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
-        Cart cart = user.getCart();
-        if (cart == null) {
+        int removed = cartItemRepository.deleteAllByUserId(userId);
+        if (removed == 0 && !cartRepository.existsByUserId(userId)) {
             throw new ResourceNotFoundException("Cart", "userId", userId);
         }
-        cartItemRepository.deleteAll(cart.getCartItems());
-        cart.getCartItems().clear(); // Clear the collection in the entity
-        cartRepository.save(cart); // Save to ensure the change is persisted, though deleteAll is often enough.
-        log.info("Cleared cart for user {}", userId);
+        inventoryReservationService.releaseAll(userId);
+        cartViewCache.clear(userId);
+        log.info("Cleared cart for user {} ({} items removed)", userId, removed);
     }
 
-    private CartDTO mapToDTO(Cart cart) {
-        Set<CartItemDTO> itemDTOS = cart.getCartItems().stream()
-                .map(item -> CartItemDTO.builder()
-                        .id(item.getId())
-                        .productId(item.getProduct().getId())
-                        .productName(item.getProduct().getName())
-                        .productImage(item.getProduct().getImageUrl())
-                        .unitPrice(item.getProduct().getPrice())
-                        .quantity(item.getQuantity())
-                        .subTotal(item.getProduct().getPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
-                        .addedAt(item.getAddedAt())
-                        .build())
-                .collect(Collectors.toSet());
-
-        BigDecimal totalAmount = itemDTOS.stream()
-                .map(CartItemDTO::getSubTotal)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        return CartDTO.builder()
-                .id(cart.getId())
-                .userId(cart.getUser().getId())
-                .cartItems(itemDTOS)
-                .totalAmount(totalAmount)
-                .createdAt(cart.getCreatedAt())
-                .updatedAt(cart.getUpdatedAt())
-                .build();
+    // The cart's ID without loading the cart and its items; the single line is then looked up directly
+    private Long findCartId(Long userId) {
+        return cartRepository.findIdByUserId(userId).orElseThrow(() -> userRepository.existsById(userId)
+                ? new ResourceNotFoundException("Cart", "userId", userId)
+                : new ResourceNotFoundException("User", "id", userId));
     }
 }
\ No newline at end of file
@@ -0,0 +1,246 @@
+package com.ecommerce.service;
+
+import com.ecommerce.dto.CartDTO;
+import com.ecommerce.dto.CartItemDTO;
+import com.ecommerce.entity.Cart;
+import com.ecommerce.entity.CartItem;
+import com.ecommerce.entity.Product;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Materialized {@link CartDTO} per user, kept current by applying each cart mutation as a delta to its line
+ * items and running total instead of re-reading and re-summing the whole cart.
+ * <p>
+ * Views are dropped when any product they contain changes (price, name, image), once that change commits,
+ * and when the transaction that produced a delta rolls back; the next read rebuilds them from the database.
+ * A rebuild that read the database before an invalidation is not cached (see {@link #version()}).
+ * <p>
+ * The cache is local to this node and nothing invalidates it across nodes: a product change made on another
+ * node shows in carts cached here only after they expire, so the write TTL bounds that staleness. Route a
+ * user's cart requests to one node (sticky sessions) to keep their own mutations consistent.
+ */
+@Component
+public class CartViewCache {
+
+    private final Cache<Long, CartView> views;
+    // productId -> users whose cached cart contains it, for invalidation on product updates
+    private final Map<Long, Set<Long>> usersByProduct = new ConcurrentHashMap<>();
+    // Bumped before every invalidation, so a rebuild can tell that it may have read data invalidated since
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public CartViewCache(@Value("${app.cart-cache.maximum-size:50000}") long maximumSize,
+                         @Value("${app.cart-cache.expire-after-write-minutes:10}") long expireAfterWriteMinutes) {
+        this.views = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMinutes(expireAfterWriteMinutes))
+                .removalListener((Long userId, CartView view, RemovalCause cause) -> {
+                    if (view != null) {
+                        view.productIds().forEach(productId -> unindex(productId, userId));
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * @return the cached cart of the user, or {@code null} if it has to be loaded
+     */
+    public CartDTO get(Long userId) {
+        CartView view = views.getIfPresent(userId);
+        return view != null ? view.toDTO() : null;
+    }
+
+    /**
+     * @return the version to pass to {@link #put} for a cart loaded after this call
+     */
+    public long version() {
+        return invalidations.get();
+    }
+
+    /**
+     * Fully materializes the cart (the only O(cart size) step) and caches it, unless anything was invalidated
+     * since {@code version} was taken: the cart may then have been read before a change that is now committed.
+     */
+    public CartDTO put(Cart cart, long version) {
+        Long userId = cart.getUser().getId();
+        CartView view = new CartView(cart.getId(), userId, cart.getCreatedAt());
+        cart.getCartItems().forEach(item -> view.apply(toLine(item, item.getProduct())));
+        view.updatedAt = cart.getUpdatedAt();
+        view.productIds().forEach(productId -> index(productId, userId));
+        views.put(userId, view);
+        // Checked after the put: an invalidation that bumped the version later also sees this view and drops it
+        if (invalidations.get() != version) {
+            views.asMap().remove(userId, view);
+        }
+        return view.toDTO();
+    }
+
+    /**
+     * Adds or replaces the line for the item's product in the user's cached cart, if any.
+     */
+    public void applyLine(Long userId, CartItem item, Product product) {
+        CartView view = views.getIfPresent(userId);
+        if (view != null) {
+            view.apply(toLine(item, product));
+            index(product.getId(), userId);
+            invalidateOnRollback(userId);
+        }
+    }
+
+    public void removeLine(Long userId, Long productId) {
+        CartView view = views.getIfPresent(userId);
+        if (view != null) {
+            view.remove(productId);
+            unindex(productId, userId);
+            invalidateOnRollback(userId);
+        }
+    }
+
+    public void clear(Long userId) {
+        CartView view = views.getIfPresent(userId);
+        if (view != null) {
+            view.productIds().forEach(productId -> unindex(productId, userId));
+            view.clear();
+            invalidateOnRollback(userId);
+        }
+    }
+
+    public void invalidate(Long userId) {
+        invalidations.incrementAndGet();
+        views.invalidate(userId);
+    }
+
+    /**
+     * Drops every cached cart that contains the product, e.g. after its price changed. Inside a transaction
+     * this is repeated after commit, since carts read before the commit may have been cached in between.
+     */
+    public void invalidateProduct(Long productId) {
+        evictProduct(productId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictProduct(productId);
+                }
+            });
+        }
+    }
+
+    private void evictProduct(Long productId) {
+        invalidations.incrementAndGet();
+        Set<Long> userIds = usersByProduct.remove(productId);
+        if (userIds != null) {
+            views.invalidateAll(userIds);
+        }
+    }
+
+    private void invalidateOnRollback(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        invalidate(userId);
+                    }
+                }
+            });
+        }
+    }
+
+    private void index(Long productId, Long userId) {
+        usersByProduct.computeIfAbsent(productId, id -> ConcurrentHashMap.newKeySet()).add(userId);
+    }
+
+    private void unindex(Long productId, Long userId) {
+        usersByProduct.computeIfPresent(productId, (id, userIds) -> {
+            userIds.remove(userId);
+            return userIds.isEmpty() ? null : userIds;
+        });
+    }
+
+    private static CartItemDTO toLine(CartItem item, Product product) {
+        return CartItemDTO.builder()
+                .id(item.getId())
+                .productId(product.getId())
+                .productName(product.getName())
+                .productImage(product.getImageUrl())
+                .unitPrice(product.getPrice())
+                .quantity(item.getQuantity())
+                .subTotal(product.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
+                .addedAt(item.getAddedAt())
+                .build();
+    }
+
+    /**
+     * One user's cart: lines by product ID plus the running total. Mutations and snapshots are synchronized
+     * per view, so concurrent requests of the same user see a consistent total.
+     */
+    private static final class CartView {
+        private final Long cartId;
+        private final Long userId;
+        private final LocalDateTime createdAt;
+        private final Map<Long, CartItemDTO> lines = new HashMap<>();
+        private BigDecimal totalAmount = BigDecimal.ZERO;
+        private LocalDateTime updatedAt;
+
+        CartView(Long cartId, Long userId, LocalDateTime createdAt) {
+            this.cartId = cartId;
+            this.userId = userId;
+            this.createdAt = createdAt;
+            this.updatedAt = createdAt;
+        }
+
+        synchronized void apply(CartItemDTO line) {
+            CartItemDTO previous = lines.put(line.getProductId(), line);
+            if (previous != null) {
+                totalAmount = totalAmount.subtract(previous.getSubTotal());
+            }
+            totalAmount = totalAmount.add(line.getSubTotal());
+            updatedAt = LocalDateTime.now();
+        }
+
+        synchronized void remove(Long productId) {
+            CartItemDTO previous = lines.remove(productId);
+            if (previous != null) {
+                totalAmount = totalAmount.subtract(previous.getSubTotal());
+                updatedAt = LocalDateTime.now();
+            }
+        }
+
+        synchronized void clear() {
+            lines.clear();
+            totalAmount = BigDecimal.ZERO;
+            updatedAt = LocalDateTime.now();
+        }
+
+        synchronized Set<Long> productIds() {
+            return new HashSet<>(lines.keySet());
+        }
+
+        synchronized CartDTO toDTO() {
+            return CartDTO.builder()
+                    .id(cartId)
+                    .userId(userId)
+                    .cartItems(new HashSet<>(lines.values()))
+                    .totalAmount(totalAmount)
+                    .createdAt(createdAt)
+                    .updatedAt(updatedAt)
+                    .build();
+        }
+    }
+}
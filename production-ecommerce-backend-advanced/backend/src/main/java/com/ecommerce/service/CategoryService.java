@@ -27,6 +27,8 @@ public class CategoryService {
     private static final Logger log = LoggerFactory.getLogger(CategoryService.class);
 
     private final CategoryRepository categoryRepository;
+    private final ProductCatalogCache productCatalogCache;
+    private final ProductSearchIndex productSearchIndex;
 
     @Transactional
     public CategoryDTO createCategory(CategoryDTO categoryDTO) {
@@ -69,6 +71,8 @@ public class CategoryService {
         existingCategory.setDescription(categoryDTO.getDescription());
 
         Category updatedCategory = categoryRepository.save(existingCategory);
+        productCatalogCache.evictCategory(id); // Cached products embed the category name
+        productSearchIndex.indexCategory(id);
         log.info("Updated category with ID: {}", updatedCategory.getId());
         return mapToDTO(updatedCategory);
     }
@@ -78,7 +82,10 @@ public class CategoryService {
     public void deleteCategory(Long id) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category", "id", id));
+        productSearchIndex.deleteCategory(id); // Reads the product IDs before they are deleted with the category
         categoryRepository.delete(category);
+        productCatalogCache.evictCategory(id);
+        productCatalogCache.evictListings(id);
         log.info("Deleted category with ID: {}", id);
     }
 
@@ -0,0 +1,448 @@
+package com.ecommerce.service;
+
+import com.ecommerce.entity.CartItem;
+import com.ecommerce.entity.Product;
+import com.ecommerce.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory stock reservations for hot SKUs.
+ * <p>
+ * Each product gets its own lock-free counter of sellable units, seeded from the committed stock row.
+ * Adding to cart takes units from the counter as a time-limited reservation; checkout converts reservations
+ * into pending decrements that are written to the database in periodic batches, so buyers of the same SKU
+ * never queue on its row. The counter never goes below zero, so this node cannot oversell.
+ * <p>
+ * Counters are per JVM: run one instance per SKU partition (or a single instance) so that two nodes do not
+ * both sell the same units. Pending decrements not yet flushed are lost if the process dies; the flush
+ * interval bounds that window.
+ * <p>
+ * Admin stock changes go through {@link #adjustStock}, which moves a live counter by the same delta once the
+ * change commits. Reservations taken in a transaction that rolls back are returned to the counter, and
+ * reservations released in a transaction are only returned once it commits.
+ */
+@Service
+public class InventoryReservationService {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryReservationService.class);
+
+    private final ProductRepository productRepository;
+    private final ProductCatalogCache productCatalogCache;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.inventory.reservation-ttl-seconds:900}")
+    private long reservationTtlSeconds = 900;
+
+    private final Map<Long, SkuCounter> counters = new ConcurrentHashMap<>();
+    // userId -> (productId -> reservation); a user's reservations are mutated under that user's map entry
+    private final Map<Long, Map<Long, Reservation>> reservations = new ConcurrentHashMap<>();
+
+    public InventoryReservationService(ProductRepository productRepository, ProductCatalogCache productCatalogCache,
+                                       TransactionTemplate transactionTemplate) {
+        this.productRepository = productRepository;
+        this.productCatalogCache = productCatalogCache;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Reserves {@code quantity} more units of the product for the user and refreshes the reservation expiry.
+     */
+    public void reserve(Long userId, Product product, int quantity) {
+        withCounters(Set.of(product.getId()), () -> reservations.compute(userId, (id, byProduct) -> {
+            Map<Long, Reservation> current = byProduct != null ? byProduct : new HashMap<>();
+            Reservation held = current.get(product.getId());
+            int heldQuantity = held != null ? held.quantity() : 0;
+            take(product, quantity);
+            current.put(product.getId(), new Reservation(heldQuantity + quantity, expiresAt()));
+            return current;
+        }));
+        releaseOnRollback(userId, product.getId(), quantity);
+    }
+
+    /**
+     * Sets the user's reservation for the product to exactly {@code quantity} units; zero releases it.
+     */
+    public void setReservedQuantity(Long userId, Product product, int quantity) {
+        int[] taken = {0};
+        // Releasing never needs a counter, so it does not seed one
+        withCounters(quantity > 0 ? Set.of(product.getId()) : Set.of(), () -> reservations.compute(userId, (id, byProduct) -> {
+            Map<Long, Reservation> current = byProduct != null ? byProduct : new HashMap<>();
+            Reservation held = current.get(product.getId());
+            int delta = quantity - (held != null ? held.quantity() : 0);
+            taken[0] = Math.max(delta, 0);
+            if (delta > 0) {
+                take(product, delta);
+            } else if (delta < 0) {
+                give(product.getId(), -delta);
+            }
+            if (quantity == 0) {
+                current.remove(product.getId());
+            } else {
+                current.put(product.getId(), new Reservation(quantity, expiresAt()));
+            }
+            return current.isEmpty() ? null : current;
+        }));
+        if (taken[0] > 0) {
+            releaseOnRollback(userId, product.getId(), taken[0]);
+        }
+    }
+
+    /**
+     * Releases the user's reservation for the product, once the current transaction commits.
+     */
+    public void release(Long userId, Long productId) {
+        afterCommit(() -> reservations.computeIfPresent(userId, (id, byProduct) -> {
+            Reservation held = byProduct.remove(productId);
+            if (held != null) {
+                give(productId, held.quantity());
+            }
+            return byProduct.isEmpty() ? null : byProduct;
+        }));
+    }
+
+    /**
+     * Releases all of the user's reservations, once the current transaction commits.
+     */
+    public void releaseAll(Long userId) {
+        afterCommit(() -> {
+            Map<Long, Reservation> byProduct = reservations.remove(userId);
+            if (byProduct != null) {
+                byProduct.forEach((productId, held) -> give(productId, held.quantity()));
+            }
+        });
+    }
+
+    /**
+     * Converts the user's reservations into sold units for a checkout. Lines without a (sufficient) live
+     * reservation are topped up from the counter; if any line cannot be covered nothing is consumed and an
+     * {@link IllegalArgumentException} is thrown. When called inside a transaction the units are queued for
+     * the database only after commit and returned to the counter on rollback.
+     */
+    public void commit(Long userId, Collection<CartItem> lines) {
+        Map<Long, Integer> sold = new LinkedHashMap<>();
+        Set<Long> productIds = new HashSet<>();
+        lines.forEach(line -> productIds.add(line.getProduct().getId()));
+        withCounters(productIds, () -> reservations.compute(userId, (id, byProduct) -> {
+            Map<Long, Reservation> current = byProduct != null ? byProduct : new HashMap<>();
+            List<Map.Entry<Long, Integer>> toppedUp = new ArrayList<>();
+            try {
+                for (CartItem line : lines) {
+                    Reservation held = current.get(line.getProduct().getId());
+                    int missing = line.getQuantity() - (held != null ? held.quantity() : 0);
+                    if (missing > 0) {
+                        take(line.getProduct(), missing);
+                        toppedUp.add(Map.entry(line.getProduct().getId(), missing));
+                    }
+                }
+            } catch (IllegalArgumentException | CounterRetiredException e) {
+                toppedUp.forEach(entry -> give(entry.getKey(), entry.getValue()));
+                throw e;
+            }
+            for (CartItem line : lines) {
+                Long productId = line.getProduct().getId();
+                Reservation held = current.remove(productId);
+                int surplus = (held != null ? held.quantity() : 0) - line.getQuantity();
+                if (surplus > 0) {
+                    give(productId, surplus);
+                }
+                sold.put(productId, line.getQuantity());
+            }
+            return current.isEmpty() ? null : current;
+        }));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        sold.forEach(InventoryReservationService.this::queueForFlush);
+                    } else {
+                        sold.forEach(InventoryReservationService.this::give);
+                    }
+                }
+            });
+        } else {
+            sold.forEach(this::queueForFlush);
+        }
+    }
+
+    /**
+     * Applies an admin stock change to the product's live counter once the current transaction commits. Must be
+     * called after {@link ProductRepository#adjustStock} has run in that transaction: a counter present now was
+     * seeded before the UPDATE took the row lock and misses the change, while any counter seeded later waits
+     * for the commit and reads it.
+     */
+    public void adjustStock(Long productId, int delta) {
+        SkuCounter counter = counters.get(productId);
+        if (counter == null || delta == 0) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    counter.adjust(delta);
+                }
+            });
+        } else {
+            counter.adjust(delta);
+        }
+    }
+
+    /**
+     * Returns units held by reservations that have passed their expiry to the counters.
+     */
+    @Scheduled(fixedDelayString = "${app.inventory.expiry-sweep-interval-ms:10000}")
+    public void releaseExpiredReservations() {
+        long now = System.currentTimeMillis();
+        int released = 0;
+        for (Long userId : reservations.keySet()) {
+            int[] count = {0};
+            reservations.computeIfPresent(userId, (id, byProduct) -> {
+                byProduct.entrySet().removeIf(entry -> {
+                    if (entry.getValue().expiresAtMillis() > now) {
+                        return false;
+                    }
+                    give(entry.getKey(), entry.getValue().quantity());
+                    count[0]++;
+                    return true;
+                });
+                return byProduct.isEmpty() ? null : byProduct;
+            });
+            released += count[0];
+        }
+        if (released > 0) {
+            log.info("Released {} expired stock reservations", released);
+        }
+    }
+
+    /**
+     * Writes pending decrements to the database in one transaction, then retires idle counters so that they
+     * are re-seeded from the database (picking up restocks made through the admin API) on next use.
+     * A decrement the database rejects stays pending, so its counter is not retired and the write is retried
+     * on every flush until the stock row is corrected.
+     * Must not run concurrently with itself; the scheduler invokes it from a single thread.
+     */
+    @Scheduled(fixedDelayString = "${app.inventory.flush-interval-ms:1000}")
+    public void flushPendingDecrements() {
+        Map<Long, Integer> batch = new HashMap<>();
+        counters.forEach((productId, counter) -> {
+            int pending = counter.pending.get();
+            if (pending > 0) {
+                batch.put(productId, pending);
+            }
+        });
+
+        if (!batch.isEmpty()) {
+            Map<Long, Integer> written = new HashMap<>();
+            transactionTemplate.executeWithoutResult(status -> batch.forEach((productId, quantity) -> {
+                if (productRepository.decrementStock(productId, quantity) == 0) {
+                    log.error("Stock for product {} fell below {} sold units; database was changed outside the reservation engine. "
+                            + "Keeping the units pending until the stock row is corrected", productId, quantity);
+                    return;
+                }
+                written.put(productId, quantity);
+                productCatalogCache.evictProduct(productId); // Cached entries embed the stock; evicted after commit
+            }));
+            // Only after commit, so a retired counter is never re-seeded from a stale row
+            written.forEach((productId, quantity) -> counters.get(productId).pending.addAndGet(-quantity));
+            log.debug("Flushed stock decrements for {} of {} products", written.size(), batch.size());
+        }
+
+        counters.forEach((productId, counter) -> {
+            if (counter.tryRetire()) {
+                counters.remove(productId, counter);
+            }
+        });
+    }
+
+    /**
+     * Runs a reservation update once the products' counters are seeded. The update runs inside
+     * {@code reservations.compute}, where no database access may happen, so a counter retired in between
+     * makes it throw {@link CounterRetiredException}; the counter is then seeded again and the update retried.
+     */
+    private void withCounters(Collection<Long> productIds, Runnable update) {
+        while (true) {
+            productIds.forEach(this::seedCounter);
+            try {
+                update.run();
+                return;
+            } catch (CounterRetiredException e) {
+                log.debug("Stock counter for product {} retired during a reservation; re-seeding", e.productId);
+            }
+        }
+    }
+
+    // Called inside reservations.compute: only touches counters that withCounters has seeded
+    private void take(Product product, int quantity) {
+        SkuCounter counter = counters.get(product.getId());
+        int result = counter != null ? counter.tryTake(quantity) : SkuCounter.RETIRED;
+        if (result == SkuCounter.INSUFFICIENT) {
+            throw new IllegalArgumentException("Not enough stock for product: " + product.getName());
+        }
+        if (result == SkuCounter.RETIRED) {
+            if (counter != null) {
+                counters.remove(product.getId(), counter);
+            }
+            throw new CounterRetiredException(product.getId());
+        }
+    }
+
+    private void give(Long productId, int quantity) {
+        SkuCounter counter = counters.get(productId);
+        if (counter != null) {
+            counter.give(quantity);
+        }
+    }
+
+    private void queueForFlush(Long productId, int quantity) {
+        SkuCounter counter = counters.get(productId);
+        if (counter != null) {
+            counter.pending.addAndGet(quantity);
+            counter.held.addAndGet(-quantity);
+        }
+    }
+
+    /**
+     * Seeds a missing counter from a locking read, never from the caller's possibly stale entity. The read
+     * joins the caller's transaction when there is one, so a request never holds two pooled connections; the
+     * row lock is then kept until that transaction ends. The read happens outside any map lambda, and a
+     * counter installed concurrently wins.
+     */
+    private void seedCounter(Long productId) {
+        if (counters.containsKey(productId)) {
+            return;
+        }
+        Integer stock = transactionTemplate.execute(status -> productRepository.lockStockQuantity(productId));
+        counters.putIfAbsent(productId, new SkuCounter(stock != null ? stock : 0));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    action.run();
+                }
+            }
+        });
+    }
+
+    private void releaseOnRollback(Long userId, Long productId, int quantity) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    unreserve(userId, productId, quantity);
+                }
+            }
+        });
+    }
+
+    // Takes back up to quantity units of the reservation; it may have expired or been released in the meantime
+    private void unreserve(Long userId, Long productId, int quantity) {
+        reservations.computeIfPresent(userId, (id, byProduct) -> {
+            Reservation held = byProduct.get(productId);
+            if (held != null) {
+                int released = Math.min(quantity, held.quantity());
+                give(productId, released);
+                if (released == held.quantity()) {
+                    byProduct.remove(productId);
+                } else {
+                    byProduct.put(productId, new Reservation(held.quantity() - released, held.expiresAtMillis()));
+                }
+            }
+            return byProduct.isEmpty() ? null : byProduct;
+        });
+    }
+
+    private long expiresAt() {
+        return System.currentTimeMillis() + reservationTtlSeconds * 1000;
+    }
+
+    private record Reservation(int quantity, long expiresAtMillis) {
+    }
+
+    private static final class CounterRetiredException extends RuntimeException {
+        final Long productId;
+
+        CounterRetiredException(Long productId) {
+            super(null, null, false, false);
+            this.productId = productId;
+        }
+    }
+
+    /**
+     * Sellable units for one SKU. {@code held} counts units taken but not yet flushed (reserved or sold),
+     * {@code pending} the sold units still to be written to the database. A counter may only be retired
+     * when both are zero; retirement swaps {@code available} to a sentinel so late takers re-seed.
+     */
+    private static final class SkuCounter {
+        static final int TAKEN = 0;
+        static final int INSUFFICIENT = 1;
+        static final int RETIRED = 2;
+        private static final int RETIRED_MARKER = Integer.MIN_VALUE;
+
+        final AtomicInteger available;
+        final AtomicInteger held = new AtomicInteger();
+        final AtomicInteger pending = new AtomicInteger();
+
+        SkuCounter(int stock) {
+            this.available = new AtomicInteger(stock);
+        }
+
+        int tryTake(int quantity) {
+            held.addAndGet(quantity); // Before the CAS, so a concurrent retire sees the counter as busy
+            while (true) {
+                int current = available.get();
+                if (current == RETIRED_MARKER || current < quantity) {
+                    held.addAndGet(-quantity);
+                    return current == RETIRED_MARKER ? RETIRED : INSUFFICIENT;
+                }
+                if (available.compareAndSet(current, current - quantity)) {
+                    return TAKEN;
+                }
+            }
+        }
+
+        void give(int quantity) {
+            available.addAndGet(quantity);
+            held.addAndGet(-quantity);
+        }
+
+        // No-op once retired: the replacement is seeded from the database, which already has the change
+        void adjust(int delta) {
+            available.getAndUpdate(current -> current == RETIRED_MARKER ? current : current + delta);
+        }
+
+        boolean tryRetire() {
+            int current = available.get();
+            return held.get() == 0 && pending.get() == 0 && available.compareAndSet(current, RETIRED_MARKER);
+        }
+    }
+}
@@ -15,9 +15,7 @@ import com.ecommerce.entity.User;
 import com.ecommerce.exception.ResourceNotFoundException;
 import com.ecommerce.repository.AddressRepository;
 import com.ecommerce.repository.CartRepository;
-import com.ecommerce.repository.OrderItemRepository;
 import com.ecommerce.repository.OrderRepository;
-import com.ecommerce.repository.ProductRepository;
 import com.ecommerce.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -30,6 +28,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -42,10 +41,10 @@ public class OrderService {
     private static final Logger log = LoggerFactory.getLogger(OrderService.class);
 
     private final OrderRepository orderRepository;
-    private final OrderItemRepository orderItemRepository;
     private final CartService cartService;
+    private final CartRepository cartRepository;
     private final UserRepository userRepository;
-    private final ProductRepository productRepository;
+    private final InventoryReservationService inventoryReservationService;
     private final AddressRepository addressRepository;
 
     @Transactional
@@ -53,21 +52,18 @@ public class OrderService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
 
-        CartDTO cartDTO = cartService.getCartByUserId(userId);
-        if (cartDTO.getCartItems().isEmpty()) {
+        // One query: cart, items and their products are fetch-joined
+        Cart cart = cartRepository.findByUserIdWithItems(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Cart", "userId", userId));
+        if (cart.getCartItems().isEmpty()) {
             throw new IllegalArgumentException("Cannot place order with an empty cart.");
         }
 
-        // Check product stock and decrement
-        for (CartItemDTO itemDTO : cartDTO.getCartItems()) {
-            Product product = productRepository.findById(itemDTO.getProductId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Product", "id", itemDTO.getProductId()));
-            if (product.getStockQuantity() < itemDTO.getQuantity()) {
-                throw new IllegalArgumentException("Not enough stock for product: " + product.getName());
-            }
-            product.setStockQuantity(product.getStockQuantity() - itemDTO.getQuantity());
-            productRepository.save(product);
-        }
+        // Consume the stock reservations taken at add-to-cart; the database decrement is flushed in batches
+        List<CartItem> cartItems = cart.getCartItems().stream()
+                .sorted(Comparator.comparing(item -> item.getProduct().getId()))
+                .collect(Collectors.toList());
+        inventoryReservationService.commit(userId, cartItems);
 
         // Map AddressDTO to Address entity
         Address shippingAddress = mapAddressDTOToEntity(shippingAddressDTO);
@@ -77,30 +73,29 @@ public class OrderService {
         // Create Order
         Order order = Order.builder()
                 .user(user)
-                .totalAmount(cartDTO.getTotalAmount())
                 .status(Order.OrderStatus.PENDING) // Initial status
                 .shippingAddress(shippingAddress)
+                .orderItems(new HashSet<>())
                 .build();
 
-        // Create Order Items from Cart Items
-        Set<OrderItem> orderItems = new HashSet<>();
-        for (CartItemDTO cartItemDTO : cartDTO.getCartItems()) {
-            Product product = productRepository.findById(cartItemDTO.getProductId()).get(); // Already checked for existence
-            OrderItem orderItem = OrderItem.builder()
+        // Create Order Items from Cart Items; they are cascaded with the order and flushed as one JDBC batch
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        for (CartItem cartItem : cartItems) {
+            Product product = cartItem.getProduct();
+            BigDecimal subTotal = product.getPrice().multiply(BigDecimal.valueOf(cartItem.getQuantity()));
+            order.addOrderItem(OrderItem.builder()
                     .product(product)
-                    .quantity(cartItemDTO.getQuantity())
-                    .unitPrice(cartItemDTO.getUnitPrice())
-                    .subTotal(cartItemDTO.getSubTotal())
-                    .order(order) // Bidirectional link
-                    .build();
-            orderItems.add(orderItem);
+                    .quantity(cartItem.getQuantity())
+                    .unitPrice(product.getPrice())
+                    .subTotal(subTotal)
+                    .build());
+            totalAmount = totalAmount.add(subTotal);
         }
-        order.setOrderItems(orderItems); // Set the collection in the order entity
+        order.setTotalAmount(totalAmount);
 
         Order savedOrder = orderRepository.save(order);
-        orderItemRepository.saveAll(orderItems); // Explicitly save order items
 
-        // Clear the user's cart
+        // Clear the user's cart with a single delete
         cartService.clearCart(userId);
 
         log.info("Order placed successfully for user {}. Order ID: {}", userId, savedOrder.getId());
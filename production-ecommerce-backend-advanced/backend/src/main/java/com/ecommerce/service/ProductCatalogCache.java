@@ -0,0 +1,451 @@
+package com.ecommerce.service;
+
+import com.ecommerce.dto.ProductDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Two-level product catalog cache: a short-lived Caffeine near-cache in front of Redis.
+ * <p>
+ * Each product is stored once ({@code catalog:product:<id>}). Listing pages ({@code productPages::<key>})
+ * hold only product IDs plus the total count and are rehydrated from the entry cache, so a product change never
+ * makes a page show stale data. Pages are tagged in Redis by listing ({@code category:<id|all>}) and by listing
+ * and sort field, so writes evict only the listings whose membership or order they can change.
+ * <p>
+ * Every tag has a version that an eviction increments before popping the tag. A page is stored together with
+ * its tags by one Lua script, and only if the versions still match those read before the page was loaded, so
+ * a page loaded before a write that committed in the meantime is never cached.
+ * <p>
+ * Product entries are guarded the same way by a global eviction sequence: an eviction records the sequence
+ * number it took on each evicted product, and a product loaded after reading the sequence is only stored if
+ * none of its evictions is newer. The near-cache applies the same rule to this node's evictions.
+ * <p>
+ * Stock is written by the inventory flush without listing evictions, so listings sorted by stock are not
+ * cached; product entries, which embed the stock, are evicted by the flush.
+ * <p>
+ * Evictions reach other nodes' near-caches only through expiry, so {@code app.catalog-cache.near-ttl-seconds}
+ * bounds how long another node may serve a stale entry.
+ */
+@Component
+public class ProductCatalogCache {
+
+    static final String PRODUCTS_CACHE = "products";
+    static final String PAGES_CACHE = "productPages";
+    private static final String PAGE_KEY_PREFIX = PAGES_CACHE + "::";
+    private static final String TAG_PREFIX = "catalog:tag:";
+    private static final String VERSION_SUFFIX = ":version";
+    private static final String UNCACHED_SORT_FIELD = "stockQuantity";
+    private static final Duration PAGE_TTL = Duration.ofMinutes(5);
+    private static final String PRODUCT_KEY_PREFIX = "catalog:product:";
+    private static final String PRODUCT_EVICTIONS_KEY = TAG_PREFIX + "product-evictions";
+    private static final Duration PRODUCT_TTL = Duration.ofMinutes(5);
+    // Outlives every entry loaded before the eviction it records
+    private static final Duration PRODUCT_VERSION_TTL = PRODUCT_TTL.multipliedBy(2);
+
+    // KEYS: page, listing tag, sort tag, listing tag version, sort tag version
+    // ARGV: page value, page key, TTL seconds, listing version read before loading, sort version read before loading
+    private static final RedisScript<Long> PUT_PAGE_SCRIPT = new DefaultRedisScript<>("""
+            if (redis.call('GET', KEYS[4]) or '0') ~= ARGV[4] or (redis.call('GET', KEYS[5]) or '0') ~= ARGV[5] then
+                return 0
+            end
+            redis.call('SET', KEYS[1], ARGV[1], 'EX', ARGV[3])
+            for i = 2, 3 do
+                redis.call('SADD', KEYS[i], ARGV[2])
+                redis.call('EXPIRE', KEYS[i], ARGV[3])
+            end
+            return 1
+            """, Long.class);
+
+    // KEYS: product entry, product version and category entries tag of each product
+    // ARGV: TTL seconds, eviction sequence read before loading, then product value and product ID of each product
+    // Returns 1 for each product stored, 0 for each refused
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> PUT_PRODUCTS_SCRIPT = new DefaultRedisScript<>("""
+            local stored = {}
+            for i = 1, #KEYS, 3 do
+                local n = #stored + 1
+                if tonumber(redis.call('GET', KEYS[i + 1]) or '0') > tonumber(ARGV[2]) then
+                    stored[n] = 0
+                else
+                    redis.call('SET', KEYS[i], ARGV[2 * n + 1], 'EX', ARGV[1])
+                    redis.call('SADD', KEYS[i + 2], ARGV[2 * n + 2])
+                    redis.call('EXPIRE', KEYS[i + 2], ARGV[1])
+                    stored[n] = 1
+                end
+            end
+            return stored
+            """, List.class);
+
+    // KEYS: eviction sequence, then product entry and product version of each evicted product
+    // ARGV: product version TTL seconds
+    private static final RedisScript<Long> EVICT_PRODUCTS_SCRIPT = new DefaultRedisScript<>("""
+            local version = redis.call('INCR', KEYS[1])
+            for i = 2, #KEYS, 2 do
+                redis.call('DEL', KEYS[i])
+                redis.call('SET', KEYS[i + 1], version, 'EX', ARGV[1])
+            end
+            return version
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Cache<Long, ProductDTO> nearProducts;
+    private final Cache<String, CachedPage> nearPages;
+
+    private final Counter productHits;
+    private final Counter productMisses;
+    private final Counter pageHits;
+    private final Counter pageMisses;
+    private final Timer remoteLatency;
+    // Product evictions applied on this node; a near-cache put racing one of them is undone
+    private final AtomicLong nearEvictions = new AtomicLong();
+
+    public ProductCatalogCache(StringRedisTemplate redisTemplate,
+                               ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.catalog-cache.near-maximum-size:10000}") long nearMaximumSize,
+                               @Value("${app.catalog-cache.near-ttl-seconds:30}") long nearTtlSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.nearProducts = Caffeine.newBuilder()
+                .maximumSize(nearMaximumSize)
+                .expireAfterWrite(Duration.ofSeconds(nearTtlSeconds))
+                .recordStats()
+                .build();
+        this.nearPages = Caffeine.newBuilder()
+                .maximumSize(nearMaximumSize)
+                .expireAfterWrite(Duration.ofSeconds(nearTtlSeconds))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, nearProducts, "catalog.near.products");
+        CaffeineCacheMetrics.monitor(meterRegistry, nearPages, "catalog.near.pages");
+        this.productHits = Counter.builder("catalog.cache.remote").tag("cache", PRODUCTS_CACHE).tag("result", "hit").register(meterRegistry);
+        this.productMisses = Counter.builder("catalog.cache.remote").tag("cache", PRODUCTS_CACHE).tag("result", "miss").register(meterRegistry);
+        this.pageHits = Counter.builder("catalog.cache.remote").tag("cache", PAGES_CACHE).tag("result", "hit").register(meterRegistry);
+        this.pageMisses = Counter.builder("catalog.cache.remote").tag("cache", PAGES_CACHE).tag("result", "miss").register(meterRegistry);
+        this.remoteLatency = Timer.builder("catalog.cache.remote.latency")
+                .description("Latency of Redis lookups behind the catalog near-cache")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * IDs of one listing page plus the listing's total size; long[] keeps the Redis JSON free of Integer/Long ambiguity.
+     */
+    public record CachedPage(long[] productIds, long totalElements) {
+    }
+
+    /**
+     * Versions of a listing's tags, read before the page is loaded from the database.
+     */
+    public record PageVersion(String listing, String sort) {
+    }
+
+    /**
+     * The product eviction sequence and this node's eviction count, read before products are loaded from the
+     * database.
+     */
+    public record ProductVersion(long sequence, long nearEvictions) {
+    }
+
+    public ProductDTO getProduct(Long id) {
+        ProductDTO near = nearProducts.getIfPresent(id);
+        if (near != null) {
+            return near;
+        }
+        long evictions = nearEvictions.get();
+        ProductDTO remote = remoteLatency.record(() -> decodeProduct(redisTemplate.opsForValue().get(productKey(id))));
+        (remote != null ? productHits : productMisses).increment();
+        if (remote != null) {
+            putNear(remote, evictions);
+        }
+        return remote;
+    }
+
+    /**
+     * @return the cached products among {@code ids}; absent IDs are missing from the map. Near-cache misses are
+     *         read from Redis in one round trip.
+     */
+    public Map<Long, ProductDTO> getProducts(Collection<Long> ids) {
+        Map<Long, ProductDTO> found = new HashMap<>(nearProducts.getAllPresent(ids));
+        List<Long> missing = ids.stream().filter(id -> !found.containsKey(id)).distinct().collect(Collectors.toList());
+        if (missing.isEmpty()) {
+            return found;
+        }
+        long evictions = nearEvictions.get();
+        List<String> keys = missing.stream().map(ProductCatalogCache::productKey).collect(Collectors.toList());
+        List<String> values = remoteLatency.record(() -> redisTemplate.opsForValue().multiGet(keys));
+        for (int i = 0; i < missing.size(); i++) {
+            ProductDTO remote = values != null ? decodeProduct(values.get(i)) : null;
+            (remote != null ? productHits : productMisses).increment();
+            if (remote != null) {
+                putNear(remote, evictions);
+                found.put(missing.get(i), remote);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * @return the version to pass to {@link #putProducts} for products loaded after this call
+     */
+    public ProductVersion productVersion() {
+        long evictions = nearEvictions.get();
+        String sequence = redisTemplate.opsForValue().get(PRODUCT_EVICTIONS_KEY);
+        return new ProductVersion(sequence != null ? Long.parseLong(sequence) : 0, evictions);
+    }
+
+    /**
+     * Stores the product and tags it with its category, unless it was evicted since {@code version} was read.
+     */
+    public void putProduct(ProductDTO product, ProductVersion version) {
+        putProducts(List.of(product), version);
+    }
+
+    /**
+     * Stores the products and tags them with their categories in one script call, skipping those evicted since
+     * {@code version} was read.
+     */
+    public void putProducts(Collection<ProductDTO> products, ProductVersion version) {
+        if (products.isEmpty()) {
+            return;
+        }
+        List<ProductDTO> ordered = new ArrayList<>(products);
+        List<String> keys = new ArrayList<>(ordered.size() * 3);
+        List<String> args = new ArrayList<>(2 + ordered.size() * 2);
+        args.add(String.valueOf(PRODUCT_TTL.toSeconds()));
+        args.add(String.valueOf(version.sequence()));
+        for (ProductDTO product : ordered) {
+            String id = product.getId().toString();
+            keys.add(productKey(product.getId()));
+            keys.add(productVersionKey(id));
+            keys.add(categoryEntriesTag(product.getCategoryId()));
+            args.add(encodeProduct(product));
+            args.add(id);
+        }
+        List<?> stored = redisTemplate.execute(PUT_PRODUCTS_SCRIPT, keys, args.toArray());
+        for (int i = 0; stored != null && i < ordered.size(); i++) {
+            if (((Number) stored.get(i)).longValue() == 1) {
+                putNear(ordered.get(i), version.nearEvictions());
+            }
+        }
+    }
+
+    public CachedPage getPage(Long categoryId, int pageNo, int pageSize, String sortBy, String sortDir) {
+        String key = pageKey(categoryId, pageNo, pageSize, sortBy, sortDir);
+        CachedPage near = nearPages.getIfPresent(key);
+        if (near != null) {
+            return near;
+        }
+        CachedPage remote = remoteLatency.record(() -> decodePage(redisTemplate.opsForValue().get(PAGE_KEY_PREFIX + key)));
+        (remote != null ? pageHits : pageMisses).increment();
+        if (remote != null) {
+            nearPages.put(key, remote);
+        }
+        return remote;
+    }
+
+    /**
+     * @return the version to pass to {@link #putPage} for a page loaded after this call
+     */
+    public PageVersion pageVersion(Long categoryId, String sortBy) {
+        String listing = listingTag(categoryId);
+        List<String> versions = redisTemplate.opsForValue().multiGet(List.of(listing + VERSION_SUFFIX, sortTag(listing, sortBy) + VERSION_SUFFIX));
+        return new PageVersion(versionOrZero(versions, 0), versionOrZero(versions, 1));
+    }
+
+    /**
+     * Stores the page and tags it, unless one of its listings was evicted since {@code version} was read.
+     */
+    public void putPage(Long categoryId, int pageNo, int pageSize, String sortBy, String sortDir, CachedPage page, PageVersion version) {
+        if (UNCACHED_SORT_FIELD.equals(sortBy)) {
+            return;
+        }
+        String key = pageKey(categoryId, pageNo, pageSize, sortBy, sortDir);
+        String listing = listingTag(categoryId);
+        String sort = sortTag(listing, sortBy);
+        Long stored = redisTemplate.execute(PUT_PAGE_SCRIPT,
+                List.of(PAGE_KEY_PREFIX + key, listing, sort, listing + VERSION_SUFFIX, sort + VERSION_SUFFIX),
+                encodePage(page), key, String.valueOf(PAGE_TTL.toSeconds()), version.listing(), version.sort());
+        if (stored != null && stored == 1) {
+            nearPages.put(key, page);
+        }
+    }
+
+    /**
+     * A product's own data changed: drop its entry. Listing pages hold only IDs and pick up the new data.
+     */
+    public void evictProduct(Long id) {
+        afterCommit(() -> evictProducts(List.of(id.toString())));
+    }
+
+    /**
+     * Products were added to or removed from the category: drop every page of its listing and of the
+     * unfiltered listing.
+     */
+    public void evictListings(Long categoryId) {
+        afterCommit(() -> {
+            evictTag(listingTag(categoryId));
+            evictTag(listingTag(null));
+        });
+    }
+
+    /**
+     * Fields of a product in the category changed: drop only the pages of its listings sorted by those fields.
+     */
+    public void evictListings(Long categoryId, Collection<String> changedFields) {
+        afterCommit(() -> {
+            for (String field : changedFields) {
+                evictTag(sortTag(listingTag(categoryId), field));
+                evictTag(sortTag(listingTag(null), field));
+            }
+        });
+    }
+
+    /**
+     * The category itself changed (e.g. renamed): drop its products' entries, which embed the category name.
+     */
+    public void evictCategory(Long categoryId) {
+        afterCommit(() -> evictProducts(popAll(categoryEntriesTag(categoryId))));
+    }
+
+    // The count is bumped before the near-cache is cleared, so a racing putNear sees it and undoes its put
+    private void evictProducts(List<String> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<String> keys = new ArrayList<>(1 + ids.size() * 2);
+        keys.add(PRODUCT_EVICTIONS_KEY);
+        for (String id : ids) {
+            keys.add(productKey(Long.valueOf(id)));
+            keys.add(productVersionKey(id));
+        }
+        nearEvictions.incrementAndGet();
+        redisTemplate.execute(EVICT_PRODUCTS_SCRIPT, keys, String.valueOf(PRODUCT_VERSION_TTL.toSeconds()));
+        ids.forEach(id -> nearProducts.invalidate(Long.valueOf(id)));
+    }
+
+    // Put first, then check: an eviction on this node either ran before the check or clears the entry after it
+    private void putNear(ProductDTO product, long evictionsBeforeLoad) {
+        nearProducts.put(product.getId(), product);
+        if (nearEvictions.get() != evictionsBeforeLoad) {
+            nearProducts.invalidate(product.getId());
+        }
+    }
+
+    // The version is bumped first: a page put after it is refused, a page put before it is in the popped tag
+    private void evictTag(String tag) {
+        redisTemplate.opsForValue().increment(tag + VERSION_SUFFIX);
+        List<String> pageKeys = popAll(tag);
+        if (!pageKeys.isEmpty()) {
+            redisTemplate.delete(pageKeys.stream().map(key -> PAGE_KEY_PREFIX + key).collect(Collectors.toList()));
+            nearPages.invalidateAll(pageKeys);
+        }
+    }
+
+    // SPOP empties the tag atomically, so a page tagged concurrently is either evicted now or stays tagged
+    private List<String> popAll(String tag) {
+        List<String> members = redisTemplate.opsForSet().pop(tag, Integer.MAX_VALUE);
+        return members != null ? members : List.of();
+    }
+
+    // Evict after commit so a concurrent read cannot re-cache the pre-commit state
+    private void afterCommit(Runnable eviction) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        } else {
+            eviction.run();
+        }
+    }
+
+    private String encodeProduct(ProductDTO product) {
+        try {
+            return objectMapper.writeValueAsString(product);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize product " + product.getId(), e);
+        }
+    }
+
+    private ProductDTO decodeProduct(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(value, ProductDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot deserialize cached product", e);
+        }
+    }
+
+    private static String productKey(Long id) {
+        return PRODUCT_KEY_PREFIX + id;
+    }
+
+    private static String productVersionKey(String id) {
+        return TAG_PREFIX + "product:" + id + VERSION_SUFFIX;
+    }
+
+    private static String pageKey(Long categoryId, int pageNo, int pageSize, String sortBy, String sortDir) {
+        return (categoryId != null ? categoryId : "all") + ":" + pageNo + ":" + pageSize + ":" + sortBy + ":" + sortDir.toLowerCase();
+    }
+
+    // "<total>|<id>,<id>,..."
+    private static String encodePage(CachedPage page) {
+        return page.totalElements() + "|" + Arrays.stream(page.productIds()).mapToObj(Long::toString).collect(Collectors.joining(","));
+    }
+
+    private static CachedPage decodePage(String value) {
+        if (value == null) {
+            return null;
+        }
+        int separator = value.indexOf('|');
+        String ids = value.substring(separator + 1);
+        long[] productIds = ids.isEmpty() ? new long[0] : Arrays.stream(ids.split(",")).mapToLong(Long::parseLong).toArray();
+        return new CachedPage(productIds, Long.parseLong(value.substring(0, separator)));
+    }
+
+    private static String versionOrZero(List<String> versions, int index) {
+        return versions != null && versions.get(index) != null ? versions.get(index) : "0";
+    }
+
+    private static String sortTag(String listingTag, String sortBy) {
+        return listingTag + ":sort:" + sortBy;
+    }
+
+    private static String listingTag(Long categoryId) {
+        return TAG_PREFIX + "category:" + (categoryId != null ? categoryId : "all");
+    }
+
+    private static String categoryEntriesTag(Long categoryId) {
+        return TAG_PREFIX + "category:" + categoryId + ":products";
+    }
+}
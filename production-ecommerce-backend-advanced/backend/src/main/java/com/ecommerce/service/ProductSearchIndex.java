@@ -0,0 +1,447 @@
+package com.ecommerce.service;
+
+import com.ecommerce.entity.Product;
+import com.ecommerce.entity.ProductTombstone;
+import com.ecommerce.repository.ProductRepository;
+import com.ecommerce.repository.ProductTombstoneRepository;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.facet.FacetResult;
+import org.apache.lucene.facet.Facets;
+import org.apache.lucene.facet.FacetsCollector;
+import org.apache.lucene.facet.FacetsConfig;
+import org.apache.lucene.facet.LabelAndValue;
+import org.apache.lucene.facet.sortedset.DefaultSortedSetDocValuesReaderState;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetCounts;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetField;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesReaderState;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * In-process Lucene index over product name, description and category name.
+ * <p>
+ * Queries are tokenized and every token must match some field, as an exact term, a prefix (type-ahead) or
+ * within one or two edits (typos); exact name matches rank highest. Results are returned as ranked product
+ * IDs for one page, together with per-category counts for the whole match set.
+ * <p>
+ * The index is held in memory and rebuilt from the database on startup. Writes through {@code ProductService}
+ * are applied after commit; a periodic sync on {@code updated_at}, and on the tombstones that deletes leave
+ * behind, picks up writes made by other nodes.
+ */
+@Component
+public class ProductSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductSearchIndex.class);
+
+    private static final String ID = "id";
+    private static final String NAME = "name";
+    private static final String DESCRIPTION = "description";
+    private static final String CATEGORY = "category";
+    private static final String CATEGORY_ID = "categoryId";
+    private static final String CATEGORY_FACET = "categoryFacet";
+    private static final int BATCH_SIZE = 1000;
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final int MAX_CATEGORY_FACETS = 100;
+
+    private final ProductRepository productRepository;
+    private final ProductTombstoneRepository productTombstoneRepository;
+    private final Duration syncOverlap;
+    private final Duration tombstoneRetention;
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final FacetsConfig facetsConfig = new FacetsConfig();
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    private volatile FacetState facetState;
+    private volatile Watermarks watermarks; // Null until the startup rebuild has finished
+
+    public ProductSearchIndex(ProductRepository productRepository,
+                              ProductTombstoneRepository productTombstoneRepository,
+                              @Value("${app.search.sync-overlap-seconds:300}") long syncOverlapSeconds,
+                              @Value("${app.search.tombstone-retention-hours:24}") long tombstoneRetentionHours) {
+        this.productRepository = productRepository;
+        this.productTombstoneRepository = productTombstoneRepository;
+        this.syncOverlap = Duration.ofSeconds(syncOverlapSeconds);
+        this.tombstoneRetention = Duration.ofHours(tombstoneRetentionHours);
+        try {
+            this.writer = new IndexWriter(new ByteBuffersDirectory(), new IndexWriterConfig(analyzer).setRAMBufferSizeMB(64));
+            this.searcherManager = new SearcherManager(writer, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open product search index", e);
+        }
+    }
+
+    public record SearchResult(List<Long> productIds, long totalHits, Map<String, Long> categoryFacets) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        // Taken before the scan, so the first sync revisits anything written while it runs
+        Watermarks start = new Watermarks(orEpoch(productRepository.findLatestUpdatedAt()),
+                orEpoch(productTombstoneRepository.findLatestDeletedAt()));
+        long afterId = 0;
+        int indexed = 0;
+        List<Product> batch;
+        do {
+            batch = productRepository.findBatchWithCategory(afterId, PageRequest.of(0, BATCH_SIZE));
+            batch.forEach(this::write);
+            indexed += batch.size();
+            if (!batch.isEmpty()) {
+                afterId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == BATCH_SIZE);
+        refresh();
+        watermarks = start;
+        log.info("Built product search index with {} products in {} ms", indexed, System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Re-indexes products changed, and drops products deleted, since the last sync, including by other nodes.
+     * <p>
+     * Watermarks are the latest timestamps seen in the database rather than this node's clock. Timestamps are
+     * set by the writing node before its transaction commits, so each sync reaches back by the overlap to catch
+     * rows that committed late or were stamped by a clock running behind; re-indexing those is idempotent.
+     */
+    @Scheduled(fixedDelayString = "${app.search.sync-interval-ms:60000}")
+    public void syncChanges() {
+        Watermarks current = watermarks;
+        if (current == null) {
+            return; // The startup rebuild indexes everything up to its own watermarks
+        }
+        LocalDateTime products = syncUpdated(current.products());
+        LocalDateTime tombstones = syncDeleted(current.tombstones());
+        watermarks = new Watermarks(products, tombstones);
+        productTombstoneRepository.deleteDeletedBefore(LocalDateTime.now().minus(tombstoneRetention));
+    }
+
+    private LocalDateTime syncUpdated(LocalDateTime watermark) {
+        LocalDateTime since = watermark.minus(syncOverlap);
+        long afterId = 0;
+        int synced = 0;
+        List<Product> page;
+        do {
+            page = productRepository.findUpdatedSinceWithCategory(since, afterId, PageRequest.of(0, BATCH_SIZE));
+            page.forEach(this::write);
+            synced += page.size();
+            if (!page.isEmpty()) {
+                Product last = page.get(page.size() - 1);
+                since = last.getUpdatedAt();
+                afterId = last.getId();
+            }
+        } while (page.size() == BATCH_SIZE);
+        if (synced > 0) {
+            refresh();
+            log.debug("Synced {} changed products into the search index", synced);
+        }
+        return since.isAfter(watermark) ? since : watermark;
+    }
+
+    // Runs after the product sync, so a product read just before its deletion does not stay indexed
+    private LocalDateTime syncDeleted(LocalDateTime watermark) {
+        LocalDateTime since = watermark.minus(syncOverlap);
+        long afterId = 0;
+        int synced = 0;
+        List<ProductTombstone> page;
+        do {
+            page = productTombstoneRepository.findDeletedSince(since, afterId, PageRequest.of(0, BATCH_SIZE));
+            for (ProductTombstone tombstone : page) {
+                deleteDocuments(new Term(ID, tombstone.getProductId().toString()));
+            }
+            synced += page.size();
+            if (!page.isEmpty()) {
+                ProductTombstone last = page.get(page.size() - 1);
+                since = last.getDeletedAt();
+                afterId = last.getProductId();
+            }
+        } while (page.size() == BATCH_SIZE);
+        if (synced > 0) {
+            refresh();
+            log.debug("Synced {} deleted products out of the search index", synced);
+        }
+        return since.isAfter(watermark) ? since : watermark;
+    }
+
+    public void index(Product product) {
+        afterCommit(() -> {
+            write(product);
+            refresh();
+        });
+    }
+
+    /**
+     * Re-indexes every product of the category, whose name is indexed with each of them.
+     */
+    public void indexCategory(Long categoryId) {
+        afterCommit(() -> {
+            productRepository.findAllByCategoryIdWithCategory(categoryId).forEach(this::write);
+            refresh();
+        });
+    }
+
+    /**
+     * Drops the product after commit, and leaves a tombstone in the caller's transaction for the other nodes.
+     */
+    public void delete(Long productId) {
+        productTombstoneRepository.save(ProductTombstone.builder().productId(productId).build());
+        afterCommit(() -> {
+            deleteDocuments(new Term(ID, productId.toString()));
+            refresh();
+        });
+    }
+
+    /**
+     * Drops the category's products, which are deleted with it. Must be called before the category is removed,
+     * while its products can still be read for their tombstones.
+     */
+    public void deleteCategory(Long categoryId) {
+        productTombstoneRepository.saveAll(productRepository.findIdsByCategoryId(categoryId).stream()
+                .map(productId -> ProductTombstone.builder().productId(productId).build())
+                .collect(Collectors.toList()));
+        afterCommit(() -> {
+            deleteDocuments(new Term(CATEGORY_ID, categoryId.toString()));
+            refresh();
+        });
+    }
+
+    public SearchResult search(String queryText, Long categoryId, int pageNo, int pageSize) {
+        List<String> tokens = tokenize(queryText);
+        IndexSearcher searcher = acquire();
+        try {
+            SearchResult result = search(searcher, buildQuery(tokens, false), categoryId, pageNo, pageSize);
+            if (result.totalHits() == 0 && !tokens.isEmpty()) {
+                // Typo tolerance: fuzzy expansion is costly, so it only runs when nothing matches as typed
+                result = search(searcher, buildQuery(tokens, true), categoryId, pageNo, pageSize);
+            }
+            return result;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            release(searcher);
+        }
+    }
+
+    // Facets count the unfiltered match set, so the user sees how many hits each category would give
+    private SearchResult search(IndexSearcher searcher, Query matchQuery, Long categoryId, int pageNo, int pageSize)
+            throws IOException {
+        int topN = (pageNo + 1) * pageSize;
+        FacetsCollector facetsCollector = new FacetsCollector();
+        TopDocs topDocs;
+        if (categoryId == null) {
+            topDocs = FacetsCollector.search(searcher, matchQuery, topN, facetsCollector);
+        } else {
+            searcher.search(matchQuery, facetsCollector);
+            topDocs = searcher.search(new BooleanQuery.Builder()
+                    .add(matchQuery, BooleanClause.Occur.MUST)
+                    .add(new TermQuery(new Term(CATEGORY_ID, categoryId.toString())), BooleanClause.Occur.FILTER)
+                    .build(), topN);
+        }
+
+        List<Long> ids = new ArrayList<>(pageSize);
+        ScoreDoc[] scoreDocs = topDocs.scoreDocs;
+        for (int i = pageNo * pageSize; i < scoreDocs.length; i++) {
+            ids.add(searcher.storedFields().document(scoreDocs[i].doc).getField(ID).numericValue().longValue());
+        }
+        return new SearchResult(ids, topDocs.totalHits.value, categoryFacets(searcher, facetsCollector));
+    }
+
+    private Query buildQuery(List<String> tokens, boolean fuzzy) {
+        if (tokens.isEmpty()) {
+            return new MatchAllDocsQuery();
+        }
+        BooleanQuery.Builder all = new BooleanQuery.Builder();
+        for (int i = 0; i < tokens.size(); i++) {
+            String token = tokens.get(i);
+            boolean lastToken = i == tokens.size() - 1;
+            BooleanQuery.Builder anyField = new BooleanQuery.Builder();
+            addField(anyField, NAME, token, 3f, lastToken, fuzzy);
+            addField(anyField, CATEGORY, token, 1.5f, lastToken, fuzzy);
+            // Descriptions hold many rare terms, which would make prefix and fuzzy expansion expensive
+            addField(anyField, DESCRIPTION, token, 1f, false, false);
+            all.add(anyField.build(), BooleanClause.Occur.MUST);
+        }
+        return all.build();
+    }
+
+    // Exact terms score highest; only the token being typed is prefix-expanded
+    private void addField(BooleanQuery.Builder builder, String field, String token, float boost, boolean prefix, boolean fuzzy) {
+        Term term = new Term(field, token);
+        builder.add(new BoostQuery(new TermQuery(term), boost * 2), BooleanClause.Occur.SHOULD);
+        if (prefix) {
+            builder.add(new BoostQuery(new PrefixQuery(term), boost), BooleanClause.Occur.SHOULD);
+        }
+        if (fuzzy && token.length() >= 4) {
+            int maxEdits = token.length() >= 8 ? 2 : 1;
+            builder.add(new BoostQuery(new FuzzyQuery(term, maxEdits, 1), boost * 0.5f), BooleanClause.Occur.SHOULD);
+        }
+    }
+
+    private List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        try (TokenStream stream = analyzer.tokenStream(NAME, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                tokens.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return tokens;
+    }
+
+    private Map<String, Long> categoryFacets(IndexSearcher searcher, FacetsCollector collector) throws IOException {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        SortedSetDocValuesReaderState state = facetState(searcher.getIndexReader());
+        if (state == null) {
+            return counts;
+        }
+        Facets facets = new SortedSetDocValuesFacetCounts(state, collector);
+        FacetResult result = facets.getTopChildren(MAX_CATEGORY_FACETS, CATEGORY_FACET);
+        if (result != null) {
+            for (LabelAndValue labelAndValue : result.labelValues) {
+                counts.put(labelAndValue.label, labelAndValue.value.longValue());
+            }
+        }
+        return counts;
+    }
+
+    // Building the ordinal state is O(index size), so it is reused until the searcher's reader changes
+    private SortedSetDocValuesReaderState facetState(IndexReader reader) throws IOException {
+        FacetState current = facetState;
+        if (current != null && current.reader() == reader) {
+            return current.state();
+        }
+        try {
+            SortedSetDocValuesReaderState state = new DefaultSortedSetDocValuesReaderState(reader, facetsConfig);
+            facetState = new FacetState(reader, state);
+            return state;
+        } catch (IllegalArgumentException e) {
+            return null; // No document carries the facet field yet (empty index)
+        }
+    }
+
+    private void write(Product product) {
+        Document document = new Document();
+        document.add(new StringField(ID, product.getId().toString(), Field.Store.NO));
+        document.add(new StoredField(ID, product.getId()));
+        document.add(new TextField(NAME, product.getName(), Field.Store.NO));
+        if (product.getDescription() != null) {
+            document.add(new TextField(DESCRIPTION, product.getDescription(), Field.Store.NO));
+        }
+        document.add(new TextField(CATEGORY, product.getCategory().getName(), Field.Store.NO));
+        document.add(new StringField(CATEGORY_ID, product.getCategory().getId().toString(), Field.Store.NO));
+        document.add(new SortedSetDocValuesFacetField(CATEGORY_FACET, product.getCategory().getName()));
+        try {
+            writer.updateDocument(new Term(ID, product.getId().toString()), facetsConfig.build(document));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void deleteDocuments(Term term) {
+        try {
+            writer.deleteDocuments(term);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void refresh() {
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private IndexSearcher acquire() {
+        try {
+            return searcherManager.acquire();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void release(IndexSearcher searcher) {
+        try {
+            searcherManager.release(searcher);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+    }
+
+    private static LocalDateTime orEpoch(LocalDateTime timestamp) {
+        return timestamp != null ? timestamp : EPOCH;
+    }
+
+    private record Watermarks(LocalDateTime products, LocalDateTime tombstones) {
+    }
+
+    private record FacetState(IndexReader reader, SortedSetDocValuesReaderState state) {
+    }
+}
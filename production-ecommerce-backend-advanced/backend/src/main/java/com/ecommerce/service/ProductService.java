@@ -1,6 +1,7 @@
 package com.ecommerce.service;
 
 import com.ecommerce.dto.ProductDTO;
+import com.ecommerce.dto.ProductSearchResultDTO;
 import com.ecommerce.entity.Category;
 import com.ecommerce.entity.Product;
 import com.ecommerce.exception.ResourceNotFoundException;
@@ -9,17 +10,20 @@ import com.ecommerce.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.CachePut;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,6 +34,10 @@ public class ProductService {
 
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
+    private final CartViewCache cartViewCache;
+    private final ProductCatalogCache productCatalogCache;
+    private final ProductSearchIndex productSearchIndex;
+    private final InventoryReservationService inventoryReservationService;
 
     @Transactional
     public ProductDTO createProduct(ProductDTO productDTO) {
@@ -38,22 +46,39 @@ public class ProductService {
 
         Product product = mapToEntity(productDTO, category);
         Product savedProduct = productRepository.save(product);
+        productCatalogCache.evictListings(category.getId());
+        productSearchIndex.index(savedProduct);
         log.info("Created new product with ID: {}", savedProduct.getId());
         return mapToDTO(savedProduct);
     }
 
-    @Cacheable(value = "products", key = "#id")
     public ProductDTO getProductById(Long id) {
+        ProductDTO cached = productCatalogCache.getProduct(id);
+        if (cached != null) {
+            return cached;
+        }
+        ProductCatalogCache.ProductVersion version = productCatalogCache.productVersion();
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product", "id", id));
-        return mapToDTO(product);
+        ProductDTO productDTO = mapToDTO(product);
+        productCatalogCache.putProduct(productDTO, version);
+        return productDTO;
     }
 
-    @Cacheable(value = "products", key = "{#pageNo, #pageSize, #sortBy, #sortDir, #categoryId}")
     public Page<ProductDTO> getAllProducts(int pageNo, int pageSize, String sortBy, String sortDir, Long categoryId) {
         Sort sort = sortDir.equalsIgnoreCase(Sort.Direction.ASC.name()) ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
         Pageable pageable = PageRequest.of(pageNo, pageSize, sort);
 
+        ProductCatalogCache.CachedPage cachedPage = productCatalogCache.getPage(categoryId, pageNo, pageSize, sortBy, sortDir);
+        if (cachedPage != null) {
+            List<ProductDTO> content = rehydrate(cachedPage.productIds());
+            if (content != null) {
+                return new PageImpl<>(content, pageable, cachedPage.totalElements());
+            }
+        }
+
+        ProductCatalogCache.PageVersion version = productCatalogCache.pageVersion(categoryId, sortBy);
+        ProductCatalogCache.ProductVersion productVersion = productCatalogCache.productVersion();
         Page<Product> products;
         if (categoryId != null) {
             products = productRepository.findByCategoryId(categoryId, pageable);
@@ -61,11 +86,15 @@ public class ProductService {
             products = productRepository.findAll(pageable);
         }
 
-        return products.map(this::mapToDTO);
+        Page<ProductDTO> page = products.map(this::mapToDTO);
+        productCatalogCache.putProducts(page.getContent(), productVersion);
+        long[] productIds = page.getContent().stream().mapToLong(ProductDTO::getId).toArray();
+        productCatalogCache.putPage(categoryId, pageNo, pageSize, sortBy, sortDir,
+                new ProductCatalogCache.CachedPage(productIds, page.getTotalElements()), version);
+        return page;
     }
 
     @Transactional
-    @CachePut(value = "products", key = "#id")
     public ProductDTO updateProduct(Long id, ProductDTO productDTO) {
         Product existingProduct = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product", "id", id));
@@ -73,32 +102,104 @@ public class ProductService {
         Category category = categoryRepository.findById(productDTO.getCategoryId())
                 .orElseThrow(() -> new ResourceNotFoundException("Category", "id", productDTO.getCategoryId()));
 
+        Long previousCategoryId = existingProduct.getCategory().getId();
+        Set<String> changedFields = changedSortFields(existingProduct, productDTO);
+        int stockDelta = productDTO.getStockQuantity() - existingProduct.getStockQuantity();
+
         existingProduct.setName(productDTO.getName());
         existingProduct.setDescription(productDTO.getDescription());
         existingProduct.setPrice(productDTO.getPrice());
-        existingProduct.setStockQuantity(productDTO.getStockQuantity());
+        existingProduct.setStockQuantity(productDTO.getStockQuantity()); // For the response; the column is written by adjustStock
         existingProduct.setImageUrl(productDTO.getImageUrl());
         existingProduct.setCategory(category);
 
         Product updatedProduct = productRepository.save(existingProduct);
+        if (stockDelta != 0) {
+            if (productRepository.adjustStock(id, stockDelta) == 0) {
+                throw new IllegalArgumentException("Stock for product " + id + " cannot go below zero");
+            }
+            inventoryReservationService.adjustStock(id, stockDelta);
+        }
+        cartViewCache.invalidateProduct(id); // Cached carts hold this product's price, name and image
+        productCatalogCache.evictProduct(id);
+        if (!previousCategoryId.equals(category.getId())) {
+            productCatalogCache.evictListings(previousCategoryId);
+            productCatalogCache.evictListings(category.getId());
+        } else {
+            productCatalogCache.evictListings(category.getId(), changedFields);
+        }
+        productSearchIndex.index(updatedProduct);
         log.info("Updated product with ID: {}", updatedProduct.getId());
         return mapToDTO(updatedProduct);
     }
 
     @Transactional
-    @CacheEvict(value = "products", key = "#id")
     public void deleteProduct(Long id) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product", "id", id));
         productRepository.delete(product);
+        cartViewCache.invalidateProduct(id);
+        productCatalogCache.evictProduct(id);
+        productCatalogCache.evictListings(product.getCategory().getId());
+        productSearchIndex.delete(id);
         log.info("Deleted product with ID: {}", id);
     }
 
-    public List<ProductDTO> searchProducts(String query) {
-        List<Product> products = productRepository.findByNameContainingIgnoreCase(query);
-        return products.stream().map(this::mapToDTO).collect(Collectors.toList());
+    public ProductSearchResultDTO searchProducts(String query, Long categoryId, int pageNo, int pageSize) {
+        ProductSearchIndex.SearchResult result = productSearchIndex.search(query, categoryId, pageNo, pageSize);
+        // A hit deleted by another node since the last index sync is simply left out of the page
+        List<ProductDTO> content = load(result.productIds()).stream().filter(Objects::nonNull).collect(Collectors.toList());
+        return ProductSearchResultDTO.builder()
+                .products(new PageImpl<>(content, PageRequest.of(pageNo, pageSize), result.totalHits()))
+                .categoryFacets(result.categoryFacets())
+                .build();
+    }
+
+    /**
+     * Resolves a cached page's IDs from the entry cache, loading any misses in one query.
+     *
+     * @return the products in page order, or {@code null} if one of them no longer exists
+     */
+    private List<ProductDTO> rehydrate(long[] productIds) {
+        List<ProductDTO> products = load(Arrays.stream(productIds).boxed().collect(Collectors.toList()));
+        return products.contains(null) ? null : products;
     }
 
+    // Products in the order of the IDs, with null for those that no longer exist
+    private List<ProductDTO> load(List<Long> ids) {
+        Map<Long, ProductDTO> found = productCatalogCache.getProducts(ids);
+        if (found.size() < ids.size()) {
+            List<Long> missing = ids.stream().filter(id -> !found.containsKey(id)).collect(Collectors.toList());
+            ProductCatalogCache.ProductVersion version = productCatalogCache.productVersion();
+            List<ProductDTO> loaded = productRepository.findAllByIdWithCategory(missing).stream()
+                    .map(this::mapToDTO)
+                    .collect(Collectors.toList());
+            productCatalogCache.putProducts(loaded, version);
+            loaded.forEach(productDTO -> found.put(productDTO.getId(), productDTO));
+        }
+        return ids.stream().map(found::get).collect(Collectors.toList());
+    }
+
+    // Updated timestamps change on every write, so listings sorted by them are always affected
+    private Set<String> changedSortFields(Product existing, ProductDTO update) {
+        Set<String> fields = new HashSet<>(List.of("updatedAt"));
+        if (!Objects.equals(existing.getName(), update.getName())) {
+            fields.add("name");
+        }
+        if (!Objects.equals(existing.getDescription(), update.getDescription())) {
+            fields.add("description");
+        }
+        if (existing.getPrice() == null || update.getPrice() == null || existing.getPrice().compareTo(update.getPrice()) != 0) {
+            fields.add("price");
+        }
+        if (!Objects.equals(existing.getStockQuantity(), update.getStockQuantity())) {
+            fields.add("stockQuantity");
+        }
+        if (!Objects.equals(existing.getImageUrl(), update.getImageUrl())) {
+            fields.add("imageUrl");
+        }
+        return fields;
+    }
 
     private ProductDTO mapToDTO(Product product) {
         return ProductDTO.builder()
@@ -0,0 +1,11 @@
+-- OrderItem ids come from a pooled sequence (allocationSize = 50): each nextval reserves the 50 ids below it.
+-- Databases created before that change still have the BIGSERIAL default of INCREMENT BY 1, so two sessions
+-- would hand out overlapping id ranges. New databases get the right increment from init.sql or from Hibernate,
+-- in which case this is a no-op; when the sequence does not exist yet, Hibernate creates it with increment 50.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_sequences WHERE sequencename = 'order_items_id_seq' AND increment_by <> 50) THEN
+        -- The next value jumps 50 past the current one, so the first pooled block starts above every existing id
+        ALTER SEQUENCE order_items_id_seq INCREMENT BY 50;
+    END IF;
+END $$;
@@ -0,0 +1,9 @@
+-- The search index sync pages through products in (updated_at, id) order and through deletions by deleted_at.
+-- Hibernate creates product_tombstones on databases it manages; this covers those built from init.sql.
+CREATE TABLE IF NOT EXISTS product_tombstones (
+    product_id BIGINT PRIMARY KEY,
+    deleted_at TIMESTAMP WITHOUT TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_product_tombstones_deleted_at ON product_tombstones (deleted_at);
+CREATE INDEX IF NOT EXISTS idx_products_updated_at ON products (updated_at, id);
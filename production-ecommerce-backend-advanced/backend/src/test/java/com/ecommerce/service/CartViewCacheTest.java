@@ -0,0 +1,124 @@
+package com.ecommerce.service;
+
+import com.ecommerce.Benchmark;
+import com.ecommerce.dto.CartDTO;
+import com.ecommerce.entity.Cart;
+import com.ecommerce.entity.CartItem;
+import com.ecommerce.entity.Product;
+import com.ecommerce.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CartViewCache Unit Tests")
+class CartViewCacheTest {
+
+    private static final Logger log = LoggerFactory.getLogger(CartViewCacheTest.class);
+
+    private static final int LINES = 200;
+
+    private CartViewCache cartViewCache;
+    private Cart cart;
+
+    @BeforeEach
+    void setUp() {
+        cartViewCache = new CartViewCache(1000, 30);
+        cart = Cart.builder().id(10L).user(User.builder().id(1L).build()).cartItems(new HashSet<>()).build();
+        for (long i = 1; i <= LINES; i++) {
+            cart.getCartItems().add(CartItem.builder().id(i).product(product(i, BigDecimal.valueOf(i))).quantity(1).build());
+        }
+    }
+
+    @Test
+    void givenCachedCart_whenApplyingDeltas_thenTotalsMatchFullRecomputation() {
+        cartViewCache.put(cart, cartViewCache.version());
+
+        CartItem updated = CartItem.builder().id(1L).quantity(5).build();
+        cartViewCache.applyLine(1L, updated, product(1L, BigDecimal.ONE));
+        cartViewCache.removeLine(1L, 2L);
+
+        CartDTO cartDTO = cartViewCache.get(1L);
+        BigDecimal expected = BigDecimal.valueOf(LINES * (LINES + 1) / 2).add(BigDecimal.valueOf(4)).subtract(BigDecimal.valueOf(2));
+        assertThat(cartDTO.getCartItems()).hasSize(LINES - 1);
+        assertThat(cartDTO.getTotalAmount()).isEqualByComparingTo(expected);
+    }
+
+    @Test
+    void givenProductPriceChange_whenInvalidatingProduct_thenOnlyCartsContainingItAreDropped() {
+        cartViewCache.put(cart, cartViewCache.version());
+        Cart otherCart = Cart.builder().id(11L).user(User.builder().id(2L).build()).cartItems(new HashSet<>()).build();
+        otherCart.getCartItems().add(CartItem.builder().id(999L).product(product(999L, BigDecimal.TEN)).quantity(1).build());
+        cartViewCache.put(otherCart, cartViewCache.version());
+
+        cartViewCache.invalidateProduct(3L);
+
+        assertThat(cartViewCache.get(1L)).isNull();
+        assertThat(cartViewCache.get(2L)).isNotNull();
+    }
+
+    @Test
+    void givenInvalidationDuringLoad_whenPutting_thenStaleCartIsNotCached() {
+        long version = cartViewCache.version(); // Taken before the (simulated) database read
+        cartViewCache.invalidateProduct(3L); // A price change commits while the cart is being loaded
+
+        assertThat(cartViewCache.put(cart, version).getCartItems()).hasSize(LINES);
+        assertThat(cartViewCache.get(1L)).isNull();
+    }
+
+    @Test
+    void givenProductChangeInTransaction_whenCartIsCachedBeforeCommit_thenItIsDroppedAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cartViewCache.invalidateProduct(3L);
+            cartViewCache.put(cart, cartViewCache.version()); // Another request reads the old price before commit
+            assertThat(cartViewCache.get(1L)).isNotNull();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(cartViewCache.get(1L)).isNull();
+    }
+
+    @Test
+    @Benchmark
+    void givenLargeCart_whenMutating_thenDeltaIsCheaperThanRematerializing() {
+        int iterations = 2_000;
+        for (int i = 0; i < 500; i++) { // Warm-up
+            cartViewCache.put(cart, cartViewCache.version());
+            cartViewCache.applyLine(1L, CartItem.builder().id(1L).quantity(i % 7 + 1).build(), product(1L, BigDecimal.ONE));
+        }
+
+        long fullStart = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            cartViewCache.put(cart, cartViewCache.version());
+        }
+        long fullNanos = System.nanoTime() - fullStart;
+
+        CartItem line = CartItem.builder().id(1L).quantity(1).build();
+        Product product = product(1L, BigDecimal.ONE);
+        long deltaStart = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            line.setQuantity(i % 7 + 1);
+            cartViewCache.applyLine(1L, line, product);
+        }
+        long deltaNanos = System.nanoTime() - deltaStart;
+
+        log.info("{}-line cart: full rebuild {} ns/op, delta {} ns/op", LINES, fullNanos / iterations, deltaNanos / iterations);
+        assertThat(deltaNanos).isLessThan(fullNanos);
+    }
+
+    private Product product(long id, BigDecimal price) {
+        return Product.builder().id(id).name("Product " + id).price(price).stockQuantity(100).build();
+    }
+}
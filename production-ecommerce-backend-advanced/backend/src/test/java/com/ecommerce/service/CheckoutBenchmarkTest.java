@@ -0,0 +1,130 @@
+package com.ecommerce.service;
+
+import com.ecommerce.Benchmark;
+import com.ecommerce.dto.AddressDTO;
+import com.ecommerce.entity.Cart;
+import com.ecommerce.entity.CartItem;
+import com.ecommerce.entity.Category;
+import com.ecommerce.entity.Product;
+import com.ecommerce.entity.User;
+import com.ecommerce.repository.CartRepository;
+import com.ecommerce.repository.CategoryRepository;
+import com.ecommerce.repository.ProductRepository;
+import com.ecommerce.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statements per order and p99 checkout latency for 1, 10 and 100-line carts, against H2 with the production
+ * JDBC batching settings.
+ */
+@Benchmark
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.sql.init.mode=never",
+        "spring.jpa.show-sql=false"
+})
+@Import({OrderService.class, CartService.class, InventoryReservationService.class, CartViewCache.class})
+@MockBean(ProductCatalogCache.class) // Redis-backed; only evicted by the stock flush, which is not scheduled here
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // Every checkout commits on its own, as in production
+@DisplayName("Checkout Benchmark")
+class CheckoutBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(CheckoutBenchmarkTest.class);
+
+    private static final int WARMUP_ORDERS = 50;
+    private static final int MEASURED_ORDERS = 200;
+
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CartRepository cartRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private AddressDTO address;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        address = AddressDTO.builder().street("1 Main St").city("Springfield").state("IL").postalCode("62701").country("USA").build();
+    }
+
+    @ParameterizedTest(name = "{0}-line cart")
+    @ValueSource(ints = {1, 10, 100})
+    void placeOrderFromCart_StatementsAndP99(int lines) {
+        User user = userRepository.save(User.builder()
+                .username("benchmark" + lines)
+                .email("benchmark" + lines + "@example.com")
+                .password("password")
+                .build());
+        Category category = categoryRepository.save(Category.builder().name("Benchmark " + lines).build());
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < lines; i++) {
+            products.add(productRepository.save(Product.builder()
+                    .name("Benchmark " + lines + " Product " + i)
+                    .price(new BigDecimal("9.99"))
+                    .stockQuantity(1_000_000_000)
+                    .category(category)
+                    .build()));
+        }
+
+        for (int i = 0; i < WARMUP_ORDERS; i++) {
+            fillCart(user, products);
+            orderService.placeOrderFromCart(user.getId(), address);
+        }
+
+        long[] nanos = new long[MEASURED_ORDERS];
+        long statements = 0;
+        for (int i = 0; i < MEASURED_ORDERS; i++) {
+            fillCart(user, products);
+            statistics.clear();
+            long start = System.nanoTime();
+            orderService.placeOrderFromCart(user.getId(), address);
+            nanos[i] = System.nanoTime() - start;
+            statements += statistics.getPrepareStatementCount();
+        }
+        Arrays.sort(nanos);
+        long statementsPerOrder = statements / MEASURED_ORDERS;
+        log.info("{}-line cart: {} statements per order, p50 {} us, p99 {} us", lines, statementsPerOrder,
+                nanos[MEASURED_ORDERS / 2] / 1_000, nanos[(int) Math.ceil(MEASURED_ORDERS * 0.99) - 1] / 1_000);
+
+        // Order items are batched, so the statement count does not grow with the number of lines
+        assertThat(statementsPerOrder).isLessThanOrEqualTo(12);
+    }
+
+    private void fillCart(User user, List<Product> products) {
+        Cart cart = cartRepository.findByUserIdWithItems(user.getId())
+                .orElseGet(() -> Cart.builder().user(user).cartItems(new HashSet<>()).build());
+        products.forEach(product -> cart.addCartItem(CartItem.builder().product(product).quantity(1).build()));
+        cartRepository.save(cart);
+    }
+}
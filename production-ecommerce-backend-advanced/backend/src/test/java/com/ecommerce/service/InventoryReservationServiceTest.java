@@ -0,0 +1,235 @@
+package com.ecommerce.service;
+
+import com.ecommerce.entity.CartItem;
+import com.ecommerce.entity.Product;
+import com.ecommerce.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("InventoryReservationService Unit Tests")
+class InventoryReservationServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+    @Mock
+    private ProductCatalogCache productCatalogCache;
+
+    private InventoryReservationService inventoryReservationService;
+
+    private Product hotProduct;
+
+    @BeforeEach
+    void setUp() {
+        inventoryReservationService = new InventoryReservationService(productRepository, productCatalogCache,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        hotProduct = Product.builder().id(1L).name("Flash Sale Phone").stockQuantity(1000).build();
+    }
+
+    @Test
+    void givenReservation_whenAnotherUserAsksForRemainingStock_thenOnlyUnreservedUnitsAreAvailable() {
+        Product product = Product.builder().id(2L).name("Limited Edition").stockQuantity(5).build();
+        when(productRepository.lockStockQuantity(2L)).thenReturn(5);
+
+        inventoryReservationService.reserve(1L, product, 3);
+
+        assertThrows(IllegalArgumentException.class, () -> inventoryReservationService.reserve(2L, product, 3));
+        inventoryReservationService.reserve(2L, product, 2);
+    }
+
+    @Test
+    void givenExpiredReservation_whenSweeping_thenUnitsAreReleased() {
+        Product product = Product.builder().id(3L).name("Limited Edition").stockQuantity(2).build();
+        when(productRepository.lockStockQuantity(3L)).thenReturn(2);
+        ReflectionTestUtils.setField(inventoryReservationService, "reservationTtlSeconds", -1L);
+
+        inventoryReservationService.reserve(1L, product, 2);
+        inventoryReservationService.releaseExpiredReservations();
+
+        inventoryReservationService.reserve(2L, product, 2);
+    }
+
+    @Test
+    void givenCommittedCheckouts_whenFlushing_thenDatabaseIsDecrementedInOneBatch() {
+        Product product = Product.builder().id(4L).name("Limited Edition").stockQuantity(10).build();
+        when(productRepository.lockStockQuantity(4L)).thenReturn(10);
+        when(productRepository.decrementStock(4L, 7)).thenReturn(1);
+
+        inventoryReservationService.reserve(1L, product, 3);
+        inventoryReservationService.commit(1L, List.of(CartItem.builder().product(product).quantity(3).build()));
+        inventoryReservationService.commit(2L, List.of(CartItem.builder().product(product).quantity(4).build()));
+        inventoryReservationService.flushPendingDecrements();
+        inventoryReservationService.flushPendingDecrements();
+
+        verify(productRepository, times(1)).decrementStock(4L, 7);
+        verify(productCatalogCache, times(1)).evictProduct(4L);
+    }
+
+    @Test
+    void givenRejectedDecrement_whenFlushing_thenUnitsStayPendingAndAreRetried() {
+        Product product = Product.builder().id(10L).name("Limited Edition").stockQuantity(5).build();
+        when(productRepository.lockStockQuantity(10L)).thenReturn(5);
+        when(productRepository.decrementStock(10L, 3)).thenReturn(0, 1);
+
+        inventoryReservationService.commit(1L, List.of(CartItem.builder().product(product).quantity(3).build()));
+        inventoryReservationService.flushPendingDecrements(); // Rejected: kept pending, counter not retired
+        inventoryReservationService.flushPendingDecrements();
+        inventoryReservationService.flushPendingDecrements();
+
+        verify(productRepository, times(2)).decrementStock(10L, 3);
+        verify(productCatalogCache, times(1)).evictProduct(10L);
+        verify(productRepository, times(1)).lockStockQuantity(10L);
+    }
+
+    @Test
+    void givenReleaseInTransaction_whenTransactionRollsBack_thenReservationIsKept() {
+        Product product = Product.builder().id(11L).name("Limited Edition").stockQuantity(2).build();
+        when(productRepository.lockStockQuantity(11L)).thenReturn(2);
+        inventoryReservationService.reserve(1L, product, 2);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            inventoryReservationService.release(1L, 11L);
+            inventoryReservationService.releaseAll(1L);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> inventoryReservationService.reserve(2L, product, 1));
+        inventoryReservationService.release(1L, 11L);
+        inventoryReservationService.reserve(2L, product, 2);
+    }
+
+    @Test
+    void givenRetiredCounter_whenReservingWithStaleProduct_thenCounterIsSeededFromDatabase() {
+        Product staleProduct = Product.builder().id(5L).name("Limited Edition").stockQuantity(10).build();
+        when(productRepository.lockStockQuantity(5L)).thenReturn(10, 3);
+        when(productRepository.decrementStock(5L, 7)).thenReturn(1);
+
+        inventoryReservationService.commit(1L, List.of(CartItem.builder().product(staleProduct).quantity(7).build()));
+        inventoryReservationService.flushPendingDecrements(); // Writes the sale and retires the idle counter
+
+        assertThrows(IllegalArgumentException.class, () -> inventoryReservationService.reserve(2L, staleProduct, 4));
+        inventoryReservationService.reserve(2L, staleProduct, 3);
+    }
+
+    @Test
+    void givenUnseededCounter_whenSeeding_thenCallersTransactionIsJoinedWithoutHoldingReservations() throws Exception {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        inventoryReservationService = new InventoryReservationService(productRepository, productCatalogCache,
+                new TransactionTemplate(transactionManager));
+        Product seeded = Product.builder().id(8L).name("Limited Edition").stockQuantity(5).build();
+        Product other = Product.builder().id(9L).name("Limited Edition").stockQuantity(5).build();
+        when(productRepository.lockStockQuantity(9L)).thenReturn(5);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        when(productRepository.lockStockQuantity(8L)).thenAnswer(invocation -> {
+            // The same user's reservations stay writable while the stock row is read
+            executor.submit(() -> inventoryReservationService.reserve(1L, other, 1)).get(5, TimeUnit.SECONDS);
+            return 5;
+        });
+
+        try {
+            inventoryReservationService.reserve(1L, seeded, 2);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(transactionManager, times(2)).getTransaction(
+                argThat(definition -> definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRED));
+        assertThrows(IllegalArgumentException.class, () -> inventoryReservationService.reserve(2L, seeded, 4));
+    }
+
+    @Test
+    void givenLiveCounter_whenAdminChangesStock_thenCounterMovesByTheSameDelta() {
+        Product product = Product.builder().id(6L).name("Limited Edition").stockQuantity(2).build();
+        when(productRepository.lockStockQuantity(6L)).thenReturn(2);
+
+        inventoryReservationService.reserve(1L, product, 1);
+        inventoryReservationService.adjustStock(6L, 5);
+
+        inventoryReservationService.reserve(2L, product, 6);
+        assertThrows(IllegalArgumentException.class, () -> inventoryReservationService.reserve(3L, product, 1));
+    }
+
+    @Test
+    void givenReservationInTransaction_whenTransactionRollsBack_thenUnitsAreReleased() {
+        Product product = Product.builder().id(7L).name("Limited Edition").stockQuantity(2).build();
+        when(productRepository.lockStockQuantity(7L)).thenReturn(2);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            inventoryReservationService.reserve(1L, product, 2);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        inventoryReservationService.reserve(2L, product, 2);
+    }
+
+    @Test
+    void givenThousandsOfConcurrentBuyers_whenCheckingOutOneHotSku_thenStockIsNeverOversold() throws InterruptedException {
+        int threads = 32;
+        int buyersPerThread = 500; // 16,000 attempts for 1,000 units
+        AtomicInteger sold = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger flushedUnits = new AtomicInteger();
+        when(productRepository.lockStockQuantity(1L)).thenReturn(1000);
+        when(productRepository.decrementStock(eq(1L), anyInt())).thenAnswer(invocation -> {
+            flushedUnits.addAndGet(invocation.getArgument(1));
+            return 1;
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < threads; t++) {
+            long firstUserId = (long) t * buyersPerThread;
+            executor.submit(() -> {
+                start.await();
+                for (long userId = firstUserId; userId < firstUserId + buyersPerThread; userId++) {
+                    try {
+                        inventoryReservationService.reserve(userId, hotProduct, 1);
+                        inventoryReservationService.commit(userId, List.of(CartItem.builder().product(hotProduct).quantity(1).build()));
+                        sold.incrementAndGet();
+                    } catch (IllegalArgumentException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        inventoryReservationService.flushPendingDecrements();
+
+        assertThat(sold.get()).isEqualTo(1000);
+        assertThat(rejected.get()).isEqualTo(threads * buyersPerThread - 1000);
+        assertThat(flushedUnits.get()).isEqualTo(1000);
+    }
+}
@@ -0,0 +1,117 @@
+package com.ecommerce.service;
+
+import com.ecommerce.dto.AddressDTO;
+import com.ecommerce.dto.OrderDTO;
+import com.ecommerce.entity.Address;
+import com.ecommerce.entity.Cart;
+import com.ecommerce.entity.CartItem;
+import com.ecommerce.entity.Category;
+import com.ecommerce.entity.Order;
+import com.ecommerce.entity.Product;
+import com.ecommerce.entity.User;
+import com.ecommerce.repository.AddressRepository;
+import com.ecommerce.repository.CartRepository;
+import com.ecommerce.repository.OrderRepository;
+import com.ecommerce.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrderService Unit Tests")
+class OrderServiceTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+    @Mock
+    private CartService cartService;
+    @Mock
+    private CartRepository cartRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private InventoryReservationService inventoryReservationService;
+    @Mock
+    private AddressRepository addressRepository;
+
+    @InjectMocks
+    private OrderService orderService;
+
+    private User testUser;
+    private Cart testCart;
+    private AddressDTO addressDTO;
+
+    @BeforeEach
+    void setUp() {
+        testUser = User.builder().id(1L).username("testuser").build();
+        Category category = Category.builder().id(1L).name("Electronics").build();
+
+        testCart = Cart.builder().id(10L).user(testUser).cartItems(new HashSet<>()).build();
+        for (long i = 1; i <= 3; i++) {
+            Product product = Product.builder()
+                    .id(100L + i)
+                    .name("Product " + i)
+                    .price(BigDecimal.valueOf(10L * i))
+                    .stockQuantity(5)
+                    .category(category)
+                    .build();
+            testCart.getCartItems().add(CartItem.builder().id(i).product(product).quantity((int) i).build());
+        }
+
+        addressDTO = AddressDTO.builder()
+                .street("1 Main St")
+                .city("Nairobi")
+                .state("Nairobi")
+                .postalCode("00100")
+                .country("Kenya")
+                .build();
+    }
+
+    @Test
+    void givenCart_whenPlaceOrderFromCart_thenCommitsReservationsAndClearsCartOnce() {
+        // Given
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(cartRepository.findByUserIdWithItems(1L)).thenReturn(Optional.of(testCart));
+        when(addressRepository.save(any(Address.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        OrderDTO orderDTO = orderService.placeOrderFromCart(1L, addressDTO);
+
+        // Then
+        assertThat(orderDTO.getOrderItems()).hasSize(3);
+        assertThat(orderDTO.getTotalAmount()).isEqualByComparingTo(BigDecimal.valueOf(10 + 40 + 90));
+        verify(inventoryReservationService, times(1)).commit(eq(1L), anyCollection());
+        verify(orderRepository, times(1)).save(any(Order.class));
+        verify(cartService, times(1)).clearCart(1L);
+    }
+
+    @Test
+    void givenInsufficientStock_whenPlaceOrderFromCart_thenThrowsIllegalArgumentException() {
+        // Given
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(cartRepository.findByUserIdWithItems(1L)).thenReturn(Optional.of(testCart));
+        doThrow(new IllegalArgumentException("Not enough stock for product: Product 1"))
+                .when(inventoryReservationService).commit(eq(1L), anyCollection());
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> orderService.placeOrderFromCart(1L, addressDTO));
+        verify(orderRepository, never()).save(any(Order.class));
+        verify(cartService, never()).clearCart(anyLong());
+    }
+}
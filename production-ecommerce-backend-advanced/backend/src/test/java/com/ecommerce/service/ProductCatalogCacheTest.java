@@ -0,0 +1,128 @@
+package com.ecommerce.service;
+
+import com.ecommerce.dto.ProductDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the Lua put and eviction scripts against a real Redis.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("ProductCatalogCache Redis Tests")
+class ProductCatalogCacheTest {
+
+    @Container
+    private static final GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private ProductCatalogCache productCatalogCache;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(redis.getHost(), redis.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.getRequiredConnectionFactory().getConnection().serverCommands().flushAll();
+        productCatalogCache = newCache();
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void givenEvictionAfterLoad_whenPuttingProduct_thenStaleEntryIsRefused() {
+        ProductCatalogCache.ProductVersion beforeLoad = productCatalogCache.productVersion();
+        productCatalogCache.evictProduct(1L); // A write committed while the stale row was being mapped
+
+        productCatalogCache.putProduct(product(1L, 5L, "Old name"), beforeLoad);
+
+        assertThat(productCatalogCache.getProduct(1L)).isNull();
+        productCatalogCache.putProduct(product(1L, 5L, "New name"), productCatalogCache.productVersion());
+        assertThat(newCache().getProduct(1L).getName()).isEqualTo("New name");
+    }
+
+    @Test
+    void givenEvictionOfAnotherProduct_whenPuttingProduct_thenEntryIsStored() {
+        ProductCatalogCache.ProductVersion beforeLoad = productCatalogCache.productVersion();
+        productCatalogCache.evictProduct(2L);
+
+        productCatalogCache.putProduct(product(1L, 5L, "Laptop"), beforeLoad);
+
+        assertThat(newCache().getProduct(1L).getName()).isEqualTo("Laptop");
+    }
+
+    @Test
+    void givenEvictionAfterLoad_whenPuttingProductsInOneBatch_thenOnlyTheEvictedEntryIsRefused() {
+        ProductCatalogCache.ProductVersion beforeLoad = productCatalogCache.productVersion();
+        productCatalogCache.evictProduct(1L);
+
+        productCatalogCache.putProducts(List.of(product(1L, 5L, "Laptop"), product(2L, 5L, "Phone")), beforeLoad);
+
+        assertThat(newCache().getProducts(List.of(1L, 2L))).containsOnlyKeys(2L);
+    }
+
+    @Test
+    void givenCachedProducts_whenCategoryIsEvicted_thenItsEntriesAreDroppedAndTheTagExpires() {
+        productCatalogCache.putProducts(List.of(product(1L, 5L, "Laptop"), product(2L, 5L, "Phone"), product(3L, 6L, "Desk")),
+                productCatalogCache.productVersion());
+
+        Long tagTtl = redisTemplate.getExpire("catalog:tag:category:5:products");
+        assertThat(tagTtl).isPositive().isLessThanOrEqualTo(300);
+
+        productCatalogCache.evictCategory(5L);
+
+        assertThat(productCatalogCache.getProducts(List.of(1L, 2L, 3L))).containsOnlyKeys(3L);
+        assertThat(redisTemplate.hasKey("catalog:tag:category:5:products")).isFalse();
+    }
+
+    @Test
+    void givenListingEvictionAfterLoad_whenPuttingPage_thenPageIsRefused() {
+        ProductCatalogCache.CachedPage page = new ProductCatalogCache.CachedPage(new long[]{1L, 2L}, 2);
+        ProductCatalogCache.PageVersion beforeLoad = productCatalogCache.pageVersion(5L, "name");
+        productCatalogCache.evictListings(5L);
+
+        productCatalogCache.putPage(5L, 0, 10, "name", "asc", page, beforeLoad);
+
+        assertThat(productCatalogCache.getPage(5L, 0, 10, "name", "asc")).isNull();
+    }
+
+    @Test
+    void givenCachedPage_whenSortFieldChanges_thenOnlyPagesSortedByItAreEvicted() {
+        ProductCatalogCache.CachedPage page = new ProductCatalogCache.CachedPage(new long[]{1L, 2L}, 2);
+        productCatalogCache.putPage(5L, 0, 10, "name", "asc", page, productCatalogCache.pageVersion(5L, "name"));
+        productCatalogCache.putPage(5L, 0, 10, "price", "asc", page, productCatalogCache.pageVersion(5L, "price"));
+
+        productCatalogCache.evictListings(5L, List.of("price"));
+
+        ProductCatalogCache otherNode = newCache();
+        assertThat(otherNode.getPage(5L, 0, 10, "name", "asc").productIds()).containsExactly(1L, 2L);
+        assertThat(otherNode.getPage(5L, 0, 10, "price", "asc")).isNull();
+    }
+
+    // A node with an empty near-cache, so reads go to Redis
+    private ProductCatalogCache newCache() {
+        return new ProductCatalogCache(redisTemplate, new ObjectMapper().findAndRegisterModules(), new SimpleMeterRegistry(), 100, 30);
+    }
+
+    private static ProductDTO product(Long id, Long categoryId, String name) {
+        return ProductDTO.builder().id(id).categoryId(categoryId).name(name).price(BigDecimal.TEN).stockQuantity(1).build();
+    }
+}
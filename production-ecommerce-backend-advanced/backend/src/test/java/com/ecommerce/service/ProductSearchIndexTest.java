@@ -0,0 +1,212 @@
+package com.ecommerce.service;
+
+import com.ecommerce.Benchmark;
+import com.ecommerce.entity.Category;
+import com.ecommerce.entity.Product;
+import com.ecommerce.entity.ProductTombstone;
+import com.ecommerce.repository.ProductRepository;
+import com.ecommerce.repository.ProductTombstoneRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProductSearchIndex Unit Tests")
+class ProductSearchIndexTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductSearchIndexTest.class);
+
+    private static final String[] ADJECTIVES = {"Wireless", "Portable", "Smart", "Ergonomic", "Compact", "Premium", "Rugged", "Classic"};
+    private static final String[] NOUNS = {"Headphones", "Keyboard", "Laptop", "Speaker", "Backpack", "Blender", "Monitor", "Camera"};
+
+    @Mock
+    private ProductRepository productRepository;
+    @Mock
+    private ProductTombstoneRepository productTombstoneRepository;
+
+    private ProductSearchIndex productSearchIndex;
+    private Category electronics;
+    private Category kitchen;
+
+    @BeforeEach
+    void setUp() {
+        productSearchIndex = new ProductSearchIndex(productRepository, productTombstoneRepository, 300, 24);
+        electronics = Category.builder().id(1L).name("Electronics").build();
+        kitchen = Category.builder().id(2L).name("Kitchen").build();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        productSearchIndex.close();
+    }
+
+    @Test
+    void givenPrefixAndTypo_whenSearching_thenMatchesAreRankedByNameFirst() {
+        productSearchIndex.index(product(1L, "Wireless Headphones", "Noise cancelling", electronics));
+        productSearchIndex.index(product(2L, "Headphone Stand", "Keeps your wireless gear tidy", electronics));
+        productSearchIndex.index(product(3L, "Blender", "Smoothies in seconds", kitchen));
+
+        assertThat(productSearchIndex.search("headph", null, 0, 10).productIds()).containsExactly(1L, 2L);
+        assertThat(productSearchIndex.search("wireles headphnes", null, 0, 10).productIds()).containsExactly(1L);
+        assertThat(productSearchIndex.search("kitchen", null, 0, 10).productIds()).containsExactly(3L);
+    }
+
+    @Test
+    void givenCategoryFilter_whenSearching_thenPageIsFilteredButFacetsCoverAllCategories() {
+        for (long id = 1; id <= 25; id++) {
+            productSearchIndex.index(product(id, "Smart Gadget " + id, null, id % 5 == 0 ? kitchen : electronics));
+        }
+
+        ProductSearchIndex.SearchResult all = productSearchIndex.search("smart", null, 2, 10);
+        ProductSearchIndex.SearchResult filtered = productSearchIndex.search("smart", 2L, 0, 10);
+
+        assertThat(all.totalHits()).isEqualTo(25);
+        assertThat(all.productIds()).hasSize(5);
+        assertThat(filtered.totalHits()).isEqualTo(5);
+        assertThat(filtered.productIds()).allMatch(id -> id % 5 == 0);
+        assertThat(filtered.categoryFacets()).containsEntry("Electronics", 20L).containsEntry("Kitchen", 5L);
+    }
+
+    @Test
+    void givenUpdateAndDelete_whenSearching_thenIndexReflectsLatestWrites() {
+        Product product = product(1L, "Classic Camera", null, electronics);
+        productSearchIndex.index(product);
+        product.setName("Vintage Camera");
+        productSearchIndex.index(product);
+        productSearchIndex.index(product(2L, "Camera Bag", null, electronics));
+        productSearchIndex.delete(2L);
+
+        assertThat(productSearchIndex.search("classic", null, 0, 10).productIds()).isEmpty();
+        assertThat(productSearchIndex.search("camera", null, 0, 10).productIds()).containsExactly(1L);
+    }
+
+    @Test
+    void givenRebuildNotFinished_whenSyncing_thenDatabaseIsNotQueried() {
+        productSearchIndex.syncChanges();
+
+        verifyNoInteractions(productRepository, productTombstoneRepository);
+    }
+
+    @Test
+    void givenWritesOnOtherNodes_whenSyncing_thenChangesAreReadFromTheDatabaseWatermarkMinusOverlap() {
+        LocalDateTime watermark = LocalDateTime.of(2024, 5, 1, 12, 0);
+        when(productRepository.findLatestUpdatedAt()).thenReturn(watermark);
+        when(productTombstoneRepository.findLatestDeletedAt()).thenReturn(null);
+        when(productRepository.findBatchWithCategory(anyLong(), any(Pageable.class)))
+                .thenReturn(List.of(product(1L, "Classic Camera", null, electronics), product(2L, "Camera Bag", null, electronics)));
+        productSearchIndex.rebuild();
+
+        Product renamed = product(1L, "Vintage Camera", null, electronics);
+        renamed.setUpdatedAt(watermark.plusSeconds(30));
+        when(productRepository.findUpdatedSinceWithCategory(eq(watermark.minusMinutes(5)), eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(renamed));
+        when(productTombstoneRepository.findDeletedSince(eq(LocalDateTime.of(1970, 1, 1, 0, 0).minusMinutes(5)), eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(ProductTombstone.builder().productId(2L).deletedAt(watermark.plusSeconds(40)).build()));
+        productSearchIndex.syncChanges();
+
+        assertThat(productSearchIndex.search("camera", null, 0, 10).productIds()).containsExactly(1L);
+        assertThat(productSearchIndex.search("vintage", null, 0, 10).productIds()).containsExactly(1L);
+
+        // The next sync reaches back from the latest timestamps it has seen
+        productSearchIndex.syncChanges();
+        verify(productRepository).findUpdatedSinceWithCategory(eq(watermark.plusSeconds(30).minusMinutes(5)), eq(0L), any(Pageable.class));
+        verify(productTombstoneRepository).findDeletedSince(eq(watermark.plusSeconds(40).minusMinutes(5)), eq(0L), any(Pageable.class));
+    }
+
+    @Test
+    void givenCategoryDelete_whenDeleting_thenTombstonesAreWrittenForItsProducts() {
+        when(productRepository.findIdsByCategoryId(2L)).thenReturn(List.of(3L, 4L));
+
+        productSearchIndex.deleteCategory(2L);
+
+        verify(productTombstoneRepository).saveAll(List.of(
+                ProductTombstone.builder().productId(3L).build(), ProductTombstone.builder().productId(4L).build()));
+    }
+
+    /**
+     * Compares index lookups against a full scan with the semantics of {@code name ILIKE '%query%'}, which is
+     * what the database had to do per search. The scan runs over in-memory strings, so it is a lower bound on
+     * the database's cost. Defaults to 100k products; run with {@code -Dsearch.benchmark.products=1000000}
+     * for the full-size catalog.
+     */
+    @Test
+    @Benchmark
+    void givenSyntheticCatalog_whenSearching_thenIndexBeatsFullScan() {
+        int size = Integer.getInteger("search.benchmark.products", 100_000);
+        Random random = new Random(42);
+        List<Product> catalog = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            String name = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + NOUNS[random.nextInt(NOUNS.length)] + " " + id;
+            catalog.add(product(id, name, "Model " + Long.toHexString(random.nextLong()), id % 2 == 0 ? electronics : kitchen));
+        }
+        when(productRepository.findBatchWithCategory(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(0);
+            Pageable pageable = invocation.getArgument(1);
+            return catalog.subList((int) afterId, (int) Math.min(afterId + pageable.getPageSize(), size));
+        });
+
+        long buildStart = System.nanoTime();
+        productSearchIndex.rebuild();
+        long buildMillis = (System.nanoTime() - buildStart) / 1_000_000;
+
+        String[] queries = {"ergonomic keyboard", "portable speaker", "rugged camera", "smart monitor"};
+        int iterations = 50;
+        for (int i = 0; i < 200; i++) { // Warm-up
+            productSearchIndex.search(queries[i % queries.length], null, 0, 20);
+            scan(catalog, queries[i % queries.length]);
+        }
+
+        long indexStart = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            productSearchIndex.search(queries[i % queries.length], null, 0, 20);
+        }
+        long indexNanos = System.nanoTime() - indexStart;
+
+        long scanStart = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            scan(catalog, queries[i % queries.length]);
+        }
+        long scanNanos = System.nanoTime() - scanStart;
+
+        log.info("{} products (index built in {} ms): index {} us/query, full scan {} us/query",
+                size, buildMillis, indexNanos / iterations / 1000, scanNanos / iterations / 1000);
+        assertThat(indexNanos).isLessThan(scanNanos);
+    }
+
+    private static List<Product> scan(List<Product> catalog, String query) {
+        String needle = query.toLowerCase(Locale.ROOT);
+        List<Product> matches = new ArrayList<>();
+        for (Product product : catalog) {
+            if (product.getName().toLowerCase(Locale.ROOT).contains(needle)) {
+                matches.add(product);
+            }
+        }
+        return matches;
+    }
+
+    private static Product product(long id, String name, String description, Category category) {
+        return Product.builder().id(id).name(name).description(description).category(category).build();
+    }
+}
@@ -1,6 +1,7 @@
 package com.ecommerce.service;
 
 import com.ecommerce.dto.ProductDTO;
+import com.ecommerce.dto.ProductSearchResultDTO;
 import com.ecommerce.entity.Category;
 import com.ecommerce.entity.Product;
 import com.ecommerce.exception.ResourceNotFoundException;
@@ -22,7 +23,9 @@ import org.springframework.data.domain.Sort;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -40,6 +43,18 @@ class ProductServiceTest {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private CartViewCache cartViewCache;
+
+    @Mock
+    private ProductCatalogCache productCatalogCache;
+
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+
+    @Mock
+    private InventoryReservationService inventoryReservationService;
+
     @InjectMocks
     private ProductService productService;
 
@@ -163,6 +178,26 @@ class ProductServiceTest {
         verify(productRepository, times(1)).findAll(pageable);
     }
 
+    @Test
+    void givenCachedPage_whenGetAllProducts_thenRehydratesFromEntryCacheWithoutQueryingListing() {
+        // Given
+        ProductDTO cachedProduct1 = ProductDTO.builder().id(101L).name("Laptop Pro X").build();
+        when(productCatalogCache.getPage(null, 0, 10, "id", "asc"))
+                .thenReturn(new ProductCatalogCache.CachedPage(new long[]{101L, 102L}, 2));
+        when(productCatalogCache.getProducts(List.of(101L, 102L)))
+                .thenReturn(new HashMap<>(Map.of(101L, cachedProduct1)));
+        when(productRepository.findAllByIdWithCategory(List.of(102L))).thenReturn(List.of(testProduct2));
+
+        // When
+        Page<ProductDTO> result = productService.getAllProducts(0, 10, "id", "asc", null);
+
+        // Then
+        assertThat(result.getTotalElements()).isEqualTo(2);
+        assertThat(result.getContent()).extracting(ProductDTO::getId).containsExactly(101L, 102L);
+        verify(productRepository, never()).findAll(any(Pageable.class));
+        verify(productCatalogCache, times(1)).putProducts(argThat(products -> products.size() == 1), any());
+    }
+
     @Test
     void givenValidProductIdAndDTO_whenUpdateProduct_thenReturnsUpdatedProductDTO() {
         // Given
@@ -178,6 +213,7 @@ class ProductServiceTest {
         when(productRepository.findById(101L)).thenReturn(Optional.of(testProduct1));
         when(categoryRepository.findById(1L)).thenReturn(Optional.of(testCategory));
         when(productRepository.save(any(Product.class))).thenReturn(testProduct1); // Mock save to return the modified existing product
+        when(productRepository.adjustStock(101L, -5)).thenReturn(1);
 
         // When
         ProductDTO updatedProduct = productService.updateProduct(101L, updateDTO);
@@ -190,6 +226,9 @@ class ProductServiceTest {
         verify(productRepository, times(1)).findById(101L);
         verify(categoryRepository, times(1)).findById(1L);
         verify(productRepository, times(1)).save(any(Product.class));
+        verify(productCatalogCache, times(1)).evictProduct(101L);
+        verify(productCatalogCache, never()).evictListings(1L); // Same category: whole listing stays cached
+        verify(inventoryReservationService).adjustStock(101L, -5); // 50 -> 45, applied as a delta
     }
 
     @Test
@@ -227,18 +266,36 @@ class ProductServiceTest {
     }
 
     @Test
-    void givenSearchQuery_whenSearchProducts_thenReturnsListOfProductDTOs() {
+    void givenSearchQuery_whenSearchProducts_thenReturnsRankedPageWithFacets() {
         // Given
-        String query = "laptop";
-        when(productRepository.findByNameContainingIgnoreCase(query)).thenReturn(List.of(testProduct1));
+        String query = "lapt";
+        when(productSearchIndex.search(query, null, 0, 10)).thenReturn(new ProductSearchIndex.SearchResult(
+                List.of(102L, 101L, 999L), 3, Map.of("Electronics", 3L)));
+        when(productCatalogCache.getProducts(List.of(102L, 101L, 999L))).thenReturn(new HashMap<>());
+        when(productRepository.findAllByIdWithCategory(List.of(102L, 101L, 999L))).thenReturn(List.of(testProduct1, testProduct2));
 
         // When
-        List<ProductDTO> results = productService.searchProducts(query);
+        ProductSearchResultDTO result = productService.searchProducts(query, null, 0, 10);
+
+        // Then
+        assertThat(result.getProducts().getContent()).extracting(ProductDTO::getId).containsExactly(102L, 101L);
+        assertThat(result.getProducts().getTotalElements()).isEqualTo(2); // 999 was deleted since it was indexed
+        assertThat(result.getCategoryFacets()).containsEntry("Electronics", 3L);
+    }
+
+    @Test
+    void givenProductChanges_whenWriting_thenSearchIndexIsKeptCurrent() {
+        // Given
+        when(categoryRepository.findById(1L)).thenReturn(Optional.of(testCategory));
+        when(productRepository.save(any(Product.class))).thenReturn(testProduct1);
+        when(productRepository.findById(101L)).thenReturn(Optional.of(testProduct1));
+
+        // When
+        productService.createProduct(productDTO);
+        productService.deleteProduct(101L);
 
         // Then
-        assertThat(results).isNotNull();
-        assertThat(results).hasSize(1);
-        assertThat(results.get(0).getName()).isEqualTo("Laptop Pro X");
-        verify(productRepository, times(1)).findByNameContainingIgnoreCase(query);
+        verify(productSearchIndex, times(1)).index(testProduct1);
+        verify(productSearchIndex, times(1)).delete(101L);
     }
-}
\ No newline at end of file
+}
@@ -108,6 +108,10 @@ CREATE TABLE IF NOT EXISTS order_items (
     FOREIGN KEY (product_id) REFERENCES products(id) ON DELETE RESTRICT
 );
 
+-- Match the entity's sequence allocationSize so order item ids can be pre-allocated and inserts batched
+-- (databases created before this line are migrated by db/migration/postgresql/V1__order_items_sequence_increment.sql)
+ALTER SEQUENCE order_items_id_seq INCREMENT BY 50;
+
 -- Create payments table (simplified, could be more complex with transaction details)
 CREATE TABLE IF NOT EXISTS payments (
     id BIGSERIAL PRIMARY KEY,
@@ -121,11 +125,19 @@ CREATE TABLE IF NOT EXISTS payments (
     FOREIGN KEY (order_id) REFERENCES orders(id) ON DELETE CASCADE
 );
 
+-- Create product_tombstones table (deletions, for the other nodes' search index sync)
+CREATE TABLE IF NOT EXISTS product_tombstones (
+    product_id BIGINT PRIMARY KEY,
+    deleted_at TIMESTAMP WITHOUT TIME ZONE NOT NULL
+);
+
 -- Indexing for query optimization
 CREATE INDEX IF NOT EXISTS idx_users_username ON users (username);
 CREATE INDEX IF NOT EXISTS idx_users_email ON users (email);
 CREATE INDEX IF NOT EXISTS idx_products_category_id ON products (category_id);
 CREATE INDEX IF NOT EXISTS idx_products_name ON products (name);
+CREATE INDEX IF NOT EXISTS idx_products_updated_at ON products (updated_at, id);
+CREATE INDEX IF NOT EXISTS idx_product_tombstones_deleted_at ON product_tombstones (deleted_at);
 CREATE INDEX IF NOT EXISTS idx_carts_user_id ON carts (user_id);
 CREATE INDEX IF NOT EXISTS idx_cart_items_cart_id ON cart_items (cart_id);
 CREATE INDEX IF NOT EXISTS idx_cart_items_product_id ON cart_items (product_id);
@@ -0,0 +1,152 @@
+```java
+package com.taskflow.accesslog;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.unit.DataSize;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request-thread cost of the access log: what {@link AccessLogInterceptor} does per request (request ID, MDC string,
+ * timing, buffer offer). A run where some calls are recorded and others dropped averages two very different costs in
+ * an unknown ratio, so the two paths are measured separately:
+ * <ul>
+ *     <li>{@code record*}: a consumer thread spins on the ring and drains it into a no-op, standing in for the
+ *     writer, which cannot keep up with benchmark producers. The score only describes the record path while the
+ *     {@code dropped} counter reported next to it is 0.</li>
+ *     <li>{@code drop*}: the ring is full and never drained, so every call is dropped.</li>
+ * </ul>
+ * Writing the log file happens on the writer thread, off the request path, and is not measured here.
+ *
+ * Run with: {@code ./gradlew jmh}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccessLogBenchmark {
+
+    private AccessLogService accessLogService; // Request IDs only; never started, its own ring stays empty
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        accessLogService = new AccessLogService(Jackson2ObjectMapperBuilder.json().build(), new SimpleMeterRegistry(), 2,
+                "access.log", DataSize.ofMegabytes(50), 2, 500);
+    }
+
+    /**
+     * A ring large enough to absorb bursts, drained as fast as a consumer can go.
+     */
+    @State(Scope.Benchmark)
+    public static class DrainedRing {
+        AccessLogBuffer buffer;
+        private volatile boolean running;
+        private Thread consumer;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            buffer = new AccessLogBuffer(1 << 16);
+            running = true;
+            consumer = new Thread(() -> {
+                while (running) {
+                    if (buffer.drain(entry -> { }, buffer.capacity()) == 0) {
+                        Thread.onSpinWait();
+                    }
+                }
+            }, "access-log-benchmark-consumer");
+            consumer.setDaemon(true);
+            consumer.start();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws InterruptedException {
+            running = false;
+            consumer.join();
+        }
+    }
+
+    /**
+     * A ring that is full and never drained.
+     */
+    @State(Scope.Benchmark)
+    public static class FullRing {
+        AccessLogBuffer buffer;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            buffer = new AccessLogBuffer(2);
+            while (buffer.offer(0, 0, "GET", "/", 200, 0, "10.0.0.1", null)) {
+                // Fill every slot
+            }
+        }
+    }
+
+    /**
+     * Outcome of the measured calls, reported by JMH next to the score.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+        public long recorded;
+        public long dropped;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            recorded = 0;
+            dropped = 0;
+        }
+    }
+
+    @Benchmark
+    public String recordRequest(DrainedRing ring, Outcomes outcomes) {
+        return request(ring.buffer, outcomes);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String recordRequestContended(DrainedRing ring, Outcomes outcomes) {
+        return request(ring.buffer, outcomes);
+    }
+
+    @Benchmark
+    public String dropRequest(FullRing ring, Outcomes outcomes) {
+        return request(ring.buffer, outcomes);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String dropRequestContended(FullRing ring, Outcomes outcomes) {
+        return request(ring.buffer, outcomes);
+    }
+
+    private String request(AccessLogBuffer buffer, Outcomes outcomes) {
+        long requestId = accessLogService.nextRequestId();
+        String formattedId = accessLogService.formatRequestId(requestId);
+        long timestamp = System.currentTimeMillis();
+        long start = System.nanoTime();
+        if (buffer.offer(requestId, timestamp, "GET", "/api/tasks/42", 200, System.nanoTime() - start, "10.0.0.1", null)) {
+            outcomes.recorded++;
+        } else {
+            outcomes.dropped++;
+        }
+        return formattedId;
+    }
+}
+```
\ No newline at end of file
@@ -0,0 +1,85 @@
+```java
+package com.taskflow.util;
+
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link PerformanceAspect} around a trivial service method, per instrumentation mode:
+ * <ul>
+ *     <li>{@code none}: plain call, no proxy</li>
+ *     <li>{@code excluded}: proxied, but the class is excluded by a package rule</li>
+ *     <li>{@code full}: every call timed (the behaviour before sampling)</li>
+ *     <li>{@code probability}: 1% of calls timed</li>
+ *     <li>{@code rate}: at most 50 timed calls per second</li>
+ * </ul>
+ *
+ * Run with: {@code ./gradlew jmh}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PerformanceAspectBenchmark {
+
+    public static class EchoService {
+        public String echo(String value) {
+            return value;
+        }
+    }
+
+    @Param({"none", "excluded", "full", "probability", "rate"})
+    public String mode;
+
+    private EchoService service;
+    private String value = "task";
+
+    @Setup
+    public void setUp() {
+        EchoService target = new EchoService();
+        if (mode.equals("none")) {
+            service = target;
+            return;
+        }
+        PerformanceAspect aspect = switch (mode) {
+            case "excluded" -> aspect(List.of("com.taskflow.util"), "probability", 1.0);
+            case "full" -> aspect(List.of(), "probability", 1.0);
+            case "probability" -> aspect(List.of(), "probability", 0.01);
+            case "rate" -> aspect(List.of(), "rate", 1.0);
+            default -> throw new IllegalArgumentException("Unknown mode " + mode);
+        };
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        service = factory.getProxy();
+    }
+
+    private static PerformanceAspect aspect(List<String> excludes, String strategy, double sampleRate) {
+        return new PerformanceAspect(new PrometheusMeterRegistry(PrometheusConfig.DEFAULT), List.of("com.taskflow"), excludes,
+                strategy, sampleRate, 50, Duration.ofMillis(500));
+    }
+
+    @Benchmark
+    public String call() {
+        return service.echo(value);
+    }
+}
+```
\ No newline at end of file
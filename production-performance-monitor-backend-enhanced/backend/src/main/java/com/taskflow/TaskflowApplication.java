@@ -5,10 +5,12 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableCaching // Enable Spring's caching abstraction
 @EnableAspectJAutoProxy(proxyTargetClass = true) // Enable AspectJ proxying for @Aspect
+@EnableScheduling // Adaptive method timing in PerformanceAspect
 public class TaskflowApplication {
 
     public static void main(String[] args) {
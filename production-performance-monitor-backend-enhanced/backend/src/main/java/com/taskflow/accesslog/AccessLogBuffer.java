@@ -0,0 +1,104 @@
+```java
+package com.taskflow.accesslog;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Bounded multi-producer, single-consumer ring of preallocated {@link AccessLogEntry} slots. Request threads claim a
+ * slot with one CAS and copy their fields into it, so recording allocates nothing; when the ring is full the entry is
+ * dropped and counted instead of blocking the request.
+ */
+class AccessLogBuffer {
+
+    private final AccessLogEntry[] slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong(); // Next sequence to claim
+    private long head; // Next sequence to drain; only touched by the consumer
+    private final LongAdder dropped = new LongAdder();
+
+    AccessLogBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Access log buffer size must be a power of two, got " + capacity);
+        }
+        this.slots = new AccessLogEntry[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new AccessLogEntry(i);
+        }
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * @return false if the buffer was full and the entry was dropped.
+     */
+    boolean offer(long requestId, long timestamp, String method, String uri, int status, long durationNanos,
+                  String clientIp, String error) {
+        AccessLogEntry slot;
+        long sequence;
+        while (true) {
+            sequence = tail.get();
+            slot = slots[(int) sequence & mask];
+            long available = slot.sequence - sequence;
+            if (available == 0) {
+                if (tail.compareAndSet(sequence, sequence + 1)) {
+                    break;
+                }
+            } else if (available < 0) {
+                dropped.increment(); // The consumer has not drained this slot yet
+                return false;
+            }
+            // Otherwise another producer claimed this sequence first; retry with the new tail
+        }
+        slot.requestId = requestId;
+        slot.timestamp = timestamp;
+        slot.method = method;
+        slot.uri = uri;
+        slot.status = status;
+        slot.durationNanos = durationNanos;
+        slot.clientIp = clientIp;
+        slot.error = error;
+        slot.sequence = sequence + 1; // Publish to the consumer
+        return true;
+    }
+
+    /**
+     * Hands up to {@code max} published entries to {@code consumer}, in order. The entry is only valid during the
+     * callback. Must only be called from one thread.
+     * @return Number of entries drained.
+     */
+    int drain(Consumer<AccessLogEntry> consumer, int max) {
+        int drained = 0;
+        while (drained < max) {
+            AccessLogEntry slot = slots[(int) head & mask];
+            if (slot.sequence != head + 1) {
+                break; // Not published yet
+            }
+            consumer.accept(slot);
+            slot.method = null; // Don't keep request strings reachable while the slot is idle
+            slot.uri = null;
+            slot.clientIp = null;
+            slot.error = null;
+            slot.sequence = head + slots.length; // Free for the producer one lap later
+            head++;
+            drained++;
+        }
+        return drained;
+    }
+
+    long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * @return Entries waiting to be drained (approximate while producers are active).
+     */
+    long size() {
+        return Math.max(0, tail.get() - head);
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+}
+```
\ No newline at end of file
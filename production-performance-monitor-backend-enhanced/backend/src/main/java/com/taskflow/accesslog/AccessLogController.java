@@ -0,0 +1,36 @@
+```java
+package com.taskflow.accesslog;
+
+import com.taskflow.accesslog.dto.AccessLogRecord;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/access-log")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "Bearer Authentication")
+@Tag(name = "Access Log", description = "Recently completed requests")
+public class AccessLogController {
+
+    private final AccessLogService accessLogService;
+
+    @Operation(summary = "Tail the access log (newest first, Admin only)",
+            responses = @ApiResponse(responseCode = "200", description = "Recent requests"))
+    @GetMapping("/recent")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<AccessLogRecord>> getRecentRequests(@RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(accessLogService.getRecent(Math.max(limit, 0)));
+    }
+}
+```
\ No newline at end of file
@@ -0,0 +1,25 @@
+```java
+package com.taskflow.accesslog;
+
+/**
+ * A reusable slot of {@link AccessLogBuffer}. The fields are written by one request thread and published by the
+ * volatile write of {@link #sequence}, which orders them before the consumer reads them.
+ */
+final class AccessLogEntry {
+
+    volatile long sequence;
+
+    long requestId;
+    long timestamp; // Epoch millis at the start of the request
+    String method;
+    String uri;
+    int status;
+    long durationNanos;
+    String clientIp;
+    String error; // Exception class name, if the handler failed
+
+    AccessLogEntry(long sequence) {
+        this.sequence = sequence;
+    }
+}
+```
\ No newline at end of file
@@ -0,0 +1,60 @@
+```java
+package com.taskflow.accesslog;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Assigns each request an ID (MDC {@code requestId} and the {@code X-Request-Id} response header) and hands the
+ * completed request to {@link AccessLogService}. Nothing is formatted or written on the request thread.
+ */
+@Component
+@RequiredArgsConstructor
+public class AccessLogInterceptor implements HandlerInterceptor {
+
+    private static final String REQUEST_ID_KEY = "requestId";
+    private static final String REQUEST_ID_HEADER = "X-Request-Id";
+    private static final String TIMING_ATTRIBUTE = AccessLogInterceptor.class.getName() + ".timing";
+
+    private final AccessLogService accessLogService;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        long requestId = accessLogService.nextRequestId();
+        String formattedId = accessLogService.formatRequestId(requestId);
+        MDC.put(REQUEST_ID_KEY, formattedId);
+        response.setHeader(REQUEST_ID_HEADER, formattedId);
+        request.setAttribute(TIMING_ATTRIBUTE, new long[]{requestId, System.currentTimeMillis(), System.nanoTime()});
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        long[] timing = (long[]) request.getAttribute(TIMING_ATTRIBUTE);
+        if (timing == null) {
+            return;
+        }
+        int status = response.getStatus();
+        if (ex != null && status < 400) {
+            status = 500; // The exception propagates to the container, which responds with 500
+        }
+        accessLogService.record(timing[0], timing[1], request.getMethod(), request.getRequestURI(), status,
+                System.nanoTime() - timing[2], getClientIp(request), ex != null ? ex.getClass().getName() : null);
+        MDC.remove(REQUEST_ID_KEY);
+    }
+
+    private String getClientIp(HttpServletRequest request) {
+        String xfHeader = request.getHeader("X-Forwarded-For");
+        if (xfHeader == null || xfHeader.isEmpty()) {
+            return request.getRemoteAddr();
+        }
+        // If multiple IPs are forwarded, the first one is usually the client's IP
+        int comma = xfHeader.indexOf(',');
+        return comma < 0 ? xfHeader.trim() : xfHeader.substring(0, comma).trim();
+    }
+}
+```
\ No newline at end of file
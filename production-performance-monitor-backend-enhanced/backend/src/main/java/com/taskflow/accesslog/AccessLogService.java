@@ -0,0 +1,210 @@
+```java
+package com.taskflow.accesslog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.taskflow.accesslog.dto.AccessLogRecord;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Access log pipeline. Request threads only copy request metadata into a preallocated ring buffer; a background
+ * thread turns the entries into JSON lines, appends them to a rolling file, and keeps the most recent ones for
+ * {@link AccessLogController}. Entries that don't fit in the buffer are dropped and counted.
+ */
+@Service
+@Slf4j
+public class AccessLogService {
+
+    private static final int DRAIN_BATCH_SIZE = 256;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final AccessLogBuffer buffer;
+    private final ObjectWriter objectWriter;
+    private final Path file;
+    private final long maxFileSize;
+    private final int maxHistory;
+
+    // Request IDs: a random per-process prefix plus a counter, so they stay unique across instances and restarts
+    private final String requestIdPrefix = String.format("%08x-", ThreadLocalRandom.current().nextInt());
+    private final AtomicLong requestSequence = new AtomicLong();
+
+    // Ring of the latest records for the tail endpoint; filled by the writer thread, guarded by its monitor
+    private final AccessLogRecord[] recent;
+    private long recentCount;
+
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong writeFailures = new AtomicLong();
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public AccessLogService(ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.access-log.buffer-size:8192}") int bufferSize,
+                            @Value("${app.access-log.file:logs/access.log}") String file,
+                            @Value("${app.access-log.max-file-size:50MB}") DataSize maxFileSize,
+                            @Value("${app.access-log.max-history:10}") int maxHistory,
+                            @Value("${app.access-log.recent-size:500}") int recentSize) {
+        this.buffer = new AccessLogBuffer(bufferSize);
+        this.objectWriter = objectMapper.writerFor(AccessLogRecord.class);
+        this.file = Path.of(file);
+        this.maxFileSize = maxFileSize.toBytes();
+        this.maxHistory = maxHistory;
+        this.recent = new AccessLogRecord[Math.max(recentSize, 1)];
+
+        FunctionCounter.builder("app.access_log.written", written, AtomicLong::get)
+                .description("Access log entries written to the log file")
+                .register(meterRegistry);
+        FunctionCounter.builder("app.access_log.dropped", buffer, AccessLogBuffer::getDroppedCount)
+                .description("Access log entries dropped because the buffer was full")
+                .register(meterRegistry);
+        FunctionCounter.builder("app.access_log.write_failures", writeFailures, AtomicLong::get)
+                .description("Access log entries that could not be written to the log file")
+                .register(meterRegistry);
+        Gauge.builder("app.access_log.buffer.size", buffer, AccessLogBuffer::size)
+                .description("Access log entries waiting to be written")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writerThread = new Thread(this::writeLoop, "access-log-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writerThread);
+        writerThread.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    public long nextRequestId() {
+        return requestSequence.incrementAndGet();
+    }
+
+    public String formatRequestId(long requestId) {
+        return requestIdPrefix + Long.toHexString(requestId);
+    }
+
+    /**
+     * Queues one completed request. Never blocks; the entry is dropped if the writer has fallen behind.
+     */
+    public void record(long requestId, long timestamp, String method, String uri, int status, long durationNanos,
+                       String clientIp, String error) {
+        buffer.offer(requestId, timestamp, method, uri, status, durationNanos, clientIp, error);
+    }
+
+    /**
+     * @return Up to {@code limit} of the most recently written requests, newest first.
+     */
+    public List<AccessLogRecord> getRecent(int limit) {
+        synchronized (recent) {
+            int count = (int) Math.min(Math.min(limit, recent.length), recentCount);
+            List<AccessLogRecord> records = new ArrayList<>(Math.max(count, 0));
+            for (int i = 1; i <= count; i++) {
+                records.add(recent[(int) ((recentCount - i) % recent.length)]);
+            }
+            return records;
+        }
+    }
+
+    public long getDroppedCount() {
+        return buffer.getDroppedCount();
+    }
+
+    private void writeLoop() {
+        RollingAccessLogFile output = null;
+        try {
+            output = new RollingAccessLogFile(file, maxFileSize, maxHistory);
+        } catch (IOException e) {
+            log.error("Cannot open access log file {}, access log entries will only be kept in memory: {}", file, e.getMessage());
+        }
+        while (true) {
+            boolean stopping = !running; // Read before draining, so entries queued before stop() are still written
+            int drained = drainBatch(output);
+            if (drained == 0) {
+                flush(output);
+                if (stopping) {
+                    break;
+                }
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+        if (output != null) {
+            try {
+                output.close();
+            } catch (IOException e) {
+                log.warn("Failed to close access log file {}: {}", file, e.getMessage());
+            }
+        }
+    }
+
+    private int drainBatch(RollingAccessLogFile output) {
+        return buffer.drain(entry -> {
+            AccessLogRecord record = toRecord(entry);
+            synchronized (recent) {
+                recent[(int) (recentCount++ % recent.length)] = record;
+            }
+            write(output, record);
+        }, DRAIN_BATCH_SIZE);
+    }
+
+    private AccessLogRecord toRecord(AccessLogEntry entry) {
+        return new AccessLogRecord(
+                formatRequestId(entry.requestId),
+                Instant.ofEpochMilli(entry.timestamp),
+                entry.method,
+                entry.uri,
+                entry.status,
+                entry.durationNanos / 1_000_000.0,
+                entry.clientIp,
+                entry.error);
+    }
+
+    private void write(RollingAccessLogFile output, AccessLogRecord record) {
+        if (output == null) {
+            writeFailures.incrementAndGet();
+            return;
+        }
+        try {
+            output.writeLine(objectWriter.writeValueAsBytes(record));
+            written.incrementAndGet();
+        } catch (IOException e) {
+            if (writeFailures.getAndIncrement() == 0) {
+                log.error("Failed to write access log file {}: {}", file, e.getMessage());
+            }
+        }
+    }
+
+    private void flush(RollingAccessLogFile output) {
+        if (output == null) {
+            return;
+        }
+        try {
+            output.flush();
+        } catch (IOException e) {
+            log.warn("Failed to flush access log file {}: {}", file, e.getMessage());
+        }
+    }
+}
+```
\ No newline at end of file
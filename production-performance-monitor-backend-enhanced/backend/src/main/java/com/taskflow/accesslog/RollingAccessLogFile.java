@@ -0,0 +1,107 @@
+```java
+package com.taskflow.accesslog;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Size-based rolling file: when the active file would exceed the maximum size, {@code access.log} is renamed to
+ * {@code access.log.1}, older files shift up by one, and the oldest beyond the history limit is deleted.
+ * Not thread-safe; only the access log writer thread uses it.
+ */
+class RollingAccessLogFile implements AutoCloseable {
+
+    private final Path file;
+    private final long maxFileSize;
+    private final int maxHistory;
+
+    private OutputStream out;
+    private long size;
+
+    RollingAccessLogFile(Path file, long maxFileSize, int maxHistory) throws IOException {
+        this.file = file;
+        this.maxFileSize = maxFileSize;
+        this.maxHistory = maxHistory;
+        Path directory = file.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        open();
+    }
+
+    void writeLine(byte[] line) throws IOException {
+        if (out == null) {
+            open(); // Reopening after a failed roll failed too; retried on every write
+        }
+        if (size > 0 && size + line.length + 1 > maxFileSize) {
+            roll();
+        }
+        out.write(line);
+        out.write('\n');
+        size += line.length + 1;
+    }
+
+    void flush() throws IOException {
+        if (out != null) {
+            out.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (out != null) {
+            out.close();
+        }
+    }
+
+    private void open() throws IOException {
+        out = new BufferedOutputStream(Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND), 64 * 1024);
+        size = Files.size(file);
+    }
+
+    /**
+     * If a delete or rename fails, the active file is reopened as it is and the roll is retried by the next write.
+     */
+    private void roll() throws IOException {
+        out.close();
+        out = null;
+        try {
+            shiftArchives();
+        } catch (IOException e) {
+            try {
+                open();
+            } catch (IOException reopenFailure) {
+                e.addSuppressed(reopenFailure);
+            }
+            throw e;
+        }
+        open();
+    }
+
+    private void shiftArchives() throws IOException {
+        if (maxHistory > 0) {
+            Files.deleteIfExists(archive(maxHistory));
+        }
+        for (int i = maxHistory - 1; i >= 1; i--) {
+            Path archive = archive(i);
+            if (Files.exists(archive)) {
+                Files.move(archive, archive(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        if (maxHistory > 0) {
+            Files.move(file, archive(1), StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.delete(file);
+        }
+    }
+
+    private Path archive(int index) {
+        return file.resolveSibling(file.getFileName() + "." + index);
+    }
+}
+```
\ No newline at end of file
@@ -0,0 +1,26 @@
+```java
+package com.taskflow.accesslog.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// One access log line, as written to the JSON-lines file and returned by the tail endpoint
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AccessLogRecord {
+    private String requestId;
+    private Instant timestamp;
+    private String method;
+    private String uri;
+    private int status;
+    private double durationMs;
+    private String clientIp;
+    private String error; // Exception class name, if the handler failed
+}
+```
\ No newline at end of file
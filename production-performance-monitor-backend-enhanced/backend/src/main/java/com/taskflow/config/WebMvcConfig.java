@@ -1,7 +1,7 @@
 ```java
 package com.taskflow.config;
 
-import com.taskflow.util.LoggerInterceptor;
+import com.taskflow.accesslog.AccessLogInterceptor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
@@ -11,18 +11,18 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 @RequiredArgsConstructor
 public class WebMvcConfig implements WebMvcConfigurer {
 
-    private final LoggerInterceptor loggerInterceptor;
+    private final AccessLogInterceptor accessLogInterceptor;
     private final RateLimitingInterceptor rateLimitingInterceptor;
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        // Order matters: Rate Limiting should generally come before request logging
+        // Order matters: the access log comes first so that requests rejected by the rate limiter are logged too
+        registry.addInterceptor(accessLogInterceptor)
+                .addPathPatterns("/**"); // Apply to all requests
+
         registry.addInterceptor(rateLimitingInterceptor)
                 .addPathPatterns("/api/**") // Apply to all API endpoints
                 .excludePathPatterns("/api/auth/**", "/api/users/register"); // Exclude auth endpoints from rate limiting
-
-        registry.addInterceptor(loggerInterceptor)
-                .addPathPatterns("/**"); // Apply to all requests
     }
 }
 ```
\ No newline at end of file
@@ -1,57 +1,221 @@
 ```java
 package com.taskflow.util;
 
+import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Method timing for services and controllers. Meters are created once per method, and only a sample of calls is
+ * timed (every call is still counted). Methods whose sampled p99 goes over the threshold are timed on every call
+ * until it drops back. Packages or classes can be left out with include/exclude rules.
+ */
 @Aspect
 @Component
-@RequiredArgsConstructor
+@ConditionalOnProperty(value = "app.monitoring.method-metrics.enabled", matchIfMissing = true)
 @Slf4j
 public class PerformanceAspect {
 
+    public enum SamplingStrategy {
+        PROBABILITY, // Time each call with probability sample-rate
+        RATE // Time at most samples-per-second calls of each method
+    }
+
     private final MeterRegistry meterRegistry; // Micrometer registry for Prometheus
+    private final List<String> includes;
+    private final List<String> excludes;
+    private final SamplingStrategy strategy;
+    private final long sampleThreshold; // Compared with a random long, so sampling costs no division
+    private final long sampleIntervalNanos;
+    private final double adaptiveP99ThresholdNanos;
+
+    private final ConcurrentMap<Method, MethodMeters> methodMeters = new ConcurrentHashMap<>();
+
+    public PerformanceAspect(MeterRegistry meterRegistry,
+                             @Value("${app.monitoring.method-metrics.include:com.taskflow}") List<String> includes,
+                             @Value("${app.monitoring.method-metrics.exclude:}") List<String> excludes,
+                             @Value("${app.monitoring.method-metrics.sampling.strategy:probability}") String strategy,
+                             @Value("${app.monitoring.method-metrics.sampling.sample-rate:0.1}") double sampleRate,
+                             @Value("${app.monitoring.method-metrics.sampling.samples-per-second:50}") double samplesPerSecond,
+                             @Value("${app.monitoring.method-metrics.adaptive.p99-threshold:500ms}") Duration p99Threshold) {
+        this.meterRegistry = meterRegistry;
+        this.includes = includes.stream().filter(s -> !s.isBlank()).map(String::trim).toList();
+        this.excludes = excludes.stream().filter(s -> !s.isBlank()).map(String::trim).toList();
+        this.strategy = SamplingStrategy.valueOf(strategy.trim().toUpperCase());
+        this.sampleThreshold = sampleRate >= 1.0 ? Long.MAX_VALUE : (long) (Math.max(sampleRate, 0.0) * Long.MAX_VALUE);
+        this.sampleIntervalNanos = samplesPerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / samplesPerSecond) : Long.MAX_VALUE;
+        this.adaptiveP99ThresholdNanos = p99Threshold.toNanos();
+    }
 
     @Around("execution(* com.taskflow..*Service.*(..)) || execution(* com.taskflow..*Controller.*(..))")
     public Object measureMethodPerformance(ProceedingJoinPoint joinPoint) throws Throwable {
-        long startTime = System.currentTimeMillis();
-        String methodName = joinPoint.getSignature().toShortString();
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        MethodMeters meters = methodMeters.get(method);
+        if (meters == null) {
+            meters = methodMeters.computeIfAbsent(method, this::createMeters);
+        }
+        if (meters == MethodMeters.EXCLUDED) {
+            return joinPoint.proceed();
+        }
+
+        meters.calls.increment();
+        if (!meters.fullTiming && !sample(meters)) {
+            try {
+                return joinPoint.proceed();
+            } catch (Throwable e) {
+                meters.errors.increment();
+                log.error("Method '{}' failed with error: {}", meters.name, e.getMessage());
+                throw e; // Re-throw the exception to maintain original flow
+            }
+        }
 
+        long startTime = System.nanoTime();
         try {
             Object result = joinPoint.proceed();
-            long duration = System.currentTimeMillis() - startTime;
-            log.debug("Method '{}' executed in {}ms", methodName, duration);
-
-            // Publish custom metric to Prometheus
-            meterRegistry.timer("app.method.duration",
-                            "class", joinPoint.getSignature().getDeclaringTypeName(),
-                            "method", joinPoint.getSignature().getName(),
-                            "type", "success")
-                    .record(duration, java.util.concurrent.TimeUnit.MILLISECONDS);
-
+            meters.success.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
             return result;
         } catch (Throwable e) {
-            long duration = System.currentTimeMillis() - startTime;
-            log.error("Method '{}' failed in {}ms with error: {}", methodName, duration, e.getMessage());
-
-            // Publish custom error metric
-            meterRegistry.timer("app.method.duration",
-                            "class", joinPoint.getSignature().getDeclaringTypeName(),
-                            "method", joinPoint.getSignature().getName(),
-                            "type", "failure")
-                    .record(duration, java.util.concurrent.TimeUnit.MILLISECONDS);
-
-            meterRegistry.counter("app.method.errors",
-                            "class", joinPoint.getSignature().getDeclaringTypeName(),
-                            "method", joinPoint.getSignature().getName())
-                    .increment();
-
-            throw e; // Re-throw the exception to maintain original flow
+            long duration = System.nanoTime() - startTime;
+            meters.failure.record(duration, TimeUnit.NANOSECONDS);
+            meters.errors.increment();
+            log.error("Method '{}' failed in {}ms with error: {}", meters.name, TimeUnit.NANOSECONDS.toMillis(duration), e.getMessage());
+            throw e;
+        }
+    }
+
+    private boolean sample(MethodMeters meters) {
+        if (strategy == SamplingStrategy.PROBABILITY) {
+            return sampleThreshold == Long.MAX_VALUE || (ThreadLocalRandom.current().nextLong() >>> 1) < sampleThreshold;
+        }
+        long now = System.nanoTime();
+        long next = meters.nextSampleNanos.get();
+        return now - next >= 0 && meters.nextSampleNanos.compareAndSet(next, now + sampleIntervalNanos);
+    }
+
+    /**
+     * Switches methods whose sampled p99 is over the threshold to full timing, and back once it recovers.
+     */
+    @Scheduled(fixedDelayString = "${app.monitoring.method-metrics.adaptive.evaluation-interval:30s}")
+    public void evaluateAdaptiveTiming() {
+        for (MethodMeters meters : methodMeters.values()) {
+            if (meters == MethodMeters.EXCLUDED) {
+                continue;
+            }
+            double p99 = p99Nanos(meters.success);
+            if (Double.isNaN(p99)) {
+                continue;
+            }
+            boolean slow = p99 > adaptiveP99ThresholdNanos;
+            if (slow != meters.fullTiming) {
+                meters.fullTiming = slow;
+                log.info("Method '{}' p99 is {}ms, {} full timing", meters.name,
+                        TimeUnit.NANOSECONDS.toMillis((long) p99), slow ? "enabling" : "disabling");
+            }
+        }
+    }
+
+    /**
+     * @return Methods currently timed on every call.
+     */
+    public List<String> getFullyTimedMethods() {
+        return methodMeters.values().stream()
+                .filter(meters -> meters != MethodMeters.EXCLUDED && meters.fullTiming)
+                .map(meters -> meters.name)
+                .sorted()
+                .toList();
+    }
+
+    private static double p99Nanos(Timer timer) {
+        for (ValueAtPercentile percentile : timer.takeSnapshot().percentileValues()) {
+            if (percentile.percentile() == 0.99) {
+                return percentile.value(TimeUnit.NANOSECONDS);
+            }
+        }
+        return Double.NaN;
+    }
+
+    private MethodMeters createMeters(Method method) {
+        String className = method.getDeclaringClass().getName();
+        if (!isIncluded(className)) {
+            return MethodMeters.EXCLUDED;
+        }
+        String methodName = method.getName();
+        return new MethodMeters(
+                method.getDeclaringClass().getSimpleName() + "." + methodName,
+                Counter.builder("app.method.calls")
+                        .tags("class", className, "method", methodName)
+                        .register(meterRegistry),
+                Timer.builder("app.method.duration")
+                        .tags("class", className, "method", methodName, "type", "success")
+                        .publishPercentiles(0.99) // Read back by evaluateAdaptiveTiming
+                        .publishPercentileHistogram() // For the dashboard's p95 panel
+                        .register(meterRegistry),
+                Timer.builder("app.method.duration")
+                        .tags("class", className, "method", methodName, "type", "failure")
+                        .register(meterRegistry),
+                Counter.builder("app.method.errors")
+                        .tags("class", className, "method", methodName)
+                        .register(meterRegistry));
+    }
+
+    /**
+     * The most specific (longest) matching include or exclude prefix decides. Without a match, a class is included
+     * only if no include rules are configured.
+     */
+    boolean isIncluded(String className) {
+        String include = longestMatch(includes, className);
+        String exclude = longestMatch(excludes, className);
+        if (include == null && exclude == null) {
+            return includes.isEmpty();
+        }
+        return exclude == null || (include != null && include.length() > exclude.length());
+    }
+
+    private static String longestMatch(List<String> prefixes, String className) {
+        return prefixes.stream()
+                .filter(prefix -> className.startsWith(prefix) && (className.length() == prefix.length()
+                        || className.charAt(prefix.length()) == '.' || className.charAt(prefix.length()) == '$'))
+                .max(Comparator.comparingInt(String::length))
+                .orElse(null);
+    }
+
+    static final class MethodMeters {
+        static final MethodMeters EXCLUDED = new MethodMeters(null, null, null, null, null);
+
+        final String name;
+        final Counter calls;
+        final Timer success;
+        final Timer failure;
+        final Counter errors;
+        final AtomicLong nextSampleNanos = new AtomicLong(System.nanoTime());
+        volatile boolean fullTiming;
+
+        MethodMeters(String name, Counter calls, Timer success, Timer failure, Counter errors) {
+            this.name = name;
+            this.calls = calls;
+            this.success = success;
+            this.failure = failure;
+            this.errors = errors;
         }
     }
 }
@@ -0,0 +1,156 @@
+```java
+package com.taskflow.accesslog;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskflow.accesslog.dto.AccessLogRecord;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccessLogServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private AccessLogService service(int bufferSize, DataSize maxFileSize, int maxHistory) {
+        return new AccessLogService(objectMapper, new SimpleMeterRegistry(), bufferSize,
+                tempDir.resolve("access.log").toString(), maxFileSize, maxHistory, 3);
+    }
+
+    private void record(AccessLogService service, String uri) {
+        long requestId = service.nextRequestId();
+        service.record(requestId, System.currentTimeMillis(), "GET", uri, 200, 1_500_000, "10.0.0.1", null);
+    }
+
+    @Test
+    void record_writesJsonLinesAndKeepsTheMostRecent() throws Exception {
+        AccessLogService service = service(1024, DataSize.ofMegabytes(1), 2);
+        service.start();
+        for (int i = 1; i <= 5; i++) {
+            record(service, "/api/tasks/" + i);
+        }
+        service.stop(); // Drains the buffer and closes the file
+
+        List<String> lines = Files.readAllLines(tempDir.resolve("access.log"));
+        assertEquals(5, lines.size());
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertEquals("/api/tasks/1", first.get("uri").asText());
+        assertEquals(200, first.get("status").asInt());
+        assertEquals(1.5, first.get("durationMs").asDouble());
+        assertEquals(service.formatRequestId(1), first.get("requestId").asText());
+        assertFalse(first.has("error"));
+
+        List<AccessLogRecord> recent = service.getRecent(10);
+        assertEquals(List.of("/api/tasks/5", "/api/tasks/4", "/api/tasks/3"), recent.stream().map(AccessLogRecord::getUri).toList());
+    }
+
+    @Test
+    void record_dropsAndCountsWhenTheBufferIsFull() throws Exception {
+        AccessLogService service = service(4, DataSize.ofMegabytes(1), 2); // Writer not started yet
+        for (int i = 0; i < 10; i++) {
+            record(service, "/api/projects");
+        }
+        assertEquals(6, service.getDroppedCount());
+
+        service.start();
+        service.stop();
+        assertEquals(4, Files.readAllLines(tempDir.resolve("access.log")).size());
+    }
+
+    @Test
+    void record_rollsFilesAndKeepsTheConfiguredHistory() throws Exception {
+        AccessLogService service = service(1024, DataSize.ofBytes(400), 2);
+        service.start();
+        for (int i = 0; i < 50; i++) {
+            record(service, "/api/tasks");
+        }
+        service.stop();
+
+        assertTrue(Files.exists(tempDir.resolve("access.log.1")));
+        assertTrue(Files.exists(tempDir.resolve("access.log.2")));
+        assertFalse(Files.exists(tempDir.resolve("access.log.3")));
+        assertTrue(Files.size(tempDir.resolve("access.log.1")) <= 400);
+    }
+
+    @Test
+    void rollingFile_reopensTheActiveFileWhenARollFails() throws Exception {
+        Path file = tempDir.resolve("access.log");
+        Path blocker = Files.createDirectories(tempDir.resolve("access.log.1").resolve("blocker")); // Cannot be replaced
+        try (RollingAccessLogFile output = new RollingAccessLogFile(file, 10, 1)) {
+            output.writeLine("first-line".getBytes(StandardCharsets.UTF_8));
+            assertThrows(IOException.class, () -> output.writeLine("lost".getBytes(StandardCharsets.UTF_8)));
+
+            Files.delete(blocker);
+            Files.delete(blocker.getParent());
+            output.writeLine("third".getBytes(StandardCharsets.UTF_8));
+        }
+
+        assertEquals(List.of("first-line"), Files.readAllLines(tempDir.resolve("access.log.1")));
+        assertEquals(List.of("third"), Files.readAllLines(file));
+    }
+
+    @Test
+    void buffer_neverLosesOrReordersEntriesUnderContention() throws Exception {
+        AccessLogBuffer buffer = new AccessLogBuffer(64);
+        int producers = 8;
+        int perProducer = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            String producer = "producer-" + p;
+            results.add(executor.submit(() -> {
+                start.await();
+                int accepted = 0;
+                for (int i = 0; i < perProducer; i++) {
+                    if (buffer.offer(i, 0, "GET", producer, 200, 0, null, null)) {
+                        accepted++;
+                    }
+                }
+                return accepted;
+            }));
+        }
+
+        long[] lastSeen = new long[producers];
+        Arrays.fill(lastSeen, -1);
+        long[] consumed = new long[1];
+        start.countDown();
+        while (!results.stream().allMatch(Future::isDone) || buffer.size() > 0) {
+            buffer.drain(entry -> {
+                int p = Integer.parseInt(entry.uri.substring("producer-".length()));
+                assertTrue(entry.requestId > lastSeen[p], "out of order for " + entry.uri);
+                lastSeen[p] = entry.requestId;
+                consumed[0]++;
+            }, 32);
+        }
+        int accepted = 0;
+        for (Future<Integer> result : results) {
+            accepted += result.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(accepted, consumed[0]);
+        assertEquals((long) producers * perProducer, consumed[0] + buffer.getDroppedCount());
+    }
+}
+```
\ No newline at end of file
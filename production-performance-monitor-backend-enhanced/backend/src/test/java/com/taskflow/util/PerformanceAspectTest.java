@@ -0,0 +1,130 @@
+```java
+package com.taskflow.util;
+
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PerformanceAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    static class EchoService {
+        public String echo(String value) {
+            return value;
+        }
+
+        public void slow() throws InterruptedException {
+            Thread.sleep(20);
+        }
+
+        public void fail() {
+            throw new IllegalStateException("boom");
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private PerformanceAspect aspect(List<String> includes, List<String> excludes, String strategy, double sampleRate, double samplesPerSecond) {
+        return new PerformanceAspect(meterRegistry, includes, excludes, strategy, sampleRate, samplesPerSecond, Duration.ofMillis(10));
+    }
+
+    private EchoService proxy(PerformanceAspect aspect) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new EchoService());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+
+    private long timedCalls(String method) {
+        return meterRegistry.get("app.method.duration").tag("method", method).tag("type", "success").timer().count();
+    }
+
+    private double calls(String method) {
+        return meterRegistry.get("app.method.calls").tag("method", method).counter().count();
+    }
+
+    @Test
+    void probabilitySampling_timesAFractionButCountsEveryCall() {
+        EchoService service = proxy(aspect(List.of("com.taskflow"), List.of(), "probability", 0.1, 0));
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals("x", service.echo("x"));
+        }
+
+        assertEquals(10_000, calls("echo"));
+        long timed = timedCalls("echo");
+        assertTrue(timed > 700 && timed < 1_300, "timed " + timed);
+    }
+
+    @Test
+    void rateSampling_timesAtMostTheConfiguredRatePerMethod() {
+        EchoService service = proxy(aspect(List.of("com.taskflow"), List.of(), "rate", 1.0, 1));
+        for (int i = 0; i < 10_000; i++) {
+            service.echo("x");
+        }
+
+        assertEquals(10_000, calls("echo"));
+        assertTrue(timedCalls("echo") <= 2, "timed " + timedCalls("echo"));
+    }
+
+    @Test
+    void errors_areAlwaysCountedAndRethrown() {
+        EchoService service = proxy(aspect(List.of("com.taskflow"), List.of(), "probability", 0.0, 0));
+        for (int i = 0; i < 5; i++) {
+            assertThrows(IllegalStateException.class, service::fail);
+        }
+
+        assertEquals(5, meterRegistry.get("app.method.errors").tag("method", "fail").counter().count());
+        assertEquals(0, meterRegistry.get("app.method.duration").tag("method", "fail").tag("type", "failure").timer().count());
+        HistogramSnapshot failures = meterRegistry.get("app.method.duration").tag("method", "fail").tag("type", "failure").timer().takeSnapshot();
+        assertEquals(0, failures.percentileValues().length);
+        assertEquals(0, failures.histogramCounts().length);
+    }
+
+    @Test
+    void isIncluded_mostSpecificRuleWins() {
+        PerformanceAspect aspect = aspect(List.of("com.taskflow", "com.taskflow.auth.AuthController"), List.of("com.taskflow.auth"), "probability", 0.1, 0);
+
+        assertTrue(aspect.isIncluded("com.taskflow.task.service.TaskService"));
+        assertFalse(aspect.isIncluded("com.taskflow.auth.dto.LoginRequest"));
+        assertTrue(aspect.isIncluded("com.taskflow.auth.AuthController"));
+        assertFalse(aspect.isIncluded("com.taskflowextra.FooService"));
+        assertFalse(aspect.isIncluded("org.example.FooService"));
+    }
+
+    @Test
+    void excludedMethods_registerNoMeters() {
+        EchoService service = proxy(aspect(List.of("com.taskflow"), List.of("com.taskflow.util.PerformanceAspectTest"), "probability", 1.0, 0));
+        service.echo("x");
+
+        assertTrue(meterRegistry.find("app.method.calls").meters().isEmpty());
+    }
+
+    @Test
+    void evaluateAdaptiveTiming_timesSlowMethodsOnEveryCall() throws InterruptedException {
+        PerformanceAspect aspect = aspect(List.of("com.taskflow"), List.of(), "rate", 1.0, 0.001);
+        EchoService service = proxy(aspect);
+        service.slow(); // The first call of each method is sampled; p99 of 20ms is over the 10ms threshold
+        service.echo("x");
+
+        aspect.evaluateAdaptiveTiming();
+        assertEquals(List.of("EchoService.slow"), aspect.getFullyTimedMethods());
+
+        service.slow();
+        service.slow();
+        service.echo("x");
+        assertEquals(3, timedCalls("slow"));
+        assertEquals(1, timedCalls("echo"));
+    }
+}
+```
\ No newline at end of file
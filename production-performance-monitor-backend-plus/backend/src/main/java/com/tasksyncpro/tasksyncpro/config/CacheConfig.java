@@ -3,6 +3,7 @@ package com.tasksyncpro.tasksyncpro.config;
 
 import com.github.ben_manes.caffeine.cache.Caffeine;
 import com.tasksyncpro.tasksyncpro.service.MetricsService;
+import com.tasksyncpro.tasksyncpro.util.ProfilingStatsCounter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
@@ -31,7 +32,7 @@ public class CacheConfig {
                 .initialCapacity(100)
                 .maximumSize(500)
                 .expireAfterAccess(10, TimeUnit.MINUTES)
-                .recordStats() // Enable stats recording for Micrometer
+                .recordStats(ProfilingStatsCounter::new) // Stats for Micrometer, also attributed to profiled requests
                 .removalListener((key, value, cause) ->
                         System.out.println("Cache entry removed: " + key + " due to " + cause))
                 .writer(new com.github.ben_manes.caffeine.cache.CacheWriter<>() {
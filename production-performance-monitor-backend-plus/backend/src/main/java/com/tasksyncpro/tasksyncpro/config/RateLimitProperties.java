@@ -0,0 +1,62 @@
+```java
+package com.tasksyncpro.tasksyncpro.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Rate limiting configuration ({@code application.rate-limit}): limits per tier, and which role maps to which tier.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "application.rate-limit")
+public class RateLimitProperties {
+
+    /**
+     * Most clients tracked at once; the least recently used are dropped beyond this.
+     */
+    private int maxKeys = 1_000_000;
+
+    /**
+     * Clients idle this long are forgotten. Should be at least the time a tier needs to refill its burst.
+     */
+    private Duration idleExpiry = Duration.ofMinutes(10);
+
+    /**
+     * Tier for requests without an authenticated user (limited per IP address).
+     */
+    private String anonymousTier = "anonymous";
+
+    /**
+     * Tier for authenticated users without a mapped role.
+     */
+    private String defaultTier = "user";
+
+    private Map<String, Tier> tiers = new LinkedHashMap<>(Map.of(
+            "anonymous", new Tier(2, 10),
+            "user", new Tier(5, 20),
+            "admin", new Tier(50, 100)));
+
+    /**
+     * Granted authority (e.g. ROLE_ADMIN) to tier name. A user with several mapped roles gets the most generous tier.
+     */
+    private Map<String, String> roleTiers = new LinkedHashMap<>(Map.of(
+            "ROLE_USER", "user",
+            "ROLE_ADMIN", "admin"));
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Tier {
+        private double requestsPerSecond;
+        private int burst; // Requests allowed back-to-back before the steady rate applies
+    }
+}
+```
\ No newline at end of file
@@ -37,6 +37,7 @@ public class SecurityConfig {
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers("/api/auth/**").permitAll() // Allow auth endpoints
                 .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll() // Allow Swagger UI
+                .requestMatchers("/actuator/requestprofiles/**").hasRole("ADMIN") // Lists request URIs and timings
                 .requestMatchers("/actuator/**").permitAll() // Allow actuator endpoints for monitoring
                 .requestMatchers("/error").permitAll() // Allow Spring Boot's default error page
                 .anyRequest().authenticated() // All other requests require authentication
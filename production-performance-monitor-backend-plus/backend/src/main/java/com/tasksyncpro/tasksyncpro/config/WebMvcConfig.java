@@ -2,6 +2,7 @@
 package com.tasksyncpro.tasksyncpro.config;
 
 import com.tasksyncpro.tasksyncpro.interceptor.RateLimitInterceptor;
+import com.tasksyncpro.tasksyncpro.interceptor.RequestProfilingInterceptor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
@@ -12,9 +13,12 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 public class WebMvcConfig implements WebMvcConfigurer {
 
     private final RateLimitInterceptor rateLimitInterceptor;
+    private final RequestProfilingInterceptor requestProfilingInterceptor;
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(requestProfilingInterceptor)
+                .addPathPatterns("/api/**"); // Registered first so rate-limited requests are profiled too
         registry.addInterceptor(rateLimitInterceptor)
                 .addPathPatterns("/api/**") // Apply rate limiting to all API endpoints
                 .excludePathPatterns("/api/auth/**"); // Exclude auth endpoints from general rate limiting if desired
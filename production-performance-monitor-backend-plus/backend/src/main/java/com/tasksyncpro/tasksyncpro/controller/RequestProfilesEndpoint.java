@@ -0,0 +1,27 @@
+```java
+package com.tasksyncpro.tasksyncpro.controller;
+
+import com.tasksyncpro.tasksyncpro.service.RequestProfilingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Actuator endpoint ({@code /actuator/requestprofiles}) listing the slowest profiled requests.
+ */
+@Component
+@Endpoint(id = "requestprofiles")
+@RequiredArgsConstructor
+public class RequestProfilesEndpoint {
+
+    private final RequestProfilingService requestProfilingService;
+
+    @ReadOperation
+    public List<RequestProfilingService.RequestTrace> slowestRequests() {
+        return requestProfilingService.getSlowestTraces();
+    }
+}
+```
\ No newline at end of file
@@ -7,6 +7,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
@@ -23,21 +24,25 @@ public class RateLimitInterceptor implements HandlerInterceptor {
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
         String identifier;
+        String tier;
         // Use authenticated username if available, otherwise fallback to IP address
-        if (SecurityContextHolder.getContext().getAuthentication() != null &&
-            SecurityContextHolder.getContext().getAuthentication().isAuthenticated() &&
-            !"anonymousUser".equals(SecurityContextHolder.getContext().getAuthentication().getPrincipal())) {
-            identifier = (String) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null &&
+            authentication.isAuthenticated() &&
+            !"anonymousUser".equals(authentication.getPrincipal())) {
+            identifier = authentication.getName();
+            tier = rateLimitService.resolveTier(authentication.getAuthorities()); // Limits by role
         } else {
             identifier = request.getRemoteAddr();
-            log.warn("Rate limiting unauthenticated request from IP: {}", identifier);
+            tier = rateLimitService.resolveTier(null);
+            log.debug("Rate limiting unauthenticated request from IP: {}", identifier);
         }
 
-        if (!rateLimitService.tryAcquire(identifier)) {
+        if (!rateLimitService.tryAcquire(identifier, tier)) {
             response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
             response.getWriter().write("Too many requests. Please try again later.");
             response.getWriter().flush();
-            log.warn("Rate limit exceeded for identifier: {}", identifier);
+            log.warn("Rate limit exceeded for identifier: {} (tier {})", identifier, tier);
             return false;
         }
         return true;
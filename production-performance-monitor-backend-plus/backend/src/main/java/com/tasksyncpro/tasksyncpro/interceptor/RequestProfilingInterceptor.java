@@ -0,0 +1,78 @@
+```java
+package com.tasksyncpro.tasksyncpro.interceptor;
+
+import com.tasksyncpro.tasksyncpro.service.RequestProfilingService;
+import com.tasksyncpro.tasksyncpro.util.RequestProfile;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Profiles a sample of controller invocations, plus every request from an admin that sends the profiling header
+ * (e.g. {@code X-Profile-Request: true}); the header is ignored for everyone else. Unprofiled requests only pay for
+ * the sampling decision.
+ */
+@Component
+@Slf4j
+public class RequestProfilingInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String ADMIN_ROLE = "ADMIN";
+
+    private final RequestProfilingService requestProfilingService;
+    private final boolean enabled;
+    private final double sampleRate;
+    private final String headerName;
+
+    public RequestProfilingInterceptor(RequestProfilingService requestProfilingService,
+                                       @Value("${application.profiling.enabled:true}") boolean enabled,
+                                       @Value("${application.profiling.sample-rate:0.01}") double sampleRate,
+                                       @Value("${application.profiling.header:X-Profile-Request}") String headerName) {
+        this.requestProfilingService = requestProfilingService;
+        this.enabled = enabled;
+        this.sampleRate = sampleRate;
+        this.headerName = headerName;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!enabled || !(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        // Forced profiles are logged and cost more than sampled ones, so only admins may ask for them
+        boolean forced = "true".equalsIgnoreCase(request.getHeader(headerName)) && request.isUserInRole(ADMIN_ROLE);
+        if (forced || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate)) {
+            String handlerName = handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+            RequestProfile.start(handlerName, request.getMethod(), request.getRequestURI(), forced);
+        }
+        return true;
+    }
+
+    /**
+     * An async request leaves this thread without {@link #afterCompletion}; the async dispatch is profiled on its own.
+     */
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestProfile.discard();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RequestProfile profile = RequestProfile.finish(response.getStatus());
+        if (profile != null) {
+            requestProfilingService.record(profile);
+            if (profile.isForced()) {
+                log.info("Profiled {} {} ({}): {} ms wall, {} ms CPU, {} bytes allocated, {} JDBC statements in {} ms, cache {} hits/{} misses",
+                        profile.getHttpMethod(), profile.getUri(), profile.getHandler(),
+                        profile.getWallNanos() / 1_000_000, profile.getCpuNanos() / 1_000_000, profile.getAllocatedBytes(),
+                        profile.getJdbcStatements(), profile.getJdbcNanos() / 1_000_000, profile.getCacheHits(), profile.getCacheMisses());
+            }
+        }
+    }
+}
+```
\ No newline at end of file
@@ -9,6 +9,8 @@ import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.TimeUnit;
 
@@ -26,7 +28,6 @@ public class MetricsService {
     private Counter projectCreatedCounter;
     private Counter taskCreatedCounter;
     private Counter taskDeletedCounter;
-    private Counter apiRateLimitExceededCounter;
     private Counter cacheHitCounter;
     private Counter cacheMissCounter;
     private Counter databaseQueryErrorCounter;
@@ -36,6 +37,11 @@ public class MetricsService {
     private AtomicInteger totalProjectsGauge = new AtomicInteger(0); // Example, can be updated on CRUD
     private AtomicInteger totalTasksGauge = new AtomicInteger(0);
 
+    // Timers by operation name, registered on first use
+    private final ConcurrentMap<String, Timer> operationTimers = new ConcurrentHashMap<>();
+    // Rate limit rejections by tier, registered on first use
+    private final ConcurrentMap<String, Counter> rateLimitExceededCounters = new ConcurrentHashMap<>();
+
     @PostConstruct
     public void init() {
         // Initialize Counters
@@ -55,10 +61,6 @@ public class MetricsService {
                 .description("Total number of tasks deleted")
                 .register(meterRegistry);
 
-        apiRateLimitExceededCounter = Counter.builder("app.api.rate_limit.exceeded.total")
-                .description("Total number of times API rate limits were exceeded")
-                .register(meterRegistry);
-
         cacheHitCounter = Counter.builder("app.cache.hits.total")
                 .description("Total cache hits")
                 .register(meterRegistry);
@@ -110,8 +112,15 @@ public class MetricsService {
         totalTasksGauge.decrementAndGet();
     }
 
-    public void incrementApiRateLimitExceededCounter() {
-        apiRateLimitExceededCounter.increment();
+    public void incrementApiRateLimitExceededCounter(String tier) {
+        Counter counter = rateLimitExceededCounters.get(tier);
+        if (counter == null) {
+            counter = rateLimitExceededCounters.computeIfAbsent(tier, name -> Counter.builder("app.api.rate_limit.exceeded.total")
+                    .description("Total number of times API rate limits were exceeded")
+                    .tag("tier", name)
+                    .register(meterRegistry));
+        }
+        counter.increment();
     }
 
     public void incrementCacheHitCounter() {
@@ -132,11 +141,14 @@ public class MetricsService {
      * @param duration The duration in milliseconds.
      */
     public void recordOperationDuration(String operationName, long duration) {
-        Timer.builder("app.operation.duration")
-                .description("Duration of various application operations")
-                .tag("operation", operationName)
-                .register(meterRegistry)
-                .record(duration, TimeUnit.MILLISECONDS);
+        Timer timer = operationTimers.get(operationName);
+        if (timer == null) {
+            timer = operationTimers.computeIfAbsent(operationName, name -> Timer.builder("app.operation.duration")
+                    .description("Duration of various application operations")
+                    .tag("operation", name)
+                    .register(meterRegistry));
+        }
+        timer.record(duration, TimeUnit.MILLISECONDS);
     }
 
     /**
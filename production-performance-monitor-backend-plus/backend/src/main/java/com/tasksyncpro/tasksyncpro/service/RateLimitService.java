@@ -1,33 +1,106 @@
 ```java
 package com.tasksyncpro.tasksyncpro.service;
 
-import com.google.common.util.concurrent.RateLimiter;
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tasksyncpro.tasksyncpro.config.RateLimitProperties;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
+/**
+ * Per-client rate limiting with the generic cell rate algorithm (GCRA). The whole state of a client is one
+ * {@link AtomicLong}: the theoretical arrival time of its next request, advanced with a CAS, so concurrent
+ * requests never block each other. Clients live in a size-bounded Caffeine cache that forgets idle ones.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class RateLimitService {
 
     private final MetricsService metricsService;
+    private final RateLimitProperties properties;
 
-    // Limits per user (or IP, or client ID)
-    private final ConcurrentMap<String, RateLimiter> userRateLimiters = new ConcurrentHashMap<>();
-    private final double requestsPerSecond = 5.0; // 5 requests per second per user
+    private final Map<String, Limit> tierLimits;
+    private final Limit defaultLimit;
 
+    // Theoretical arrival time (System.nanoTime based) per user, or IP address
+    private final Cache<String, AtomicLong> arrivalTimes;
+    // Per-identifier limits set at runtime; these take precedence over the tier
+    private final ConcurrentMap<String, Limit> identifierLimits = new ConcurrentHashMap<>();
+
+    public RateLimitService(MetricsService metricsService, RateLimitProperties properties) {
+        this.metricsService = metricsService;
+        this.properties = properties;
+        this.tierLimits = properties.getTiers().entrySet().stream()
+                .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey,
+                        e -> Limit.of(e.getKey(), e.getValue().getRequestsPerSecond(), e.getValue().getBurst())));
+        if (!tierLimits.containsKey(properties.getDefaultTier())) {
+            throw new IllegalStateException("Rate limit default tier '" + properties.getDefaultTier() + "' is not configured");
+        }
+        this.defaultLimit = tierLimits.get(properties.getDefaultTier());
+        this.arrivalTimes = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxKeys())
+                .expireAfterAccess(properties.getIdleExpiry())
+                .build();
+    }
+
+    /**
+     * Counts a request of {@code identifier} against the default tier.
+     */
     public boolean tryAcquire(String identifier) {
-        RateLimiter limiter = userRateLimiters.computeIfAbsent(identifier, k -> RateLimiter.create(requestsPerSecond));
-        boolean acquired = limiter.tryAcquire();
-        if (!acquired) {
-            metricsService.incrementApiRateLimitExceededCounter();
-            log.warn("Rate limit exceeded for identifier: {}", identifier);
+        return tryAcquire(identifier, properties.getDefaultTier());
+    }
+
+    /**
+     * Counts a request of {@code identifier} against the limit of {@code tier}.
+     * @return false if the request exceeds the limit and should be rejected.
+     */
+    public boolean tryAcquire(String identifier, String tier) {
+        Limit limit = identifierLimits.isEmpty() ? null : identifierLimits.get(identifier);
+        if (limit == null) {
+            limit = tierLimits.getOrDefault(tier, defaultLimit);
+        }
+        AtomicLong arrivalTime = arrivalTimes.get(identifier, key -> new AtomicLong(Long.MIN_VALUE));
+
+        long now = System.nanoTime();
+        while (true) {
+            long current = arrivalTime.get();
+            long next = Math.max(current, now) + limit.emissionIntervalNanos();
+            if (next - now > limit.toleranceNanos()) {
+                metricsService.incrementApiRateLimitExceededCounter(limit.tier()); // Callers log the rejection
+                return false;
+            }
+            if (arrivalTime.compareAndSet(current, next)) {
+                return true;
+            }
         }
-        return acquired;
+    }
+
+    /**
+     * Picks the tier for a request: the anonymous tier without authorities, otherwise the most generous tier
+     * among the mapped roles, falling back to the default tier.
+     */
+    public String resolveTier(Collection<? extends GrantedAuthority> authorities) {
+        if (authorities == null || authorities.isEmpty()) {
+            return properties.getAnonymousTier();
+        }
+        Limit best = null;
+        for (GrantedAuthority authority : authorities) {
+            String tier = properties.getRoleTiers().get(authority.getAuthority());
+            Limit limit = tier != null ? tierLimits.get(tier) : null;
+            if (limit != null && (best == null || limit.isMoreGenerousThan(best))) {
+                best = limit;
+            }
+        }
+        return best != null ? best.tier() : properties.getDefaultTier();
     }
 
     /**
@@ -35,9 +108,32 @@ public class RateLimitService {
      * For a more robust solution, this would involve a configuration service or database.
      */
     public void setRateLimitForIdentifier(String identifier, double newRequestsPerSecond) {
-        RateLimiter limiter = userRateLimiters.computeIfAbsent(identifier, k -> RateLimiter.create(newRequestsPerSecond));
-        limiter.setRate(newRequestsPerSecond);
+        identifierLimits.put(identifier, Limit.of("custom", newRequestsPerSecond, 1));
         log.info("Rate limit for identifier {} set to {} requests/second.", identifier, newRequestsPerSecond);
     }
+
+    /**
+     * @return Number of clients currently tracked, after applying pending evictions.
+     */
+    public long getTrackedClientCount() {
+        arrivalTimes.cleanUp(); // Eviction runs asynchronously
+        return arrivalTimes.estimatedSize();
+    }
+
+    /**
+     * GCRA parameters: one request is "worth" the emission interval, and a client may run up to the tolerance ahead.
+     */
+    private record Limit(String tier, long emissionIntervalNanos, long toleranceNanos) {
+        static Limit of(String tier, double requestsPerSecond, int burst) {
+            long interval = (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond);
+            return new Limit(tier, interval, interval * Math.max(burst, 1));
+        }
+
+        boolean isMoreGenerousThan(Limit other) {
+            return emissionIntervalNanos != other.emissionIntervalNanos
+                    ? emissionIntervalNanos < other.emissionIntervalNanos
+                    : toleranceNanos > other.toleranceNanos;
+        }
+    }
 }
 ```
\ No newline at end of file
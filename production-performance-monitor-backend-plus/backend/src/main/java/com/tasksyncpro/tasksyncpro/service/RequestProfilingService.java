@@ -0,0 +1,149 @@
+```java
+package com.tasksyncpro.tasksyncpro.service;
+
+import com.tasksyncpro.tasksyncpro.util.RequestProfile;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aggregates completed request profiles into per-handler Micrometer metrics and keeps the slowest traces.
+ */
+@Service
+public class RequestProfilingService {
+
+    private final MeterRegistry meterRegistry;
+    private final int maxTraces;
+
+    // Meters per controller method, registered on its first profiled request
+    private final ConcurrentMap<String, HandlerMeters> metersByHandler = new ConcurrentHashMap<>();
+
+    // Min-heap on wall time holding the slowest traces; fastest one first so it can be replaced
+    private final PriorityQueue<RequestTrace> slowestTraces = new PriorityQueue<>(Comparator.comparingDouble(RequestTrace::wallMs));
+    private volatile double slowestTracesThresholdMs = -1; // Wall time a trace must exceed once the heap is full
+
+    public RequestProfilingService(MeterRegistry meterRegistry,
+                                   @Value("${application.profiling.slowest-traces:20}") int maxTraces) {
+        this.meterRegistry = meterRegistry;
+        this.maxTraces = maxTraces;
+    }
+
+    /**
+     * A profiled request, as shown by the {@code requestprofiles} actuator endpoint.
+     */
+    public record RequestTrace(Instant startedAt, String handler, String httpMethod, String uri, int status, boolean forced,
+                               double wallMs, double cpuMs, long allocatedBytes,
+                               int jdbcStatements, double jdbcMs, int cacheHits, int cacheMisses) {
+    }
+
+    public void record(RequestProfile profile) {
+        HandlerMeters meters = metersByHandler.get(profile.getHandler());
+        if (meters == null) {
+            meters = metersByHandler.computeIfAbsent(profile.getHandler(), this::registerMeters);
+        }
+        meters.wall().record(profile.getWallNanos(), TimeUnit.NANOSECONDS);
+        if (profile.getCpuNanos() >= 0) {
+            meters.cpu().record(profile.getCpuNanos(), TimeUnit.NANOSECONDS);
+        }
+        if (profile.getAllocatedBytes() >= 0) {
+            meters.allocated().record(profile.getAllocatedBytes());
+        }
+        meters.jdbcStatements().record(profile.getJdbcStatements());
+        meters.jdbcTime().record(profile.getJdbcNanos(), TimeUnit.NANOSECONDS);
+        meters.cacheHits().increment(profile.getCacheHits());
+        meters.cacheMisses().increment(profile.getCacheMisses());
+
+        double wallMs = toMillis(profile.getWallNanos());
+        if (wallMs > slowestTracesThresholdMs) {
+            offerTrace(toTrace(profile, wallMs));
+        }
+    }
+
+    /**
+     * @return The slowest profiled requests since startup, slowest first.
+     */
+    public List<RequestTrace> getSlowestTraces() {
+        List<RequestTrace> traces;
+        synchronized (slowestTraces) {
+            traces = new ArrayList<>(slowestTraces);
+        }
+        traces.sort(Comparator.comparingDouble(RequestTrace::wallMs).reversed());
+        return traces;
+    }
+
+    private void offerTrace(RequestTrace trace) {
+        synchronized (slowestTraces) {
+            slowestTraces.add(trace);
+            if (slowestTraces.size() > maxTraces) {
+                slowestTraces.poll();
+            }
+            if (slowestTraces.size() >= maxTraces) {
+                slowestTracesThresholdMs = slowestTraces.peek().wallMs();
+            }
+        }
+    }
+
+    private HandlerMeters registerMeters(String handler) {
+        return new HandlerMeters(
+                Timer.builder("app.request.profile.wall")
+                        .description("Wall time of profiled requests")
+                        .tag("handler", handler)
+                        .register(meterRegistry),
+                Timer.builder("app.request.profile.cpu")
+                        .description("CPU time of the request thread for profiled requests")
+                        .tag("handler", handler)
+                        .register(meterRegistry),
+                DistributionSummary.builder("app.request.profile.allocated")
+                        .description("Heap bytes allocated by the request thread for profiled requests")
+                        .baseUnit("bytes")
+                        .tag("handler", handler)
+                        .register(meterRegistry),
+                DistributionSummary.builder("app.request.profile.jdbc.statements")
+                        .description("JDBC statements executed per profiled request")
+                        .tag("handler", handler)
+                        .register(meterRegistry),
+                Timer.builder("app.request.profile.jdbc.time")
+                        .description("Time spent executing JDBC statements per profiled request")
+                        .tag("handler", handler)
+                        .register(meterRegistry),
+                Counter.builder("app.request.profile.cache")
+                        .description("Cache lookups of profiled requests")
+                        .tag("handler", handler)
+                        .tag("result", "hit")
+                        .register(meterRegistry),
+                Counter.builder("app.request.profile.cache")
+                        .description("Cache lookups of profiled requests")
+                        .tag("handler", handler)
+                        .tag("result", "miss")
+                        .register(meterRegistry));
+    }
+
+    private static RequestTrace toTrace(RequestProfile profile, double wallMs) {
+        return new RequestTrace(profile.getStartedAt(), profile.getHandler(), profile.getHttpMethod(), profile.getUri(),
+                profile.getStatus(), profile.isForced(), wallMs,
+                profile.getCpuNanos() >= 0 ? toMillis(profile.getCpuNanos()) : -1, profile.getAllocatedBytes(),
+                profile.getJdbcStatements(), toMillis(profile.getJdbcNanos()), profile.getCacheHits(), profile.getCacheMisses());
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private record HandlerMeters(Timer wall, Timer cpu, DistributionSummary allocated,
+                                 DistributionSummary jdbcStatements, Timer jdbcTime,
+                                 Counter cacheHits, Counter cacheMisses) {
+    }
+}
+```
\ No newline at end of file
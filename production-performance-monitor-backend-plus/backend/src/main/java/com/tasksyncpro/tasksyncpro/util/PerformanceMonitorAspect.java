@@ -1,35 +1,61 @@
 ```java
 package com.tasksyncpro.tasksyncpro.util;
 
-import com.tasksyncpro.tasksyncpro.service.MetricsService;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
-import lombok.RequiredArgsConstructor;
-import lombok.extern.slf44j.Slf4j;
+import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.stereotype.Component;
 
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.lang.reflect.Method;
 import java.time.Duration;
-import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Aspect for monitoring method execution performance.
- * It uses Micrometer to record method duration and logs the execution time.
+ * It uses Micrometer to record method duration and logs a sample of the executions.
+ *
+ * The timers, names and annotation of each advised method are resolved on its first call and kept in a
+ * lock-free table, so a monitored call costs two {@code System.nanoTime} reads and one histogram update.
  */
 @Aspect
 @Component
 @Slf4j
-@RequiredArgsConstructor
 public class PerformanceMonitorAspect {
 
-    private final MetricsService metricsService;
-    private final io.micrometer.core.instrument.MeterRegistry meterRegistry; // Direct access for Timer
+    private final MeterRegistry meterRegistry;
+    private final double[] percentiles;
+    private final Duration[] serviceLevelObjectives;
+    private final int logSampleRate;
+    private final long slowCallThresholdNanos;
+
+    // Resolved meters per advised method; only the first call of a method takes the write path
+    private final ConcurrentMap<Method, MethodMeters> metersByMethod = new ConcurrentHashMap<>();
+
+    public PerformanceMonitorAspect(MeterRegistry meterRegistry,
+                                    @Value("${application.monitoring.method-timing.percentiles:0.5,0.95,0.99}") double[] percentiles,
+                                    @Value("${application.monitoring.method-timing.slo-boundaries:50ms,100ms,250ms,500ms,1s}") Duration[] serviceLevelObjectives,
+                                    @Value("${application.monitoring.method-timing.log-sample-rate:100}") int logSampleRate,
+                                    @Value("${application.monitoring.method-timing.slow-call-threshold:500ms}") Duration slowCallThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.percentiles = percentiles;
+        this.serviceLevelObjectives = serviceLevelObjectives;
+        this.logSampleRate = logSampleRate;
+        this.slowCallThresholdNanos = slowCallThreshold.toNanos();
+    }
 
     /**
      * Custom annotation to mark methods for performance monitoring.
@@ -49,57 +75,71 @@ public class PerformanceMonitorAspect {
     }
 
     /**
-     * Around advice to measure and log method execution time, and record metrics.
+     * Around advice to measure execution time, record it in the method's timer and log a sample of calls.
+     * Calls slower than the slow-call threshold are always logged.
      * @param joinPoint The proceeding join point.
      * @return The result of the method execution.
      * @throws Throwable if the method throws an exception.
      */
     @Around("monitorPerformancePointcut()")
     public Object monitorPerformance(ProceedingJoinPoint joinPoint) throws Throwable {
-        String methodName = joinPoint.getSignature().toShortString();
-        String operationName = joinPoint.getSignature().getName(); // Default operation name
-
-        // Check if a custom name is provided in the annotation
-        MonitorPerformance annotation = ((org.aspectj.lang.reflect.MethodSignature) joinPoint.getSignature())
-                .getMethod().getAnnotation(MonitorPerformance.class);
-        if (annotation != null && !annotation.value().isEmpty()) {
-            operationName = annotation.value();
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        MethodMeters meters = metersByMethod.get(method);
+        if (meters == null) {
+            meters = metersByMethod.computeIfAbsent(method, m -> resolveMeters(joinPoint, m));
         }
 
-        Instant start = Instant.now();
-        log.debug("Entering method: {}", methodName);
-
+        long start = System.nanoTime();
         try {
             Object result = joinPoint.proceed();
-            Instant end = Instant.now();
-            long duration = Duration.between(start, end).toMillis();
-            log.info("Exiting method: {}. Execution time: {} ms", methodName, duration);
-
-            // Record duration using Micrometer Timer
-            Timer.builder("app.method.duration")
-                    .description("Execution time of application methods")
-                    .tag("method", methodName)
-                    .tag("operation", operationName)
-                    .register(meterRegistry)
-                    .record(duration, java.util.concurrent.TimeUnit.MILLISECONDS);
-
+            long duration = System.nanoTime() - start;
+            meters.success().record(duration, TimeUnit.NANOSECONDS);
+            logExecution(meters, duration);
             return result;
         } catch (Throwable e) {
-            Instant end = Instant.now();
-            long duration = Duration.between(start, end).toMillis();
-            log.error("Method: {} threw exception: {}. Execution time: {} ms", methodName, e.getMessage(), duration);
+            long duration = System.nanoTime() - start;
+            meters.error().record(duration, TimeUnit.NANOSECONDS);
+            log.error("Method: {} threw exception: {}. Execution time: {} ms", meters.methodName(), e.getMessage(), TimeUnit.NANOSECONDS.toMillis(duration));
+            throw e; // Re-throw the exception to maintain normal program flow
+        }
+    }
 
-            // Record duration for failed execution (can be tagged differently if needed)
-            Timer.builder("app.method.duration")
-                    .description("Execution time of application methods (with errors)")
-                    .tag("method", methodName)
-                    .tag("operation", operationName)
-                    .tag("status", "error")
-                    .register(meterRegistry)
-                    .record(duration, java.util.concurrent.TimeUnit.MILLISECONDS);
+    private void logExecution(MethodMeters meters, long duration) {
+        if (duration >= slowCallThresholdNanos) {
+            log.info("Slow method: {}. Execution time: {} ms", meters.methodName(), TimeUnit.NANOSECONDS.toMillis(duration));
+        } else if (logSampleRate > 0 && log.isDebugEnabled() && ThreadLocalRandom.current().nextInt(logSampleRate) == 0) {
+            log.debug("Exiting method: {}. Execution time: {} us (1 in {} calls logged)", meters.methodName(), TimeUnit.NANOSECONDS.toMicros(duration), logSampleRate);
+        }
+    }
 
-            throw e; // Re-throw the exception to maintain normal program flow
+    private MethodMeters resolveMeters(ProceedingJoinPoint joinPoint, Method method) {
+        String methodName = joinPoint.getSignature().toShortString();
+        String operationName = method.getName(); // Default operation name
+
+        // Check if a custom name is provided in the annotation
+        MonitorPerformance annotation = AnnotationUtils.findAnnotation(method, MonitorPerformance.class);
+        if (annotation != null && !annotation.value().isEmpty()) {
+            operationName = annotation.value();
         }
+        log.debug("Registering timers for method: {} (operation {})", methodName, operationName);
+        return new MethodMeters(methodName,
+                timer(methodName, operationName, "success"),
+                timer(methodName, operationName, "error"));
+    }
+
+    // Client-side percentiles and SLO buckets are kept in Micrometer's HdrHistogram-based time-window histogram
+    private Timer timer(String methodName, String operationName, String status) {
+        return Timer.builder("app.method.duration")
+                .description("Execution time of application methods")
+                .tag("method", methodName)
+                .tag("operation", operationName)
+                .tag("status", status)
+                .publishPercentiles(percentiles)
+                .serviceLevelObjectives(serviceLevelObjectives)
+                .register(meterRegistry);
+    }
+
+    private record MethodMeters(String methodName, Timer success, Timer error) {
     }
 }
 ```
\ No newline at end of file
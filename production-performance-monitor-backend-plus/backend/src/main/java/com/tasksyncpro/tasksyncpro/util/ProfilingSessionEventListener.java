@@ -0,0 +1,42 @@
+```java
+package com.tasksyncpro.tasksyncpro.util;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Counts the JDBC statements and batches a Hibernate session executes, and their time, into the current
+ * {@link RequestProfile}. Registered for every session via {@code hibernate.session.events.auto}.
+ */
+public class ProfilingSessionEventListener extends BaseSessionEventListener {
+
+    // A session is used by one thread at a time, so plain fields are enough
+    private long statementStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        RequestProfile profile = RequestProfile.current();
+        if (profile != null) {
+            profile.recordJdbcStatement(System.nanoTime() - statementStart);
+        }
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        RequestProfile profile = RequestProfile.current();
+        if (profile != null) {
+            profile.recordJdbcStatement(System.nanoTime() - batchStart);
+        }
+    }
+}
+```
\ No newline at end of file
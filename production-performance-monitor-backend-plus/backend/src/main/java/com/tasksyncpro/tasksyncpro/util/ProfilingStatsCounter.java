@@ -0,0 +1,55 @@
+```java
+package com.tasksyncpro.tasksyncpro.util;
+
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+
+/**
+ * Caffeine stats counter that also attributes cache hits and misses to the current {@link RequestProfile}.
+ * The cache-wide statistics, which Micrometer binds, are unchanged.
+ */
+public class ProfilingStatsCounter implements StatsCounter {
+
+    private final StatsCounter delegate = new ConcurrentStatsCounter();
+
+    @Override
+    public void recordHits(int count) {
+        delegate.recordHits(count);
+        RequestProfile profile = RequestProfile.current();
+        if (profile != null) {
+            profile.recordCacheHits(count);
+        }
+    }
+
+    @Override
+    public void recordMisses(int count) {
+        delegate.recordMisses(count);
+        RequestProfile profile = RequestProfile.current();
+        if (profile != null) {
+            profile.recordCacheMisses(count);
+        }
+    }
+
+    @Override
+    public void recordLoadSuccess(long loadTime) {
+        delegate.recordLoadSuccess(loadTime);
+    }
+
+    @Override
+    public void recordLoadFailure(long loadTime) {
+        delegate.recordLoadFailure(loadTime);
+    }
+
+    @Override
+    public void recordEviction(int weight, RemovalCause cause) {
+        delegate.recordEviction(weight, cause);
+    }
+
+    @Override
+    public CacheStats snapshot() {
+        return delegate.snapshot();
+    }
+}
+```
\ No newline at end of file
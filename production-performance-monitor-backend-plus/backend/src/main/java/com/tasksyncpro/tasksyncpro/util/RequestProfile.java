@@ -0,0 +1,126 @@
+```java
+package com.tasksyncpro.tasksyncpro.util;
+
+import lombok.Getter;
+
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+
+/**
+ * Resource usage of one profiled request, collected on the thread that handles it.
+ * The profile is bound to that thread between {@link #start} and {@link #finish}; the JDBC and cache hooks add to
+ * the current profile, and do nothing when the request is not being profiled.
+ */
+@Getter
+public class RequestProfile {
+
+    private static final ThreadLocal<RequestProfile> CURRENT = new ThreadLocal<>();
+    private static final com.sun.management.ThreadMXBean THREADS = initThreadMXBean();
+
+    private final String handler;
+    private final String httpMethod;
+    private final String uri;
+    private final Instant startedAt;
+    private final boolean forced; // Requested by header rather than sampled
+
+    private final long startNanos;
+    private final long startCpuNanos;
+    private final long startAllocatedBytes;
+
+    private long wallNanos;
+    private long cpuNanos = -1; // -1 if the JVM cannot measure it
+    private long allocatedBytes = -1;
+    private int status;
+
+    private int jdbcStatements;
+    private long jdbcNanos;
+    private int cacheHits;
+    private int cacheMisses;
+
+    private RequestProfile(String handler, String httpMethod, String uri, boolean forced) {
+        this.handler = handler;
+        this.httpMethod = httpMethod;
+        this.uri = uri;
+        this.forced = forced;
+        this.startedAt = Instant.now();
+        this.startCpuNanos = cpuTime();
+        this.startAllocatedBytes = allocatedBytes();
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Starts profiling the current thread's request.
+     */
+    public static RequestProfile start(String handler, String httpMethod, String uri, boolean forced) {
+        RequestProfile profile = new RequestProfile(handler, httpMethod, uri, forced);
+        CURRENT.set(profile);
+        return profile;
+    }
+
+    /**
+     * Stops profiling the current thread's request and unbinds it.
+     * @return The completed profile, or null if the request was not profiled.
+     */
+    public static RequestProfile finish(int status) {
+        RequestProfile profile = CURRENT.get();
+        if (profile == null) {
+            return null;
+        }
+        CURRENT.remove();
+        profile.wallNanos = System.nanoTime() - profile.startNanos;
+        if (profile.startCpuNanos >= 0) {
+            profile.cpuNanos = cpuTime() - profile.startCpuNanos;
+        }
+        if (profile.startAllocatedBytes >= 0) {
+            profile.allocatedBytes = allocatedBytes() - profile.startAllocatedBytes;
+        }
+        profile.status = status;
+        return profile;
+    }
+
+    /**
+     * Unbinds the current thread's profile, if any, without recording it.
+     */
+    public static void discard() {
+        CURRENT.remove();
+    }
+
+    public static RequestProfile current() {
+        return CURRENT.get();
+    }
+
+    public void recordJdbcStatement(long nanos) {
+        jdbcStatements++;
+        jdbcNanos += nanos;
+    }
+
+    public void recordCacheHits(int count) {
+        cacheHits += count;
+    }
+
+    public void recordCacheMisses(int count) {
+        cacheMisses += count;
+    }
+
+    private static long cpuTime() {
+        return THREADS != null && THREADS.isThreadCpuTimeEnabled() ? THREADS.getCurrentThreadCpuTime() : -1;
+    }
+
+    private static long allocatedBytes() {
+        return THREADS != null && THREADS.isThreadAllocatedMemoryEnabled() ? THREADS.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    private static com.sun.management.ThreadMXBean initThreadMXBean() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads)) {
+            return null; // Not a HotSpot-based JVM
+        }
+        if (threads.isCurrentThreadCpuTimeSupported() && !threads.isThreadCpuTimeEnabled()) {
+            threads.setThreadCpuTimeEnabled(true);
+        }
+        if (threads.isThreadAllocatedMemorySupported() && !threads.isThreadAllocatedMemoryEnabled()) {
+            threads.setThreadAllocatedMemoryEnabled(true);
+        }
+        return threads;
+    }
+}
+```
\ No newline at end of file
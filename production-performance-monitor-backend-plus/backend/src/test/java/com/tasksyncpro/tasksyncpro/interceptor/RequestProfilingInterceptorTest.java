@@ -0,0 +1,74 @@
+```java
+package com.tasksyncpro.tasksyncpro.interceptor;
+
+import com.tasksyncpro.tasksyncpro.service.RequestProfilingService;
+import com.tasksyncpro.tasksyncpro.util.RequestProfile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestProfilingInterceptorTest {
+
+    private RequestProfilingService requestProfilingService;
+    private RequestProfilingInterceptor interceptor;
+    private HandlerMethod handler;
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        requestProfilingService = new RequestProfilingService(new SimpleMeterRegistry(), 3);
+        interceptor = new RequestProfilingInterceptor(requestProfilingService, true, 0.0, "X-Profile-Request");
+        handler = new HandlerMethod(new Object(), Object.class.getMethod("toString"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestProfile.discard(); // Never leak a profile into the next test
+    }
+
+    @Test
+    void preHandle_profilingHeaderFromAdmin_forcesProfile() {
+        MockHttpServletRequest request = request();
+        request.addUserRole("ADMIN");
+
+        interceptor.preHandle(request, response, handler);
+        interceptor.afterCompletion(request, response, handler, null);
+
+        assertEquals(1, requestProfilingService.getSlowestTraces().size());
+        assertTrue(requestProfilingService.getSlowestTraces().get(0).forced());
+    }
+
+    @Test
+    void preHandle_profilingHeaderFromNonAdmin_isIgnored() {
+        MockHttpServletRequest request = request();
+        request.addUserRole("USER");
+
+        interceptor.preHandle(request, response, handler);
+
+        assertNull(RequestProfile.current());
+    }
+
+    @Test
+    void afterConcurrentHandlingStarted_unbindsProfileFromThread() {
+        MockHttpServletRequest request = request();
+        request.addUserRole("ADMIN");
+
+        interceptor.preHandle(request, response, handler);
+        interceptor.afterConcurrentHandlingStarted(request, response, handler);
+
+        assertNull(RequestProfile.current());
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks/1");
+        request.addHeader("X-Profile-Request", "true");
+        return request;
+    }
+}
+```
\ No newline at end of file
@@ -0,0 +1,72 @@
+```java
+package com.tasksyncpro.tasksyncpro.service;
+
+import com.tasksyncpro.tasksyncpro.config.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link RateLimitService#tryAcquire} from 16 threads: spread over 1M distinct clients (the table
+ * at its configured bound), and with every thread hammering one client (CAS contention on a single entry).
+ *
+ * Run with: {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.tasksyncpro.tasksyncpro.service.RateLimitServiceBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@Threads(16)
+public class RateLimitServiceBenchmark {
+
+    private static final int KEYS = 1_000_000;
+
+    private RateLimitService rateLimitService;
+    private String[] keys;
+
+    @Setup
+    public void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setMaxKeys(KEYS);
+        rateLimitService = new RateLimitService(new MetricsService(new SimpleMeterRegistry()), properties);
+        keys = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = "10.0." + (i >>> 16) + "." + (i & 0xFFFF);
+            rateLimitService.tryAcquire(keys[i], "user"); // Start with the table full
+        }
+    }
+
+    @Benchmark
+    public boolean distinctClients() {
+        return rateLimitService.tryAcquire(keys[ThreadLocalRandom.current().nextInt(KEYS)], "user");
+    }
+
+    @Benchmark
+    public boolean singleHotClient() {
+        return rateLimitService.tryAcquire(keys[0], "user");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RateLimitServiceBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
+```
\ No newline at end of file
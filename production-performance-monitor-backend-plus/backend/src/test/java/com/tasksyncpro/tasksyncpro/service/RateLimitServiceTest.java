@@ -0,0 +1,114 @@
+```java
+package com.tasksyncpro.tasksyncpro.service;
+
+import com.tasksyncpro.tasksyncpro.config.RateLimitProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RateLimitServiceTest {
+
+    @Mock
+    private MetricsService metricsService;
+
+    private RateLimitService rateLimitService;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getTiers().put("anonymous", new RateLimitProperties.Tier(1, 2));
+        properties.getTiers().put("user", new RateLimitProperties.Tier(1, 5));
+        properties.getTiers().put("admin", new RateLimitProperties.Tier(1, 10));
+        rateLimitService = new RateLimitService(metricsService, properties);
+    }
+
+    private int acquireAll(String identifier, String tier, int attempts) {
+        int acquired = 0;
+        for (int i = 0; i < attempts; i++) {
+            if (rateLimitService.tryAcquire(identifier, tier)) {
+                acquired++;
+            }
+        }
+        return acquired;
+    }
+
+    @Test
+    void tryAcquire_allowsTheTierBurstThenRejects() {
+        assertEquals(5, acquireAll("alice", "user", 20));
+        assertEquals(10, acquireAll("root", "admin", 20));
+        assertEquals(2, acquireAll("10.0.0.1", "anonymous", 20));
+
+        verify(metricsService, times(15)).incrementApiRateLimitExceededCounter("user");
+        verify(metricsService, times(10)).incrementApiRateLimitExceededCounter("admin");
+        verify(metricsService, times(18)).incrementApiRateLimitExceededCounter("anonymous");
+    }
+
+    @Test
+    void tryAcquire_refillsAtTheConfiguredRate() throws InterruptedException {
+        rateLimitService.setRateLimitForIdentifier("fast", 50); // One request every 20 ms, no burst
+        assertTrue(rateLimitService.tryAcquire("fast"));
+        assertFalse(rateLimitService.tryAcquire("fast"));
+
+        Thread.sleep(25);
+        assertTrue(rateLimitService.tryAcquire("fast"));
+        verify(metricsService).incrementApiRateLimitExceededCounter("custom");
+    }
+
+    @Test
+    void tryAcquire_neverGrantsMoreThanTheBurstUnderContention() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return acquireAll("shared", "admin", 100);
+            }));
+        }
+        start.countDown();
+        int acquired = 0;
+        for (Future<Integer> result : results) {
+            acquired += result.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Burst of 10, plus at most one refill at 1 rps while the threads run
+        assertTrue(acquired >= 10 && acquired <= 11, "acquired " + acquired);
+    }
+
+    @Test
+    void resolveTier_picksMostGenerousMappedRole() {
+        assertEquals("anonymous", rateLimitService.resolveTier(null));
+        assertEquals("user", rateLimitService.resolveTier(Set.of(new SimpleGrantedAuthority("ROLE_USER"))));
+        assertEquals("admin", rateLimitService.resolveTier(Set.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN"))));
+        assertEquals("user", rateLimitService.resolveTier(Set.of(new SimpleGrantedAuthority("ROLE_AUDITOR"))));
+    }
+
+    @Test
+    void tryAcquire_keepsTrackedClientsBounded() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setMaxKeys(1_000);
+        RateLimitService bounded = new RateLimitService(metricsService, properties);
+        for (int i = 0; i < 10_000; i++) {
+            bounded.tryAcquire("client-" + i, "user");
+        }
+        assertTrue(bounded.getTrackedClientCount() <= 1_000, "tracked " + bounded.getTrackedClientCount());
+    }
+}
+```
\ No newline at end of file
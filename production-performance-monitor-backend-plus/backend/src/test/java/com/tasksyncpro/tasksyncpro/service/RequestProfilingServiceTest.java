@@ -0,0 +1,99 @@
+```java
+package com.tasksyncpro.tasksyncpro.service;
+
+import com.tasksyncpro.tasksyncpro.util.ProfilingStatsCounter;
+import com.tasksyncpro.tasksyncpro.util.RequestProfile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestProfilingServiceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RequestProfilingService requestProfilingService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        requestProfilingService = new RequestProfilingService(meterRegistry, 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestProfile.finish(0); // Never leak a profile into the next test
+    }
+
+    private RequestProfile profile(String handler, long sleepMillis) throws InterruptedException {
+        RequestProfile.start(handler, "GET", "/api/" + handler, false);
+        Thread.sleep(sleepMillis);
+        return RequestProfile.finish(200);
+    }
+
+    @Test
+    void finish_measuresThreadResourcesAndAttributedCounters() {
+        RequestProfile.start("TaskController.getTaskById", "GET", "/api/tasks/1", true);
+        List<long[]> garbage = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            garbage.add(new long[1024]); // ~800 KB on this thread
+        }
+        RequestProfile.current().recordJdbcStatement(TimeUnit.MILLISECONDS.toNanos(2));
+        RequestProfile.current().recordJdbcStatement(TimeUnit.MILLISECONDS.toNanos(3));
+        ProfilingStatsCounter stats = new ProfilingStatsCounter();
+        stats.recordHits(2);
+        stats.recordMisses(1);
+        RequestProfile profile = RequestProfile.finish(200);
+
+        assertNotNull(profile);
+        assertNull(RequestProfile.current());
+        assertEquals(100, garbage.size());
+        assertTrue(profile.getAllocatedBytes() >= 100 * 1024 * 8, "allocated " + profile.getAllocatedBytes());
+        assertTrue(profile.getCpuNanos() > 0);
+        assertEquals(2, profile.getJdbcStatements());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(5), profile.getJdbcNanos());
+        assertEquals(2, profile.getCacheHits());
+        assertEquals(1, profile.getCacheMisses());
+        // The cache-wide stats still count everything
+        assertEquals(2, stats.snapshot().hitCount());
+    }
+
+    @Test
+    void hooks_ignoreUnprofiledRequests() {
+        new ProfilingStatsCounter().recordHits(1);
+        assertNull(RequestProfile.current());
+        assertNull(RequestProfile.finish(200));
+    }
+
+    @Test
+    void record_publishesPerHandlerMetrics() throws InterruptedException {
+        requestProfilingService.record(profile("TaskController.getTaskById", 1));
+        requestProfilingService.record(profile("TaskController.getTaskById", 1));
+        requestProfilingService.record(profile("ProjectController.getAllProjects", 1));
+
+        assertEquals(2, meterRegistry.get("app.request.profile.wall").tag("handler", "TaskController.getTaskById").timer().count());
+        assertEquals(2, meterRegistry.get("app.request.profile.cpu").tag("handler", "TaskController.getTaskById").timer().count());
+        assertEquals(2, meterRegistry.get("app.request.profile.allocated").tag("handler", "TaskController.getTaskById").summary().count());
+        assertEquals(1, meterRegistry.get("app.request.profile.jdbc.statements").tag("handler", "ProjectController.getAllProjects").summary().count());
+        assertEquals(0, meterRegistry.get("app.request.profile.cache").tag("handler", "ProjectController.getAllProjects").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    void getSlowestTraces_keepsTheSlowestSortedDescending() throws InterruptedException {
+        long[] sleeps = {5, 30, 1, 20, 10, 2};
+        for (long sleep : sleeps) {
+            requestProfilingService.record(profile("handler" + sleep, sleep));
+        }
+
+        List<RequestProfilingService.RequestTrace> traces = requestProfilingService.getSlowestTraces();
+        assertEquals(List.of("handler30", "handler20", "handler10"), traces.stream().map(RequestProfilingService.RequestTrace::handler).toList());
+        assertTrue(traces.get(0).wallMs() >= 30);
+        assertEquals(200, traces.get(0).status());
+    }
+}
+```
\ No newline at end of file
@@ -0,0 +1,89 @@
+```java
+package com.tasksyncpro.tasksyncpro.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call cost of {@link PerformanceMonitorAspect}. Compares a direct call, a call through a Spring proxy without
+ * advice, and a monitored call. The budget for the aspect itself (monitored minus proxied) is 500 ns per call.
+ * The timers use the production percentile and SLO settings; log sampling is off so console output is not measured.
+ *
+ * Run with: {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.tasksyncpro.tasksyncpro.util.PerformanceMonitorAspectBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PerformanceMonitorAspectBenchmark {
+
+    public static class Target {
+        @PerformanceMonitorAspect.MonitorPerformance("benchmark")
+        public long monitored(long value) {
+            return value * 31 + 7;
+        }
+    }
+
+    private Target direct;
+    private Target proxied;
+    private Target monitored;
+    private long value = 42;
+
+    @Setup
+    public void setUp() {
+        direct = new Target();
+
+        AspectJProxyFactory plainFactory = new AspectJProxyFactory(new Target());
+        plainFactory.setProxyTargetClass(true);
+        proxied = plainFactory.getProxy();
+
+        PerformanceMonitorAspect aspect = new PerformanceMonitorAspect(new SimpleMeterRegistry(),
+                new double[]{0.5, 0.95, 0.99},
+                new Duration[]{Duration.ofMillis(50), Duration.ofMillis(100), Duration.ofMillis(250), Duration.ofMillis(500), Duration.ofSeconds(1)},
+                0, Duration.ofMillis(500));
+        AspectJProxyFactory monitoredFactory = new AspectJProxyFactory(new Target());
+        monitoredFactory.setProxyTargetClass(true);
+        monitoredFactory.addAspect(aspect);
+        monitored = monitoredFactory.getProxy();
+    }
+
+    @Benchmark
+    public long directCall() {
+        return direct.monitored(value);
+    }
+
+    @Benchmark
+    public long proxiedCall() {
+        return proxied.monitored(value);
+    }
+
+    @Benchmark
+    public long monitoredCall() {
+        return monitored.monitored(value);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PerformanceMonitorAspectBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
+```
\ No newline at end of file
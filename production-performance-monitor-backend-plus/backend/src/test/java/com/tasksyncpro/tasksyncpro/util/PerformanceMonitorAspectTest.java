@@ -0,0 +1,83 @@
+```java
+package com.tasksyncpro.tasksyncpro.util;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PerformanceMonitorAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private MonitoredTarget proxy;
+
+    static class MonitoredTarget {
+        @PerformanceMonitorAspect.MonitorPerformance("createThing")
+        public String create(String name) {
+            return "created " + name;
+        }
+
+        @PerformanceMonitorAspect.MonitorPerformance
+        public void fail() {
+            throw new IllegalStateException("boom");
+        }
+
+        public String unmonitored() {
+            return "plain";
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        PerformanceMonitorAspect aspect = new PerformanceMonitorAspect(meterRegistry,
+                new double[]{0.5, 0.99}, new Duration[]{Duration.ofMillis(50), Duration.ofMillis(500)}, 0, Duration.ofSeconds(1));
+        AspectJProxyFactory factory = new AspectJProxyFactory(new MonitoredTarget());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        proxy = factory.getProxy();
+    }
+
+    @Test
+    void monitorPerformance_recordsEveryCallInOneCachedTimer() {
+        for (int i = 0; i < 5; i++) {
+            assertEquals("created " + i, proxy.create(String.valueOf(i)));
+        }
+
+        Timer success = meterRegistry.get("app.method.duration")
+                .tag("operation", "createThing")
+                .tag("status", "success")
+                .timer();
+        assertEquals(5, success.count());
+        assertEquals("MonitoredTarget.create(..)", success.getId().getTag("method"));
+        // Success and error timers are resolved together, once per method
+        assertEquals(2, meterRegistry.find("app.method.duration").tag("operation", "createThing").timers().size());
+        assertEquals(2, success.takeSnapshot().percentileValues().length);
+        assertEquals(2, success.takeSnapshot().histogramCounts().length);
+    }
+
+    @Test
+    void monitorPerformance_recordsFailuresAndRethrows() {
+        IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> proxy.fail());
+        assertEquals("boom", thrown.getMessage());
+
+        Timer error = meterRegistry.get("app.method.duration")
+                .tag("operation", "fail")
+                .tag("status", "error")
+                .timer();
+        assertEquals(1, error.count());
+        assertEquals(0, meterRegistry.get("app.method.duration").tag("operation", "fail").tag("status", "success").timer().count());
+    }
+
+    @Test
+    void monitorPerformance_ignoresUnannotatedMethods() {
+        assertEquals("plain", proxy.unmonitored());
+        assertTrue(meterRegistry.find("app.method.duration").timers().isEmpty());
+    }
+}
+```
\ No newline at end of file
@@ -1,9 +1,11 @@
 package com.example.authsystem.config;
 
 import com.example.authsystem.filter.JwtAuthenticationFilter;
+import com.example.authsystem.filter.PrincipalRateLimitFilter;
 import com.example.authsystem.filter.RateLimitFilter;
 import com.example.authsystem.security.UserDetailsServiceImpl;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -34,7 +36,8 @@ public class SecurityConfig {
 
     private final UserDetailsServiceImpl userDetailsService;
     private final JwtAuthenticationFilter jwtAuthFilter;
-    private final RateLimitFilter rateLimitFilter; // Inject RateLimitFilter
+    private final RateLimitFilter rateLimitFilter; // Per client IP, before the token is parsed
+    private final PrincipalRateLimitFilter principalRateLimitFilter; // Per user, once authenticated
 
     private static final String[] WHITE_LIST_URL = {
             "/api/v1/auth/**",
@@ -61,12 +64,29 @@ public class SecurityConfig {
                 )
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)) // Use stateless sessions
                 .authenticationProvider(authenticationProvider())
-                .addFilterBefore(rateLimitFilter, UsernamePasswordAuthenticationFilter.class) // Apply rate limiting first
-                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class); // Apply JWT filter
+                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class) // Apply JWT filter
+                .addFilterBefore(rateLimitFilter, JwtAuthenticationFilter.class) // Bad tokens are limited too
+                .addFilterAfter(principalRateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
 
+    // Keep Spring Boot from also registering the rate limit filters in the servlet chain, where they would run
+    // outside the security chain and, being once-per-request, skip their place in it
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter filter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<PrincipalRateLimitFilter> principalRateLimitFilterRegistration(PrincipalRateLimitFilter filter) {
+        FilterRegistrationBean<PrincipalRateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
     @Bean
     public AuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
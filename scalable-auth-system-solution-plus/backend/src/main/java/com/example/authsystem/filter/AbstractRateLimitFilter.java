@@ -0,0 +1,75 @@
+package com.example.authsystem.filter;
+
+import com.example.authsystem.ratelimit.RateLimitDecision;
+import com.example.authsystem.ratelimit.RateLimitProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Rejects a request with 429 when its rate limit bucket is empty, and reports the remaining budget otherwise.
+ * Subclasses pick the bucket.
+ */
+@Slf4j
+abstract class AbstractRateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    AbstractRateLimitFilter(RateLimitProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * @return the decision for this request, or {@code null} if this filter does not limit it
+     */
+    protected abstract RateLimitDecision check(HttpServletRequest request);
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RateLimitDecision decision = properties.isEnabled() ? check(request) : null;
+        if (decision == null) {
+            filterChain.doFilter(request, response);
+        } else if (decision.allowed()) {
+            // Request allowed
+            response.setHeader("X-Rate-Limit-Remaining", String.valueOf(decision.remaining()));
+            response.setHeader("X-Rate-Limit-Retry-After-Seconds", "0");
+            filterChain.doFilter(request, response);
+        } else {
+            // Request denied
+            long waitForRefill = (decision.retryAfterMillis() + 999) / 1000;
+            response.setHeader("X-Rate-Limit-Remaining", "0");
+            response.setHeader("X-Rate-Limit-Retry-After-Seconds", String.valueOf(waitForRefill));
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+
+            Map<String, Object> errorDetails = Map.of(
+                    "timestamp", System.currentTimeMillis(),
+                    "status", HttpStatus.TOO_MANY_REQUESTS.value(),
+                    "error", "Too Many Requests",
+                    "message", "You have exceeded your API rate limit. Try again in " + waitForRefill + " seconds.",
+                    "path", request.getRequestURI()
+            );
+            response.getWriter().write(objectMapper.writeValueAsString(errorDetails));
+            log.warn("Rate limit exceeded for IP: {}. Path: {}", getClientIp(request), request.getRequestURI());
+        }
+    }
+
+    static String getClientIp(HttpServletRequest request) {
+        String xfHeader = request.getHeader("X-Forwarded-For");
+        if (xfHeader == null || xfHeader.isEmpty() || !xfHeader.contains(".")) {
+            return request.getRemoteAddr();
+        }
+        return xfHeader.split(",")[0]; // In case of multiple proxies, first IP is the client
+    }
+}
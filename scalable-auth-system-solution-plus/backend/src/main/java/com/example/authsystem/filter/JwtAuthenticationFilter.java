@@ -1,7 +1,6 @@
 package com.example.authsystem.filter;
 
-import com.example.authsystem.security.JwtService;
-import com.example.authsystem.security.UserDetailsServiceImpl;
+import com.example.authsystem.security.JwtPrincipalResolver;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureException;
@@ -16,6 +15,7 @@ import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -28,8 +28,7 @@ import java.io.IOException;
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtService jwtService;
-    private final UserDetailsServiceImpl userDetailsService;
+    private final JwtPrincipalResolver jwtPrincipalResolver;
     private final HandlerExceptionResolver handlerExceptionResolver; // To delegate exception handling to @ControllerAdvice
 
     @Override
@@ -40,7 +39,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     ) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String userEmail;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
@@ -49,10 +47,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         jwt = authHeader.substring(7);
         try {
-            userEmail = jwtService.extractUsername(jwt);
-            if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
-                if (jwtService.isTokenValid(jwt, userDetails)) {
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                // Verifies signature and expiry once; repeated requests with the same token skip parsing and the user lookup
+                UserDetails userDetails = jwtPrincipalResolver.resolve(jwt);
+                if (userDetails != null) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails,
                             null,
@@ -62,11 +60,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     SecurityContextHolder.getContext().setAuthentication(authToken);
                 }
             }
-            filterChain.doFilter(request, response);
         } catch (ExpiredJwtException | MalformedJwtException | SignatureException | UnsupportedJwtException | IllegalArgumentException e) {
             // Delegate exceptions to Spring's exception handling mechanism
             log.warn("JWT validation failed: {}", e.getMessage());
             handlerExceptionResolver.resolveException(request, response, null, e);
+            return;
+        } catch (UsernameNotFoundException e) {
+            // Valid token for a deleted user: continue unauthenticated, so the request is rejected like an anonymous one
+            log.warn("JWT subject no longer exists: {}", e.getMessage());
         }
+        filterChain.doFilter(request, response);
     }
 }
\ No newline at end of file
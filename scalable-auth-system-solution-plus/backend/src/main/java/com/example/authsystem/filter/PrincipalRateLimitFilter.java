@@ -0,0 +1,35 @@
+package com.example.authsystem.filter;
+
+import com.example.authsystem.ratelimit.RateLimitDecision;
+import com.example.authsystem.ratelimit.RateLimitProperties;
+import com.example.authsystem.ratelimit.RateLimiter;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Second rate limit check, after JWT authentication: applies policies keyed by principal to the authenticated user,
+ * so one user is limited across all the IPs they call from. Anonymous requests were already limited per IP by
+ * {@link RateLimitFilter}.
+ */
+@Component
+public class PrincipalRateLimitFilter extends AbstractRateLimitFilter {
+
+    private final RateLimiter rateLimiter;
+
+    public PrincipalRateLimitFilter(RateLimiter rateLimiter, RateLimitProperties properties) {
+        super(properties);
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    protected RateLimitDecision check(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return rateLimiter.checkPrincipal(request.getRequestURI(), authentication.getName());
+    }
+}
@@ -23,8 +23,9 @@ import java.time.Instant;
 @Builder
 public class RefreshToken extends BaseEntity {
 
-    @Column(nullable = false, unique = true)
-    private String token;
+    // SHA-256 of the token; the token itself is never stored
+    @Column(name = "token_hash", nullable = false, unique = true)
+    private String tokenHash;
 
     @Column(nullable = false)
     private Instant expiryDate;
@@ -0,0 +1,72 @@
+package com.example.authsystem.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-instance store: limits apply to each replica separately.
+ * <p>
+ * Memory is bounded twice: an entry expires as soon as its bucket has refilled (at which point it carries no
+ * information), and at most {@code application.rate-limit.maximum-keys} keys are kept, so scanning traffic
+ * from many addresses cannot grow the heap.
+ */
+@Component
+@ConditionalOnProperty(name = "application.rate-limit.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    private final Cache<String, Long> tats;
+    private final Clock clock;
+
+    @Autowired
+    public InMemoryRateLimitStore(RateLimitProperties properties) {
+        this(properties.getMaximumKeys(), Clock.systemUTC());
+    }
+
+    InMemoryRateLimitStore(long maximumKeys, Clock clock) {
+        this.clock = clock;
+        this.tats = Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .ticker(() -> TimeUnit.MICROSECONDS.toNanos(RateLimitStore.nowMicros(clock)))
+                .expireAfter(new Expiry<String, Long>() {
+                    @Override
+                    public long expireAfterCreate(String key, Long tat, long currentTime) {
+                        return TimeUnit.MICROSECONDS.toNanos(Math.max(0, tat - RateLimitStore.nowMicros(clock)));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Long tat, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, tat, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Long tat, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public RateLimitDecision tryConsume(String key, RateLimitPolicy policy) {
+        RateLimitDecision[] decision = new RateLimitDecision[1];
+        tats.asMap().compute(key, (k, tat) -> {
+            long now = RateLimitStore.nowMicros(clock);
+            long nextTat = policy.nextTat(tat != null ? tat : now, now);
+            decision[0] = policy.decide(nextTat, now);
+            return decision[0].allowed() ? nextTat : tat;
+        });
+        return decision[0];
+    }
+
+    long size() {
+        tats.cleanUp();
+        return tats.estimatedSize();
+    }
+}
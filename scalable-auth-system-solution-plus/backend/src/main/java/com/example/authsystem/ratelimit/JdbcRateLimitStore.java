@@ -0,0 +1,82 @@
+package com.example.authsystem.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.List;
+
+/**
+ * Shared store in the {@code rate_limit_buckets} table, so all replicas enforce one combined limit.
+ * <p>
+ * Each check reads the key's TAT and writes the new one with a compare-and-set {@code UPDATE}, retrying when
+ * another replica got there first; no locks are held between statements. Rows of refilled buckets are
+ * deleted periodically. If the database is unreachable requests are let through (fail open), since the rate
+ * limiter must not take the API down with it.
+ */
+@Component
+@ConditionalOnProperty(name = "application.rate-limit.store", havingValue = "jdbc")
+@Slf4j
+public class JdbcRateLimitStore implements RateLimitStore {
+
+    private static final int MAX_ATTEMPTS = 5;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Clock clock;
+
+    @Autowired
+    public JdbcRateLimitStore(JdbcTemplate jdbcTemplate) {
+        this(jdbcTemplate, Clock.systemUTC());
+    }
+
+    JdbcRateLimitStore(JdbcTemplate jdbcTemplate, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.clock = clock;
+    }
+
+    @Override
+    public RateLimitDecision tryConsume(String key, RateLimitPolicy policy) {
+        try {
+            for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+                long now = RateLimitStore.nowMicros(clock);
+                List<Long> stored = jdbcTemplate.queryForList("SELECT tat FROM rate_limit_buckets WHERE bucket_key = ?", Long.class, key);
+                Long tat = stored.isEmpty() ? null : stored.get(0);
+                long nextTat = policy.nextTat(tat != null ? tat : now, now);
+                RateLimitDecision decision = policy.decide(nextTat, now);
+                if (!decision.allowed()) {
+                    return decision;
+                }
+                if (tat == null) {
+                    try {
+                        jdbcTemplate.update("INSERT INTO rate_limit_buckets (bucket_key, tat) VALUES (?, ?)", key, nextTat);
+                        return decision;
+                    } catch (DuplicateKeyException e) {
+                        continue; // Another replica created the bucket first
+                    }
+                }
+                if (jdbcTemplate.update("UPDATE rate_limit_buckets SET tat = ? WHERE bucket_key = ? AND tat = ?", nextTat, key, tat) == 1) {
+                    return decision;
+                }
+            }
+            // Still contended after several rounds: the key is being hammered, so rejecting is the safe answer
+            return new RateLimitDecision(false, 0, 0);
+        } catch (DataAccessException e) {
+            log.warn("Rate limit store unavailable, allowing request for {}: {}", key, e.getMessage());
+            return RateLimitDecision.allowedUnchecked();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${application.rate-limit.cleanup-interval-ms:60000}")
+    public void deleteRefilledBuckets() {
+        int deleted = jdbcTemplate.update("DELETE FROM rate_limit_buckets WHERE tat < ?", RateLimitStore.nowMicros(clock));
+        if (deleted > 0) {
+            log.debug("Deleted {} refilled rate limit buckets", deleted);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.authsystem.ratelimit;
+
+/**
+ * Outcome of one rate-limit check.
+ *
+ * @param remaining        requests still allowed right now under the policy
+ * @param retryAfterMillis how long a rejected client has to wait; 0 when allowed
+ */
+public record RateLimitDecision(boolean allowed, long remaining, long retryAfterMillis) {
+
+    static RateLimitDecision allowedUnchecked() {
+        return new RateLimitDecision(true, -1, 0);
+    }
+}
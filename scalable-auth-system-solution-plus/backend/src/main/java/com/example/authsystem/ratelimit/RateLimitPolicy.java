@@ -0,0 +1,54 @@
+package com.example.authsystem.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * A limit of {@code capacity} requests per {@code period}, enforced with the generic cell rate algorithm (GCRA).
+ * <p>
+ * GCRA behaves like a token bucket that refills continuously, but its whole state is a single timestamp per
+ * key, the "theoretical arrival time" (TAT) at which the bucket is full again. That makes a bucket cheap to
+ * keep in memory and a single-column compare-and-set in a shared store. All times are epoch microseconds.
+ */
+public record RateLimitPolicy(String name, long capacity, Duration period, KeyType keyType) {
+
+    public enum KeyType {
+        /** One bucket per client IP. */
+        IP,
+        /** One bucket per client IP, plus one per authenticated user. */
+        PRINCIPAL
+    }
+
+    public RateLimitPolicy {
+        if (capacity < 1 || period.isZero() || period.isNegative()) {
+            throw new IllegalArgumentException("Rate limit policy '" + name + "' needs a positive capacity and period");
+        }
+    }
+
+    long periodMicros() {
+        return period.toNanos() / 1000;
+    }
+
+    long emissionIntervalMicros() {
+        return Math.max(1, periodMicros() / capacity);
+    }
+
+    /**
+     * @param tat the stored TAT, or {@code now} for a key without state
+     * @return the TAT after admitting one more request
+     */
+    long nextTat(long tat, long now) {
+        return Math.max(tat, now) + emissionIntervalMicros();
+    }
+
+    /**
+     * Whether the request that would move the TAT to {@code nextTat} fits in the bucket.
+     */
+    RateLimitDecision decide(long nextTat, long now) {
+        long backlog = nextTat - now;
+        if (backlog <= periodMicros()) {
+            return new RateLimitDecision(true, (periodMicros() - backlog) / emissionIntervalMicros(), 0);
+        }
+        long retryAfterMicros = backlog - periodMicros();
+        return new RateLimitDecision(false, 0, (retryAfterMicros + 999) / 1000);
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.authsystem.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "application.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    private String store = "memory";
+    private long maximumKeys = 100_000; // Bound of the in-memory store
+    private Policy defaultPolicy = new Policy();
+    private List<Policy> policies = new ArrayList<>(); // First policy whose paths match a request applies
+
+    @Data
+    public static class Policy {
+        private String name = "default";
+        private List<String> paths = List.of("/**");
+        private long capacity = 10;
+        private Duration period = Duration.ofMinutes(1);
+        private RateLimitPolicy.KeyType key = RateLimitPolicy.KeyType.IP;
+
+        RateLimitPolicy toPolicy() {
+            return new RateLimitPolicy(name, capacity, period, key);
+        }
+    }
+}
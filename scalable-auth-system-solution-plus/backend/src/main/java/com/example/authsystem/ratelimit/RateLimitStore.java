@@ -0,0 +1,20 @@
+package com.example.authsystem.ratelimit;
+
+import java.time.Clock;
+import java.time.Instant;
+
+/**
+ * Holds the per-key state of {@link RateLimitPolicy} buckets. Selected with {@code application.rate-limit.store}.
+ */
+public interface RateLimitStore {
+
+    /**
+     * Atomically admits one request for the key if its bucket allows it.
+     */
+    RateLimitDecision tryConsume(String key, RateLimitPolicy policy);
+
+    static long nowMicros(Clock clock) {
+        Instant now = clock.instant();
+        return now.getEpochSecond() * 1_000_000 + now.getNano() / 1000;
+    }
+}
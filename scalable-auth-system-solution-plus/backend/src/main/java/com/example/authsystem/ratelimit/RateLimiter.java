@@ -0,0 +1,62 @@
+package com.example.authsystem.ratelimit;
+
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.List;
+
+/**
+ * Picks the policy for a request from configuration and checks it against the configured store.
+ */
+@Component
+public class RateLimiter {
+
+    private final RateLimitStore store;
+    private final List<Route> routes;
+    private final RateLimitPolicy defaultPolicy;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public RateLimiter(RateLimitStore store, RateLimitProperties properties) {
+        this.store = store;
+        this.routes = properties.getPolicies().stream()
+                .map(policy -> new Route(policy.getPaths(), policy.toPolicy()))
+                .toList();
+        this.defaultPolicy = properties.getDefaultPolicy().toPolicy();
+    }
+
+    private record Route(List<String> paths, RateLimitPolicy policy) {
+    }
+
+    /**
+     * Checks the client IP's bucket of the policy for {@code path}. Every request is checked, before authentication,
+     * whatever the policy is keyed by.
+     */
+    public RateLimitDecision checkClient(String path, String clientIp) {
+        RateLimitPolicy policy = policyFor(path);
+        return store.tryConsume(policy.name() + ":ip:" + clientIp, policy);
+    }
+
+    /**
+     * Checks an authenticated user's bucket of the policy for {@code path}.
+     *
+     * @return the decision, or {@code null} if that policy is keyed by IP only
+     */
+    public RateLimitDecision checkPrincipal(String path, String principal) {
+        RateLimitPolicy policy = policyFor(path);
+        if (policy.keyType() != RateLimitPolicy.KeyType.PRINCIPAL) {
+            return null;
+        }
+        return store.tryConsume(policy.name() + ":user:" + principal, policy);
+    }
+
+    RateLimitPolicy policyFor(String path) {
+        for (Route route : routes) {
+            for (String pattern : route.paths()) {
+                if (pathMatcher.match(pattern, path)) {
+                    return route.policy();
+                }
+            }
+        }
+        return defaultPolicy;
+    }
+}
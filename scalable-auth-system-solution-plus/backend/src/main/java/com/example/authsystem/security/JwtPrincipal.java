@@ -0,0 +1,61 @@
+package com.example.authsystem.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+
+/**
+ * Immutable snapshot of an authenticated user, as cached by {@link JwtPrincipalResolver} and shared between
+ * requests. Holds no password and no reference to the JPA entity or its roles.
+ */
+public record JwtPrincipal(String username, List<GrantedAuthority> authorities, boolean enabled) implements UserDetails {
+
+    public JwtPrincipal {
+        authorities = List.copyOf(authorities);
+    }
+
+    public static JwtPrincipal of(UserDetails user) {
+        return new JwtPrincipal(user.getUsername(),
+                user.getAuthorities().stream()
+                        .<GrantedAuthority>map(authority -> new SimpleGrantedAuthority(authority.getAuthority()))
+                        .toList(),
+                user.isEnabled());
+    }
+
+    @Override
+    public List<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.authsystem.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Resolves a bearer token to its user, verifying each distinct token and loading its user only once.
+ * <p>
+ * Resolved principals are cached by SHA-256 of the token, so raw tokens are never held in memory, as immutable
+ * {@link JwtPrincipal} snapshots rather than the JPA entities they were loaded from. An entry lives until the
+ * token expires, capped at {@code principal-cache.max-ttl-seconds} so role changes made elsewhere are picked up.
+ * Anything that changes or revokes a user (logout, password reset, profile update, deletion, disabling) must call
+ * {@link #evictUser(String)}. Inside a transaction the eviction runs after commit, and a principal loaded before
+ * an eviction is not kept in the cache, so a racing request cannot re-cache the old user.
+ */
+@Component
+@Slf4j
+public class JwtPrincipalResolver {
+
+    private final JwtService jwtService;
+    private final UserDetailsServiceImpl userDetailsService;
+    private final Cache<String, CachedPrincipal> principals;
+    private final AtomicLong evictions = new AtomicLong();
+
+    public JwtPrincipalResolver(JwtService jwtService,
+                                UserDetailsServiceImpl userDetailsService,
+                                @Value("${application.security.jwt.principal-cache.maximum-size:10000}") long maximumSize,
+                                @Value("${application.security.jwt.principal-cache.max-ttl-seconds:300}") long maxTtlSeconds) {
+        this.jwtService = jwtService;
+        this.userDetailsService = userDetailsService;
+        long maxTtlNanos = TimeUnit.SECONDS.toNanos(maxTtlSeconds);
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, CachedPrincipal>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedPrincipal value, long currentTime) {
+                        long untilTokenExpiry = TimeUnit.MILLISECONDS.toNanos(value.expiresAtMillis() - System.currentTimeMillis());
+                        return Math.max(0, Math.min(untilTokenExpiry, maxTtlNanos));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedPrincipal value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedPrincipal value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    private record CachedPrincipal(JwtPrincipal user, long expiresAtMillis) {
+    }
+
+    /**
+     * @return the token's user, or {@code null} if the user is disabled
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, tampered with or expired
+     * @throws org.springframework.security.core.userdetails.UsernameNotFoundException if the user no longer exists
+     */
+    public JwtPrincipal resolve(String token) {
+        String tokenHash = TokenDigest.sha256(token);
+        CachedPrincipal cached = principals.getIfPresent(tokenHash);
+        if (cached != null) {
+            return cached.user();
+        }
+
+        long evictionsBeforeLoad = evictions.get();
+        Claims claims = jwtService.verify(token);
+        UserDetails user = userDetailsService.loadUserByUsername(claims.getSubject());
+        if (!user.isEnabled()) {
+            log.warn("Rejected token of disabled user: {}", user.getUsername());
+            return null;
+        }
+        JwtPrincipal principal = JwtPrincipal.of(user);
+        principals.put(tokenHash, new CachedPrincipal(principal, claims.getExpiration().getTime()));
+        // Put first, then check: an eviction either ran before the check or removes the entry after it
+        if (evictions.get() != evictionsBeforeLoad) {
+            principals.invalidate(tokenHash);
+        }
+        return principal;
+    }
+
+    /**
+     * Drops every cached principal of the user, so their next request re-reads them from the database. Inside a
+     * transaction this happens after commit; until then requests may still see the committed user. Scans the
+     * (bounded) cache, which is fine for the rare events that call it.
+     */
+    public void evictUser(String username) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(username);
+                }
+            });
+        } else {
+            evictNow(username);
+        }
+    }
+
+    private void evictNow(String username) {
+        evictions.incrementAndGet();
+        principals.asMap().values().removeIf(principal -> principal.user().getUsername().equals(username));
+    }
+}
@@ -0,0 +1,329 @@
+package com.example.authsystem.security;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Refresh tokens, one per user, stored as SHA-256 hashes in the uniquely indexed {@code refresh_tokens.token_hash}.
+ * <p>
+ * Issuing a token does not touch the database: the token is queued in memory (after the surrounding transaction
+ * commits) and a background flush writes all queued tokens as one batched upsert, so a burst of logins costs one
+ * round trip per flush instead of a read and a write per login. Repeat logins of a user before a flush coalesce
+ * into a single write. Lookups check the queue first, so a token is usable on this instance as soon as it is issued.
+ * <p>
+ * Durability: a token is acknowledged before it is written. If the instance dies, tokens issued in the last
+ * {@code refresh-token.flush-interval-ms} are lost and their users must sign in again (their access tokens stay
+ * valid). Another instance sees a token only once it is flushed. Queued tokens are flushed on shutdown. Once
+ * {@code refresh-token.max-pending} tokens are queued the issuing request flushes them itself, and if the database
+ * is unavailable the login fails instead of growing the queue without bound. If the queue fills up only between
+ * the check and the commit of the login, the login stands and its token is dropped and counted instead.
+ * <p>
+ * A token redeemed for a new one ({@link #consume}) is rejected from that moment on, although it stays stored
+ * until its replacement is flushed. Revocation is synchronous and waits for an in-flight flush, so a revoked token
+ * can never be written back.
+ */
+@Component
+@Slf4j
+public class RefreshTokenStore {
+
+    private static final String UPDATE_SQL = "UPDATE refresh_tokens SET token_hash = ?, expiry_date = ?, updated_at = ? WHERE user_id = ?";
+    private static final String INSERT_SQL = "INSERT INTO refresh_tokens (token_hash, expiry_date, user_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate newTransaction;
+    private final Clock clock;
+    private final long expirationMs;
+    private final int maxPending;
+    private final int sweepChunkSize;
+
+    // Guarded by "pending"; a user has at most one queued token, which is the only one findable by its hash
+    private final Map<Long, PendingToken> pending = new HashMap<>();
+    private final Map<String, PendingToken> pendingByHash = new HashMap<>();
+    // Also guarded by "pending": hashes of redeemed tokens, by user, until a different token of the user is written
+    private final Map<String, Long> consumed = new HashMap<>();
+    private final AtomicLong lostTokens = new AtomicLong();
+    private final Object flushLock = new Object();
+
+    @Autowired
+    public RefreshTokenStore(JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${application.security.jwt.refresh-token.expiration}") long expirationMs,
+                             @Value("${application.security.jwt.refresh-token.max-pending:10000}") int maxPending,
+                             @Value("${application.security.jwt.refresh-token.sweep-chunk-size:1000}") int sweepChunkSize) {
+        this(jdbcTemplate, transactionManager, Clock.systemUTC(), expirationMs, maxPending, sweepChunkSize);
+    }
+
+    RefreshTokenStore(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, Clock clock,
+                      long expirationMs, int maxPending, int sweepChunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Writes commit on their own: flushes may run from afterCommit of a request's transaction
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.clock = clock;
+        this.expirationMs = expirationMs;
+        this.maxPending = maxPending;
+        this.sweepChunkSize = sweepChunkSize;
+    }
+
+    public record IssuedToken(Long userId, Instant expiryDate) {
+    }
+
+    private record PendingToken(String tokenHash, Long userId, Instant expiryDate) {
+    }
+
+    /**
+     * Issues a new token for the user, replacing their previous one.
+     *
+     * @return the raw token, which is handed to the client and not kept anywhere
+     */
+    public String issue(Long userId) {
+        String token = UUID.randomUUID().toString();
+        PendingToken pendingToken = new PendingToken(TokenDigest.sha256(token), userId, clock.instant().plusMillis(expirationMs));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            ensureCapacity(); // A full queue fails the login while it can still roll back
+            // The user row may not be committed yet, and a rolled-back login must not leave a token behind
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    try {
+                        enqueue(pendingToken);
+                    } catch (RuntimeException e) {
+                        // The login has committed, so failing its response would not undo anything
+                        lostTokens.incrementAndGet();
+                        log.error("Dropped refresh token of user {}, who must sign in again: {}", userId, e.getMessage());
+                    }
+                }
+            });
+        } else {
+            enqueue(pendingToken);
+        }
+        return token;
+    }
+
+    public Optional<IssuedToken> find(String token) {
+        return findByHash(TokenDigest.sha256(token));
+    }
+
+    /**
+     * Looks up the token and marks it as redeemed, so it is rejected as soon as it is exchanged for a new one
+     * rather than when the new one is flushed. Only one concurrent caller gets the token. If the surrounding
+     * transaction rolls back, the token becomes usable again.
+     */
+    public Optional<IssuedToken> consume(String token) {
+        String tokenHash = TokenDigest.sha256(token);
+        Optional<IssuedToken> found = findByHash(tokenHash);
+        if (found.isEmpty()) {
+            return found;
+        }
+        synchronized (pending) {
+            if (consumed.putIfAbsent(tokenHash, found.get().userId()) != null) {
+                return Optional.empty();
+            }
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        synchronized (pending) {
+                            consumed.remove(tokenHash);
+                        }
+                    }
+                }
+            });
+        }
+        return found;
+    }
+
+    /**
+     * @return how many issued tokens were dropped because they could not be queued after their login committed
+     */
+    public long getLostTokenCount() {
+        return lostTokens.get();
+    }
+
+    private Optional<IssuedToken> findByHash(String tokenHash) {
+        synchronized (pending) {
+            if (consumed.containsKey(tokenHash)) {
+                return Optional.empty();
+            }
+            PendingToken pendingToken = pendingByHash.get(tokenHash);
+            if (pendingToken != null) {
+                return Optional.of(new IssuedToken(pendingToken.userId(), pendingToken.expiryDate()));
+            }
+        }
+        List<IssuedToken> stored = jdbcTemplate.query("SELECT user_id, expiry_date FROM refresh_tokens WHERE token_hash = ?",
+                (rs, rowNum) -> new IssuedToken(rs.getLong("user_id"), rs.getTimestamp("expiry_date").toInstant()), tokenHash);
+        if (stored.isEmpty()) {
+            return Optional.empty();
+        }
+        synchronized (pending) {
+            // A newer token is queued for the user, so the stored one is already superseded
+            if (consumed.containsKey(tokenHash) || pending.containsKey(stored.get(0).userId())) {
+                return Optional.empty();
+            }
+            return Optional.of(stored.get(0));
+        }
+    }
+
+    public void revoke(Long userId) {
+        synchronized (flushLock) {
+            synchronized (pending) {
+                PendingToken pendingToken = pending.remove(userId);
+                if (pendingToken != null) {
+                    pendingByHash.remove(pendingToken.tokenHash());
+                }
+                consumed.values().removeIf(userId::equals);
+            }
+            jdbcTemplate.update("DELETE FROM refresh_tokens WHERE user_id = ?", userId);
+        }
+    }
+
+    /**
+     * Writes all queued tokens. Tokens stay queued (and findable) until their write succeeds.
+     */
+    @Scheduled(fixedDelayString = "${application.security.jwt.refresh-token.flush-interval-ms:100}")
+    @PreDestroy
+    public void flush() {
+        synchronized (flushLock) {
+            List<PendingToken> batch;
+            synchronized (pending) {
+                batch = new ArrayList<>(pending.values());
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                upsert(batch);
+            } catch (DataAccessException e) {
+                log.warn("Could not write {} refresh tokens, will retry: {}", batch.size(), e.getMessage());
+                return;
+            }
+            synchronized (pending) {
+                Map<Long, String> written = new HashMap<>();
+                for (PendingToken pendingToken : batch) {
+                    // Keep tokens re-issued during the write; they go out with the next flush
+                    if (pending.remove(pendingToken.userId(), pendingToken)) {
+                        pendingByHash.remove(pendingToken.tokenHash());
+                    }
+                    written.put(pendingToken.userId(), pendingToken.tokenHash());
+                }
+                // Redeemed tokens of these users are no longer stored, unless one of them was just written
+                consumed.entrySet().removeIf(entry -> written.containsKey(entry.getValue())
+                        && !written.get(entry.getValue()).equals(entry.getKey()));
+            }
+        }
+    }
+
+    /**
+     * Deletes expired tokens in chunks of {@code refresh-token.sweep-chunk-size}, each in its own transaction, so
+     * the sweep never holds locks on a large part of the table.
+     *
+     * @return the number of tokens deleted
+     */
+    public int deleteExpired() {
+        Timestamp now = Timestamp.from(clock.instant());
+        int total = 0;
+        int deleted;
+        do {
+            deleted = newTransaction.execute(status -> jdbcTemplate.update("DELETE FROM refresh_tokens WHERE id IN "
+                    + "(SELECT id FROM refresh_tokens WHERE expiry_date < ? ORDER BY expiry_date LIMIT ?)", now, sweepChunkSize));
+            total += deleted;
+        } while (deleted == sweepChunkSize);
+        return total;
+    }
+
+    private void enqueue(PendingToken pendingToken) {
+        ensureCapacity();
+        synchronized (pending) {
+            PendingToken replaced = pending.put(pendingToken.userId(), pendingToken);
+            if (replaced != null) {
+                pendingByHash.remove(replaced.tokenHash());
+            }
+            pendingByHash.put(pendingToken.tokenHash(), pendingToken);
+        }
+    }
+
+    private void ensureCapacity() {
+        if (pendingCount() >= maxPending) {
+            flush();
+            if (pendingCount() >= maxPending) {
+                throw new IllegalStateException("Refresh token queue is full and cannot be written to the database");
+            }
+        }
+    }
+
+    private int pendingCount() {
+        synchronized (pending) {
+            return pending.size();
+        }
+    }
+
+    private void upsert(List<PendingToken> batch) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now(clock));
+        try {
+            newTransaction.executeWithoutResult(status -> {
+                int[] updated = jdbcTemplate.batchUpdate(UPDATE_SQL, batch.stream().map(token -> updateArgs(token, now)).toList());
+                List<Object[]> inserts = new ArrayList<>();
+                for (int i = 0; i < batch.size(); i++) {
+                    if (updated[i] == 0) {
+                        inserts.add(insertArgs(batch.get(i), now));
+                    }
+                }
+                if (!inserts.isEmpty()) {
+                    jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another instance inserted for the same user, or a user was deleted: settle row by row
+            batch.forEach(token -> upsertOne(token, now));
+        }
+    }
+
+    private void upsertOne(PendingToken token, Timestamp now) {
+        try {
+            newTransaction.executeWithoutResult(status -> {
+                if (jdbcTemplate.update(UPDATE_SQL, updateArgs(token, now)) == 0) {
+                    jdbcTemplate.update(INSERT_SQL, insertArgs(token, now));
+                }
+            });
+        } catch (DuplicateKeyException e) {
+            newTransaction.executeWithoutResult(status -> jdbcTemplate.update(UPDATE_SQL, updateArgs(token, now)));
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Dropping refresh token of user {}, who no longer exists", token.userId());
+        }
+    }
+
+    private static Object[] updateArgs(PendingToken token, Timestamp now) {
+        return new Object[]{token.tokenHash(), Timestamp.from(token.expiryDate()), now, token.userId()};
+    }
+
+    private static Object[] insertArgs(PendingToken token, Timestamp now) {
+        return new Object[]{token.tokenHash(), Timestamp.from(token.expiryDate()), token.userId(), now, now};
+    }
+}
@@ -9,17 +9,17 @@ import com.example.authsystem.exception.ResourceNotFoundException;
 import com.example.authsystem.exception.TokenRefreshException;
 import com.example.authsystem.exception.UserAlreadyExistsException;
 import com.example.authsystem.mapper.UserMapper;
-import com.example.authsystem.model.RefreshToken;
 import com.example.authsystem.model.Role;
 import com.example.authsystem.model.User;
-import com.example.authsystem.repository.RefreshTokenRepository;
 import com.example.authsystem.repository.RoleRepository;
 import com.example.authsystem.repository.UserRepository;
+import com.example.authsystem.security.JwtPrincipalResolver;
 import com.example.authsystem.security.JwtService;
+import com.example.authsystem.security.RefreshTokenStore;
 import com.example.authsystem.util.AppConstants;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -28,8 +28,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
-import java.util.Date;
-import java.util.Optional;
 import java.util.UUID;
 
 @Service
@@ -41,13 +39,11 @@ public class AuthService {
     private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
+    private final JwtPrincipalResolver jwtPrincipalResolver;
     private final AuthenticationManager authenticationManager;
-    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenStore refreshTokenStore;
     private final UserMapper userMapper;
 
-    @Value("${application.security.jwt.refresh-token.expiration}")
-    private long refreshTokenExpirationMs;
-
     @Transactional
     public AuthResponse register(RegisterRequest request) {
         if (userRepository.existsByEmail(request.getEmail())) {
@@ -71,12 +67,12 @@ public class AuthService {
         User savedUser = userRepository.save(user);
 
         String jwtToken = jwtService.generateToken(savedUser);
-        RefreshToken refreshToken = createRefreshToken(savedUser);
+        String refreshToken = refreshTokenStore.issue(savedUser.getId());
 
         log.info("User registered successfully: {}", savedUser.getEmail());
         AuthResponse authResponse = userMapper.toAuthResponse(savedUser);
         authResponse.setAccessToken(jwtToken);
-        authResponse.setRefreshToken(refreshToken.getToken());
+        authResponse.setRefreshToken(refreshToken);
         return authResponse;
     }
 
@@ -99,51 +95,34 @@ public class AuthService {
         }
 
         String jwtToken = jwtService.generateToken(user);
-        RefreshToken refreshToken = createRefreshToken(user); // Will update if already exists
+        String refreshToken = refreshTokenStore.issue(user.getId()); // Replaces the user's previous refresh token
 
         log.info("User logged in successfully: {}", user.getEmail());
         AuthResponse authResponse = userMapper.toAuthResponse(user);
         authResponse.setAccessToken(jwtToken);
-        authResponse.setRefreshToken(refreshToken.getToken());
+        authResponse.setRefreshToken(refreshToken);
         return authResponse;
     }
 
-    @Transactional
-    public RefreshToken createRefreshToken(User user) {
-        Optional<RefreshToken> existingToken = refreshTokenRepository.findByUser(user);
-        if (existingToken.isPresent()) {
-            RefreshToken token = existingToken.get();
-            token.setToken(UUID.randomUUID().toString());
-            token.setExpiryDate(Instant.now().plusMillis(refreshTokenExpirationMs));
-            return refreshTokenRepository.save(token);
-        } else {
-            RefreshToken refreshToken = RefreshToken.builder()
-                    .user(user)
-                    .token(UUID.randomUUID().toString())
-                    .expiryDate(Instant.now().plusMillis(refreshTokenExpirationMs))
-                    .build();
-            return refreshTokenRepository.save(refreshToken);
-        }
-    }
-
     @Transactional
     public AuthResponse refreshToken(RefreshTokenRequest request) {
-        RefreshToken refreshToken = refreshTokenRepository.findByToken(request.getRefreshToken())
+        // Rejected for other requests from here on; usable again if this refresh fails
+        RefreshTokenStore.IssuedToken refreshToken = refreshTokenStore.consume(request.getRefreshToken())
                 .orElseThrow(() -> new TokenRefreshException("Refresh token is not found or invalid!"));
 
-        if (refreshToken.getExpiryDate().isBefore(Instant.now())) {
-            refreshTokenRepository.delete(refreshToken);
-            throw new TokenRefreshException("Refresh token was expired. Please make a new sign-in request");
+        if (refreshToken.expiryDate().isBefore(Instant.now())) {
+            throw new TokenRefreshException("Refresh token was expired. Please make a new sign-in request"); // Removed by the expiry sweep
         }
 
-        User user = refreshToken.getUser();
+        User user = userRepository.findById(refreshToken.userId())
+                .orElseThrow(() -> new TokenRefreshException("Refresh token is not found or invalid!"));
         String newAccessToken = jwtService.generateToken(user);
-        RefreshToken newRefreshToken = createRefreshToken(user); // Generate new refresh token for rotation
+        String newRefreshToken = refreshTokenStore.issue(user.getId()); // Generate new refresh token for rotation
 
         log.info("Access token refreshed for user: {}", user.getEmail());
         AuthResponse authResponse = userMapper.toAuthResponse(user);
         authResponse.setAccessToken(newAccessToken);
-        authResponse.setRefreshToken(newRefreshToken.getToken());
+        authResponse.setRefreshToken(newRefreshToken);
         return authResponse;
     }
 
@@ -182,6 +161,7 @@ public class AuthService {
         user.setPasswordResetToken(null); // Clear the token after use
         user.setPasswordResetTokenExpiry(null);
         userRepository.save(user);
+        jwtPrincipalResolver.evictUser(user.getEmail());
         log.info("Password successfully reset for user: {}", user.getEmail());
     }
 
@@ -190,7 +170,8 @@ public class AuthService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
 
-        refreshTokenRepository.deleteByUser(user);
+        refreshTokenStore.revoke(user.getId());
+        jwtPrincipalResolver.evictUser(user.getEmail());
         log.info("User {} logged out, refresh token deleted.", user.getEmail());
     }
 
@@ -202,10 +183,11 @@ public class AuthService {
         // For simplicity, this example just deletes *all* tokens for the user in `logoutUser`.
     }
 
-    @Transactional
+    // Not transactional: the store deletes in chunks, each committed separately
+    @Scheduled(fixedDelayString = "${application.security.jwt.refresh-token.sweep-interval-ms:3600000}")
     public void deleteExpiredRefreshTokens() {
         log.info("Cleaning up expired refresh tokens...");
-        int deletedCount = refreshTokenRepository.deleteByExpiryDateBefore(Instant.now());
+        int deletedCount = refreshTokenStore.deleteExpired();
         if (deletedCount > 0) {
             log.info("Deleted {} expired refresh tokens.", deletedCount);
         } else {
@@ -7,6 +7,7 @@ import com.example.authsystem.mapper.UserMapper;
 import com.example.authsystem.model.Role;
 import com.example.authsystem.model.User;
 import com.example.authsystem.repository.UserRepository;
+import com.example.authsystem.security.JwtPrincipalResolver;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
@@ -30,6 +31,7 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final JwtPrincipalResolver jwtPrincipalResolver;
 
     @Transactional(readOnly = true)
     public User getAuthenticatedUserEntity() {
@@ -71,6 +73,7 @@ public class UserService {
     @CacheEvict(value = CacheConfig.USERS_CACHE, key = "'allUsers'", allEntries = true)
     public UserDto updateCurrentUser(UserDto userDto) {
         User currentUser = getAuthenticatedUserEntity();
+        String previousEmail = currentUser.getEmail();
 
         if (userDto.getEmail() != null && !userDto.getEmail().equals(currentUser.getEmail())) {
             if (userRepository.existsByEmail(userDto.getEmail())) {
@@ -90,6 +93,7 @@ public class UserService {
         userMapper.updateUserFromDto(userDto, currentUser);
 
         User updatedUser = userRepository.save(currentUser);
+        jwtPrincipalResolver.evictUser(previousEmail); // Cached principals hold the old profile; evicted after commit
         log.info("User profile updated: {}", updatedUser.getEmail());
         return userMapper.toUserDto(updatedUser);
     }
@@ -97,10 +101,10 @@ public class UserService {
     @Transactional
     @CacheEvict(value = CacheConfig.USERS_CACHE, key = "'user:' + #id", allEntries = true) // Evict specific user and allUsers
     public void deleteUser(Long id) {
-        if (!userRepository.existsById(id)) {
-            throw new ResourceNotFoundException("User", "id", id);
-        }
-        userRepository.deleteById(id);
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
+        userRepository.delete(user);
+        jwtPrincipalResolver.evictUser(user.getEmail());
         log.info("User deleted with ID: {}", id);
     }
 
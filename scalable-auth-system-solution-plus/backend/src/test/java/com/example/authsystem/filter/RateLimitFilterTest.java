@@ -0,0 +1,76 @@
+package com.example.authsystem.filter;
+
+import com.example.authsystem.ratelimit.InMemoryRateLimitStore;
+import com.example.authsystem.ratelimit.RateLimitProperties;
+import com.example.authsystem.ratelimit.RateLimiter;
+import com.example.authsystem.security.JwtPrincipalResolver;
+import io.jsonwebtoken.MalformedJwtException;
+import jakarta.servlet.http.HttpServlet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RateLimitFilterTest {
+
+    @Mock
+    private JwtPrincipalResolver jwtPrincipalResolver;
+    @Mock
+    private HandlerExceptionResolver handlerExceptionResolver;
+
+    private RateLimitFilter rateLimitFilter;
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+    private PrincipalRateLimitFilter principalRateLimitFilter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties(); // Default policy: 10 requests a minute per IP
+        RateLimiter rateLimiter = new RateLimiter(new InMemoryRateLimitStore(properties), properties);
+        rateLimitFilter = new RateLimitFilter(rateLimiter, properties);
+        jwtAuthenticationFilter = new JwtAuthenticationFilter(jwtPrincipalResolver, handlerExceptionResolver);
+        principalRateLimitFilter = new PrincipalRateLimitFilter(rateLimiter, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void requestsWithBadTokens_areRateLimitedBeforeTheTokenIsParsed() throws Exception {
+        when(jwtPrincipalResolver.resolve(anyString())).thenThrow(new MalformedJwtException("Malformed token"));
+        int tooManyRequests = 0;
+
+        for (int i = 0; i < 1000; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/users/me");
+            request.setRemoteAddr("203.0.113.7");
+            request.addHeader("Authorization", "Bearer forged-" + i);
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            new MockFilterChain(new HttpServlet() { }, rateLimitFilter, jwtAuthenticationFilter, principalRateLimitFilter)
+                    .doFilter(request, response);
+            if (response.getStatus() == 429) {
+                tooManyRequests++;
+            }
+        }
+
+        assertThat(tooManyRequests).isEqualTo(990);
+        verify(jwtPrincipalResolver, times(10)).resolve(anyString());
+        verify(handlerExceptionResolver, times(10)).resolveException(any(), any(), isNull(), any(MalformedJwtException.class));
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.authsystem.ratelimit;
+
+import com.example.authsystem.Benchmark;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryRateLimitStoreTest {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryRateLimitStoreTest.class);
+
+    private static final RateLimitPolicy TEN_PER_MINUTE = new RateLimitPolicy("test", 10, Duration.ofMinutes(1), RateLimitPolicy.KeyType.IP);
+
+    private TestClock clock;
+    private InMemoryRateLimitStore store;
+
+    @BeforeEach
+    void setUp() {
+        clock = new TestClock();
+        store = new InMemoryRateLimitStore(1000, clock);
+    }
+
+    @Test
+    void tryConsume_burstAboveCapacity_rejectsUntilRefilled() {
+        for (int i = 0; i < 10; i++) {
+            assertThat(store.tryConsume("ip:1.2.3.4", TEN_PER_MINUTE).allowed()).isTrue();
+        }
+
+        RateLimitDecision rejected = store.tryConsume("ip:1.2.3.4", TEN_PER_MINUTE);
+        assertThat(rejected.allowed()).isFalse();
+        assertThat(rejected.retryAfterMillis()).isEqualTo(6000);
+        assertThat(store.tryConsume("ip:5.6.7.8", TEN_PER_MINUTE).allowed()).isTrue();
+
+        clock.advance(Duration.ofSeconds(6));
+        RateLimitDecision refilled = store.tryConsume("ip:1.2.3.4", TEN_PER_MINUTE);
+        assertThat(refilled.allowed()).isTrue();
+        assertThat(refilled.remaining()).isZero();
+    }
+
+    @Test
+    void tryConsume_manyDistinctClients_keepsAtMostMaximumKeys() {
+        for (int i = 0; i < 10_000; i++) {
+            store.tryConsume("ip:10.0." + (i / 256) + "." + (i % 256), TEN_PER_MINUTE);
+        }
+
+        assertThat(store.size()).isLessThanOrEqualTo(1000);
+    }
+
+    @Test
+    void tryConsume_idleBucket_isDroppedOnceRefilled() {
+        store.tryConsume("ip:1.2.3.4", TEN_PER_MINUTE);
+        store.tryConsume("ip:1.2.3.4", TEN_PER_MINUTE);
+        clock.advance(Duration.ofSeconds(5));
+        assertThat(store.size()).isEqualTo(1);
+
+        clock.advance(Duration.ofSeconds(10));
+        assertThat(store.size()).isZero();
+    }
+
+    /**
+     * Decision latency of the in-memory store, single-threaded and under contention on one hot key.
+     */
+    @Test
+    @Benchmark
+    void tryConsume_decisionLatency() throws Exception {
+        InMemoryRateLimitStore realTimeStore = new InMemoryRateLimitStore(100_000, Clock.systemUTC());
+        RateLimitPolicy generous = new RateLimitPolicy("bench", 1_000_000, Duration.ofSeconds(1), RateLimitPolicy.KeyType.IP);
+        int iterations = 200_000;
+        for (int i = 0; i < iterations; i++) { // Warm-up
+            realTimeStore.tryConsume("ip:" + (i % 1000), generous);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            realTimeStore.tryConsume("ip:" + (i % 1000), generous);
+        }
+        long singleThreadNanos = (System.nanoTime() - start) / iterations;
+
+        int threads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        long contendedStart = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < iterations / threads; i++) {
+                    realTimeStore.tryConsume("ip:hot", generous);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long contendedNanos = (System.nanoTime() - contendedStart) / iterations;
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+
+        log.info("In-memory rate limit decision: {} ns (1000 keys, 1 thread), {} ns (1 hot key, {} threads)",
+                singleThreadNanos, contendedNanos, threads);
+        assertThat(singleThreadNanos).isLessThan(TimeUnit.MICROSECONDS.toNanos(50));
+    }
+}
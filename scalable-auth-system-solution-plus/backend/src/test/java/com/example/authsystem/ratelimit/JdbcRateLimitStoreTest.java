@@ -0,0 +1,94 @@
+package com.example.authsystem.ratelimit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the shared store against an embedded H2 database standing in for PostgreSQL.
+ */
+class JdbcRateLimitStoreTest {
+
+    private static final RateLimitPolicy TEN_PER_MINUTE = new RateLimitPolicy("test", 10, Duration.ofMinutes(1), RateLimitPolicy.KeyType.IP);
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private TestClock clock;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE rate_limit_buckets (bucket_key VARCHAR(255) PRIMARY KEY, tat BIGINT NOT NULL)");
+        clock = new TestClock();
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void tryConsume_twoInstances_shareOneLimit() throws Exception {
+        JdbcRateLimitStore instanceA = new JdbcRateLimitStore(jdbcTemplate, clock);
+        JdbcRateLimitStore instanceB = new JdbcRateLimitStore(jdbcTemplate, clock);
+        AtomicInteger allowed = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            JdbcRateLimitStore instance = t % 2 == 0 ? instanceA : instanceB;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 10; i++) {
+                    if (instance.tryConsume("ip:1.2.3.4", TEN_PER_MINUTE).allowed()) {
+                        allowed.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+
+        assertThat(allowed.get()).isLessThanOrEqualTo(10).isGreaterThan(0);
+    }
+
+    @Test
+    void deleteRefilledBuckets_removesOnlyFullBuckets() {
+        JdbcRateLimitStore store = new JdbcRateLimitStore(jdbcTemplate, clock);
+        store.tryConsume("ip:idle", TEN_PER_MINUTE);
+        clock.advance(Duration.ofSeconds(30));
+        for (int i = 0; i < 5; i++) {
+            store.tryConsume("ip:busy", TEN_PER_MINUTE);
+        }
+
+        store.deleteRefilledBuckets();
+
+        assertThat(jdbcTemplate.queryForList("SELECT bucket_key FROM rate_limit_buckets", String.class)).containsExactly("ip:busy");
+    }
+
+    @Test
+    void tryConsume_databaseUnavailable_failsOpen() {
+        JdbcRateLimitStore store = new JdbcRateLimitStore(jdbcTemplate, clock);
+        jdbcTemplate.execute("DROP TABLE rate_limit_buckets");
+
+        assertThat(store.tryConsume("ip:1.2.3.4", TEN_PER_MINUTE).allowed()).isTrue();
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.authsystem.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTest {
+
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setPolicies(List.of(
+                policy("auth", "/api/v1/auth/**", 2, RateLimitPolicy.KeyType.IP),
+                policy("api", "/api/**", 3, RateLimitPolicy.KeyType.PRINCIPAL)));
+        rateLimiter = new RateLimiter(new InMemoryRateLimitStore(1000, new TestClock()), properties);
+    }
+
+    @Test
+    void check_firstMatchingPolicyApplies() {
+        assertThat(rateLimiter.policyFor("/api/v1/auth/login").name()).isEqualTo("auth");
+        assertThat(rateLimiter.policyFor("/api/v1/tasks/1").name()).isEqualTo("api");
+        assertThat(rateLimiter.policyFor("/actuator/health").name()).isEqualTo("default");
+    }
+
+    @Test
+    void checkPrincipal_principalPolicy_limitsEachUserSeparatelyAcrossIps() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(rateLimiter.checkPrincipal("/api/v1/tasks", "alice@example.com").allowed()).isTrue();
+        }
+
+        assertThat(rateLimiter.checkPrincipal("/api/v1/tasks", "alice@example.com").allowed()).isFalse();
+        assertThat(rateLimiter.checkPrincipal("/api/v1/tasks", "bob@example.com").allowed()).isTrue();
+        // The auth policy is keyed by IP only
+        assertThat(rateLimiter.checkPrincipal("/api/v1/auth/login", "alice@example.com")).isNull();
+    }
+
+    @Test
+    void checkClient_limitsEachIpWhateverThePolicyIsKeyedBy() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(rateLimiter.checkClient("/api/v1/tasks", "10.0.0.1").allowed()).isTrue();
+        }
+
+        assertThat(rateLimiter.checkClient("/api/v1/tasks", "10.0.0.1").allowed()).isFalse();
+        assertThat(rateLimiter.checkClient("/api/v1/tasks", "10.0.0.2").allowed()).isTrue();
+        // The auth policy keeps its own bucket
+        assertThat(rateLimiter.checkClient("/api/v1/auth/login", "10.0.0.1").allowed()).isTrue();
+    }
+
+    private static RateLimitProperties.Policy policy(String name, String path, long capacity, RateLimitPolicy.KeyType key) {
+        RateLimitProperties.Policy policy = new RateLimitProperties.Policy();
+        policy.setName(name);
+        policy.setPaths(List.of(path));
+        policy.setCapacity(capacity);
+        policy.setPeriod(Duration.ofMinutes(1));
+        policy.setKey(key);
+        return policy;
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.authsystem.security;
+
+import com.example.authsystem.Benchmark;
+import com.example.authsystem.model.Role;
+import com.example.authsystem.model.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Date;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JwtPrincipalResolverTest {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtPrincipalResolverTest.class);
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    @Mock
+    private UserDetailsServiceImpl userDetailsService;
+
+    private JwtService jwtService;
+    private JwtPrincipalResolver jwtPrincipalResolver;
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = jwtService(3600000L);
+        jwtPrincipalResolver = new JwtPrincipalResolver(jwtService, userDetailsService, 1000, 300);
+        testUser = User.builder().username("testuser").email("test@example.com").password("hashedpassword").enabled(true)
+                .roles(Set.of(Role.builder().name(Role.RoleName.USER).build())).build();
+    }
+
+    @Test
+    void resolve_sameTokenTwice_verifiesAndLoadsUserOnce_andCachesASnapshotOfIt() {
+        String token = jwtService.generateToken(testUser);
+        when(userDetailsService.loadUserByUsername("test@example.com")).thenReturn(testUser);
+
+        JwtPrincipal first = jwtPrincipalResolver.resolve(token);
+        JwtPrincipal second = jwtPrincipalResolver.resolve(token);
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.getUsername()).isEqualTo("test@example.com");
+        assertThat(first.getPassword()).isNull();
+        assertThat(first.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_USER");
+        testUser.setEnabled(false); // Changes to the entity do not leak into the cached principal
+        assertThat(second.isEnabled()).isTrue();
+        verify(userDetailsService, times(1)).loadUserByUsername("test@example.com");
+    }
+
+    @Test
+    void resolve_afterEvictUser_reloadsUser() {
+        String token = jwtService.generateToken(testUser);
+        when(userDetailsService.loadUserByUsername("test@example.com")).thenReturn(testUser);
+
+        jwtPrincipalResolver.resolve(token);
+        jwtPrincipalResolver.evictUser("test@example.com");
+        jwtPrincipalResolver.resolve(token);
+
+        verify(userDetailsService, times(2)).loadUserByUsername("test@example.com");
+    }
+
+    @Test
+    void evictUser_inTransaction_evictsOnlyAfterCommit() {
+        String token = jwtService.generateToken(testUser);
+        when(userDetailsService.loadUserByUsername("test@example.com")).thenReturn(testUser);
+        jwtPrincipalResolver.resolve(token);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            jwtPrincipalResolver.evictUser("test@example.com");
+            jwtPrincipalResolver.resolve(token); // Before commit: still the cached, committed user
+            verify(userDetailsService, times(1)).loadUserByUsername("test@example.com");
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        jwtPrincipalResolver.resolve(token);
+        verify(userDetailsService, times(2)).loadUserByUsername("test@example.com");
+    }
+
+    @Test
+    void resolve_evictionWhileLoading_doesNotCacheTheLoadedUser() {
+        String token = jwtService.generateToken(testUser);
+        when(userDetailsService.loadUserByUsername("test@example.com")).thenAnswer(invocation -> {
+            jwtPrincipalResolver.evictUser("test@example.com"); // A change committed after the user was read
+            return testUser;
+        }).thenReturn(testUser);
+
+        jwtPrincipalResolver.resolve(token);
+        jwtPrincipalResolver.resolve(token);
+        jwtPrincipalResolver.resolve(token);
+
+        verify(userDetailsService, times(2)).loadUserByUsername("test@example.com");
+    }
+
+    @Test
+    void resolve_disabledUser_returnsNullAndIsNotCached() {
+        String token = jwtService.generateToken(testUser);
+        testUser.setEnabled(false);
+        when(userDetailsService.loadUserByUsername("test@example.com")).thenReturn(testUser);
+
+        assertThat(jwtPrincipalResolver.resolve(token)).isNull();
+        assertThat(jwtPrincipalResolver.resolve(token)).isNull();
+        verify(userDetailsService, times(2)).loadUserByUsername("test@example.com");
+    }
+
+    @Test
+    void resolve_tamperedToken_throwsJwtException() {
+        String token = jwtService.generateToken(testUser);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> jwtPrincipalResolver.resolve(tampered));
+    }
+
+    @Test
+    void resolve_expiredToken_throwsExpiredJwtException() {
+        String token = jwtService(-1000L).generateToken(testUser);
+
+        assertThrows(ExpiredJwtException.class, () -> jwtPrincipalResolver.resolve(token));
+    }
+
+    /**
+     * Compares per-request authentication cost with the previous filter path, which parsed the token three times
+     * and rebuilt the signing key for each parse. The user lookup is a mock here, so the database round trip the
+     * cache also saves is not included.
+     */
+    @Test
+    @Benchmark
+    void resolve_repeatedRequests_costLessThanPreviousFilterPath() {
+        String token = jwtService.generateToken(testUser);
+        when(userDetailsService.loadUserByUsername("test@example.com")).thenReturn(testUser);
+        int iterations = 2_000;
+        for (int i = 0; i < 500; i++) { // Warm-up
+            legacyAuthenticate(token);
+            jwtPrincipalResolver.resolve(token);
+        }
+
+        long legacyStart = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            legacyAuthenticate(token);
+        }
+        long legacyNanos = System.nanoTime() - legacyStart;
+
+        long cachedStart = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            jwtPrincipalResolver.resolve(token);
+        }
+        long cachedNanos = System.nanoTime() - cachedStart;
+
+        log.info("JWT authentication: previous path {} ns/request, cached resolver {} ns/request",
+                legacyNanos / iterations, cachedNanos / iterations);
+        assertThat(cachedNanos).isLessThan(legacyNanos);
+    }
+
+    private boolean legacyAuthenticate(String token) {
+        String username = legacyParse(token).getSubject();
+        UserDetails user = userDetailsService.loadUserByUsername(username);
+        return legacyParse(token).getSubject().equals(user.getUsername()) && !legacyParse(token).getExpiration().before(new Date());
+    }
+
+    private static Claims legacyParse(String token) {
+        return Jwts.parser().verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET))).build()
+                .parseSignedClaims(token).getPayload();
+    }
+
+    private static JwtService jwtService(long expiration) {
+        JwtService service = new JwtService();
+        ReflectionTestUtils.setField(service, "secretKey", SECRET);
+        ReflectionTestUtils.setField(service, "jwtExpiration", expiration);
+        ReflectionTestUtils.setField(service, "refreshExpiration", expiration);
+        service.init();
+        return service;
+    }
+}
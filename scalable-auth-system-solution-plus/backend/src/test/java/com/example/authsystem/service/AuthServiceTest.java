@@ -9,13 +9,13 @@ import com.example.authsystem.exception.ResourceNotFoundException;
 import com.example.authsystem.exception.TokenRefreshException;
 import com.example.authsystem.exception.UserAlreadyExistsException;
 import com.example.authsystem.mapper.UserMapper;
-import com.example.authsystem.model.RefreshToken;
 import com.example.authsystem.model.Role;
 import com.example.authsystem.model.User;
-import com.example.authsystem.repository.RefreshTokenRepository;
 import com.example.authsystem.repository.RoleRepository;
 import com.example.authsystem.repository.UserRepository;
+import com.example.authsystem.security.JwtPrincipalResolver;
 import com.example.authsystem.security.JwtService;
+import com.example.authsystem.security.RefreshTokenStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -26,7 +26,6 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.Instant;
 import java.util.Optional;
@@ -54,9 +53,11 @@ class AuthServiceTest {
     @Mock
     private JwtService jwtService;
     @Mock
+    private JwtPrincipalResolver jwtPrincipalResolver;
+    @Mock
     private AuthenticationManager authenticationManager;
     @Mock
-    private RefreshTokenRepository refreshTokenRepository;
+    private RefreshTokenStore refreshTokenStore;
     @Mock
     private UserMapper userMapper;
 
@@ -77,9 +78,6 @@ class AuthServiceTest {
                 .enabled(true)
                 .roles(Set.of(userRole))
                 .build();
-
-        // Inject refresh token expiration for testing
-        ReflectionTestUtils.setField(authService, "refreshTokenExpirationMs", 604800000L); // 7 days
     }
 
     @Test
@@ -94,7 +92,7 @@ class AuthServiceTest {
         when(passwordEncoder.encode(anyString())).thenReturn("encodedPass");
         when(userRepository.save(any(User.class))).thenReturn(newUser);
         when(jwtService.generateToken(any(User.class))).thenReturn("jwt");
-        when(refreshTokenRepository.save(any(RefreshToken.class))).thenReturn(RefreshToken.builder().token("refresh").build());
+        when(refreshTokenStore.issue(2L)).thenReturn("refresh");
         when(userMapper.toAuthResponse(any(User.class))).thenReturn(AuthResponse.builder().build()); // Mock mapper to avoid null issues
         when(userMapper.toAuthResponse(any(User.class))).thenAnswer(invocation -> {
             User userArg = invocation.getArgument(0);
@@ -114,7 +112,7 @@ class AuthServiceTest {
         assertThat(response.getEmail()).isEqualTo("new@example.com");
 
         verify(userRepository, times(1)).save(any(User.class));
-        verify(refreshTokenRepository, times(1)).save(any(RefreshToken.class));
+        verify(refreshTokenStore, times(1)).issue(2L);
     }
 
     @Test
@@ -139,13 +137,11 @@ class AuthServiceTest {
     @Test
     void login_success() {
         AuthRequest request = new AuthRequest("test@example.com", "password123");
-        RefreshToken refreshToken = RefreshToken.builder().id(1L).user(testUser).token("refresh_token_value").expiryDate(Instant.now().plusSeconds(3600)).build();
 
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class))).thenReturn(null); // Just needs to not throw exception
         when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(testUser));
         when(jwtService.generateToken(testUser)).thenReturn("new_access_token");
-        when(refreshTokenRepository.findByUser(testUser)).thenReturn(Optional.empty()); // No existing token for this user
-        when(refreshTokenRepository.save(any(RefreshToken.class))).thenReturn(refreshToken);
+        when(refreshTokenStore.issue(testUser.getId())).thenReturn("refresh_token_value");
         when(userMapper.toAuthResponse(any(User.class))).thenAnswer(invocation -> {
             User userArg = invocation.getArgument(0);
             return AuthResponse.builder()
@@ -165,7 +161,7 @@ class AuthServiceTest {
         assertThat(response.getEmail()).isEqualTo("test@example.com");
 
         verify(authenticationManager, times(1)).authenticate(any(UsernamePasswordAuthenticationToken.class));
-        verify(refreshTokenRepository, times(1)).save(any(RefreshToken.class));
+        verify(refreshTokenStore, times(1)).issue(testUser.getId());
     }
 
     @Test
@@ -193,24 +189,13 @@ class AuthServiceTest {
 
     @Test
     void refreshToken_success() {
-        RefreshToken existingRefreshToken = RefreshToken.builder()
-                .id(1L)
-                .user(testUser)
-                .token("old_refresh_token")
-                .expiryDate(Instant.now().plusSeconds(3600))
-                .build();
-        RefreshToken newRefreshToken = RefreshToken.builder()
-                .id(1L)
-                .user(testUser)
-                .token("new_refresh_token")
-                .expiryDate(Instant.now().plusSeconds(3600))
-                .build();
+        RefreshTokenStore.IssuedToken existingRefreshToken = new RefreshTokenStore.IssuedToken(testUser.getId(), Instant.now().plusSeconds(3600));
         RefreshTokenRequest request = new RefreshTokenRequest("old_refresh_token");
 
-        when(refreshTokenRepository.findByToken(request.getRefreshToken())).thenReturn(Optional.of(existingRefreshToken));
+        when(refreshTokenStore.consume(request.getRefreshToken())).thenReturn(Optional.of(existingRefreshToken));
+        when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUser));
         when(jwtService.generateToken(testUser)).thenReturn("refreshed_access_token");
-        when(refreshTokenRepository.findByUser(testUser)).thenReturn(Optional.of(existingRefreshToken)); // Existing token found for update
-        when(refreshTokenRepository.save(any(RefreshToken.class))).thenReturn(newRefreshToken);
+        when(refreshTokenStore.issue(testUser.getId())).thenReturn("new_refresh_token"); // Rotates the user's token
         when(userMapper.toAuthResponse(any(User.class))).thenAnswer(invocation -> {
             User userArg = invocation.getArgument(0);
             return AuthResponse.builder()
@@ -229,15 +214,15 @@ class AuthServiceTest {
         assertThat(response.getRefreshToken()).isEqualTo("new_refresh_token");
         assertThat(response.getEmail()).isEqualTo("test@example.com");
 
-        verify(refreshTokenRepository, times(1)).findByToken(anyString());
+        verify(refreshTokenStore, times(1)).consume(anyString());
         verify(jwtService, times(1)).generateToken(any(User.class));
-        verify(refreshTokenRepository, times(1)).save(any(RefreshToken.class));
+        verify(refreshTokenStore, times(1)).issue(testUser.getId());
     }
 
     @Test
     void refreshToken_invalidToken_throwsTokenRefreshException() {
         RefreshTokenRequest request = new RefreshTokenRequest("invalid_token");
-        when(refreshTokenRepository.findByToken(request.getRefreshToken())).thenReturn(Optional.empty());
+        when(refreshTokenStore.consume(request.getRefreshToken())).thenReturn(Optional.empty());
 
         assertThrows(TokenRefreshException.class, () -> authService.refreshToken(request));
         verify(jwtService, never()).generateToken(any(User.class));
@@ -245,18 +230,13 @@ class AuthServiceTest {
 
     @Test
     void refreshToken_expiredToken_throwsTokenRefreshException() {
-        RefreshToken expiredRefreshToken = RefreshToken.builder()
-                .id(1L)
-                .user(testUser)
-                .token("expired_token")
-                .expiryDate(Instant.now().minusSeconds(1)) // Expired
-                .build();
+        RefreshTokenStore.IssuedToken expiredRefreshToken = new RefreshTokenStore.IssuedToken(testUser.getId(), Instant.now().minusSeconds(1)); // Expired
         RefreshTokenRequest request = new RefreshTokenRequest("expired_token");
 
-        when(refreshTokenRepository.findByToken(request.getRefreshToken())).thenReturn(Optional.of(expiredRefreshToken));
+        when(refreshTokenStore.consume(request.getRefreshToken())).thenReturn(Optional.of(expiredRefreshToken));
 
         assertThrows(TokenRefreshException.class, () -> authService.refreshToken(request));
-        verify(refreshTokenRepository, times(1)).delete(expiredRefreshToken); // Should delete expired token
+        verify(refreshTokenStore, never()).issue(anyLong());
         verify(jwtService, never()).generateToken(any(User.class));
     }
 
@@ -320,11 +300,11 @@ class AuthServiceTest {
     @Test
     void logoutUser_success() {
         when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUser));
-        when(refreshTokenRepository.deleteByUser(testUser)).thenReturn(1);
 
         authService.logoutUser(testUser.getId());
 
-        verify(refreshTokenRepository, times(1)).deleteByUser(testUser);
+        verify(refreshTokenStore, times(1)).revoke(testUser.getId());
+        verify(jwtPrincipalResolver, times(1)).evictUser(testUser.getEmail());
     }
 
     @Test
@@ -332,15 +312,15 @@ class AuthServiceTest {
         when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> authService.logoutUser(99L));
-        verify(refreshTokenRepository, never()).deleteByUser(any(User.class));
+        verify(refreshTokenStore, never()).revoke(anyLong());
     }
 
     @Test
     void deleteExpiredRefreshTokens_success() {
-        when(refreshTokenRepository.deleteByExpiryDateBefore(any(Instant.class))).thenReturn(5);
+        when(refreshTokenStore.deleteExpired()).thenReturn(5);
 
         authService.deleteExpiredRefreshTokens();
 
-        verify(refreshTokenRepository, times(1)).deleteByExpiryDateBefore(any(Instant.class));
+        verify(refreshTokenStore, times(1)).deleteExpired();
     }
 }
\ No newline at end of file
@@ -0,0 +1,10 @@
+-- V3__rate_limit_buckets.sql
+
+-- Shared rate limit state (used when application.rate-limit.store=jdbc).
+-- tat is the bucket's "theoretical arrival time" in epoch microseconds: when it is full again.
+CREATE TABLE rate_limit_buckets (
+    bucket_key VARCHAR(255) PRIMARY KEY,
+    tat BIGINT NOT NULL
+);
+
+CREATE INDEX idx_rate_limit_buckets_tat ON rate_limit_buckets (tat);
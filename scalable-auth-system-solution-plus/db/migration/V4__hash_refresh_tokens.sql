@@ -0,0 +1,8 @@
+-- V4__hash_refresh_tokens.sql
+
+-- Refresh tokens are stored as SHA-256 hashes (Base64) instead of plaintext; hash existing ones in place so
+-- nobody is signed out. The UNIQUE constraint's index now serves lookups by hash.
+ALTER TABLE refresh_tokens RENAME COLUMN token TO token_hash;
+UPDATE refresh_tokens SET token_hash = encode(sha256(convert_to(token_hash, 'UTF8')), 'base64');
+
+COMMENT ON COLUMN refresh_tokens.token_hash IS 'SHA-256 of the refresh token; the token itself is never stored.';
@@ -24,8 +24,7 @@ public class CacheConfig {
         SimpleCacheManager cacheManager = new SimpleCacheManager();
         cacheManager.setCaches(Arrays.asList(
                 new CaffeineCache("models", Caffeine.from(caffeineSpec).build()),
-                new CaffeineCache("modelVersions", Caffeine.from(caffeineSpec).build()),
-                new CaffeineCache("predictions", Caffeine.from(caffeineSpec).build())
+                new CaffeineCache("modelVersions", Caffeine.from(caffeineSpec).build())
         ));
         return cacheManager;
     }
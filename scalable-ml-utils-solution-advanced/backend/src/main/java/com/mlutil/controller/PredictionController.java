@@ -1,5 +1,7 @@
 package com.mlutil.controller;
 
+import com.mlutil.dto.LoadedModelDto;
+import com.mlutil.dto.PredictionCacheStatsDto;
 import com.mlutil.dto.PredictionRequest;
 import com.mlutil.dto.PredictionResponse;
 import com.mlutil.service.PredictionService;
@@ -12,11 +14,15 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/predictions")
 @RequiredArgsConstructor
@@ -38,4 +44,26 @@ public class PredictionController {
         PredictionResponse response = predictionService.predict(request);
         return ResponseEntity.ok(response);
     }
+
+    @Operation(summary = "List the models currently loaded for inference, with their load time and memory use")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved loaded models"),
+            @ApiResponse(responseCode = "403", description = "Forbidden (not an admin)")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/loaded-models")
+    public ResponseEntity<List<LoadedModelDto>> getLoadedModels() {
+        return ResponseEntity.ok(predictionService.getLoadedModels());
+    }
+
+    @Operation(summary = "Prediction cache hits, misses and hit ratio per model")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved cache statistics"),
+            @ApiResponse(responseCode = "403", description = "Forbidden (not an admin)")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/cache-stats")
+    public ResponseEntity<List<PredictionCacheStatsDto>> getPredictionCacheStats() {
+        return ResponseEntity.ok(predictionService.getPredictionCacheStats());
+    }
 }
\ No newline at end of file
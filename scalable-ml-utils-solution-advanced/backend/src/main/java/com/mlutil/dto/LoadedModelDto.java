@@ -0,0 +1,19 @@
+package com.mlutil.dto;
+
+import lombok.Data;
+
+import java.util.UUID;
+
+@Data
+public class LoadedModelDto {
+    private UUID modelId;
+    private Integer versionNumber;
+    private String format;
+    private String link;
+    private Integer featureCount;
+    private Integer outputCount;
+    private Long loadTimeMs;
+    private Long mappedBytes; // Weights, memory-mapped from the model file
+    private Long heapBytes; // Estimated
+    private Boolean resident; // Whether the mapped pages are (likely) all in physical memory
+}
@@ -0,0 +1,13 @@
+package com.mlutil.dto;
+
+import lombok.Data;
+
+import java.util.UUID;
+
+@Data
+public class PredictionCacheStatsDto {
+    private UUID modelId;
+    private Long hits;
+    private Long misses;
+    private Double hitRatio;
+}
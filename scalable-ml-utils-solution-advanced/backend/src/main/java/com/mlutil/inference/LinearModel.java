@@ -0,0 +1,299 @@
+package com.mlutil.inference;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A linear model stored in the MLUL format, this project's portable model format. Weights are memory-mapped
+ * read-only from the model file and never copied onto the heap, so the OS pages them in on demand and can share and
+ * reclaim them like any other file cache.
+ * <p>
+ * The layout, all numbers big-endian:
+ * <pre>
+ *   magic            4 bytes "MLUL"
+ *   format version   u16 (1)
+ *   link             u8  (0 identity, 1 logistic, 2 softmax)
+ *   reserved         u8
+ *   feature count F  i32
+ *   output count K   i32
+ *   F feature names  u16 length + UTF-8 bytes each
+ *   K output labels  u16 length + UTF-8 bytes each
+ *   padding          zero bytes up to a multiple of 8
+ *   weights          K * F f64, one row per output
+ *   biases           K f64
+ * </pre>
+ * Instances are immutable and safe to share between threads.
+ */
+public final class LinearModel {
+
+    public static final String FORMAT = "MLUL";
+
+    private static final int MAGIC = 0x4D4C554C; // "MLUL"
+    private static final int FORMAT_VERSION = 1;
+
+    public enum Link {
+        /** Regression: one raw score per output. */
+        IDENTITY,
+        /** Binary classification: one output, the probability of the positive class. */
+        LOGISTIC,
+        /** Multi-class classification: one output per class. */
+        SOFTMAX
+    }
+
+    private final Link link;
+    private final String[] features;
+    private final String[] outputs;
+    private final MappedByteBuffer mapped;
+    private final DoubleBuffer weights;
+
+    private LinearModel(Link link, String[] features, String[] outputs, MappedByteBuffer mapped, DoubleBuffer weights) {
+        this.link = link;
+        this.features = features;
+        this.outputs = outputs;
+        this.mapped = mapped;
+        this.weights = weights;
+    }
+
+    /**
+     * Maps the model file and validates its header. Only the header is read; weight pages are read when first used
+     * or by {@link #preload()}.
+     *
+     * @throws IOException if the file cannot be read or is not a valid MLUL model
+     */
+    public static LinearModel open(Path path) throws IOException {
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Model file too large to map: " + size + " bytes");
+            }
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size); // Stays valid after the channel is closed
+        }
+        try {
+            return parse(mapped);
+        } catch (RuntimeException e) { // BufferUnderflowException and friends on truncated files
+            throw new IOException("Not a valid " + FORMAT + " model: " + e, e);
+        }
+    }
+
+    private static LinearModel parse(MappedByteBuffer mapped) throws IOException {
+        ByteBuffer header = mapped.duplicate();
+        if (header.remaining() < 16 || header.getInt() != MAGIC) {
+            throw new IOException("Not a " + FORMAT + " model file");
+        }
+        int version = header.getShort() & 0xFFFF;
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported " + FORMAT + " format version " + version);
+        }
+        int linkCode = header.get() & 0xFF;
+        if (linkCode >= Link.values().length) {
+            throw new IOException("Unknown link function " + linkCode);
+        }
+        Link link = Link.values()[linkCode];
+        header.get(); // Reserved
+        int featureCount = header.getInt();
+        int outputCount = header.getInt();
+        if (featureCount < 0 || outputCount < 1 || (link == Link.LOGISTIC && outputCount != 1)
+                || (link == Link.SOFTMAX && outputCount < 2)) {
+            throw new IOException("Invalid shape: " + featureCount + " features, " + outputCount + " outputs for " + link);
+        }
+        String[] features = readNames(header, featureCount);
+        String[] outputs = readNames(header, outputCount);
+
+        int offset = (header.position() + 7) & ~7;
+        long weightCount = (long) outputCount * featureCount + outputCount;
+        if (offset + weightCount * Double.BYTES != mapped.capacity()) {
+            throw new IOException("Expected " + weightCount + " weights after the header, file has "
+                    + (mapped.capacity() - offset) + " bytes");
+        }
+        DoubleBuffer weights = mapped.slice(offset, (int) (weightCount * Double.BYTES)).asDoubleBuffer();
+        return new LinearModel(link, features, outputs, mapped, weights);
+    }
+
+    private static String[] readNames(ByteBuffer buffer, int count) {
+        String[] names = new String[count];
+        for (int i = 0; i < count; i++) {
+            byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+            buffer.get(bytes);
+            names[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return names;
+    }
+
+    /**
+     * Writes a model in the MLUL format.
+     *
+     * @param weights one row of {@code features.length} weights per output
+     */
+    public static void write(OutputStream out, Link link, String[] features, String[] outputs,
+                             double[][] weights, double[] biases) throws IOException {
+        if (weights.length != outputs.length || biases.length != outputs.length) {
+            throw new IllegalArgumentException("Need one weight row and one bias per output");
+        }
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeShort(FORMAT_VERSION);
+        data.writeByte(link.ordinal());
+        data.writeByte(0);
+        data.writeInt(features.length);
+        data.writeInt(outputs.length);
+        for (String name : features) {
+            writeName(data, name);
+        }
+        for (String name : outputs) {
+            writeName(data, name);
+        }
+        while (data.size() % 8 != 0) {
+            data.writeByte(0);
+        }
+        for (double[] row : weights) {
+            if (row.length != features.length) {
+                throw new IllegalArgumentException("Need one weight per feature in every row");
+            }
+            for (double weight : row) {
+                data.writeDouble(weight);
+            }
+        }
+        for (double bias : biases) {
+            data.writeDouble(bias);
+        }
+        data.flush();
+    }
+
+    private static void writeName(DataOutputStream data, String name) throws IOException {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        data.writeShort(bytes.length);
+        data.write(bytes);
+    }
+
+    /**
+     * Reads every page of the file into physical memory, so the first predictions do not wait on page faults.
+     */
+    public void preload() {
+        mapped.load();
+    }
+
+    /**
+     * Whether all mapped pages are likely in physical memory; a hint from the OS, see {@link MappedByteBuffer#isLoaded()}.
+     */
+    public boolean isResident() {
+        return mapped.isLoaded();
+    }
+
+    /**
+     * Scores one input. Every feature of the model must be present as a number; extra inputs are ignored.
+     *
+     * @throws IllegalArgumentException if a feature is missing or not numeric
+     */
+    public Map<String, Object> predict(Map<String, Object> input) {
+        double[] x = new double[features.length];
+        for (int j = 0; j < features.length; j++) {
+            Object value = input.get(features[j]);
+            if (value instanceof Number number) {
+                x[j] = number.doubleValue();
+            } else if (value == null) {
+                throw new IllegalArgumentException("Missing feature '" + features[j] + "'");
+            } else {
+                throw new IllegalArgumentException("Feature '" + features[j] + "' must be a number");
+            }
+        }
+
+        int featureCount = features.length;
+        int biasOffset = outputs.length * featureCount;
+        double[] scores = new double[outputs.length];
+        for (int k = 0; k < outputs.length; k++) {
+            double score = weights.get(biasOffset + k);
+            int row = k * featureCount;
+            for (int j = 0; j < featureCount; j++) {
+                score += weights.get(row + j) * x[j];
+            }
+            scores[k] = score;
+        }
+        return toResult(scores);
+    }
+
+    private Map<String, Object> toResult(double[] scores) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        switch (link) {
+            case IDENTITY -> {
+                if (scores.length == 1) {
+                    result.put("prediction", scores[0]);
+                } else {
+                    Map<String, Object> values = new LinkedHashMap<>();
+                    for (int k = 0; k < scores.length; k++) {
+                        values.put(outputs[k], scores[k]);
+                    }
+                    result.put("prediction", values);
+                }
+            }
+            case LOGISTIC -> {
+                double probability = 1.0 / (1.0 + Math.exp(-scores[0]));
+                result.put("prediction", probability >= 0.5 ? 1 : 0);
+                result.put("probability", probability);
+            }
+            case SOFTMAX -> {
+                double max = Double.NEGATIVE_INFINITY;
+                int best = 0;
+                for (int k = 0; k < scores.length; k++) {
+                    if (scores[k] > max) {
+                        max = scores[k];
+                        best = k;
+                    }
+                }
+                double sum = 0;
+                for (int k = 0; k < scores.length; k++) {
+                    scores[k] = Math.exp(scores[k] - max);
+                    sum += scores[k];
+                }
+                Map<String, Object> probabilities = new LinkedHashMap<>();
+                for (int k = 0; k < scores.length; k++) {
+                    probabilities.put(outputs[k], scores[k] / sum);
+                }
+                result.put("prediction", outputs[best]);
+                result.put("probabilities", probabilities);
+            }
+        }
+        return result;
+    }
+
+    public Link getLink() {
+        return link;
+    }
+
+    public int getFeatureCount() {
+        return features.length;
+    }
+
+    public int getOutputCount() {
+        return outputs.length;
+    }
+
+    /** Size of the read-only mapping, i.e. the model file. */
+    public long getMappedBytes() {
+        return mapped.capacity();
+    }
+
+    /**
+     * Rough heap footprint, essentially the names. The weights are off-heap in the mapping.
+     */
+    public long getHeapBytes() {
+        long bytes = 128;
+        for (String name : features) {
+            bytes += 56 + name.length(); // String object, byte array and reference
+        }
+        for (String name : outputs) {
+            bytes += 56 + name.length();
+        }
+        return bytes;
+    }
+}
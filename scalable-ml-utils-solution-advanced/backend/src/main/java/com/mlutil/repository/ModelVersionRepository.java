@@ -13,5 +13,6 @@ public interface ModelVersionRepository extends JpaRepository<ModelVersion, UUID
     List<ModelVersion> findByModelIdOrderByVersionNumberDesc(UUID modelId);
     Optional<ModelVersion> findByModelIdAndVersionNumber(UUID modelId, Integer versionNumber);
     Optional<ModelVersion> findByModelIdAndIsActiveTrue(UUID modelId);
+    List<ModelVersion> findByIsActiveTrue();
     boolean existsByModelIdAndVersionNumber(UUID modelId, Integer versionNumber);
 }
\ No newline at end of file
@@ -0,0 +1,153 @@
+package com.mlutil.service;
+
+import com.mlutil.dto.LoadedModelDto;
+import com.mlutil.exception.BadRequestException;
+import com.mlutil.inference.LinearModel;
+import com.mlutil.model.ModelVersion;
+import com.mlutil.util.ModelStorageUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Loaded models, keyed by model version id and bounded by their total size rather than their number. Once the bound
+ * is reached, the least recently used versions are evicted, so the versions serving traffic stay loaded. The mapping
+ * of an evicted model is released when it is garbage collected.
+ */
+@Service
+@Slf4j
+public class ModelCache {
+
+    private final ModelStorageUtil modelStorageUtil;
+    private final long maxBytes;
+    private final LinkedHashMap<UUID, LoadedModel> models = new LinkedHashMap<>(16, 0.75f, true); // Access order, eldest first
+    private long totalBytes; // Guarded by models
+
+    public ModelCache(ModelStorageUtil modelStorageUtil,
+                      @Value("${app.model-cache.max-bytes:536870912}") long maxBytes) {
+        this.modelStorageUtil = modelStorageUtil;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Returns the model for a version, loading it if it is not cached.
+     *
+     * @throws BadRequestException if the model file is missing or not in a supported format
+     */
+    public LinearModel get(ModelVersion modelVersion) {
+        UUID id = modelVersion.getId();
+        synchronized (models) {
+            LoadedModel loaded = models.get(id);
+            if (loaded != null) {
+                return loaded.model();
+            }
+        }
+        // Load outside the lock so predictions for other models never wait on I/O
+        LoadedModel loaded = load(modelVersion);
+        synchronized (models) {
+            LoadedModel concurrent = models.putIfAbsent(id, loaded);
+            if (concurrent != null) {
+                return concurrent.model(); // Another request loaded it first; ours is dropped
+            }
+            totalBytes += loaded.sizeBytes();
+            evictOverBound(id);
+        }
+        return loaded.model();
+    }
+
+    /**
+     * Loads a version, if needed, and pages all of its weights into memory. Called when a version becomes active so
+     * that its first predictions do not pay for loading.
+     */
+    public void warm(ModelVersion modelVersion) {
+        long start = System.nanoTime();
+        LinearModel model = get(modelVersion);
+        model.preload();
+        log.info("Warmed model {} version {} in {} ms", modelVersion.getModel().getId(), modelVersion.getVersionNumber(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public void evict(UUID modelVersionId) {
+        synchronized (models) {
+            LoadedModel removed = models.remove(modelVersionId);
+            if (removed != null) {
+                totalBytes -= removed.sizeBytes();
+            }
+        }
+    }
+
+    public List<LoadedModelDto> getLoadedModels() {
+        List<LoadedModel> loaded;
+        synchronized (models) {
+            loaded = new ArrayList<>(models.values());
+        }
+        return loaded.stream()
+                .map(LoadedModel::toDto)
+                .sorted(Comparator.comparing(LoadedModelDto::getModelId).thenComparing(LoadedModelDto::getVersionNumber))
+                .toList();
+    }
+
+    // Evicts from the least recently used end; a model larger than the whole bound is still kept while it is in use
+    private void evictOverBound(UUID keep) {
+        Iterator<Map.Entry<UUID, LoadedModel>> eldest = models.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<UUID, LoadedModel> entry = eldest.next();
+            if (entry.getKey().equals(keep)) {
+                continue;
+            }
+            LoadedModel evicted = entry.getValue();
+            eldest.remove();
+            totalBytes -= evicted.sizeBytes();
+            log.info("Evicted model {} version {} ({} KiB) from the model cache",
+                    evicted.modelId(), evicted.versionNumber(), evicted.sizeBytes() >> 10);
+        }
+    }
+
+    private LoadedModel load(ModelVersion modelVersion) {
+        UUID modelId = modelVersion.getModel().getId();
+        Path modelFilePath = modelStorageUtil.getModelFilePath(modelVersion.getStoragePath());
+        long start = System.nanoTime();
+        try {
+            LinearModel model = LinearModel.open(modelFilePath);
+            long loadTimeMs = (System.nanoTime() - start) / 1_000_000;
+            log.info("Loaded model {} version {} from {} in {} ms: {} mapped bytes, ~{} heap bytes",
+                    modelId, modelVersion.getVersionNumber(), modelFilePath, loadTimeMs, model.getMappedBytes(), model.getHeapBytes());
+            return new LoadedModel(modelId, modelVersion.getVersionNumber(), model, loadTimeMs);
+        } catch (IOException e) {
+            log.error("Failed to load model {} version {} from {}: {}", modelId, modelVersion.getVersionNumber(), modelFilePath, e.getMessage());
+            throw new BadRequestException("Failed to load model for inference: " + e.getMessage());
+        }
+    }
+
+    private record LoadedModel(UUID modelId, Integer versionNumber, LinearModel model, long loadTimeMs) {
+
+        long sizeBytes() {
+            return model.getMappedBytes() + model.getHeapBytes();
+        }
+
+        LoadedModelDto toDto() {
+            LoadedModelDto dto = new LoadedModelDto();
+            dto.setModelId(modelId);
+            dto.setVersionNumber(versionNumber);
+            dto.setFormat(LinearModel.FORMAT);
+            dto.setLink(model.getLink().name());
+            dto.setFeatureCount(model.getFeatureCount());
+            dto.setOutputCount(model.getOutputCount());
+            dto.setLoadTimeMs(loadTimeMs);
+            dto.setMappedBytes(model.getMappedBytes());
+            dto.setHeapBytes(model.getHeapBytes());
+            dto.setResident(model.isResident());
+            return dto;
+        }
+    }
+}
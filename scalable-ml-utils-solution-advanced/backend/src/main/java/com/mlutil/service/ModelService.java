@@ -32,6 +32,8 @@ public class ModelService {
     private final ModelRepository modelRepository;
     private final ModelVersionRepository modelVersionRepository;
     private final ModelStorageUtil modelStorageUtil;
+    private final ModelCache modelCache;
+    private final PredictionCache predictionCache;
 
     @Transactional
     @CacheEvict(value = {"models", "modelVersions"}, allEntries = true)
@@ -84,6 +86,7 @@ public class ModelService {
 
         // Clean up stored model files associated with this model
         model.getVersions().forEach(modelVersion -> {
+            modelCache.evict(modelVersion.getId());
             try {
                 modelStorageUtil.deleteModelFile(modelVersion.getStoragePath());
                 log.info("Deleted model file for version {}: {}", modelVersion.getId(), modelVersion.getStoragePath());
@@ -93,6 +96,7 @@ public class ModelService {
             }
         });
 
+        predictionCache.invalidateModel(id);
         modelRepository.delete(model);
         log.info("Deleted model with id: {}", id);
     }
@@ -161,6 +165,9 @@ public class ModelService {
                 .orElseThrow(() -> new ResourceNotFoundException("Model Version", "modelId and versionNumber", modelId + "/" + versionNumber));
         versionToActivate.setIsActive(true);
         ModelVersion activatedVersion = modelVersionRepository.save(versionToActivate);
+        // Load it before the first prediction needs it; a model that cannot be loaded rolls the activation back
+        modelCache.warm(activatedVersion);
+        predictionCache.invalidateModel(modelId);
         log.info("Activated version {} for model {}", versionNumber, model.getName());
         return toDto(activatedVersion);
     }
@@ -174,6 +181,8 @@ public class ModelService {
         if (modelVersion.getIsActive()) {
             throw new BadRequestException("Cannot delete an active model version. Deactivate it first.");
         }
+        modelCache.evict(modelVersion.getId());
+        predictionCache.invalidateModel(modelId);
 
         try {
             modelStorageUtil.deleteModelFile(modelVersion.getStoragePath());
@@ -0,0 +1,195 @@
+package com.mlutil.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mlutil.dto.PredictionCacheStatsDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Prediction results, keyed by the model version that produced them and a SHA-256 digest of the canonical form of
+ * the input. Inputs that mean the same thing (keys in another order, {@code 1} and {@code 1.0}) share an entry;
+ * any other difference, including the type of a value, gives a different digest. The cache is bounded by the
+ * estimated memory of its entries.
+ */
+@Service
+@Slf4j
+public class PredictionCache {
+
+    private final Cache<Key, Map<String, Object>> results;
+    private final Map<UUID, Counters> countersByModel = new ConcurrentHashMap<>();
+
+    public PredictionCache(@Value("${app.prediction-cache.max-bytes:67108864}") long maxBytes) {
+        this.results = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Key key, Map<String, Object> result) -> (int) Math.min(Integer.MAX_VALUE, key.estimatedBytes() + estimateBytes(result)))
+                .build();
+    }
+
+    /**
+     * Returns the cached result for this version and input, or computes, caches and returns it. Failed computations
+     * are not cached. The returned map is read-only.
+     */
+    public Map<String, Object> get(UUID modelId, UUID modelVersionId, Map<String, Object> input,
+                                   Supplier<Map<String, Object>> prediction) {
+        Key key = new Key(modelId, modelVersionId, digest(input));
+        boolean[] computed = {false};
+        Map<String, Object> result = results.get(key, k -> {
+            computed[0] = true;
+            return Collections.unmodifiableMap(prediction.get());
+        });
+        Counters counters = countersByModel.computeIfAbsent(modelId, id -> new Counters());
+        (computed[0] ? counters.misses : counters.hits).increment();
+        return result;
+    }
+
+    /**
+     * Drops every cached result of a model, e.g. when its active version changes or it is deleted.
+     */
+    public void invalidateModel(UUID modelId) {
+        results.asMap().keySet().removeIf(key -> key.modelId().equals(modelId));
+        log.debug("Invalidated cached predictions for model {}", modelId);
+    }
+
+    public List<PredictionCacheStatsDto> getStats() {
+        return countersByModel.entrySet().stream()
+                .map(entry -> {
+                    long hits = entry.getValue().hits.sum();
+                    long misses = entry.getValue().misses.sum();
+                    PredictionCacheStatsDto dto = new PredictionCacheStatsDto();
+                    dto.setModelId(entry.getKey());
+                    dto.setHits(hits);
+                    dto.setMisses(misses);
+                    dto.setHitRatio(hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+                    return dto;
+                })
+                .sorted(Comparator.comparing(PredictionCacheStatsDto::getModelId))
+                .toList();
+    }
+
+    /**
+     * SHA-256 of the canonical form of a JSON-like value, hex encoded. Maps are hashed with their keys sorted,
+     * numbers by their exact decimal value, and every value is prefixed with its type and length so no two distinct
+     * inputs share an encoding.
+     */
+    static String digest(Object input) {
+        MessageDigest sha256;
+        try {
+            sha256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required by every Java platform", e);
+        }
+        update(sha256, input);
+        return HexFormat.of().formatHex(sha256.digest());
+    }
+
+    private static void update(MessageDigest digest, Object value) {
+        if (value == null) {
+            digest.update((byte) 'z');
+        } else if (value instanceof Boolean bool) {
+            digest.update((byte) (bool ? 't' : 'f'));
+        } else if (value instanceof Number number) {
+            digest.update((byte) 'n');
+            updateString(digest, canonicalNumber(number));
+        } else if (value instanceof CharSequence text) {
+            digest.update((byte) 's');
+            updateString(digest, text.toString());
+        } else if (value instanceof Map<?, ?> map) {
+            digest.update((byte) 'm');
+            updateLength(digest, map.size());
+            Map<String, Object> sorted = new TreeMap<>();
+            map.forEach((k, v) -> sorted.put(String.valueOf(k), v));
+            sorted.forEach((k, v) -> {
+                updateString(digest, k);
+                update(digest, v);
+            });
+        } else if (value instanceof Collection<?> items) {
+            digest.update((byte) 'l');
+            updateLength(digest, items.size());
+            items.forEach(item -> update(digest, item));
+        } else {
+            throw new IllegalArgumentException("Unsupported input value type: " + value.getClass().getName());
+        }
+    }
+
+    private static String canonicalNumber(Number number) {
+        BigDecimal decimal;
+        if (number instanceof BigDecimal big) {
+            decimal = big;
+        } else if (number instanceof BigInteger big) {
+            decimal = new BigDecimal(big);
+        } else if (number instanceof Double || number instanceof Float) {
+            double value = number.doubleValue();
+            if (!Double.isFinite(value)) {
+                return Double.toString(value);
+            }
+            decimal = BigDecimal.valueOf(value);
+        } else {
+            decimal = BigDecimal.valueOf(number.longValue());
+        }
+        return decimal.stripTrailingZeros().toPlainString();
+    }
+
+    private static void updateString(MessageDigest digest, String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        updateLength(digest, bytes.length);
+        digest.update(bytes);
+    }
+
+    private static void updateLength(MessageDigest digest, int length) {
+        digest.update((byte) (length >>> 24));
+        digest.update((byte) (length >>> 16));
+        digest.update((byte) (length >>> 8));
+        digest.update((byte) length);
+    }
+
+    // Rough heap size of a result: object headers, references and string contents
+    static long estimateBytes(Object value) {
+        if (value instanceof CharSequence text) {
+            return 48 + text.length();
+        } else if (value instanceof Map<?, ?> map) {
+            long bytes = 64;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                bytes += 40 + estimateBytes(entry.getKey()) + estimateBytes(entry.getValue());
+            }
+            return bytes;
+        } else if (value instanceof Collection<?> items) {
+            long bytes = 48;
+            for (Object item : items) {
+                bytes += 8 + estimateBytes(item);
+            }
+            return bytes;
+        }
+        return 24; // Numbers, booleans, null
+    }
+
+    private record Key(UUID modelId, UUID modelVersionId, String inputDigest) {
+
+        long estimatedBytes() {
+            return 48 + 2 * 32 + 48 + inputDigest.length();
+        }
+    }
+
+    private static final class Counters {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+    }
+}
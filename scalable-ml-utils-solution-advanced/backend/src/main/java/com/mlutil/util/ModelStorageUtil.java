@@ -60,7 +60,15 @@ public class ModelStorageUtil {
         String filename = String.format("model_%s_v%d.%s", modelId.toString(), versionNumber, fileExtension);
         Path destinationFile = this.rootLocation.resolve(filename);
 
-        Files.copy(file.getInputStream(), destinationFile, StandardCopyOption.REPLACE_EXISTING);
+        // Write next to the destination and move it into place, so a loaded (memory-mapped) model is never
+        // overwritten in place. transferTo lets the container move its own temporary file instead of copying.
+        Path tempFile = Files.createTempFile(this.rootLocation, filename, ".part");
+        try {
+            file.transferTo(tempFile);
+            Files.move(tempFile, destinationFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
         log.debug("Model file saved: {}", destinationFile.toString());
         return destinationFile.getFileName().toString(); // Return just the filename for storage_path
     }
@@ -0,0 +1,164 @@
+package com.mlutil.service;
+
+import com.mlutil.Benchmark;
+import com.mlutil.dto.LoadedModelDto;
+import com.mlutil.exception.BadRequestException;
+import com.mlutil.inference.LinearModel;
+import com.mlutil.model.Model;
+import com.mlutil.model.ModelVersion;
+import com.mlutil.util.ModelStorageUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ModelCacheTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ModelCacheTest.class);
+
+    @TempDir
+    Path storageDir;
+
+    @Mock
+    private ModelStorageUtil modelStorageUtil;
+
+    private Model model;
+
+    @BeforeEach
+    void setUp() {
+        model = new Model("Iris", "Test model");
+        model.setId(UUID.randomUUID());
+        when(modelStorageUtil.getModelFilePath(anyString())).thenAnswer(i -> storageDir.resolve(i.<String>getArgument(0)));
+    }
+
+    @Test
+    void get_SoftmaxModel_PredictsMostLikelyClass() throws IOException {
+        ModelVersion version = version(1, writeModel("iris.mlul", LinearModel.Link.SOFTMAX,
+                new String[]{"petal_length", "petal_width"}, new String[]{"setosa", "versicolor", "virginica"},
+                new double[][]{{-2, -1}, {0.5, 0.5}, {2, 1}}, new double[]{4, 0, -6}));
+        ModelCache modelCache = new ModelCache(modelStorageUtil, 1 << 20);
+
+        Map<String, Object> small = modelCache.get(version).predict(Map.of("petal_length", 1.4, "petal_width", 0.2));
+        Map<String, Object> large = modelCache.get(version).predict(Map.of("petal_length", 6, "petal_width", 2.1, "color", "blue"));
+
+        assertThat(small.get("prediction")).isEqualTo("setosa");
+        assertThat(large.get("prediction")).isEqualTo("virginica");
+        @SuppressWarnings("unchecked")
+        Map<String, Double> probabilities = (Map<String, Double>) large.get("probabilities");
+        assertThat(probabilities.values().stream().mapToDouble(Double::doubleValue).sum()).isCloseTo(1.0, within(1e-9));
+    }
+
+    @Test
+    void get_LogisticModel_RejectsMissingOrNonNumericFeatures() throws IOException {
+        ModelVersion version = version(1, writeModel("churn.mlul", LinearModel.Link.LOGISTIC,
+                new String[]{"tenure"}, new String[]{"churn"}, new double[][]{{-0.5}}, new double[]{1}));
+        LinearModel linearModel = new ModelCache(modelStorageUtil, 1 << 20).get(version);
+
+        assertThat(linearModel.predict(Map.of("tenure", 0)).get("prediction")).isEqualTo(1);
+        assertThat((Double) linearModel.predict(Map.of("tenure", 10)).get("probability")).isLessThan(0.5);
+        assertThrows(IllegalArgumentException.class, () -> linearModel.predict(Map.of()));
+        assertThrows(IllegalArgumentException.class, () -> linearModel.predict(Map.of("tenure", "long")));
+    }
+
+    @Test
+    void get_UnsupportedOrTruncatedFile_ThrowsBadRequestException() throws IOException {
+        Files.write(storageDir.resolve("model.pkl"), "model_data".getBytes());
+        writeModel("full.mlul", LinearModel.Link.IDENTITY, new String[]{"x"}, new String[]{"y"}, new double[][]{{2}}, new double[]{1});
+        byte[] full = Files.readAllBytes(storageDir.resolve("full.mlul"));
+        Files.write(storageDir.resolve("truncated.mlul"), java.util.Arrays.copyOf(full, full.length - 4));
+        ModelCache modelCache = new ModelCache(modelStorageUtil, 1 << 20);
+
+        assertThrows(BadRequestException.class, () -> modelCache.get(version(1, "model.pkl")));
+        assertThrows(BadRequestException.class, () -> modelCache.get(version(2, "truncated.mlul")));
+        assertThrows(BadRequestException.class, () -> modelCache.get(version(3, "missing.mlul")));
+        assertThat(modelCache.getLoadedModels()).isEmpty();
+    }
+
+    @Test
+    void get_OverSizeBound_EvictsColdVersionsAndKeepsTheActiveOne() throws IOException {
+        // Four 1 MB models (128 features x 1024 outputs) against a 2.5 MB bound
+        ModelCache modelCache = new ModelCache(modelStorageUtil, 5L << 19);
+        ModelVersion active = version(1, writeLargeModel("v1.mlul", 128, 1024));
+        modelCache.warm(active);
+
+        for (int v = 2; v <= 4; v++) {
+            modelCache.get(version(v, writeLargeModel("v" + v + ".mlul", 128, 1024)));
+            modelCache.get(active); // Serving traffic in between
+        }
+
+        List<LoadedModelDto> loaded = modelCache.getLoadedModels();
+        assertThat(loaded).extracting(LoadedModelDto::getVersionNumber).containsExactly(1, 4);
+        assertThat(loaded.stream().mapToLong(dto -> dto.getMappedBytes() + dto.getHeapBytes()).sum()).isLessThanOrEqualTo(5L << 19);
+    }
+
+    /**
+     * Loads a 64 MB model: mapping it only reads the header, and the weights stay off the heap. The heap figure is
+     * the cache's own estimate of what the model holds on the heap.
+     */
+    @Test
+    @Benchmark
+    void warm_LargeModel_ReportsLoadTimeAndMemory() throws IOException {
+        ModelVersion version = version(1, writeLargeModel("large.mlul", 1024, 8192));
+        ModelCache modelCache = new ModelCache(modelStorageUtil, 256L << 20);
+
+        long start = System.nanoTime();
+        modelCache.warm(version);
+        long warmMillis = (System.nanoTime() - start) / 1_000_000;
+        LoadedModelDto loaded = modelCache.getLoadedModels().get(0);
+
+        log.info("Loaded a {} MB model: load {} ms, warm {} ms, mapped {} bytes, heap ~{} bytes, resident {}",
+                loaded.getMappedBytes() >> 20, loaded.getLoadTimeMs(), warmMillis, loaded.getMappedBytes(),
+                loaded.getHeapBytes(), loaded.getResident());
+        assertThat(loaded.getMappedBytes()).isEqualTo(Files.size(storageDir.resolve("large.mlul")));
+        assertThat(loaded.getHeapBytes()).isLessThan(loaded.getMappedBytes() / 100);
+        assertThat(loaded.getFeatureCount()).isEqualTo(1024);
+    }
+
+    private ModelVersion version(int versionNumber, String storagePath) {
+        ModelVersion version = new ModelVersion(model, versionNumber, storagePath);
+        version.setId(UUID.randomUUID());
+        return version;
+    }
+
+    private String writeModel(String filename, LinearModel.Link link, String[] features, String[] outputs,
+                              double[][] weights, double[] biases) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(storageDir.resolve(filename)))) {
+            LinearModel.write(out, link, features, outputs, weights, biases);
+        }
+        return filename;
+    }
+
+    private String writeLargeModel(String filename, int featureCount, int outputCount) throws IOException {
+        String[] features = new String[featureCount];
+        for (int j = 0; j < featureCount; j++) {
+            features[j] = "f" + j;
+        }
+        String[] outputs = new String[outputCount];
+        double[][] weights = new double[outputCount][featureCount];
+        for (int k = 0; k < outputCount; k++) {
+            outputs[k] = "y" + k;
+            weights[k][k % featureCount] = 1;
+        }
+        return writeModel(filename, LinearModel.Link.IDENTITY, features, outputs, weights, new double[outputCount]);
+    }
+}
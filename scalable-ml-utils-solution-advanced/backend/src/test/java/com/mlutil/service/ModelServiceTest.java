@@ -38,6 +38,10 @@ class ModelServiceTest {
     private ModelVersionRepository modelVersionRepository;
     @Mock
     private ModelStorageUtil modelStorageUtil;
+    @Mock
+    private ModelCache modelCache;
+    @Mock
+    private PredictionCache predictionCache;
 
     @InjectMocks
     private ModelService modelService;
@@ -163,6 +167,8 @@ class ModelServiceTest {
         assertThat(result.getIsActive()).isTrue();
         assertFalse(currentActive.getIsActive()); // Original object should be updated
         verify(modelVersionRepository, times(2)).save(any(ModelVersion.class)); // One for deactivating, one for activating
+        verify(modelCache, times(1)).warm(newVersion);
+        verify(predictionCache, times(1)).invalidateModel(modelId);
     }
 
     @Test
@@ -181,6 +187,7 @@ class ModelServiceTest {
         verify(modelVersionRepository, times(1)).findByModelIdAndVersionNumber(modelId, versionNumber);
         verify(modelStorageUtil, times(1)).deleteModelFile(mv.getStoragePath());
         verify(modelVersionRepository, times(1)).delete(mv);
+        verify(modelCache, times(1)).evict(mv.getId());
     }
 
     @Test
@@ -0,0 +1,104 @@
+package com.mlutil.service;
+
+import com.mlutil.dto.PredictionCacheStatsDto;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PredictionCacheTest {
+
+    private final UUID modelId = UUID.randomUUID();
+    private final UUID versionId = UUID.randomUUID();
+
+    @Test
+    void digest_EquivalentInputs_ShareADigest() {
+        Map<String, Object> ordered = new LinkedHashMap<>();
+        ordered.put("a", 1);
+        ordered.put("b", List.of(2.50, "x"));
+        Map<String, Object> reordered = new LinkedHashMap<>();
+        reordered.put("b", List.of(new BigDecimal("2.5"), "x"));
+        reordered.put("a", 1.0);
+
+        assertThat(PredictionCache.digest(reordered)).isEqualTo(PredictionCache.digest(ordered));
+    }
+
+    @Test
+    void digest_HashCodeCollisions_GetDistinctDigests() {
+        Map<String, Object> first = Map.of("feature_1", "Aa");
+        Map<String, Object> second = Map.of("feature_1", "BB");
+
+        assertThat(first.hashCode()).isEqualTo(second.hashCode()); // What the cache key used to be built from
+        assertThat(PredictionCache.digest(first)).isNotEqualTo(PredictionCache.digest(second));
+        assertThat(PredictionCache.digest(Map.of("x", 1))).isNotEqualTo(PredictionCache.digest(Map.of("x", "1")));
+        assertThat(PredictionCache.digest(Map.of("x", List.of("a", "b")))).isNotEqualTo(PredictionCache.digest(Map.of("x", List.of("ab"))));
+    }
+
+    @Test
+    void get_CachesPerVersionAndInput_AndCountsHitsPerModel() {
+        PredictionCache predictionCache = new PredictionCache(1 << 20);
+        AtomicInteger computations = new AtomicInteger();
+        UUID newVersionId = UUID.randomUUID();
+
+        Map<String, Object> first = predictionCache.get(modelId, versionId, Map.of("x", 1), () -> result(computations.incrementAndGet()));
+        Map<String, Object> again = predictionCache.get(modelId, versionId, Map.of("x", 1.0), () -> result(computations.incrementAndGet()));
+        Map<String, Object> otherInput = predictionCache.get(modelId, versionId, Map.of("x", 2), () -> result(computations.incrementAndGet()));
+        Map<String, Object> otherVersion = predictionCache.get(modelId, newVersionId, Map.of("x", 1), () -> result(computations.incrementAndGet()));
+
+        assertThat(again).isEqualTo(first);
+        assertThat(otherInput).isNotEqualTo(first);
+        assertThat(otherVersion).isNotEqualTo(first);
+        assertThat(computations).hasValue(3);
+        PredictionCacheStatsDto stats = predictionCache.getStats().get(0);
+        assertThat(stats.getHits()).isEqualTo(1);
+        assertThat(stats.getMisses()).isEqualTo(3);
+        assertThat(stats.getHitRatio()).isEqualTo(0.25);
+    }
+
+    @Test
+    void invalidateModel_DropsOnlyThatModelsResults() {
+        PredictionCache predictionCache = new PredictionCache(1 << 20);
+        UUID otherModelId = UUID.randomUUID();
+        AtomicInteger computations = new AtomicInteger();
+        predictionCache.get(modelId, versionId, Map.of("x", 1), () -> result(computations.incrementAndGet()));
+        predictionCache.get(otherModelId, UUID.randomUUID(), Map.of("x", 1), () -> result(computations.incrementAndGet()));
+
+        predictionCache.invalidateModel(modelId);
+        predictionCache.get(modelId, versionId, Map.of("x", 1), () -> result(computations.incrementAndGet()));
+
+        assertThat(computations).hasValue(3);
+        assertThat(predictionCache.getStats()).extracting(PredictionCacheStatsDto::getHits).containsOnly(0L);
+    }
+
+    @Test
+    void get_FailedPrediction_IsNotCached() {
+        PredictionCache predictionCache = new PredictionCache(1 << 20);
+        AtomicInteger computations = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                predictionCache.get(modelId, versionId, Map.of(), () -> {
+                    computations.incrementAndGet();
+                    throw new IllegalArgumentException("Missing feature 'x'");
+                });
+            } catch (IllegalArgumentException expected) {
+                // Thrown both times
+            }
+        }
+
+        assertThat(computations).hasValue(2);
+    }
+
+    private static Map<String, Object> result(int value) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("prediction", value);
+        return result;
+    }
+}
@@ -0,0 +1,153 @@
+```java
+package com.scrapify.webscraper.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The persistent run queue of scheduled scraping jobs. Due jobs are ordered by {@code scraping_job.next_run_at};
+ * a node claims a job by taking a lease on it together with one of the {@code scheduler_slot} rows, so the number
+ * of jobs running across all nodes never exceeds the number of slots in use.
+ *
+ * All claims use {@code FOR UPDATE SKIP LOCKED}, so concurrent nodes skip each other's rows instead of blocking.
+ * Plain JDBC rather than JPA keeps the lease columns out of the entity, where a stale {@code save} could overwrite them.
+ */
+@Repository
+@Slf4j
+public class ScrapingJobQueueRepository {
+
+    private static final String SELECT_FREE_SLOTS =
+            "SELECT slot_no FROM scheduler_slot " +
+            "WHERE slot_no < ? AND (lease_until IS NULL OR lease_until < ?) " +
+            "ORDER BY slot_no LIMIT ? FOR UPDATE SKIP LOCKED";
+
+    private static final String SELECT_DUE_JOBS =
+            "SELECT id FROM scraping_job " +
+            "WHERE next_run_at <= ? AND (lease_until IS NULL OR lease_until < ?) " +
+            "ORDER BY next_run_at LIMIT ? FOR UPDATE SKIP LOCKED";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public ScrapingJobQueueRepository(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * A job leased by a node, together with the concurrency slot it occupies.
+     */
+    public record Claim(UUID jobId, int slotNo) {
+    }
+
+    /**
+     * Makes sure slots {@code 0..slotCount-1} exist. Safe to call from several nodes at once.
+     */
+    public void ensureSlots(int slotCount) {
+        Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM scheduler_slot WHERE slot_no < ?", Integer.class, slotCount);
+        if (existing != null && existing >= slotCount) {
+            return;
+        }
+        for (int slotNo = 0; slotNo < slotCount; slotNo++) {
+            try {
+                jdbcTemplate.update("INSERT INTO scheduler_slot (slot_no) SELECT ? WHERE NOT EXISTS (SELECT 1 FROM scheduler_slot WHERE slot_no = ?)", slotNo, slotNo);
+            } catch (DuplicateKeyException e) {
+                // Another node inserted it first
+            }
+        }
+    }
+
+    /**
+     * Leases up to {@code limit} due jobs, earliest {@code next_run_at} first, but never more than there are free
+     * slots below {@code slotCount}. Rows locked by other nodes are skipped.
+     *
+     * @return The claimed jobs; empty if nothing is due or all slots are taken.
+     */
+    public List<Claim> claimDueJobs(String owner, int slotCount, int limit, LocalDateTime now, LocalDateTime leaseUntil) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        Timestamp nowTs = Timestamp.valueOf(now);
+        Timestamp leaseUntilTs = Timestamp.valueOf(leaseUntil);
+        return transactionTemplate.execute(status -> {
+            List<Integer> slots = jdbcTemplate.queryForList(SELECT_FREE_SLOTS, Integer.class, slotCount, nowTs, limit);
+            if (slots.isEmpty()) {
+                return List.of();
+            }
+            List<UUID> jobIds = jdbcTemplate.queryForList(SELECT_DUE_JOBS, UUID.class, nowTs, nowTs, slots.size());
+
+            List<Claim> claims = new ArrayList<>(jobIds.size());
+            for (int i = 0; i < jobIds.size(); i++) {
+                Claim claim = new Claim(jobIds.get(i), slots.get(i));
+                jdbcTemplate.update("UPDATE scraping_job SET lease_owner = ?, lease_until = ? WHERE id = ?",
+                        owner, leaseUntilTs, claim.jobId());
+                jdbcTemplate.update("UPDATE scheduler_slot SET job_id = ?, lease_owner = ?, lease_until = ? WHERE slot_no = ?",
+                        claim.jobId(), owner, leaseUntilTs, claim.slotNo());
+                claims.add(claim);
+            }
+            return claims;
+        });
+    }
+
+    /**
+     * Extends the leases of everything {@code owner} is still running, so long jobs are not claimed twice.
+     */
+    public void renewLeases(String owner, LocalDateTime leaseUntil) {
+        Timestamp leaseUntilTs = Timestamp.valueOf(leaseUntil);
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE scraping_job SET lease_until = ? WHERE lease_owner = ?", leaseUntilTs, owner);
+            jdbcTemplate.update("UPDATE scheduler_slot SET lease_until = ? WHERE lease_owner = ?", leaseUntilTs, owner);
+        });
+    }
+
+    /**
+     * Frees the slot and lease of a finished run and puts the job back in the queue at {@code nextRunAt}
+     * ({@code null} takes it out of the queue). Does nothing if the lease has meanwhile passed to another node.
+     */
+    public void release(Claim claim, String owner, LocalDateTime nextRunAt) {
+        Timestamp nextRunAtTs = nextRunAt != null ? Timestamp.valueOf(nextRunAt) : null;
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE scraping_job SET next_run_at = ?, lease_owner = NULL, lease_until = NULL WHERE id = ? AND lease_owner = ?",
+                    nextRunAtTs, claim.jobId(), owner);
+            jdbcTemplate.update("UPDATE scheduler_slot SET job_id = NULL, lease_owner = NULL, lease_until = NULL WHERE slot_no = ? AND lease_owner = ?",
+                    claim.slotNo(), owner);
+        });
+    }
+
+    /**
+     * @return The job's current cron expression, or {@code null} if it has none or was deleted.
+     */
+    public String findCronSchedule(UUID jobId) {
+        List<String> cron = jdbcTemplate.queryForList("SELECT cron_schedule FROM scraping_job WHERE id = ?", String.class, jobId);
+        return cron.isEmpty() ? null : cron.get(0);
+    }
+
+    /**
+     * Jobs that have a cron schedule but were never queued, e.g. rows inserted by migrations or by hand.
+     */
+    public List<UUID> findUnqueuedScheduledJobs() {
+        return jdbcTemplate.queryForList(
+                "SELECT id FROM scraping_job WHERE cron_schedule IS NOT NULL AND next_run_at IS NULL AND lease_owner IS NULL",
+                UUID.class);
+    }
+
+    public void setNextRunAtIfUnqueued(UUID jobId, LocalDateTime nextRunAt) {
+        jdbcTemplate.update("UPDATE scraping_job SET next_run_at = ? WHERE id = ? AND next_run_at IS NULL",
+                Timestamp.valueOf(nextRunAt), jobId);
+    }
+
+    public void dequeue(UUID jobId) {
+        jdbcTemplate.update("UPDATE scraping_job SET next_run_at = NULL WHERE id = ?", jobId);
+    }
+}
+```
\ No newline at end of file
@@ -2,95 +2,175 @@
 package com.scrapify.webscraper.service;
 
 import com.scrapify.webscraper.model.ScrapingJob;
+import com.scrapify.webscraper.repository.ScrapingJobQueueRepository;
+import com.scrapify.webscraper.repository.ScrapingJobQueueRepository.Claim;
 import com.scrapify.webscraper.repository.ScrapingJobRepository;
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.TaskScheduler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
-import org.springframework.scheduling.support.CronTrigger;
+import org.springframework.scheduling.support.CronExpression;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.net.InetAddress;
+import java.net.UnknownHostException;
 import java.time.LocalDateTime;
-import java.time.ZoneId;
-import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Runs scraping jobs on their cron schedules. The schedule lives in the database as a run queue ordered by
+ * {@code next_run_at}: every node polls it and leases due jobs (see {@link ScrapingJobQueueRepository}), so each
+ * run happens on exactly one node and at most {@code app.scheduler.max-concurrency} jobs run across the cluster.
+ * A job's next run time is only recomputed when the job is created or updated, and after each of its runs.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class SchedulerService {
 
-    private final TaskScheduler taskScheduler;
     private final ScrapingJobRepository scrapingJobRepository;
     private final ScraperService scraperService;
+    private final ScrapingJobQueueRepository queueRepository;
+    private final int maxConcurrency;
+    private final long leaseDurationSeconds;
+    private final String nodeId;
 
-    // Stores scheduled tasks so they can be cancelled/rescheduled
-    private final Map<UUID, ScheduledFuture<?>> scheduledTasks = new ConcurrentHashMap<>();
+    // Jobs this node is running, with the slots they hold
+    private final Map<UUID, Claim> runningJobs = new ConcurrentHashMap<>();
+    private final ExecutorService executor;
 
-    // Initialize scheduler with existing jobs on application startup
-    @Scheduled(fixedRate = 60000) // Run every minute to check for new/updated schedules (could be more sophisticated)
-    @Transactional // Ensure jobs are loaded within a transaction
+    public SchedulerService(ScrapingJobRepository scrapingJobRepository,
+                            ScraperService scraperService,
+                            ScrapingJobQueueRepository queueRepository,
+                            @Value("${app.scheduler.max-concurrency:4}") int maxConcurrency, // Shared by all nodes; configure the same value everywhere
+                            @Value("${app.scheduler.lease-duration-seconds:600}") long leaseDurationSeconds,
+                            @Value("${app.scheduler.node-id:}") String nodeId) {
+        this.scrapingJobRepository = scrapingJobRepository;
+        this.scraperService = scraperService;
+        this.queueRepository = queueRepository;
+        this.maxConcurrency = maxConcurrency;
+        this.leaseDurationSeconds = leaseDurationSeconds;
+        this.nodeId = nodeId == null || nodeId.isBlank() ? defaultNodeId() : nodeId;
+        this.executor = Executors.newFixedThreadPool(maxConcurrency);
+    }
+
+    // Queue jobs that have a schedule but no next run time yet (e.g. seed data) once the schema is migrated
+    @EventListener(ApplicationReadyEvent.class)
     public void initializeScheduledJobs() {
-        log.info("Checking for scheduled jobs to initialize/update...");
-        List<ScrapingJob> jobsWithSchedule = scrapingJobRepository.findByCronScheduleIsNotNull();
-        jobsWithSchedule.forEach(this::scheduleJob);
-        // Remove tasks that no longer exist in DB or no longer have a schedule
-        scheduledTasks.keySet().retainAll(jobsWithSchedule.stream().map(ScrapingJob::getId).toList());
+        queueRepository.ensureSlots(maxConcurrency);
+        List<UUID> unqueued = queueRepository.findUnqueuedScheduledJobs();
+        for (UUID jobId : unqueued) {
+            LocalDateTime nextRunAt = nextRunAt(queueRepository.findCronSchedule(jobId), LocalDateTime.now());
+            if (nextRunAt != null) {
+                queueRepository.setNextRunAtIfUnqueued(jobId, nextRunAt);
+            }
+        }
+        log.info("Scheduler node {} started (max concurrency {}), queued {} job(s) without a next run time",
+                nodeId, maxConcurrency, unqueued.size());
     }
 
-    public void scheduleJob(ScrapingJob job) {
-        if (job.getCronSchedule() == null || job.getCronSchedule().isBlank()) {
-            unscheduleJob(job.getId());
-            return;
+    // Claims and starts due jobs. Cheap when nothing is due: one indexed query per poll.
+    @Scheduled(fixedDelayString = "${app.scheduler.poll-interval-ms:5000}")
+    public void pollDueJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime leaseUntil = now.plusSeconds(leaseDurationSeconds);
+        if (!runningJobs.isEmpty()) {
+            queueRepository.renewLeases(nodeId, leaseUntil);
         }
 
-        // If job is already scheduled, cancel the existing one before scheduling a new one
-        unscheduleJob(job.getId());
+        List<Claim> claims = queueRepository.claimDueJobs(nodeId, maxConcurrency, maxConcurrency - runningJobs.size(), now, leaseUntil);
+        for (Claim claim : claims) {
+            runningJobs.put(claim.jobId(), claim);
+            executor.execute(() -> runClaimedJob(claim));
+        }
+    }
 
+    private void runClaimedJob(Claim claim) {
+        UUID jobId = claim.jobId();
         try {
-            CronTrigger cronTrigger = new CronTrigger(job.getCronSchedule());
-            ScheduledFuture<?> future = taskScheduler.schedule(() -> {
-                log.info("Executing scheduled job: {} (ID: {})", job.getName(), job.getId());
-                scraperService.executeScrapingJob(job.getId());
-            }, cronTrigger);
-            scheduledTasks.put(job.getId(), future);
-
-            // Calculate next run time for display purposes
-            Date nextExecutionDate = cronTrigger.nextExecution(triggerContext -> {
-                // Get the last completion time if available, otherwise use current time
-                Date lastCompletionTime = job.getLastRunAt() != null ?
-                        Date.from(job.getLastRunAt().atZone(ZoneId.systemDefault()).toInstant()) :
-                        new Date();
-                return lastCompletionTime;
-            });
-            if (nextExecutionDate != null) {
-                job.setNextRunAt(LocalDateTime.ofInstant(nextExecutionDate.toInstant(), ZoneId.systemDefault()));
-                scrapingJobRepository.save(job); // Update next run time in DB
+            log.info("Executing scheduled job ID: {} on node {}", jobId, nodeId);
+            scraperService.executeScrapingJob(jobId);
+        } catch (Exception e) {
+            log.error("Scheduled job {} failed: {}", jobId, e.getMessage(), e);
+        } finally {
+            try {
+                // Re-read the cron expression in case the job was edited while it ran
+                LocalDateTime nextRunAt = nextRunAt(queueRepository.findCronSchedule(jobId), LocalDateTime.now());
+                queueRepository.release(claim, nodeId, nextRunAt);
+                log.info("Released job {}. Next run at: {}", jobId, nextRunAt);
+            } catch (Exception e) {
+                // The lease expires on its own and another poll picks the job up again
+                log.error("Failed to release job {}: {}", jobId, e.getMessage(), e);
+            } finally {
+                runningJobs.remove(jobId);
             }
+        }
+    }
+
+    public void scheduleJob(ScrapingJob job) {
+        // Set on the entity rather than through the queue, so the caller's pending save cannot overwrite it
+        job.setNextRunAt(nextRunAt(job.getCronSchedule(), LocalDateTime.now()));
+        scrapingJobRepository.save(job); // Queues the job in the DB; whichever node polls first runs it
+        if (job.getNextRunAt() != null) {
             log.info("Scheduled job {} with cron: {}. Next run at: {}", job.getName(), job.getCronSchedule(), job.getNextRunAt());
-        } catch (IllegalArgumentException e) {
-            log.error("Invalid cron expression for job {}: {}", job.getName(), job.getCronSchedule(), e);
-            // Optionally, update job status to FAILED or PENDING_ERROR
+        } else {
+            log.info("Job {} is not scheduled", job.getName());
         }
     }
 
     public void rescheduleJob(ScrapingJob job) {
-        unscheduleJob(job.getId()); // Cancel existing task
-        scheduleJob(job);            // Schedule new/updated task
+        scheduleJob(job); // Recomputes the next run time from the new cron, or dequeues the job
         log.info("Rescheduled job: {}", job.getName());
     }
 
     public void unscheduleJob(UUID jobId) {
-        ScheduledFuture<?> future = scheduledTasks.remove(jobId);
-        if (future != null) {
-            future.cancel(false); // Do not interrupt if currently running
-            log.info("Unscheduling job with ID: {}", jobId);
+        queueRepository.dequeue(jobId); // Takes the job out of the run queue
+        log.info("Unscheduling job with ID: {}", jobId);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                log.warn("Scheduler node {} stopped with {} job(s) still running; their leases will expire", nodeId, runningJobs.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private LocalDateTime nextRunAt(String cronSchedule, LocalDateTime after) {
+        if (cronSchedule == null || cronSchedule.isBlank()) {
+            return null;
+        }
+        try {
+            return CronExpression.parse(cronSchedule).next(after);
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid cron expression: {}", cronSchedule, e);
+            return null;
+        }
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "node";
         }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
     }
 }
 ```
\ No newline at end of file
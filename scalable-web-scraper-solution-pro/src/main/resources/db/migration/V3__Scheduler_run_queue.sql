@@ -0,0 +1,19 @@
+```sql
+-- V3__Scheduler_run_queue.sql
+
+-- Lease columns: the node running a job and until when its claim is valid (renewed while the job runs)
+ALTER TABLE scraping_job ADD COLUMN IF NOT EXISTS lease_owner VARCHAR(255);
+ALTER TABLE scraping_job ADD COLUMN IF NOT EXISTS lease_until TIMESTAMP WITHOUT TIME ZONE;
+
+-- Run queue order: nodes poll for the earliest due jobs
+CREATE INDEX IF NOT EXISTS idx_scraping_job_next_run_at ON scraping_job(next_run_at) WHERE next_run_at IS NOT NULL;
+
+-- Concurrency slots shared by all scheduler nodes; a running job holds one slot.
+-- Rows are created by the application up to app.scheduler.max-concurrency.
+CREATE TABLE IF NOT EXISTS scheduler_slot (
+    slot_no INTEGER PRIMARY KEY,
+    job_id UUID,
+    lease_owner VARCHAR(255),
+    lease_until TIMESTAMP WITHOUT TIME ZONE
+);
+```
\ No newline at end of file
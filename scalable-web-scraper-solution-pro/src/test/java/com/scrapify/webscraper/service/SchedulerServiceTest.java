@@ -0,0 +1,177 @@
+```java
+package com.scrapify.webscraper.service;
+
+import com.scrapify.webscraper.repository.ScrapingJobQueueRepository;
+import com.scrapify.webscraper.repository.ScrapingJobRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs several scheduler nodes in-process against one embedded H2 database, the way replicas share PostgreSQL.
+ */
+class SchedulerServiceTest {
+
+    private static final int MAX_CONCURRENCY = 3;
+    private static final String YEARLY = "0 0 0 1 1 ?";
+
+    private JdbcTemplate jdbcTemplate;
+    private ScrapingJobQueueRepository queueRepository;
+    private final List<SchedulerService> nodes = new ArrayList<>();
+
+    // What the mocked scraper saw
+    private final List<UUID> executions = new CopyOnWriteArrayList<>();
+    private final Map<UUID, String> executedBy = new ConcurrentHashMap<>();
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger maxRunning = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:scheduler-" + UUID.randomUUID() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        // The columns of V1 and V3 that the scheduler touches
+        jdbcTemplate.execute("CREATE TABLE scraping_job (id UUID PRIMARY KEY, name VARCHAR(255) NOT NULL, cron_schedule VARCHAR(255), " +
+                "next_run_at TIMESTAMP, lease_owner VARCHAR(255), lease_until TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE scheduler_slot (slot_no INTEGER PRIMARY KEY, job_id UUID, lease_owner VARCHAR(255), lease_until TIMESTAMP)");
+        queueRepository = new ScrapingJobQueueRepository(jdbcTemplate, new DataSourceTransactionManager(dataSource));
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodes.forEach(SchedulerService::shutdown);
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+
+    private SchedulerService startNode(String nodeId) {
+        ScraperService scraperService = mock(ScraperService.class);
+        doAnswer(invocation -> {
+            UUID jobId = invocation.getArgument(0);
+            int now = running.incrementAndGet();
+            maxRunning.accumulateAndGet(now, Math::max);
+            try {
+                Thread.sleep(20); // Long enough for the other nodes to poll meanwhile
+                executions.add(jobId);
+                executedBy.put(jobId, nodeId);
+            } finally {
+                running.decrementAndGet();
+            }
+            return null;
+        }).when(scraperService).executeScrapingJob(any(UUID.class));
+
+        SchedulerService node = new SchedulerService(mock(ScrapingJobRepository.class), scraperService, queueRepository,
+                MAX_CONCURRENCY, 60, nodeId);
+        node.initializeScheduledJobs();
+        nodes.add(node);
+        return node;
+    }
+
+    private UUID insertJob(String cron, LocalDateTime nextRunAt) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO scraping_job (id, name, cron_schedule, next_run_at) VALUES (?, ?, ?, ?)",
+                id, "job-" + id, cron, nextRunAt != null ? Timestamp.valueOf(nextRunAt) : null);
+        return id;
+    }
+
+    private void pollUntil(int expectedExecutions) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (executions.size() < expectedExecutions && System.currentTimeMillis() < deadline) {
+            List<Thread> pollers = new ArrayList<>();
+            for (SchedulerService node : nodes) {
+                Thread poller = new Thread(node::pollDueJobs);
+                pollers.add(poller);
+                poller.start();
+            }
+            for (Thread poller : pollers) {
+                poller.join();
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    void testEachDueJobRunsOnceAcrossNodesWithinSharedConcurrencyLimit() throws InterruptedException {
+        List<UUID> jobIds = new ArrayList<>();
+        for (int i = 0; i < 24; i++) {
+            jobIds.add(insertJob(YEARLY, LocalDateTime.now().minusMinutes(1)));
+        }
+        UUID futureJob = insertJob(YEARLY, LocalDateTime.now().plusDays(1));
+        startNode("node-a");
+        startNode("node-b");
+        startNode("node-c");
+
+        pollUntil(jobIds.size());
+        Thread.sleep(200); // Give any double claim a chance to show up
+        nodes.forEach(SchedulerService::shutdown);
+
+        assertThat(executions).hasSize(jobIds.size());
+        assertThat(executions).containsExactlyInAnyOrderElementsOf(jobIds);
+        assertThat(executions).doesNotContain(futureJob);
+        // Three nodes with 3 local threads each, but only 3 slots between them
+        assertThat(maxRunning.get()).isLessThanOrEqualTo(MAX_CONCURRENCY);
+        assertThat(Set.copyOf(executedBy.values())).hasSizeGreaterThan(1);
+
+        // Every run released its lease and slot and was requeued for next year
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM scraping_job WHERE lease_owner IS NOT NULL", Integer.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM scheduler_slot WHERE lease_owner IS NOT NULL", Integer.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM scraping_job WHERE next_run_at <= ?", Integer.class,
+                Timestamp.valueOf(LocalDateTime.now()))).isZero();
+    }
+
+    @Test
+    void testExpiredLeaseOfCrashedNodeIsReclaimed() throws InterruptedException {
+        startNode("node-a");
+        UUID orphaned = insertJob(YEARLY, LocalDateTime.now().minusMinutes(5));
+        UUID stillLeased = insertJob(YEARLY, LocalDateTime.now().minusMinutes(5));
+        Timestamp expired = Timestamp.valueOf(LocalDateTime.now().minusMinutes(1));
+        Timestamp valid = Timestamp.valueOf(LocalDateTime.now().plusMinutes(10));
+        jdbcTemplate.update("UPDATE scraping_job SET lease_owner = 'crashed', lease_until = ? WHERE id = ?", expired, orphaned);
+        jdbcTemplate.update("UPDATE scheduler_slot SET job_id = ?, lease_owner = 'crashed', lease_until = ? WHERE slot_no = 0", orphaned, expired);
+        jdbcTemplate.update("UPDATE scraping_job SET lease_owner = 'alive', lease_until = ? WHERE id = ?", valid, stillLeased);
+        jdbcTemplate.update("UPDATE scheduler_slot SET job_id = ?, lease_owner = 'alive', lease_until = ? WHERE slot_no = 1", stillLeased, valid);
+
+        pollUntil(1);
+        Thread.sleep(100);
+        nodes.forEach(SchedulerService::shutdown);
+
+        assertThat(executions).containsExactly(orphaned);
+        assertThat(jdbcTemplate.queryForObject("SELECT lease_owner FROM scraping_job WHERE id = ?", String.class, stillLeased)).isEqualTo("alive");
+    }
+
+    @Test
+    void testInitializeQueuesOnlyScheduledJobsWithoutNextRun() {
+        UUID unqueued = insertJob(YEARLY, null);
+        UUID manual = insertJob(null, null);
+        LocalDateTime alreadyQueued = LocalDateTime.now().plusHours(3).withNano(0);
+        UUID queued = insertJob("0 * * * * ?", alreadyQueued);
+
+        startNode("node-a");
+
+        assertThat(jdbcTemplate.queryForObject("SELECT next_run_at FROM scraping_job WHERE id = ?", LocalDateTime.class, unqueued))
+                .isEqualTo(LocalDateTime.now().withDayOfYear(1).toLocalDate().plusYears(1).atStartOfDay());
+        assertThat(jdbcTemplate.queryForObject("SELECT next_run_at FROM scraping_job WHERE id = ?", LocalDateTime.class, manual)).isNull();
+        // Existing triggers are left alone rather than recomputed
+        assertThat(jdbcTemplate.queryForObject("SELECT next_run_at FROM scraping_job WHERE id = ?", LocalDateTime.class, queued)).isEqualTo(alreadyQueued);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM scheduler_slot", Integer.class)).isEqualTo(MAX_CONCURRENCY);
+    }
+}
+```
\ No newline at end of file